@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2023 Guglielmo Nigri.  All Rights Reserved.
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of version 2 of the GNU General Public License as
+ * published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it would be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Further, this software is distributed without any warranty that it is
+ * free of the rightful claim of any third person regarding infringement
+ * or the like.  Any license provided herein, whether implied or
+ * otherwise, applies only to this software file.  Patent licenses, if
+ * any, provided herein do not apply to combinations of this program with
+ * other software, or any other product whatsoever.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write the Free Software Foundation, Inc., 59
+ * Temple Place - Suite 330, Boston MA 02111-1307, USA.
+ *
+ * Contact information: Guglielmo Nigri <guglielmonigri@yahoo.it>
+ *
+ */
+package gleam;
+
+import gleam.lang.GleamException;
+
+import java.io.StringReader;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A least-recently-used cache of the scripts evaluated by {@link GleamScriptEngine#eval(String)},
+ * so that evaluating the same text again skips reading and compiling it.
+ * <p>
+ * Scripts are looked up by text. The forms of a script are compiled for each environment it is
+ * evaluated in, and kept by that environment, so the compiled code actually reused depends on both
+ * the text and the identity of the environment, and the cache does not keep environments alive.
+ * Compiled forms are not reused after new bindings are made, so the results are the same as with
+ * the cache disabled.
+ *
+ * @see GleamScriptEngineFactory#EVAL_CACHE_CAPACITY
+ */
+public final class EvalCache
+{
+    private final int capacity;
+
+    private final Map<String, GleamCompiledScript> scripts;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param capacity the maximum number of scripts, which must be positive
+     */
+    EvalCache(int capacity)
+    {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.scripts = new LinkedHashMap<String, GleamCompiledScript>(16, 0.75f, true)
+        {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, GleamCompiledScript> eldest)
+            {
+                if (size() > EvalCache.this.capacity) {
+                    ++evictions;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Gets the script of a text, reading it if not cached.
+     */
+    synchronized GleamCompiledScript get(GleamScriptEngine engine, String text)
+            throws GleamException
+    {
+        GleamCompiledScript script = scripts.get(text);
+        if (script != null) {
+            ++hits;
+            return script;
+        }
+        ++misses;
+        script = new GleamCompiledScript(engine, new StringReader(text));
+        scripts.put(text, script);
+        return script;
+    }
+
+    public int getCapacity()
+    {
+        return capacity;
+    }
+
+    public synchronized int size()
+    {
+        return scripts.size();
+    }
+
+    public synchronized long getHitCount()
+    {
+        return hits;
+    }
+
+    public synchronized long getMissCount()
+    {
+        return misses;
+    }
+
+    public synchronized long getEvictionCount()
+    {
+        return evictions;
+    }
+
+    /**
+     * Removes all the scripts, keeping the statistics.
+     */
+    public synchronized void clear()
+    {
+        scripts.clear();
+    }
+
+    @Override
+    public synchronized String toString()
+    {
+        return String.format("EvalCache{size=%d, capacity=%d, hits=%d, misses=%d, evictions=%d}",
+                             scripts.size(), capacity, hits, misses, evictions);
+    }
+}
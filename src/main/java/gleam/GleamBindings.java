@@ -39,6 +39,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.WeakHashMap;
 
 import static gleam.GleamScriptEngine.entityOf;
 import static gleam.GleamScriptEngine.objectOf;
@@ -51,6 +52,9 @@ public class GleamBindings extends Environment implements Bindings
     private final LocationObjectConverter locationObjectConverter = new LocationObjectConverter();
     final transient private BindingsAdapter assocAdapter;
 
+    /** the forms of the scripts compiled in this environment, which are released with it */
+    private transient Map<GleamCompiledScript, GleamCompiledScript.Forms> compiledScripts;
+
     public GleamBindings(Environment parent)
     {
         this(parent, null);
@@ -64,6 +68,18 @@ public class GleamBindings extends Environment implements Bindings
                                            : bindings);
     }
 
+    /**
+     * Gets the forms of a script compiled in this environment. The script is weakly referenced, so
+     * that its forms are released when it is no longer used.
+     */
+    GleamCompiledScript.Forms getCompiledForms(GleamCompiledScript script)
+    {
+        if (compiledScripts == null) {
+            compiledScripts = new WeakHashMap<>();
+        }
+        return compiledScripts.computeIfAbsent(script, GleamCompiledScript::newForms);
+    }
+
     @Override
     public int size()
     {
@@ -148,7 +164,9 @@ public class GleamBindings extends Environment implements Bindings
     @Override
     public Object remove(Object key)
     {
-        return assocAdapter.remove(key);
+        Object ret = assocAdapter.remove(key);
+        newGeneration();
+        return ret;
     }
 
     @Override
@@ -161,6 +179,7 @@ public class GleamBindings extends Environment implements Bindings
     public void clear()
     {
         assocAdapter.clear();
+        newGeneration();
     }
 
     @Override
@@ -184,7 +203,9 @@ public class GleamBindings extends Environment implements Bindings
     @Override
     public boolean remove(Object key, Object value)
     {
-        return assocAdapter.remove(key, value);
+        boolean removed = assocAdapter.remove(key, value);
+        newGeneration();
+        return removed;
     }
 
     private static class SymbolStringConverter implements Converter<Symbol, String>
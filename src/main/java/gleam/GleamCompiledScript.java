@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2023 Guglielmo Nigri.  All Rights Reserved.
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of version 2 of the GNU General Public License as
+ * published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it would be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Further, this software is distributed without any warranty that it is
+ * free of the rightful claim of any third person regarding infringement
+ * or the like.  Any license provided herein, whether implied or
+ * otherwise, applies only to this software file.  Patent licenses, if
+ * any, provided herein do not apply to combinations of this program with
+ * other software, or any other product whatsoever.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write the Free Software Foundation, Inc., 59
+ * Temple Place - Suite 330, Boston MA 02111-1307, USA.
+ *
+ * Contact information: Guglielmo Nigri <guglielmonigri@yahoo.it>
+ *
+ */
+package gleam;
+
+import gleam.lang.Entity;
+import gleam.lang.Environment;
+import gleam.lang.Eof;
+import gleam.lang.GleamException;
+import gleam.lang.InputPort;
+import gleam.lang.Interpreter;
+import gleam.lang.Pair;
+import gleam.lang.Void;
+import gleam.lang.compiler.Compiler;
+
+import javax.script.CompiledScript;
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+import javax.script.ScriptException;
+import java.io.Reader;
+import java.util.ArrayList;
+
+/**
+ * A script read once, and compiled once for each environment it is evaluated in.
+ * <p>
+ * Since compilation resolves global variables in an environment, and may depend on the macros
+ * defined by the preceding forms, each form is compiled just before it is first evaluated in an
+ * environment, and the compiled form is kept for the next evaluations in the same environment.
+ * A compiled form is discarded if the bindings of that environment have changed since its
+ * compilation, e.g., if a name used as a procedure has been bound to a macro. Global variables are
+ * compiled to references that check for shadowing bindings by themselves, so bindings made in
+ * other environments, e.g., in other engines, do not cause the script to be compiled again.
+ * <p>
+ * The compiled forms refer to the environment they were compiled in, so they are kept by the
+ * environment itself, if it is a {@link GleamBindings}, and are released together with it.
+ * Otherwise, only the forms compiled for the last environment are kept.
+ */
+public class GleamCompiledScript extends CompiledScript
+{
+    private final GleamScriptEngine engine;
+
+    /** the forms as read, never compiled, since compilation modifies them */
+    private final Entity[] forms;
+
+    /** the last environment other than a GleamBindings evaluated in, or null */
+    private Environment lastEnv;
+
+    /** the forms compiled for lastEnv */
+    private Forms lastForms;
+
+    GleamCompiledScript(GleamScriptEngine engine, Reader reader) throws GleamException
+    {
+        this.engine = engine;
+        this.forms = read(reader);
+    }
+
+    private static Entity[] read(Reader reader) throws GleamException
+    {
+        java.util.List<Entity> forms = new ArrayList<>();
+        InputPort port = new InputPort(reader);
+        Entity form;
+        while ((form = port.read()) != Eof.VALUE) {
+            forms.add(form);
+        }
+        return forms.toArray(new Entity[0]);
+    }
+
+    /**
+     * Copies the pairs of a form, which are modified by compilation.
+     */
+    private static Entity copy(Entity form)
+    {
+        if (!(form instanceof Pair)) {
+            return form;
+        }
+        Pair head = new Pair(copy(((Pair) form).getCar()), ((Pair) form).getCdr());
+        Pair last = head;
+        while (last.getCdr() instanceof Pair) {
+            Pair next = (Pair) last.getCdr();
+            Pair pair = new Pair(copy(next.getCar()), next.getCdr());
+            last.setCdr(pair);
+            last = pair;
+        }
+        return head;
+    }
+
+    @Override
+    public Object eval(ScriptContext context) throws ScriptException
+    {
+        return engine.eval(this, context);
+    }
+
+    @Override
+    public ScriptEngine getEngine()
+    {
+        return engine;
+    }
+
+    /**
+     * Evaluates the forms in the current session environment of an interpreter.
+     *
+     * @return the value of the last form
+     */
+    Entity eval(Interpreter interpreter) throws GleamException
+    {
+        Environment env = interpreter.getSessionEnv();
+        Forms compiled = compiledForms(env);
+        Entity value = Void.VALUE;
+        for (int i = 0; i < forms.length; ++i) {
+            int generation = env.getGeneration();
+            if (compiled.nodes[i] == null || compiled.generations[i] != generation) {
+                compiled.nodes[i] = Compiler.compile(copy(forms[i]), env);
+                compiled.generations[i] = generation;
+            }
+            value = interpreter.evalCompiled(compiled.nodes[i], env);
+        }
+        return value;
+    }
+
+    private Forms compiledForms(Environment env)
+    {
+        if (env instanceof GleamBindings) {
+            return ((GleamBindings) env).getCompiledForms(this);
+        }
+        if (env != lastEnv) {
+            lastEnv = env;
+            lastForms = newForms();
+        }
+        return lastForms;
+    }
+
+    Forms newForms()
+    {
+        return new Forms(forms.length);
+    }
+
+    /**
+     * The forms of a script compiled in an environment, each with the binding generation at the
+     * time of its compilation. These must not refer to the script, which is weakly referenced by
+     * the environment.
+     */
+    static final class Forms
+    {
+        final Entity[] nodes;
+
+        final int[] generations;
+
+        private Forms(int length)
+        {
+            nodes = new Entity[length];
+            generations = new int[length];
+        }
+    }
+}
@@ -0,0 +1,317 @@
+/*
+ * Copyright (c) 2023 Guglielmo Nigri.  All Rights Reserved.
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of version 2 of the GNU General Public License as
+ * published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it would be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Further, this software is distributed without any warranty that it is
+ * free of the rightful claim of any third person regarding infringement
+ * or the like.  Any license provided herein, whether implied or
+ * otherwise, applies only to this software file.  Patent licenses, if
+ * any, provided herein do not apply to combinations of this program with
+ * other software, or any other product whatsoever.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write the Free Software Foundation, Inc., 59
+ * Temple Place - Suite 330, Boston MA 02111-1307, USA.
+ *
+ * Contact information: Guglielmo Nigri <guglielmonigri@yahoo.it>
+ *
+ */
+
+package gleam;
+
+import gleam.lang.BigInt;
+import gleam.lang.Boolean;
+import gleam.lang.Character;
+import gleam.lang.Entity;
+import gleam.lang.GleamException;
+import gleam.lang.Int;
+import gleam.lang.Interpreter;
+import gleam.lang.Location;
+import gleam.lang.Number;
+import gleam.lang.Procedure;
+import gleam.lang.Real;
+import gleam.lang.compiler.GlobalRef;
+
+import gleam.interop.FunctionException;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The invocation handler of the proxies returned by {@link GleamScriptEngine#getInterface}.
+ * <p>
+ * Each method of the interface is bound, when the proxy is created, to a {@link Function} that
+ * holds the target procedure, or a reference caching its location, together with the converters
+ * of its arguments and of its return value, chosen by their declared Java types, so that a call
+ * through the proxy does no lookup by name.
+ * <p>
+ * Default methods are bound only if a procedure with the same name exists. Calling an unbound
+ * default method throws {@link UnsupportedOperationException}.
+ * <p>
+ * Errors, including a procedure no longer bound, or a result that cannot be converted exactly to
+ * the return type, are thrown as {@link FunctionException}, since interface methods do not declare
+ * checked exceptions.
+ */
+final class GleamProxy implements InvocationHandler
+{
+    private final GleamScriptEngine engine;
+
+    private final Class<?> clasz;
+
+    /** the object passed as the first argument to each procedure, or null */
+    private final Entity self;
+
+    private final Map<Method, Function> functions;
+
+    private GleamProxy(GleamScriptEngine engine,
+                       Class<?> clasz,
+                       Entity self,
+                       Map<Method, Function> functions)
+    {
+        this.engine = engine;
+        this.clasz = clasz;
+        this.self = self;
+        this.functions = functions;
+    }
+
+    /**
+     * Creates a proxy implementing an interface with Scheme procedures.
+     * <p>
+     * If {@code thiz} is null, each method is implemented by the procedure with the same name in
+     * the session environment. If {@code thiz} is a procedure, it implements all the abstract
+     * methods, e.g., the single method of a functional interface. Otherwise, each method is
+     * implemented by the procedure with the same name, called with {@code thiz} as its first
+     * argument.
+     *
+     * @return the proxy, or null if an abstract method has no procedure
+     */
+    static <T> T newProxy(GleamScriptEngine engine, Object thiz, Class<T> clasz)
+    {
+        if (clasz == null || !clasz.isInterface()) {
+            throw new IllegalArgumentException("not an interface: " + clasz);
+        }
+        Entity self = thiz == null ? null : GleamScriptEngine.entityOf(thiz);
+        Procedure target = self instanceof Procedure ? (Procedure) self : null;
+        Map<Method, Function> functions = new HashMap<>();
+        for (Method method : clasz.getMethods()) {
+            if (Modifier.isStatic(method.getModifiers()) || isObjectMethod(method)) {
+                continue;
+            }
+            Function function;
+            if (target != null) {
+                function = method.isDefault() ? null : new Function(method, target, null);
+            }
+            else {
+                GlobalRef ref = engine.getFunctionRef(method.getName());
+                function = procedureAt(ref, engine) != null
+                           ? new Function(method, null, ref)
+                           : null;
+            }
+            if (function != null) {
+                functions.put(method, function);
+            }
+            else if (!method.isDefault()) {
+                return null;
+            }
+        }
+        GleamProxy handler = new GleamProxy(engine, clasz, target == null ? self : null, functions);
+        return clasz.cast(Proxy.newProxyInstance(clasz.getClassLoader(),
+                                                 new Class<?>[]{clasz},
+                                                 handler));
+    }
+
+    private static boolean isObjectMethod(Method method)
+    {
+        try {
+            Object.class.getMethod(method.getName(), method.getParameterTypes());
+            return true;
+        }
+        catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static Procedure procedureAt(GlobalRef ref, GleamScriptEngine engine)
+    {
+        Location location = ref.locate(engine.getInterpreter().getSessionEnv());
+        Entity value = location == null ? null : location.get();
+        return value instanceof Procedure ? (Procedure) value : null;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
+    {
+        Function function = functions.get(method);
+        if (function == null) {
+            if (method.getDeclaringClass() == Object.class) {
+                return invokeObjectMethod(proxy, method, args);
+            }
+            throw new UnsupportedOperationException(method.toString());
+        }
+        Procedure procedure = function.procedure != null
+                              ? function.procedure
+                              : procedureAt(function.ref, engine);
+        if (procedure == null) {
+            throw new FunctionException(new GleamException("no such procedure",
+                                                           function.ref.getSymbol()));
+        }
+        int offset = self == null ? 0 : 1;
+        Entity[] frame = new Entity[function.arguments.length + offset];
+        if (self != null) {
+            frame[0] = self;
+        }
+        for (int i = 0; i < function.arguments.length; ++i) {
+            frame[i + offset] = function.arguments[i].convert(args[i]);
+        }
+        try {
+            Interpreter interpreter = engine.getInterpreter();
+            Entity value = interpreter.invoke(procedure, frame, interpreter.getSessionEnv());
+            return function.result.convert(value);
+        }
+        catch (GleamException e) {
+            throw new FunctionException(e);
+        }
+    }
+
+    private Object invokeObjectMethod(Object proxy, Method method, Object[] args)
+    {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            default:
+                return "Gleam " + clasz.getName() + "@"
+                       + Integer.toHexString(System.identityHashCode(proxy));
+        }
+    }
+
+    /** A converter from a Java argument to an entity. */
+    private interface ArgumentConverter
+    {
+        Entity convert(Object value);
+    }
+
+    /** A converter from an entity to a Java return value. */
+    private interface ResultConverter
+    {
+        Object convert(Entity value) throws GleamException;
+    }
+
+    /** A method bound to its procedure and converters. */
+    private static final class Function
+    {
+        private final Procedure procedure;
+        private final GlobalRef ref;
+        private final ArgumentConverter[] arguments;
+        private final ResultConverter result;
+
+        Function(Method method, Procedure procedure, GlobalRef ref)
+        {
+            this.procedure = procedure;
+            this.ref = ref;
+            Class<?>[] types = method.getParameterTypes();
+            this.arguments = new ArgumentConverter[types.length];
+            for (int i = 0; i < types.length; ++i) {
+                this.arguments[i] = argumentConverter(types[i]);
+            }
+            this.result = resultConverter(method.getReturnType());
+        }
+    }
+
+    private static ArgumentConverter argumentConverter(Class<?> type)
+    {
+        if (type == int.class || type == long.class || type == short.class
+            || type == byte.class) {
+            return value -> Int.valueOf(((java.lang.Number) value).longValue());
+        }
+        else if (type == double.class || type == float.class) {
+            return value -> new Real(((java.lang.Number) value).doubleValue());
+        }
+        else if (type == boolean.class) {
+            return value -> Boolean.makeBoolean((java.lang.Boolean) value);
+        }
+        return GleamScriptEngine::entityOf;
+    }
+
+    private static ResultConverter resultConverter(Class<?> type)
+    {
+        if (type == void.class) {
+            return value -> null;
+        }
+        else if (type == boolean.class) {
+            return value -> value != Boolean.falseValue;
+        }
+        else if (type == int.class || type == Integer.class) {
+            return value -> (int) integer(value, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        }
+        else if (type == long.class || type == Long.class) {
+            return value -> integer(value, Long.MIN_VALUE, Long.MAX_VALUE);
+        }
+        else if (type == double.class) {
+            return value -> number(value).doubleValue();
+        }
+        else if (type == float.class) {
+            return value -> number(value).floatValue();
+        }
+        else if (type == short.class || type == Short.class) {
+            return value -> (short) integer(value, Short.MIN_VALUE, Short.MAX_VALUE);
+        }
+        else if (type == byte.class || type == Byte.class) {
+            return value -> (byte) integer(value, Byte.MIN_VALUE, Byte.MAX_VALUE);
+        }
+        else if (type == char.class) {
+            return value -> {
+                if (!(value instanceof Character)) {
+                    throw new GleamException("not a character", value);
+                }
+                return ((Character) value).getCharValue();
+            };
+        }
+        return GleamScriptEngine::objectOf;
+    }
+
+    /**
+     * Converts an exact integer, rejecting any other number, or one outside the given range, which
+     * would be silently changed by a narrowing conversion.
+     */
+    private static long integer(Entity value, long min, long max) throws GleamException
+    {
+        if (value instanceof Int) {
+            long n = ((Int) value).longValue();
+            if (n < min || n > max) {
+                throw new GleamException("integer out of range", value);
+            }
+            return n;
+        }
+        if (value instanceof BigInt) {
+            BigInteger n = ((BigInt) value).bigIntegerValue();
+            if (n.bitLength() >= Long.SIZE
+                || n.longValue() < min || n.longValue() > max) {
+                throw new GleamException("integer out of range", value);
+            }
+            return n.longValue();
+        }
+        throw new GleamException("not an exact integer", value);
+    }
+
+    private static Number number(Entity value) throws GleamException
+    {
+        if (!(value instanceof Number)) {
+            throw new GleamException("not a number", value);
+        }
+        return (Number) value;
+    }
+}
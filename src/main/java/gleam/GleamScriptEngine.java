@@ -27,26 +27,35 @@
 package gleam;
 
 import gleam.lang.Entity;
+import gleam.lang.Environment;
 import gleam.lang.ExecutionContext;
 import gleam.lang.GleamException;
 import gleam.lang.InputPort;
 import gleam.lang.Interpreter;
 import gleam.lang.JavaObject;
+import gleam.lang.Location;
 import gleam.lang.OutputPort;
 import gleam.lang.Pair;
+import gleam.lang.Procedure;
 import gleam.lang.Symbol;
+import gleam.lang.compiler.GlobalRef;
 import gleam.util.Converter;
 import gleam.util.EntityObjectConverter;
 import gleam.util.Logger;
 
 import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
 import javax.script.Invocable;
 import javax.script.ScriptContext;
 import javax.script.ScriptEngine;
 import javax.script.ScriptEngineFactory;
 import javax.script.ScriptException;
 import java.io.Reader;
+import java.io.StringReader;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
 
 import static gleam.lang.Entities.car;
 import static gleam.lang.Entities.cdr;
@@ -56,7 +65,7 @@ import static gleam.lang.Entities.quoted;
 import static gleam.lang.Entities.symbol;
 import static javax.script.ScriptContext.ENGINE_SCOPE;
 
-public class GleamScriptEngine implements ScriptEngine, Invocable
+public class GleamScriptEngine implements ScriptEngine, Invocable, Compilable
 {
     private static final Logger logger = Logger.getLogger();
 
@@ -67,10 +76,29 @@ public class GleamScriptEngine implements ScriptEngine, Invocable
 
     private final Interpreter interpreter;
 
+    private final GleamScriptEngineFactory factory;
+
+    /** the cache of evaluated scripts, or null if disabled */
+    private final EvalCache evalCache;
+
+    /** the references to the functions invoked so far, each caching its Location */
+    private final Map<String, GlobalRef> functions = new HashMap<>();
+
+    /** the implementations of interfaces by global procedures, by interface */
+    private final Map<Class<?>, Object> interfaces = new HashMap<>();
+
     private GleamScriptContext context;
 
     public GleamScriptEngine()
     {
+        this(new GleamScriptEngineFactory());
+    }
+
+    GleamScriptEngine(GleamScriptEngineFactory factory)
+    {
+        this.factory = factory;
+        int capacity = factory.getEvalCacheCapacity();
+        this.evalCache = capacity > 0 ? new EvalCache(capacity) : null;
         try {
             this.interpreter = Interpreter.newInterpreter();
             this.setContext(new GleamScriptContext(this.interpreter));
@@ -133,10 +161,26 @@ public class GleamScriptEngine implements ScriptEngine, Invocable
         return ret;
     }
 
+    /**
+     * Gets the cache of evaluated scripts.
+     *
+     * @return the cache, or null if disabled
+     *
+     * @see GleamScriptEngineFactory#EVAL_CACHE_CAPACITY
+     */
+    public EvalCache getEvalCache()
+    {
+        return evalCache;
+    }
+
     @Override
     public Object eval(String script) throws ScriptException
     {
         try {
+            if (evalCache != null) {
+                return entityObjectConverter.convert(
+                        evalCache.get(this, script).eval(interpreter));
+            }
             return entityObjectConverter.convert(interpreter.eval(script));
         }
         catch (GleamException e) {
@@ -237,7 +281,7 @@ public class GleamScriptEngine implements ScriptEngine, Invocable
     @Override
     public ScriptEngineFactory getFactory()
     {
-        return new GleamScriptEngineFactory();
+        return factory;
     }
 
     @Override
@@ -267,19 +311,125 @@ public class GleamScriptEngine implements ScriptEngine, Invocable
                                  Object... args)
             throws ScriptException, NoSuchMethodException
     {
-        return evalPair(toGleamList(name, args));
+        Procedure procedure = getFunction(name);
+        Entity[] arguments = new Entity[args == null ? 0 : args.length];
+        for (int i = 0; i < arguments.length; ++i) {
+            arguments[i] = entityObjectConverter.invert(args[i]);
+        }
+        try {
+            Entity result = interpreter.invoke(procedure, arguments, interpreter.getSessionEnv());
+            return entityObjectConverter.convert(result);
+        }
+        catch (GleamException e) {
+            throw new ScriptException(e);
+        }
+    }
+
+    /**
+     * Gets the procedure bound to a name in the session environment. The Location of the name is
+     * cached, and only looked up again if new bindings are made or the environment changes.
+     *
+     * @throws NoSuchMethodException if the name is not bound to a procedure
+     */
+    Procedure getFunction(String name) throws NoSuchMethodException
+    {
+        GlobalRef ref = getFunctionRef(name);
+        Location location = ref.locate(interpreter.getSessionEnv());
+        Entity value = location == null ? null : location.get();
+        if (!(value instanceof Procedure)) {
+            throw new NoSuchMethodException(name);
+        }
+        return (Procedure) value;
+    }
+
+    /**
+     * Gets the reference to a name in the session environment, caching its Location.
+     */
+    GlobalRef getFunctionRef(String name)
+    {
+        return functions.computeIfAbsent(name, n -> new GlobalRef(symbol(n)));
+    }
+
+    @Override
+    public CompiledScript compile(String script) throws ScriptException
+    {
+        return compile(new StringReader(script));
     }
 
+    @Override
+    public CompiledScript compile(Reader script) throws ScriptException
+    {
+        try {
+            return new GleamCompiledScript(this, script);
+        }
+        catch (GleamException e) {
+            throw new ScriptException(e);
+        }
+    }
+
+    /**
+     * Evaluates a compiled script in a context, which becomes the context of this engine for the
+     * duration of the evaluation.
+     */
+    Object eval(GleamCompiledScript script, ScriptContext context) throws ScriptException
+    {
+        if (context == this.context) {
+            return eval(script);
+        }
+        GleamScriptContext prevContext = this.context;
+        Environment prevEnv = interpreter.getSessionEnv();
+        try {
+            this.setContext(toGleamContext(context));
+            return eval(script);
+        }
+        finally {
+            interpreter.setSessionEnv(prevEnv);
+            this.setContext(prevContext);
+        }
+    }
+
+    private Object eval(GleamCompiledScript script) throws ScriptException
+    {
+        try {
+            return entityObjectConverter.convert(script.eval(interpreter));
+        }
+        catch (GleamException e) {
+            throw new ScriptException(e);
+        }
+    }
+
+    /**
+     * Returns an implementation of an interface whose methods are implemented by the procedures
+     * with the same names in the session environment. The implementation is cached, so the same
+     * object is returned for the same interface.
+     */
     @Override
     public <T> T getInterface(Class<T> clasz)
     {
-        return null;
+        Object proxy = interfaces.get(clasz);
+        if (proxy == null) {
+            proxy = GleamProxy.newProxy(this, null, clasz);
+            if (proxy != null) {
+                interfaces.put(clasz, proxy);
+            }
+        }
+        return clasz.cast(proxy);
     }
 
+    /**
+     * Returns an implementation of an interface. If {@code thiz} is a procedure, it implements
+     * all the abstract methods of the interface, which is useful for functional interfaces such
+     * as {@link java.util.Comparator} or {@link java.util.function.Predicate}. Otherwise, each
+     * method is implemented by the procedure with the same name in the session environment,
+     * called with {@code thiz} as its first argument.
+     */
     @Override
     public <T> T getInterface(Object thiz, Class<T> clasz)
     {
-        return null;
+        if (thiz == null) {
+            throw new IllegalArgumentException("thiz is null");
+        }
+        return GleamProxy.newProxy(this, thiz, clasz);
     }
 
     private Pair toGleamList(String name, Object[] args)
@@ -30,7 +30,9 @@ import javax.script.ScriptEngine;
 import javax.script.ScriptEngineFactory;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class GleamScriptEngineFactory implements ScriptEngineFactory
 {
@@ -56,6 +58,16 @@ public class GleamScriptEngineFactory implements ScriptEngineFactory
                                                          "text/scheme",
                                                          "text/gleam");
 
+    /**
+     * The parameter holding the capacity of the eval cache of the engines created afterwards, as
+     * a number or a string. Zero, the default, disables the cache.
+     *
+     * @see EvalCache
+     */
+    public static final String EVAL_CACHE_CAPACITY = "gleam.eval-cache.capacity";
+
+    private final Map<String, Object> parameters = new HashMap<>();
+
     private static List<String> listOf(String... strings)
     {
         return Collections.unmodifiableList(Arrays.asList(strings));
@@ -64,7 +76,24 @@ public class GleamScriptEngineFactory implements ScriptEngineFactory
     @Override
     public ScriptEngine getScriptEngine()
     {
-        return new GleamScriptEngine();
+        return new GleamScriptEngine(this);
+    }
+
+    /**
+     * Sets a parameter, such as {@link #EVAL_CACHE_CAPACITY}, for the engines created afterwards.
+     */
+    public void setParameter(String key, Object value)
+    {
+        parameters.put(key, value);
+    }
+
+    int getEvalCacheCapacity()
+    {
+        Object value = parameters.get(EVAL_CACHE_CAPACITY);
+        if (value instanceof Number) {
+            return ((Number) value).intValue();
+        }
+        return value == null ? 0 : Integer.parseInt(value.toString().trim());
     }
 
     @Override
@@ -128,7 +157,7 @@ public class GleamScriptEngineFactory implements ScriptEngineFactory
             case "THREADING":
                 return "THREAD-ISOLATED";
             default:
-                return null;
+                return parameters.get(key);
         }
     }
 
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2023 Guglielmo Nigri.  All Rights Reserved.
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of version 2 of the GNU General Public License as
+ * published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it would be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Further, this software is distributed without any warranty that it is
+ * free of the rightful claim of any third person regarding infringement
+ * or the like.  Any license provided herein, whether implied or
+ * otherwise, applies only to this software file.  Patent licenses, if
+ * any, provided herein do not apply to combinations of this program with
+ * other software, or any other product whatsoever.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write the Free Software Foundation, Inc., 59
+ * Temple Place - Suite 330, Boston MA 02111-1307, USA.
+ *
+ * Contact information: Guglielmo Nigri <guglielmonigri@yahoo.it>
+ *
+ */
+
+package gleam.interop;
+
+import gleam.lang.BigInt;
+import gleam.lang.Boolean;
+import gleam.lang.Continuation;
+import gleam.lang.Entity;
+import gleam.lang.Environment;
+import gleam.lang.GleamException;
+import gleam.lang.Int;
+import gleam.lang.Interpreter;
+import gleam.lang.Number;
+import gleam.lang.Procedure;
+import gleam.lang.Real;
+import gleam.util.Converter;
+import gleam.util.EntityObjectConverter;
+
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.LongBinaryOperator;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Adapters of Scheme procedures to the functional interfaces of {@code java.util.function}, for
+ * Java code calling Scheme once per element of a large collection, e.g., from a stream.
+ * <p>
+ * Numbers are passed to and from the procedure as {@link Int} or {@link Real} directly, without
+ * going through the boxed Java types. Each thread calling an adapter gets an argument frame,
+ * sized once for the arity of the interface, and a continuation, in which the procedure runs:
+ * both are reused across the calls made by that thread, so that an adapter can be used from a
+ * parallel stream.
+ * <p>
+ * The procedure itself is shared, so it should not modify global variables, or any other state,
+ * when called from several threads. Errors are thrown as {@link FunctionException}.
+ * <p>
+ * Example:
+ * <pre>
+ * Procedure square = (Procedure) engine.eval("(lambda (x) (* x x))");
+ * double sum = DoubleStream.of(data).parallel().map(Functions.doubleUnaryOperator(square)).sum();
+ * </pre>
+ */
+public final class Functions
+{
+    private static final Converter<Entity, Object>
+            entityObjectConverter = new EntityObjectConverter();
+
+    private Functions()
+    {
+    }
+
+    /**
+     * Adapts a procedure of one number, returning a number.
+     */
+    public static DoubleUnaryOperator doubleUnaryOperator(Procedure procedure)
+    {
+        Adapter adapter = new Adapter(procedure, 1);
+        return x -> {
+            Frame frame = adapter.frames.get();
+            frame.args[0] = new Real(x);
+            return number(adapter.call(frame)).doubleValue();
+        };
+    }
+
+    /**
+     * Adapts a procedure of two integers, returning an exact integer that fits in a long.
+     */
+    public static LongBinaryOperator longBinaryOperator(Procedure procedure)
+    {
+        Adapter adapter = new Adapter(procedure, 2);
+        return (x, y) -> {
+            Frame frame = adapter.frames.get();
+            frame.args[0] = Int.valueOf(x);
+            frame.args[1] = Int.valueOf(y);
+            return integer(adapter.call(frame));
+        };
+    }
+
+    /**
+     * Adapts a procedure of one object, returning a number.
+     */
+    public static <T> ToDoubleFunction<T> toDoubleFunction(Procedure procedure)
+    {
+        Adapter adapter = new Adapter(procedure, 1);
+        return t -> {
+            Frame frame = adapter.frames.get();
+            frame.args[0] = entityObjectConverter.invert(t);
+            return number(adapter.call(frame)).doubleValue();
+        };
+    }
+
+    /**
+     * Adapts a procedure of one object. As in Scheme, any value other than {@code #f} is true.
+     */
+    public static <T> Predicate<T> predicate(Procedure procedure)
+    {
+        Adapter adapter = new Adapter(procedure, 1);
+        return t -> {
+            Frame frame = adapter.frames.get();
+            frame.args[0] = entityObjectConverter.invert(t);
+            return adapter.call(frame) != Boolean.falseValue;
+        };
+    }
+
+    /**
+     * Converts an exact integer, which fits in a long if it is an Int, since exact integers are
+     * normalized. Any other number is rejected rather than silently narrowed.
+     */
+    private static long integer(Entity value)
+    {
+        if (value instanceof Int) {
+            return ((Int) value).longValue();
+        }
+        String message = value instanceof BigInt ? "integer out of range" : "not an exact integer";
+        throw new FunctionException(new GleamException(message, value));
+    }
+
+    private static Number number(Entity value)
+    {
+        if (!(value instanceof Number)) {
+            throw new FunctionException(new GleamException("not a number", value));
+        }
+        return (Number) value;
+    }
+
+    /** A procedure and the frames of the threads calling it. */
+    private static final class Adapter
+    {
+        private final Procedure procedure;
+
+        private final Environment env = Interpreter.getInteractionEnv();
+
+        private final ThreadLocal<Frame> frames;
+
+        Adapter(Procedure procedure, int arity)
+        {
+            if (procedure == null) {
+                throw new NullPointerException("procedure");
+            }
+            this.procedure = procedure;
+            this.frames = ThreadLocal.withInitial(() -> new Frame(arity));
+        }
+
+        /**
+         * Calls the procedure with the arguments in a frame. If the continuation of the frame is
+         * in use, because the procedure called back this adapter, a new one is used instead.
+         */
+        Entity call(Frame frame)
+        {
+            Continuation cont = frame.cont.isEmpty() ? frame.cont : new Continuation();
+            try {
+                return Interpreter.apply(procedure, frame.args, env, cont);
+            }
+            catch (GleamException e) {
+                throw new FunctionException(e);
+            }
+        }
+    }
+
+    /** The arguments and continuation of the calls made by a thread. */
+    private static final class Frame
+    {
+        final Entity[] args;
+
+        final Continuation cont = new Continuation();
+
+        Frame(int arity)
+        {
+            this.args = new Entity[arity];
+        }
+    }
+}
@@ -35,26 +35,44 @@ package gleam.lang;
 /**
  * Represents an abstract unit of execution, which can be invoked during the program's execution.
  * Execution units are a constituent of continuations, as a full continuation consists of a sequence
- * of invocations of these units. Actions are linked together in a tree-like structure, where an
- * execution goes from leaf to root.
- * <p>
- * In a traditional program, the tree may degenerate into a list, taking the role of the call stack
- * used in many non tail-recursive languages. However, when continuations are captured and re-used,
- * their actions may end up being arranged as a proper tree.
+ * of invocations of these units. Actions are stacked in a continuation, taking the role of the call
+ * stack used in many non tail-recursive languages. When continuations are captured and re-used,
+ * their actions are shared, so an action must not change once it has been scheduled.
+ *
+ * @see Continuation
  */
 public abstract class Action implements java.io.Serializable
 {
+    /*
+     * opcodes, telling the interpreter how to execute an action
+     */
+
+    /** an action executed by calling its invoke method */
+    protected static final int INVOKE = 0;
+
+    /** an ExpressionAction, executed inline by the interpreter */
+    protected static final int EXPRESSION = 1;
+
+    /** an IfAction, executed inline by the interpreter */
+    protected static final int IF = 2;
+
+    /** an action storing an argument of a compiled procedure call */
+    protected static final int ARGUMENT = 3;
+
+    /** an action applying a procedure in a compiled procedure call */
+    protected static final int CALL = 4;
+
     /** the environment in which to execute this action. */
-    final Environment env;
+    protected final Environment env;
 
-    /** the next action to execute, this creates a tree structure. */
-    Action next;
+    /** the opcode of this action */
+    final int opcode;
 
     /**
-     * Invokes this action with an argument and a continuation, and returns a value, advancing the
-     * continuation to the next action. Subclasses must implement this method and update the
-     * continuation's head to the next action to execute (e.g., {@code cont.head = next}) to move
-     * the program execution forward. If the method only changes the continuation, and does not
+     * Invokes this action with an argument and a continuation, and returns a value. When this
+     * method is called, the action has already been removed from the continuation. Subclasses
+     * must implement this method, and may push new actions to the continuation to move the
+     * program execution forward. If the method only changes the continuation, and does not
      * return a value, it should return {@code null}.
      *
      * @param arg  the Entity argument to this step of execution
@@ -64,33 +82,31 @@ public abstract class Action implements java.io.Serializable
      *
      * @throws gleam.lang.GleamException in case of errors
      */
-    abstract Entity invoke(Entity arg, Continuation cont) throws gleam.lang.GleamException;
+    protected abstract Entity invoke(Entity arg, Continuation cont)
+            throws gleam.lang.GleamException;
 
     protected interface Printer
     {
         void print(OutputPort port);
     }
 
-    Action(Environment env)
+    protected Action(Environment env)
     {
-        this.env = env;
+        this(env, INVOKE);
     }
 
     /**
-     * Appends a new action after this one, so that the given action be executed after this one.
+     * Creates an action with a given opcode.
      *
-     * @param action the Action to append
+     * @param env    the environment in which to execute this action
+     * @param opcode one of the opcodes defined in this class
      *
-     * @return the argument
-     *
-     * @see Continuation#beginWith(Action)
-     * @see Continuation#beginSequence()
+     * @see Interpreter
      */
-    public Action andThen(Action action)
+    protected Action(Environment env, int opcode)
     {
-        action.next = this.next;
-        this.next = action;
-        return action;
+        this.env = env;
+        this.opcode = opcode;
     }
 
     protected void trace(Printer printer, Environment env)
@@ -26,71 +26,56 @@
 
 package gleam.lang;
 
-import java.util.ArrayList;
-
 import static gleam.lang.Entities.list;
 
 /**
- * A list of arguments for a procedure.
+ * A list of arguments for a procedure, held either in an array or in a Scheme list.
  */
 public class ArgumentList implements java.io.Serializable
 {
 
-    private static final long serialVersionUID = 1L;
+    private static final long serialVersionUID = 2L;
 
-    private final java.util.ArrayList<Entity> listArgs;
+    private final Entity[] arrayArgs;
     private final List pairArgs;
 
-    public ArgumentList()
+    public ArgumentList(Entity[] args)
     {
-        // variable-size argument list
-        this.listArgs = new java.util.ArrayList<>();
+        this.arrayArgs = args;
         this.pairArgs = null;
     }
 
     public ArgumentList(List args)
     {
-        // immutable argument list
-        this.listArgs = null;
+        this.arrayArgs = null;
         this.pairArgs = args;
     }
 
     /**
-     * Sets the value for an argument at a given index.
-     *
-     * @param index the index in this list
-     * @param value the value for the argument
+     * @return List the list of arguments
      */
-    public void set(int index, Entity value) throws GleamException
+    public List getArguments()
     {
-        if (listArgs == null) {
-            throw new GleamException("immutable ArgumentList");
-        }
-        ensureSize(listArgs, index + 1);
-        listArgs.set(index, value);
+        return null == pairArgs ? list(arrayArgs) : pairArgs;
     }
 
     /**
-     * Ensure argument list has at least {@code size} elements. Grow the list with {@code Undefined}
-     * values if necessary.
+     * Applies a procedure to these arguments, without converting them.
      *
-     * @param listArgs the argument list
-     * @param size     minimum needed size
-     */
-    private void ensureSize(ArrayList<Entity> listArgs, int size)
-    {
-        int missing = size - listArgs.size();
-        listArgs.ensureCapacity(size);
-        for (int i = 0; i < missing; ++i) {
-            listArgs.add(Undefined.VALUE);
-        }
-    }
-
-    /**
-     * @return List the list of arguments
+     * @param procedure the procedure to apply
+     * @param env       the environment in which to execute the procedure
+     * @param cont      the continuation
+     *
+     * @return the result of the procedure
+     *
+     * @throws GleamException in case of errors
      */
-    public List getArguments()
+    Entity applyTo(Procedure procedure,
+                   Environment env,
+                   Continuation cont) throws GleamException
     {
-        return null == listArgs ? pairArgs : list(listArgs);
+        return null == pairArgs
+               ? procedure.apply(arrayArgs, env, cont)
+               : procedure.apply(pairArgs, env, cont);
     }
 }
@@ -0,0 +1,504 @@
+/*
+ * Copyright (c) 2023 Guglielmo Nigri.  All Rights Reserved.
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of version 2 of the GNU General Public License as
+ * published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it would be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Further, this software is distributed without any warranty that it is
+ * free of the rightful claim of any third person regarding infringement
+ * or the like.  Any license provided herein, whether implied or
+ * otherwise, applies only to this software file.  Patent licenses, if
+ * any, provided herein do not apply to combinations of this program with
+ * other software, or any other product whatsoever.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write the Free Software Foundation, Inc., 59
+ * Temple Place - Suite 330, Boston MA 02111-1307, USA.
+ *
+ * Contact information: Guglielmo Nigri <guglielmonigri@yahoo.it>
+ *
+ */
+
+package gleam.lang;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Arithmetic on the numerical tower: exact integers ({@link Int} and {@link BigInt}), exact
+ * rationals ({@link Rational}) and inexact reals ({@link Real}).
+ * <p>
+ * Results are always normalized, so that an exact integer is an Int if it fits in a long, and a
+ * rational is never an integer. An operation is exact if all of its operands are; operations on
+ * fixnums are performed on longs, and only overflow into bignums when needed.
+ */
+public final class Arithmetic
+{
+
+    /** the largest magnitude up to which all integers are exactly representable as flonums */
+    private static final long MAX_EXACT_DOUBLE = 1L << 53;
+
+    /** Can't instantiate this class. */
+    private Arithmetic() {}
+
+    /**
+     * Makes an exact integer.
+     *
+     * @param n the value
+     *
+     * @return an Int if the value fits in a long, a BigInt otherwise
+     */
+    public static Number integer(BigInteger n)
+    {
+        if (n.bitLength() < 64) {
+            return Int.valueOf(n.longValue());
+        }
+        return new BigInt(n);
+    }
+
+    /**
+     * Makes an exact rational, reducing it to lowest terms.
+     *
+     * @param numerator   the numerator
+     * @param denominator the denominator, which must not be zero
+     *
+     * @return an exact integer if the denominator divides the numerator, a Rational otherwise
+     */
+    public static Number rational(BigInteger numerator, BigInteger denominator)
+    {
+        if (denominator.signum() < 0) {
+            numerator = numerator.negate();
+            denominator = denominator.negate();
+        }
+        BigInteger gcd = numerator.gcd(denominator);
+        if (!gcd.equals(BigInteger.ONE)) {
+            numerator = numerator.divide(gcd);
+            denominator = denominator.divide(gcd);
+        }
+        if (denominator.equals(BigInteger.ONE)) {
+            return integer(numerator);
+        }
+        return new Rational(numerator, denominator);
+    }
+
+    /**
+     * Tells whether a number is exact.
+     */
+    public static boolean isExact(Number n)
+    {
+        return !(n instanceof Real);
+    }
+
+    /**
+     * Tells whether a number is an integer, either exact or inexact.
+     */
+    public static boolean isInteger(Number n)
+    {
+        if (n instanceof Real) {
+            double d = n.doubleValue();
+            return !Double.isInfinite(d) && d == Math.rint(d);
+        }
+        return n instanceof Int || n instanceof BigInt;
+    }
+
+    /**
+     * Tells whether a number is zero, either exact or inexact.
+     */
+    public static boolean isZero(Number n)
+    {
+        if (n instanceof Int) {
+            return n.longValue() == 0;
+        }
+        if (n instanceof Real) {
+            return n.doubleValue() == 0.0;
+        }
+        // normalized bignums and rationals are never zero
+        return false;
+    }
+
+    /**
+     * Adds two fixnums, overflowing into a bignum if needed.
+     */
+    public static Number add(long x, long y)
+    {
+        try {
+            return Int.valueOf(Math.addExact(x, y));
+        }
+        catch (ArithmeticException e) {
+            return new BigInt(BigInteger.valueOf(x).add(BigInteger.valueOf(y)));
+        }
+    }
+
+    public static Number add(Number a, Number b)
+    {
+        if (a instanceof Int && b instanceof Int) {
+            return add(a.longValue(), b.longValue());
+        }
+        if (a instanceof Real || b instanceof Real) {
+            return new Real(a.doubleValue() + b.doubleValue());
+        }
+        if (a instanceof Rational || b instanceof Rational) {
+            return rational(numerator(a).multiply(denominator(b))
+                                        .add(numerator(b).multiply(denominator(a))),
+                            denominator(a).multiply(denominator(b)));
+        }
+        return integer(numerator(a).add(numerator(b)));
+    }
+
+    /**
+     * Subtracts two fixnums, overflowing into a bignum if needed.
+     */
+    public static Number subtract(long x, long y)
+    {
+        try {
+            return Int.valueOf(Math.subtractExact(x, y));
+        }
+        catch (ArithmeticException e) {
+            return new BigInt(BigInteger.valueOf(x).subtract(BigInteger.valueOf(y)));
+        }
+    }
+
+    public static Number subtract(Number a, Number b)
+    {
+        if (a instanceof Int && b instanceof Int) {
+            return subtract(a.longValue(), b.longValue());
+        }
+        if (a instanceof Real || b instanceof Real) {
+            return new Real(a.doubleValue() - b.doubleValue());
+        }
+        if (a instanceof Rational || b instanceof Rational) {
+            return rational(numerator(a).multiply(denominator(b))
+                                        .subtract(numerator(b).multiply(denominator(a))),
+                            denominator(a).multiply(denominator(b)));
+        }
+        return integer(numerator(a).subtract(numerator(b)));
+    }
+
+    /**
+     * Multiplies two fixnums, overflowing into a bignum if needed.
+     */
+    public static Number multiply(long x, long y)
+    {
+        try {
+            return Int.valueOf(Math.multiplyExact(x, y));
+        }
+        catch (ArithmeticException e) {
+            return new BigInt(BigInteger.valueOf(x).multiply(BigInteger.valueOf(y)));
+        }
+    }
+
+    public static Number multiply(Number a, Number b)
+    {
+        if (a instanceof Int && b instanceof Int) {
+            return multiply(a.longValue(), b.longValue());
+        }
+        if (a instanceof Real || b instanceof Real) {
+            return new Real(a.doubleValue() * b.doubleValue());
+        }
+        if (a instanceof Rational || b instanceof Rational) {
+            return rational(numerator(a).multiply(numerator(b)),
+                            denominator(a).multiply(denominator(b)));
+        }
+        return integer(numerator(a).multiply(numerator(b)));
+    }
+
+    /**
+     * Divides two numbers. The quotient of exact numbers is exact.
+     *
+     * @param a the dividend
+     * @param b the divisor, which must not be zero
+     *
+     * @return the quotient
+     */
+    public static Number divide(Number a, Number b)
+    {
+        if (a instanceof Int && b instanceof Int) {
+            long x = a.longValue();
+            long y = b.longValue();
+            if (x % y == 0 && !(x == Long.MIN_VALUE && y == -1)) {
+                return Int.valueOf(x / y);
+            }
+        }
+        if (a instanceof Real || b instanceof Real) {
+            return new Real(a.doubleValue() / b.doubleValue());
+        }
+        return rational(numerator(a).multiply(denominator(b)),
+                        denominator(a).multiply(numerator(b)));
+    }
+
+    public static Number negate(Number a)
+    {
+        if (a instanceof Int) {
+            long x = a.longValue();
+            if (x != Long.MIN_VALUE) {
+                return Int.valueOf(-x);
+            }
+        }
+        else if (a instanceof Real) {
+            return new Real(-a.doubleValue());
+        }
+        else if (a instanceof Rational) {
+            Rational r = (Rational) a;
+            return new Rational(r.getNumerator().negate(), r.getDenominator());
+        }
+        return integer(numerator(a).negate());
+    }
+
+    public static Number abs(Number a)
+    {
+        return sign(a) < 0 ? negate(a) : a;
+    }
+
+    /**
+     * Compares two flonums numerically, so that zero and negative zero are equal.
+     */
+    public static int compare(double x, double y)
+    {
+        return x < y ? -1 : (x > y ? 1 : 0);
+    }
+
+    /**
+     * Compares two numbers. An exact number and an inexact one are compared exactly, so that the
+     * comparison is transitive. NaN is neither less than nor greater than any number.
+     *
+     * @return a negative integer, zero, or a positive integer as the first number is less than,
+     * equal to, or greater than the second
+     */
+    public static int compare(Number a, Number b)
+    {
+        if (a instanceof Int && b instanceof Int) {
+            return Long.compare(a.longValue(), b.longValue());
+        }
+        if (a instanceof Real && b instanceof Real) {
+            return compare(a.doubleValue(), b.doubleValue());
+        }
+        if (a instanceof Real) {
+            return -compare(b, a.doubleValue());
+        }
+        if (b instanceof Real) {
+            return compare(a, b.doubleValue());
+        }
+        return compareExact(a, b);
+    }
+
+    /**
+     * Tells whether two numbers are numerically equal, regardless of their exactness.
+     */
+    public static boolean numberEquals(Number a, Number b)
+    {
+        if (a instanceof Int && b instanceof Int) {
+            return a.longValue() == b.longValue();
+        }
+        if (a instanceof Real && b instanceof Real) {
+            return a.doubleValue() == b.doubleValue();
+        }
+        if (a instanceof Real) {
+            return !Double.isNaN(a.doubleValue()) && compare(b, a.doubleValue()) == 0;
+        }
+        if (b instanceof Real) {
+            return !Double.isNaN(b.doubleValue()) && compare(a, b.doubleValue()) == 0;
+        }
+        // normalized exact numbers are equal only if they are the same kind of number
+        return a.equals(b);
+    }
+
+    /**
+     * Compares an exact number with a flonum. A finite flonum is converted to the exact number it
+     * represents, rather than the exact number to a flonum, which could round it.
+     */
+    private static int compare(Number exact, double x)
+    {
+        if (Double.isNaN(x)) {
+            return 0;
+        }
+        if (Double.isInfinite(x)) {
+            return x > 0 ? -1 : 1;
+        }
+        if (exact instanceof Int) {
+            long n = exact.longValue();
+            if (n >= -MAX_EXACT_DOUBLE && n <= MAX_EXACT_DOUBLE) {
+                // the integer converts to a flonum exactly
+                return compare((double) n, x);
+            }
+        }
+        return compareExact(exact, exact(x));
+    }
+
+    private static int compareExact(Number a, Number b)
+    {
+        return numerator(a).multiply(denominator(b))
+                           .compareTo(numerator(b).multiply(denominator(a)));
+    }
+
+    /**
+     * Gets the sign of a number.
+     *
+     * @return -1, 0 or 1 as the number is negative, zero or positive
+     */
+    public static int sign(Number a)
+    {
+        if (a instanceof Int) {
+            return Long.signum(a.longValue());
+        }
+        if (a instanceof Real) {
+            return (int) Math.signum(a.doubleValue());
+        }
+        return numerator(a).signum();
+    }
+
+    /**
+     * Divides two integers, truncating the quotient toward zero.
+     *
+     * @param a the dividend, an integer
+     * @param b the divisor, a non-zero integer
+     */
+    public static Number quotient(Number a, Number b)
+    {
+        if (a instanceof Int && b instanceof Int) {
+            long x = a.longValue();
+            long y = b.longValue();
+            if (!(x == Long.MIN_VALUE && y == -1)) {
+                return Int.valueOf(x / y);
+            }
+        }
+        if (a instanceof Real || b instanceof Real) {
+            double q = a.doubleValue() / b.doubleValue();
+            return new Real(q < 0 ? Math.ceil(q) : Math.floor(q));
+        }
+        return integer(numerator(a).divide(numerator(b)));
+    }
+
+    /**
+     * Gets the remainder of the division of two integers, which has the sign of the dividend.
+     *
+     * @param a the dividend, an integer
+     * @param b the divisor, a non-zero integer
+     */
+    public static Number remainder(Number a, Number b)
+    {
+        if (a instanceof Int && b instanceof Int) {
+            return Int.valueOf(a.longValue() % b.longValue());
+        }
+        if (a instanceof Real || b instanceof Real) {
+            return new Real(a.doubleValue() % b.doubleValue());
+        }
+        return integer(numerator(a).remainder(numerator(b)));
+    }
+
+    /**
+     * Gets the modulo of two integers, which has the sign of the divisor.
+     *
+     * @param a the dividend, an integer
+     * @param b the divisor, a non-zero integer
+     */
+    public static Number modulo(Number a, Number b)
+    {
+        if (a instanceof Int && b instanceof Int) {
+            return Int.valueOf(Math.floorMod(a.longValue(), b.longValue()));
+        }
+        if (a instanceof Real || b instanceof Real) {
+            double x = a.doubleValue();
+            double y = b.doubleValue();
+            double r = x % y;
+            if (r != 0 && (r < 0) != (y < 0)) {
+                r += y;
+            }
+            return new Real(r);
+        }
+        BigInteger x = numerator(a);
+        BigInteger y = numerator(b);
+        BigInteger r = x.mod(y.abs());
+        if (y.signum() < 0 && r.signum() != 0) {
+            r = r.add(y);
+        }
+        return integer(r);
+    }
+
+    /**
+     * Converts a number to an inexact one.
+     */
+    public static Number toInexact(Number a)
+    {
+        if (a instanceof Real) {
+            return a;
+        }
+        return new Real(a.doubleValue());
+    }
+
+    /**
+     * Converts a number to an exact one.
+     *
+     * @param a a number, which must be finite if inexact
+     */
+    public static Number toExact(Number a)
+    {
+        if (!(a instanceof Real)) {
+            return a;
+        }
+        return exact(a.doubleValue());
+    }
+
+    /**
+     * Converts a finite flonum to the exact number it represents.
+     */
+    private static Number exact(double x)
+    {
+        BigDecimal d = new BigDecimal(x);
+        if (d.scale() <= 0) {
+            return integer(d.toBigIntegerExact());
+        }
+        return rational(d.unscaledValue(), BigInteger.TEN.pow(d.scale()));
+    }
+
+    /**
+     * Gets the numerator of a number, as a number of the same exactness.
+     *
+     * @param a a number, which must be finite if inexact
+     */
+    public static Number getNumerator(Number a)
+    {
+        Number n = integer(numerator(toExact(a)));
+        return isExact(a) ? n : toInexact(n);
+    }
+
+    /**
+     * Gets the denominator of a number, as a number of the same exactness.
+     *
+     * @param a a number, which must be finite if inexact
+     */
+    public static Number getDenominator(Number a)
+    {
+        Number n = integer(denominator(toExact(a)));
+        return isExact(a) ? n : toInexact(n);
+    }
+
+    /**
+     * Gets the numerator of an exact number.
+     */
+    static BigInteger numerator(Number a)
+    {
+        if (a instanceof Int) {
+            return BigInteger.valueOf(a.longValue());
+        }
+        if (a instanceof BigInt) {
+            return ((BigInt) a).bigIntegerValue();
+        }
+        return ((Rational) a).getNumerator();
+    }
+
+    /**
+     * Gets the denominator of an exact number.
+     */
+    static BigInteger denominator(Number a)
+    {
+        if (a instanceof Rational) {
+            return ((Rational) a).getDenominator();
+        }
+        return BigInteger.ONE;
+    }
+}
@@ -62,9 +62,9 @@ public class AssignmentAction extends Action
      * @throws gleam.lang.GleamException in case of errors
      */
     @Override
-    Entity invoke(Entity arg, Continuation cont) throws GleamException
+    protected Entity invoke(Entity arg, Continuation cont) throws GleamException
     {
-        env.getLocation(symbol).set(arg);
+        env.assign(symbol, arg);
         trace(out -> out.printf("%s <- %s\n",
                                 symbol.toWriteFormat(),
                                 arg.toWriteFormat()), env);
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2023 Guglielmo Nigri.  All Rights Reserved.
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of version 2 of the GNU General Public License as
+ * published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it would be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Further, this software is distributed without any warranty that it is
+ * free of the rightful claim of any third person regarding infringement
+ * or the like.  Any license provided herein, whether implied or
+ * otherwise, applies only to this software file.  Patent licenses, if
+ * any, provided herein do not apply to combinations of this program with
+ * other software, or any other product whatsoever.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write the Free Software Foundation, Inc., 59
+ * Temple Place - Suite 330, Boston MA 02111-1307, USA.
+ *
+ * Contact information: Guglielmo Nigri <guglielmonigri@yahoo.it>
+ *
+ */
+
+package gleam.lang;
+
+import java.io.PrintWriter;
+import java.math.BigInteger;
+
+/**
+ * Scheme integer numerical object, also known as a <i>bignum</i>, for exact integers that do not
+ * fit in a long. Smaller integers are always represented as {@link Int}.
+ *
+ * @see Arithmetic#integer(BigInteger)
+ */
+public class BigInt extends Number implements Entity
+{
+
+    private static final long serialVersionUID = 1L;
+
+    /** the value */
+    private final BigInteger value;
+
+    BigInt(BigInteger n)
+    {
+        value = n;
+    }
+
+    /**
+     * Writes a bignum.
+     */
+    @Override
+    public PrintWriter write(PrintWriter out)
+    {
+        out.print(value);
+        return out;
+    }
+
+    /**
+     * Gets the value of this bignum.
+     */
+    public BigInteger bigIntegerValue()
+    {
+        return value;
+    }
+
+    @Override
+    public int intValue()
+    {
+        return value.intValue();
+    }
+
+    @Override
+    public long longValue()
+    {
+        return value.longValue();
+    }
+
+    @Override
+    public float floatValue()
+    {
+        return value.floatValue();
+    }
+
+    @Override
+    public double doubleValue()
+    {
+        return value.doubleValue();
+    }
+
+    @Override
+    public String toString()
+    {
+        return value.toString();
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return value.hashCode();
+    }
+
+    /**
+     * Scheme bignum comparison.
+     *
+     * @param o java.lang.Object
+     *
+     * @return boolean
+     */
+    @Override
+    public boolean equals(Object o)
+    {
+        if (o instanceof BigInt) {
+            return value.equals(((BigInt) o).value);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2023 Guglielmo Nigri.  All Rights Reserved.
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of version 2 of the GNU General Public License as
+ * published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it would be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Further, this software is distributed without any warranty that it is
+ * free of the rightful claim of any third person regarding infringement
+ * or the like.  Any license provided herein, whether implied or
+ * otherwise, applies only to this software file.  Patent licenses, if
+ * any, provided herein do not apply to combinations of this program with
+ * other software, or any other product whatsoever.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write the Free Software Foundation, Inc., 59
+ * Temple Place - Suite 330, Boston MA 02111-1307, USA.
+ *
+ * Contact information: Guglielmo Nigri <guglielmonigri@yahoo.it>
+ *
+ */
+package gleam.lang;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Scheme binary input port, reading bytes from a channel.
+ * <p>
+ * Single bytes are read through an internal buffer, while large reads into a bytevector go
+ * straight from the channel to the bytevector's own buffer.
+ */
+public class BinaryInputPort extends Port implements Closeable
+{
+    private static final long serialVersionUID = 1L;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private transient ReadableByteChannel channel;
+
+    /** bytes read ahead from the channel, ready to be consumed */
+    private transient ByteBuffer buffer;
+
+    /**
+     * Creates a binary input port from a file.
+     *
+     * @param fileName the name of an existing file
+     *
+     * @throws IOException if the file cannot be opened
+     */
+    public BinaryInputPort(String fileName) throws IOException
+    {
+        this(FileChannel.open(Paths.get(fileName), StandardOpenOption.READ));
+    }
+
+    /**
+     * Creates a binary input port from a channel.
+     */
+    public BinaryInputPort(ReadableByteChannel channel)
+    {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        ((Buffer) buffer).limit(0);
+    }
+
+    /**
+     * Closes this port.
+     */
+    @Override
+    public void close()
+    {
+        if (channel != null) {
+            try {
+                channel.close();
+            }
+            catch (IOException ignored) {
+                //
+            }
+            channel = null;
+            buffer = null;
+        }
+    }
+
+    /**
+     * @return <code>true</code> if this port is open, <code>false</code> otherwise.
+     */
+    @Override
+    public boolean isOpen()
+    {
+        return null != channel;
+    }
+
+    @Override
+    public Kind getKind()
+    {
+        return Kind.BINARY;
+    }
+
+    /**
+     * Writes this port in machine-readable form.
+     *
+     * @param out PrintWriter
+     */
+    @Override
+    public PrintWriter write(PrintWriter out)
+    {
+        out.print("#<binary-input-port>");
+        return out;
+    }
+
+    /**
+     * Implements {@code read-u8}.
+     *
+     * @return the next byte available from this port, or the EOF object
+     *
+     * @throws GleamException in case of errors
+     */
+    public Entity readU8() throws GleamException
+    {
+        checkOpen();
+        try {
+            if (!buffer.hasRemaining() && !fill()) {
+                return Eof.VALUE;
+            }
+            return Int.valueOf(buffer.get() & 0xFF);
+        }
+        catch (IOException e) {
+            throw new GleamException("read-u8: I/O Error " + e.getMessage());
+        }
+    }
+
+    /**
+     * Implements {@code peek-u8}.
+     *
+     * @return the next byte available from this port, without consuming it, or the EOF object
+     *
+     * @throws GleamException in case of errors
+     */
+    public Entity peekU8() throws GleamException
+    {
+        checkOpen();
+        try {
+            if (!buffer.hasRemaining() && !fill()) {
+                return Eof.VALUE;
+            }
+            return Int.valueOf(buffer.get(buffer.position()) & 0xFF);
+        }
+        catch (IOException e) {
+            throw new GleamException("peek-u8: I/O Error " + e.getMessage());
+        }
+    }
+
+    /**
+     * Implements {@code read-bytevector!}. Reads bytes into a range of a bytevector, until the
+     * range is full or the end of input is reached.
+     *
+     * @param bytevector the bytevector
+     * @param start      the start index, inclusive
+     * @param end        the end index, exclusive
+     *
+     * @return the number of bytes read, or -1 if no bytes were available before the end of input
+     *
+     * @throws GleamException in case of errors
+     */
+    public int read(Bytevector bytevector, int start, int end) throws GleamException
+    {
+        checkOpen();
+        ByteBuffer target = bytevector.view(start, end);
+        int count = 0;
+        try {
+            while (target.hasRemaining()) {
+                if (buffer.hasRemaining()) {
+                    count += transfer(buffer, target);
+                }
+                else if (target.remaining() >= buffer.capacity()) {
+                    // no point in buffering
+                    int n = channel.read(target);
+                    if (n < 0) {
+                        break;
+                    }
+                    count += n;
+                }
+                else if (!fill()) {
+                    break;
+                }
+            }
+        }
+        catch (IOException e) {
+            throw new GleamException("read-bytevector: I/O Error " + e.getMessage());
+        }
+        return count == 0 && end > start ? -1 : count;
+    }
+
+    /**
+     * Refills the buffer from the channel.
+     *
+     * @return false at the end of input
+     */
+    private boolean fill() throws IOException
+    {
+        ((Buffer) buffer).clear();
+        int n;
+        do {
+            n = channel.read(buffer);
+        } while (n == 0);
+        ((Buffer) buffer).flip();
+        return n > 0;
+    }
+
+    private static int transfer(ByteBuffer from, ByteBuffer to)
+    {
+        int n = Math.min(from.remaining(), to.remaining());
+        ByteBuffer slice = from.slice();
+        ((Buffer) slice).limit(n);
+        to.put(slice);
+        ((Buffer) from).position(from.position() + n);
+        return n;
+    }
+
+    private void checkOpen() throws GleamException
+    {
+        if (!isOpen()) {
+            throw new GleamException("closed input port");
+        }
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2023 Guglielmo Nigri.  All Rights Reserved.
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of version 2 of the GNU General Public License as
+ * published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it would be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Further, this software is distributed without any warranty that it is
+ * free of the rightful claim of any third person regarding infringement
+ * or the like.  Any license provided herein, whether implied or
+ * otherwise, applies only to this software file.  Patent licenses, if
+ * any, provided herein do not apply to combinations of this program with
+ * other software, or any other product whatsoever.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write the Free Software Foundation, Inc., 59
+ * Temple Place - Suite 330, Boston MA 02111-1307, USA.
+ *
+ * Contact information: Guglielmo Nigri <guglielmonigri@yahoo.it>
+ *
+ */
+package gleam.lang;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Scheme binary output port, writing bytes to a channel.
+ * <p>
+ * Single bytes and small bytevectors are collected in an internal buffer, while large bytevectors
+ * go straight from their own buffer to the channel.
+ */
+public class BinaryOutputPort extends Port implements Closeable
+{
+    private static final long serialVersionUID = 1L;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private transient WritableByteChannel channel;
+
+    /** bytes waiting to be written to the channel */
+    private transient ByteBuffer buffer;
+
+    /**
+     * Creates a binary output port to a file. The file is created, or truncated if it exists.
+     *
+     * @param fileName the name of the file
+     *
+     * @throws IOException if the file cannot be opened
+     */
+    public BinaryOutputPort(String fileName) throws IOException
+    {
+        this(FileChannel.open(Paths.get(fileName),
+                              StandardOpenOption.WRITE,
+                              StandardOpenOption.CREATE,
+                              StandardOpenOption.TRUNCATE_EXISTING));
+    }
+
+    /**
+     * Creates a binary output port to a channel.
+     */
+    public BinaryOutputPort(WritableByteChannel channel)
+    {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    }
+
+    /**
+     * Flushes and closes this port.
+     */
+    @Override
+    public void close()
+    {
+        if (channel != null) {
+            try {
+                drain();
+                channel.close();
+            }
+            catch (IOException ignored) {
+                //
+            }
+            channel = null;
+            buffer = null;
+        }
+    }
+
+    /**
+     * @return <code>true</code> if this port is open, <code>false</code> otherwise.
+     */
+    @Override
+    public boolean isOpen()
+    {
+        return null != channel;
+    }
+
+    @Override
+    public Kind getKind()
+    {
+        return Kind.BINARY;
+    }
+
+    /**
+     * Writes this port in machine-readable form.
+     *
+     * @param out PrintWriter
+     */
+    @Override
+    public PrintWriter write(PrintWriter out)
+    {
+        out.print("#<binary-output-port>");
+        return out;
+    }
+
+    /**
+     * Implements {@code write-u8}.
+     *
+     * @param value a byte, as an unsigned value
+     *
+     * @return this {@link BinaryOutputPort}
+     *
+     * @throws GleamException in case of errors
+     */
+    public BinaryOutputPort writeU8(int value) throws GleamException
+    {
+        checkOpen();
+        try {
+            if (!buffer.hasRemaining()) {
+                drain();
+            }
+            buffer.put((byte) value);
+        }
+        catch (IOException e) {
+            throw new GleamException("write-u8: I/O Error " + e.getMessage());
+        }
+        return this;
+    }
+
+    /**
+     * Implements {@code write-bytevector}.
+     *
+     * @param bytevector the bytevector
+     * @param start      the start index, inclusive
+     * @param end        the end index, exclusive
+     *
+     * @return this {@link BinaryOutputPort}
+     *
+     * @throws GleamException in case of errors
+     */
+    public BinaryOutputPort write(Bytevector bytevector, int start, int end) throws GleamException
+    {
+        checkOpen();
+        ByteBuffer source = bytevector.view(start, end);
+        try {
+            if (source.remaining() <= buffer.remaining()) {
+                buffer.put(source);
+            }
+            else {
+                drain();
+                while (source.hasRemaining()) {
+                    channel.write(source);
+                }
+            }
+        }
+        catch (IOException e) {
+            throw new GleamException("write-bytevector: I/O Error " + e.getMessage());
+        }
+        return this;
+    }
+
+    /**
+     * Flushes buffers.
+     *
+     * @throws GleamException in case of errors
+     */
+    public void flush() throws GleamException
+    {
+        checkOpen();
+        try {
+            drain();
+        }
+        catch (IOException e) {
+            throw new GleamException("flush: I/O Error " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the buffered bytes to the channel.
+     */
+    private void drain() throws IOException
+    {
+        ((Buffer) buffer).flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        ((Buffer) buffer).clear();
+    }
+
+    private void checkOpen() throws GleamException
+    {
+        if (!isOpen()) {
+            throw new GleamException("closed output port");
+        }
+    }
+}
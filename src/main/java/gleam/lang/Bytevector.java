@@ -0,0 +1,423 @@
+/*
+ * Copyright (c) 2023 Guglielmo Nigri.  All Rights Reserved.
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of version 2 of the GNU General Public License as
+ * published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it would be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Further, this software is distributed without any warranty that it is
+ * free of the rightful claim of any third person regarding infringement
+ * or the like.  Any license provided herein, whether implied or
+ * otherwise, applies only to this software file.  Patent licenses, if
+ * any, provided herein do not apply to combinations of this program with
+ * other software, or any other product whatsoever.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write the Free Software Foundation, Inc., 59
+ * Temple Place - Suite 330, Boston MA 02111-1307, USA.
+ *
+ * Contact information: Guglielmo Nigri <guglielmonigri@yahoo.it>
+ *
+ */
+package gleam.lang;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.math.BigInteger;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Scheme bytevector, backed by a {@link ByteBuffer} that may be a heap buffer, a direct buffer,
+ * or a buffer mapped to a file.
+ * <p>
+ * All accesses use absolute indexes, so the position and limit of the buffer never change. Binary
+ * ports transfer data to and from the buffer directly.
+ */
+public final class Bytevector extends AbstractEntity
+{
+
+    private static final long serialVersionUID = 1L;
+
+    /** the contents, in native byte order */
+    private transient ByteBuffer buffer;
+
+    /** the contents again, in the opposite byte order */
+    private transient ByteBuffer swapped;
+
+    /**
+     * The types of the multi-byte elements, each with the tag used in names, e.g. {@code u32} in
+     * {@code bytevector-u32-native-ref}, or {@code ieee-double} for 64-bit floating point.
+     */
+    public enum Type
+    {
+        U16("u16", 2)
+                {
+                    @Override
+                    Number get(ByteBuffer buffer, int index)
+                    {
+                        return Int.valueOf(buffer.getShort(index) & 0xFFFF);
+                    }
+
+                    @Override
+                    void set(String context, ByteBuffer buffer, int index, Entity value)
+                            throws GleamException
+                    {
+                        buffer.putShort(index,
+                                        (short) NumericVector.toLong(context, value, 0, 0xFFFF));
+                    }
+                },
+        S16("s16", 2)
+                {
+                    @Override
+                    Number get(ByteBuffer buffer, int index)
+                    {
+                        return Int.valueOf(buffer.getShort(index));
+                    }
+
+                    @Override
+                    void set(String context, ByteBuffer buffer, int index, Entity value)
+                            throws GleamException
+                    {
+                        buffer.putShort(index, (short) NumericVector.toLong(context,
+                                                                            value,
+                                                                            Short.MIN_VALUE,
+                                                                            Short.MAX_VALUE));
+                    }
+                },
+        U32("u32", 4)
+                {
+                    @Override
+                    Number get(ByteBuffer buffer, int index)
+                    {
+                        return Int.valueOf(buffer.getInt(index) & 0xFFFFFFFFL);
+                    }
+
+                    @Override
+                    void set(String context, ByteBuffer buffer, int index, Entity value)
+                            throws GleamException
+                    {
+                        buffer.putInt(index,
+                                      (int) NumericVector.toLong(context, value, 0, 0xFFFFFFFFL));
+                    }
+                },
+        S32("s32", 4)
+                {
+                    @Override
+                    Number get(ByteBuffer buffer, int index)
+                    {
+                        return Int.valueOf(buffer.getInt(index));
+                    }
+
+                    @Override
+                    void set(String context, ByteBuffer buffer, int index, Entity value)
+                            throws GleamException
+                    {
+                        buffer.putInt(index, (int) NumericVector.toLong(context,
+                                                                        value,
+                                                                        Integer.MIN_VALUE,
+                                                                        Integer.MAX_VALUE));
+                    }
+                },
+        S64("s64", 8)
+                {
+                    @Override
+                    Number get(ByteBuffer buffer, int index)
+                    {
+                        return Int.valueOf(buffer.getLong(index));
+                    }
+
+                    @Override
+                    void set(String context, ByteBuffer buffer, int index, Entity value)
+                            throws GleamException
+                    {
+                        buffer.putLong(index, NumericVector.toLong(context,
+                                                                   value,
+                                                                   Long.MIN_VALUE,
+                                                                   Long.MAX_VALUE));
+                    }
+                },
+        U64("u64", 8)
+                {
+                    @Override
+                    Number get(ByteBuffer buffer, int index)
+                    {
+                        long value = buffer.getLong(index);
+                        if (value >= 0) {
+                            return Int.valueOf(value);
+                        }
+                        return Arithmetic.integer(new BigInteger(Long.toUnsignedString(value)));
+                    }
+
+                    @Override
+                    void set(String context, ByteBuffer buffer, int index, Entity value)
+                            throws GleamException
+                    {
+                        if (value instanceof BigInt) {
+                            BigInteger n = ((BigInt) value).bigIntegerValue();
+                            if (n.signum() < 0 || n.bitLength() > 64) {
+                                throw new GleamException(context + ": value out of range", value);
+                            }
+                            buffer.putLong(index, n.longValue());
+                        }
+                        else {
+                            buffer.putLong(index, NumericVector.toLong(context,
+                                                                       value,
+                                                                       0,
+                                                                       Long.MAX_VALUE));
+                        }
+                    }
+                },
+        F32("ieee-single", 4)
+                {
+                    @Override
+                    Number get(ByteBuffer buffer, int index)
+                    {
+                        return new Real(buffer.getFloat(index));
+                    }
+
+                    @Override
+                    void set(String context, ByteBuffer buffer, int index, Entity value)
+                            throws GleamException
+                    {
+                        buffer.putFloat(index, (float) toDouble(context, value));
+                    }
+                },
+        F64("ieee-double", 8)
+                {
+                    @Override
+                    Number get(ByteBuffer buffer, int index)
+                    {
+                        return new Real(buffer.getDouble(index));
+                    }
+
+                    @Override
+                    void set(String context, ByteBuffer buffer, int index, Entity value)
+                            throws GleamException
+                    {
+                        buffer.putDouble(index, toDouble(context, value));
+                    }
+                };
+
+        public final String tag;
+
+        /** the number of bytes of an element */
+        public final int size;
+
+        Type(String tag, int size)
+        {
+            this.tag = tag;
+            this.size = size;
+        }
+
+        abstract Number get(ByteBuffer buffer, int index);
+
+        abstract void set(String context, ByteBuffer buffer, int index, Entity value)
+                throws GleamException;
+    }
+
+    /**
+     * Creates a bytevector of the bytes between the position and the limit of a buffer. The
+     * contents are shared, not copied.
+     *
+     * @param buffer a ByteBuffer
+     */
+    public Bytevector(ByteBuffer buffer)
+    {
+        init(buffer.slice());
+    }
+
+    /**
+     * Creates a bytevector backed by a new heap buffer.
+     *
+     * @param size the number of bytes, all set to zero
+     */
+    public Bytevector(int size)
+    {
+        init(ByteBuffer.allocate(size));
+    }
+
+    private void init(ByteBuffer contents)
+    {
+        ByteOrder order = ByteOrder.nativeOrder();
+        this.buffer = contents.order(order);
+        this.swapped = contents.duplicate().order(order == ByteOrder.BIG_ENDIAN
+                                                  ? ByteOrder.LITTLE_ENDIAN
+                                                  : ByteOrder.BIG_ENDIAN);
+    }
+
+    public int length()
+    {
+        return buffer.capacity();
+    }
+
+    public boolean isDirect()
+    {
+        return buffer.isDirect();
+    }
+
+    /**
+     * Gets a view of a range of bytes, with its own position and limit. The contents are shared,
+     * not copied.
+     *
+     * @param start the start index, inclusive
+     * @param end   the end index, exclusive
+     *
+     * @return a ByteBuffer whose position is {@code start} and whose limit is {@code end}
+     */
+    public ByteBuffer view(int start, int end)
+    {
+        ByteBuffer view = buffer.duplicate();
+        // through Buffer, which has the same methods on Java 8
+        ((Buffer) view).limit(end);
+        ((Buffer) view).position(start);
+        return view;
+    }
+
+    /**
+     * Gets a byte as an unsigned value.
+     */
+    public int get(int index)
+    {
+        return buffer.get(index) & 0xFF;
+    }
+
+    public void set(int index, int value)
+    {
+        buffer.put(index, (byte) value);
+    }
+
+    /**
+     * Gets a multi-byte element.
+     *
+     * @param type        the type of the element
+     * @param index       the index of its first byte, which must be in range
+     * @param nativeOrder true to use the native byte order, false to use the opposite one
+     *
+     * @return the element as a Scheme number
+     */
+    public Number get(Type type, int index, boolean nativeOrder)
+    {
+        return type.get(nativeOrder ? buffer : swapped, index);
+    }
+
+    /**
+     * Sets a multi-byte element.
+     *
+     * @param context     the name of the calling procedure, for error messages
+     * @param type        the type of the element
+     * @param index       the index of its first byte, which must be in range
+     * @param value       the value
+     * @param nativeOrder true to use the native byte order, false to use the opposite one
+     *
+     * @throws GleamException if the value is not a number of the given type
+     */
+    public void set(String context, Type type, int index, Entity value, boolean nativeOrder)
+            throws GleamException
+    {
+        type.set(context, nativeOrder ? buffer : swapped, index, value);
+    }
+
+    public void fill(int value, int start, int end)
+    {
+        for (int i = start; i < end; ++i) {
+            buffer.put(i, (byte) value);
+        }
+    }
+
+    /**
+     * Copies a range of bytes into a new heap bytevector.
+     */
+    public Bytevector copy(int start, int end)
+    {
+        Bytevector copy = new Bytevector(end - start);
+        copy.buffer.duplicate().put(view(start, end));
+        return copy;
+    }
+
+    /**
+     * Copies a range of bytes from another bytevector, which may be this same one.
+     */
+    public void copy(int at, Bytevector from, int start, int end)
+    {
+        ByteBuffer source = from.view(start, end);
+        if (from.buffer == buffer && start < at) {
+            // overlapping ranges: copy through a temporary array
+            byte[] bytes = new byte[end - start];
+            source.get(bytes);
+            source = ByteBuffer.wrap(bytes);
+        }
+        view(at, at + end - start).put(source);
+    }
+
+    /**
+     * Tests whether this bytevector has the same bytes as another, as {@code equal?} does.
+     * Bytevectors are otherwise compared by identity, as {@code eqv?} requires.
+     */
+    public boolean contentEquals(Bytevector other)
+    {
+        return buffer.equals(other.buffer);
+    }
+
+    /**
+     * Computes a hash code from the bytes of this bytevector, consistent with
+     * {@link #contentEquals(Bytevector)}.
+     */
+    public int contentHashCode()
+    {
+        return buffer.hashCode();
+    }
+
+    /**
+     * Writes this bytevector, e.g. {@code #vu8(1 2 3)}.
+     */
+    @Override
+    public PrintWriter write(PrintWriter out)
+    {
+        out.print("#vu8(");
+        for (int i = 0; i < length(); ++i) {
+            if (i > 0) {
+                out.print(" ");
+            }
+            out.print(get(i));
+        }
+        out.print(")");
+        return out;
+    }
+
+    private static double toDouble(String context, Entity value) throws GleamException
+    {
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        throw new GleamException(context + ": not a number", value);
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws IOException
+    {
+        out.defaultWriteObject();
+        byte[] bytes = new byte[length()];
+        view(0, length()).get(bytes);
+        out.writeBoolean(isDirect());
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws IOException, ClassNotFoundException
+    {
+        in.defaultReadObject();
+        boolean direct = in.readBoolean();
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        ByteBuffer contents = direct ? ByteBuffer.allocateDirect(bytes.length)
+                                     : ByteBuffer.allocate(bytes.length);
+        contents.put(bytes);
+        ((Buffer) contents).clear();
+        init(contents);
+    }
+}
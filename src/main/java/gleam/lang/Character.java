@@ -36,8 +36,33 @@ public final class Character extends AbstractEntity
 
     private static final long serialVersionUID = 1L;
 
+    /** preallocated instances of the Latin-1 characters */
+    private static final Character[] cache = new Character[256];
+
+    static {
+        for (int i = 0; i < cache.length; i++) {
+            cache[i] = new Character((char) i);
+        }
+    }
+
     final char value;
 
+    /**
+     * Returns a Character with the given value. Latin-1 characters are preallocated, so this
+     * method should be preferred to the constructor.
+     *
+     * @param v the value
+     *
+     * @return a Character
+     */
+    public static Character valueOf(char v)
+    {
+        if (v < cache.length) {
+            return cache[v];
+        }
+        return new Character(v);
+    }
+
     /**
      * Constructor.
      */
@@ -46,6 +71,11 @@ public final class Character extends AbstractEntity
         value = v;
     }
 
+    public char getCharValue()
+    {
+        return value;
+    }
+
     /**
      * Writes this character.
      */
@@ -31,8 +31,8 @@ import gleam.util.Logger;
 import java.io.PrintWriter;
 
 import static gleam.lang.Entities.cons;
+import static gleam.lang.Entities.list;
 import static gleam.library.Arguments.requireList;
-import static gleam.library.Arguments.requireSymbol;
 
 /**
  * Scheme closure. A procedure with a definition environment.
@@ -45,15 +45,25 @@ public class Closure extends Procedure
     protected final Entity param;
     protected final List body;
     protected final Environment definitionEnv;
+    protected final Lambda lambda;
 
     /**
      * Constructor.
      */
     public Closure(Entity param, List body, Environment env)
     {
-        this.param = param;
-        this.body = body;
+        this(new Lambda(param, body), env);
+    }
+
+    /**
+     * Creates a closure of an analyzed lambda expression.
+     */
+    Closure(Lambda lambda, Environment env)
+    {
+        this.param = lambda.param;
+        this.body = lambda.body;
         this.definitionEnv = env;
+        this.lambda = lambda;
     }
 
     /**
@@ -64,59 +74,71 @@ public class Closure extends Procedure
                         Environment env,
                         Continuation cont) throws GleamException
     {
-        List actuals = args;
-        Environment localenv = new Environment(definitionEnv);
-        Entity currparam = param;
-        List prev = null;
-        boolean dotparam = false;
+        Symbol[] names = lambda.names;
+        if (names == null) {
+            throw new GleamException("apply: invalid formal", param);
+        }
+        Entity[] slots = new Entity[names.length];
+        Entity actuals = args;
+        int required = lambda.required;
 
         // bind actual (already evaluated) arguments to formals
-        while (actuals != EmptyList.VALUE) {
-            // get next actual
-            Entity obj = actuals.getCar();
-
-            if (dotparam) {
-                // accumulate argument
-                prev.setCdr(cons(obj));
-                prev = (List) prev.getCdr();
-            }
-            else {
-                if (currparam == EmptyList.VALUE) {
-                    throw new GleamException("apply: too many arguments", args);
-                }
-                else if (currparam instanceof Pair) {
-                    // regular case: get param symbol and bind it to argument in local env
-                    Pair currpair = (Pair) currparam;
-                    Symbol symbol = requireSymbol("apply: invalid formal", currpair.getCar());
-                    localenv.define(symbol, obj);
-                    // get next param
-                    currparam = currpair.getCdr();
-                }
-                else {
-                    // varargs case:
-                    // we have a "." notation parameter, so we accumulate this and the next
-                    // parameters in a list bound to this param in the local env
-                    Symbol symbol = requireSymbol("apply: invalid formal", currparam);
-                    prev = cons(obj);
-                    localenv.define(symbol, prev);
-                    dotparam = true;
-                }
+        for (int i = 0; i < required; i++) {
+            if (actuals == EmptyList.VALUE) {
+                throw new GleamException("apply: too few arguments", args);
             }
-            // shift actuals left
-            actuals = requireList("apply", actuals.getCdr());
+            Pair currpair = (Pair) actuals;
+            slots[i] = currpair.getCar();
+            actuals = currpair.getCdr();
         }
 
-        if (currparam instanceof Symbol && !dotparam) {
-            // special case:
-            // a "." notation parameter taking the empty list
-            localenv.define((Symbol) currparam, EmptyList.VALUE);
+        if (lambda.rest) {
+            // we have a "." notation parameter, so the remaining arguments are bound to it
+            slots[required] = requireList("apply", actuals);
         }
-        else if (currparam != EmptyList.VALUE && !dotparam) {
-            throw new GleamException("apply: too few arguments", args);
+        else if (actuals != EmptyList.VALUE) {
+            throw new GleamException("apply: too many arguments", args);
+        }
+
+        // we have bound params, let's eval body by adding it to the continuation
+        cont.addCommandSequence(body, new LocalEnvironment(names, slots, definitionEnv));
+        return null;
+    }
+
+    /**
+     * Applies this closure to an array of arguments. Only the arguments bound to a "." notation
+     * parameter are converted to a list.
+     */
+    @Override
+    public Entity apply(Entity[] args,
+                        Environment env,
+                        Continuation cont) throws GleamException
+    {
+        Symbol[] names = lambda.names;
+        if (names == null) {
+            throw new GleamException("apply: invalid formal", param);
+        }
+        int required = lambda.required;
+        if (args.length < required) {
+            throw new GleamException("apply: too few arguments", list(args));
+        }
+        if (args.length > required && !lambda.rest) {
+            throw new GleamException("apply: too many arguments", list(args));
+        }
+
+        // bind actual (already evaluated) arguments to formals
+        Entity[] slots = new Entity[names.length];
+        java.lang.System.arraycopy(args, 0, slots, 0, required);
+        if (lambda.rest) {
+            List restArgs = EmptyList.VALUE;
+            for (int i = args.length - 1; i >= required; --i) {
+                restArgs = cons(args[i], restArgs);
+            }
+            slots[required] = restArgs;
         }
 
         // we have bound params, let's eval body by adding it to the continuation
-        cont.addCommandSequence(body, localenv);
+        cont.addCommandSequence(body, new LocalEnvironment(names, slots, definitionEnv));
         return null;
     }
 
@@ -33,41 +33,65 @@ package gleam.lang;
  */
 
 import java.io.PrintWriter;
+import java.util.Arrays;
 
 /**
  * Scheme continuation, representing the "next things to do" for a procedure, or the future
- * execution path in a Gleam program. This object is a wrapper for a chain of actions (partial
- * continuations or execution steps), and can be called as a procedure of one argument.
+ * execution path in a Gleam program. This object is a stack of actions (partial continuations or
+ * execution steps), and can be called as a procedure of one argument.
+ * <p>
+ * The actions to execute are kept in an array, where the last one is the first to be executed.
+ * Actions are scheduled by pushing them in the <i>reverse</i> order of execution, e.g.,
+ * <pre><code>
+ * cont.push(new IfAction(consequent, alternate, env));
+ * cont.push(new ExpressionAction(test, env));
+ * </code></pre>
+ * When a continuation is captured, its array is frozen into a segment, which is shared by the
+ * captured continuation and the running one, and never modified again. The running continuation
+ * goes on with a new array, into which the actions of the frozen segments are copied back, a few
+ * at a time, as execution reaches them. In this way, a continuation can be re-entered any number
+ * of times, while normal execution only deals with the array.
  */
 public class Continuation extends Procedure
 {
 
-    private static final long serialVersionUID = 1L;
+    private static final long serialVersionUID = 2L;
 
-    /**
-     * Dummy action used as anchor to add actions.
-     */
-    private static final Action DUMMY_ACTION = new Action(null)
-    {
-        @Override
-        Entity invoke(Entity arg, Continuation cont) throws GleamException
-        {
-            throw new GleamException("internal error: dummy action invoked");
-        }
-    };
+    /** the initial capacity of the action array */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /** the maximum number of actions copied back at once from a frozen segment */
+    private static final int THAW_SIZE = 32;
+
+    private static final Action[] NO_ACTIONS = new Action[0];
+
+    /** the actions to execute, the last one first */
+    private Action[] actions;
+
+    /** the number of actions in the array */
+    private int size;
 
-    public Action head;
+    /** the frozen actions to execute after the ones in the array, or null */
+    private Segment rest;
 
-    /** Copy constructor. */
+    /**
+     * Captures another continuation. The other continuation can go on running, while this one
+     * will never change.
+     */
     public Continuation(Continuation other)
     {
-        this.head = other.head;
+        other.freeze();
+        this.actions = NO_ACTIONS;
+        this.size = 0;
+        this.rest = other.rest;
     }
 
-    /** Constructor. */
-    Continuation()
+    /** Creates an empty continuation. */
+    public Continuation()
     {
-        this.head = null;
+        this.actions = new Action[INITIAL_CAPACITY];
+        this.size = 0;
+        this.rest = null;
     }
 
     /**
@@ -75,7 +99,17 @@ public class Continuation extends Procedure
      */
     public void clear()
     {
-        this.head = null;
+        Arrays.fill(actions, 0, size, null);
+        size = 0;
+        rest = null;
+    }
+
+    /**
+     * Tells whether there are no more actions to execute.
+     */
+    public boolean isEmpty()
+    {
+        return size == 0 && rest == null;
     }
 
     /**
@@ -86,82 +120,94 @@ public class Continuation extends Procedure
      */
     public void addCommandSequence(Iterable<Entity> body, Environment env)
     {
-        Action currAction = beginSequence();
+        int start = size;
         for (Entity expr : body) {
-            currAction = currAction.andThen(new ExpressionAction(expr, env));
+            push(new ExpressionAction(expr, env));
+        }
+        // the first command must be on top
+        for (int i = start, j = size - 1; i < j; ++i, --j) {
+            Action tmp = actions[i];
+            actions[i] = actions[j];
+            actions[j] = tmp;
         }
-        endSequence();
     }
 
     /**
-     * Prepares for inserting a sequence of actions at the start of this continuation.
-     * <p>
-     * Append new actions to this method's return value with {@link Action#andThen(Action)}.
-     * <p>
-     * Terminate the sequence by calling {@link #endSequence()}. E.g.,
-     * <pre><code>
-     * Action action = cont.beginSequence();
-     * action = action.andThen(...).andThen(...);
-     *   ...
-     * action = action.andThen(...);
-     *   ...
-     * cont.endSequence();
-     * </code></pre>
-     *
-     * @return a dummy Action to append to
+     * Adds a command sequence to this continuation.
      *
-     * @see Action#andThen(Action)
-     * @see #beginWith(Action)
-     * @see #endSequence()
+     * @param body a sequence of commands
+     * @param env  the current environment
      */
-    public Action beginSequence()
+    public void addCommandSequence(Entity[] body, Environment env)
     {
-        return beginWith(DUMMY_ACTION);
+        for (int i = body.length - 1; i >= 0; --i) {
+            push(new ExpressionAction(body[i], env));
+        }
     }
 
     /**
-     * Finalizes an insertion sequence started with {@link #beginSequence()}.
-     * <br>
-     * Removes the dummy action at the head of this continuation.
+     * Schedules an action, so that it is executed before all the others in this continuation.
      *
-     * @see Action#andThen(Action)
-     * @see #beginSequence()
+     * @param action the Action to execute next
      */
-    public void endSequence()
+    public void push(Action action)
     {
-        if (this.head == DUMMY_ACTION) {
-            this.head = this.head.next;
+        if (size == actions.length) {
+            actions = Arrays.copyOf(actions, Math.max(INITIAL_CAPACITY, size * 2));
         }
+        actions[size++] = action;
     }
 
     /**
-     * Change this continuation to begin with a given action.
-     * <p>
-     * Prepend a single action to this continuation's chain. The action's {@code next} is changed to
-     * be the current head, therefore <i>do not</i> pass an action that is already chained to other
-     * actions, as its {@code next} field will be overwritten.
-     * <p>
-     * You can safely add other actions <i>after</i> calling this method by using
-     * {@link Action#andThen(Action)} on the action that was passed to this methods.
-     * <p>
-     * If you need to add a variable number of actions at the head of this continuation, see
-     * {@link #beginSequence()}
-     *
-     * @param action the Action to prepend
-     *
-     * @return the prepended action
+     * Removes the next action to execute from this continuation.
      *
-     * @see Action#andThen(Action)
-     * @see #beginSequence()
-     * @see #endSequence()
+     * @return the next action, or null if there are no more actions
      */
-    public Action beginWith(Action action)
+    Action pop()
     {
-        action.next = this.head;
-        this.head = action;
+        if (size == 0 && !thaw()) {
+            return null;
+        }
+        Action action = actions[--size];
+        actions[size] = null;
         return action;
     }
 
+    /**
+     * Freezes the actions in the array into a segment, leaving the array empty.
+     */
+    private void freeze()
+    {
+        if (size > 0) {
+            rest = new Segment(actions, size, rest);
+            actions = new Action[INITIAL_CAPACITY];
+            size = 0;
+        }
+    }
+
+    /**
+     * Copies the next actions of the frozen segments into the empty array.
+     *
+     * @return false if there are no more actions
+     */
+    private boolean thaw()
+    {
+        Segment segment = rest;
+        if (segment == null) {
+            return false;
+        }
+        int count = Math.min(segment.size, THAW_SIZE);
+        if (actions.length < count) {
+            actions = new Action[INITIAL_CAPACITY];
+        }
+        java.lang.System.arraycopy(segment.actions, segment.size - count, actions, 0, count);
+        size = count;
+        rest = count == segment.size
+               ? segment.rest
+               : new Segment(segment.actions, segment.size - count, segment.rest);
+        return true;
+    }
+
     /**
      * Applies this continuation.
      * <p>
@@ -196,9 +242,34 @@ public class Continuation extends Procedure
         }
     }
 
+    /**
+     * Applies this continuation to an array of arguments.
+     *
+     * @see #apply(List, Environment, Continuation)
+     */
+    @Override
+    public Entity apply(Entity[] args,
+                        Environment env,
+                        Continuation cont) throws GleamException
+    {
+        if (args.length == 1) {
+            // replace continuation
+            cont.replaceContinuation(this);
+            // return argument (it's already evaluated)
+            return args[0];
+        }
+        throw new GleamException(args.length == 0
+                                 ? "continuation: too few arguments"
+                                 : "continuation: too many arguments",
+                                 Entities.list(args));
+    }
+
     private void replaceContinuation(Continuation continuation)
     {
-        this.head = continuation.head;
+        continuation.freeze();
+        Segment segment = continuation.rest;
+        clear();
+        rest = segment;
     }
 
     /**
@@ -210,4 +281,29 @@ public class Continuation extends Procedure
         out.write("#<continuation>");
         return out;
     }
+
+    /**
+     * A frozen part of a continuation. Its actions are shared by all the continuations that
+     * captured it, so they are never modified.
+     */
+    private static final class Segment implements java.io.Serializable
+    {
+        private static final long serialVersionUID = 1L;
+
+        /** the actions, the last one first */
+        final Action[] actions;
+
+        /** the number of actions of this segment, at the start of the array */
+        final int size;
+
+        /** the actions to execute after these, or null */
+        final Segment rest;
+
+        Segment(Action[] actions, int size, Segment rest)
+        {
+            this.actions = actions;
+            this.size = size;
+            this.rest = rest;
+        }
+    }
 }
@@ -113,6 +113,11 @@ public class Entities
 
     public static Int integer(int integer)
     {
-        return new Int(integer);
+        return Int.valueOf(integer);
+    }
+
+    public static Int integer(long integer)
+    {
+        return Int.valueOf(integer);
     }
 }
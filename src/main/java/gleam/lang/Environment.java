@@ -39,16 +39,24 @@ public class Environment extends AbstractEntity
 
     private static final long serialVersionUID = 1L;
 
+
     /**
      * Association function: <code>symbol -> location</code>.
      */
-    protected final Map<Symbol, Location> assoc = new HashMap<>();
+    protected Map<Symbol, Location> assoc;
 
     /**
      * Parent environment
      */
     protected Environment parent;
 
+    /**
+     * The binding generation of this environment, incremented whenever a binding is added to or
+     * removed from it, or its parent changes, since these may change what a variable resolves to
+     * in this environment, and in the ones it encloses.
+     */
+    private volatile int generation;
+
     /**
      * The ExecutionContext. If <code>null</code>, this environment is assumed to have the same
      * context of its parent.
@@ -66,9 +74,29 @@ public class Environment extends AbstractEntity
     }
 
     private Environment(Environment parent, ExecutionContext executionContext)
+    {
+        this(parent, executionContext, new HashMap<>());
+    }
+
+    /**
+     * Constructor for subclasses that keep (some of) their bindings elsewhere, and may create the
+     * association map lazily.
+     *
+     * @param parent the parent environment
+     * @param assoc  the association map, or null
+     */
+    Environment(Environment parent, Map<Symbol, Location> assoc)
+    {
+        this(parent, parent == null ? null : parent.executionContext, assoc);
+    }
+
+    private Environment(Environment parent,
+                        ExecutionContext executionContext,
+                        Map<Symbol, Location> assoc)
     {
         this.parent = parent;
         this.executionContext = executionContext;
+        this.assoc = assoc;
     }
 
     public Environment(ExecutionContext ctx)
@@ -106,6 +134,7 @@ public class Environment extends AbstractEntity
         if ((loc = assoc.get(s)) == null) {
             loc = new Location(v);
             assoc.put(s, loc);
+            newGeneration();
         }
         else {
             loc.set(v);
@@ -121,9 +150,122 @@ public class Environment extends AbstractEntity
      *
      * @return Entity
      */
-    public Entity lookup(Symbol s) throws GleamException
+    public Entity lookup(Symbol s) throws UnboundVariableException
     {
-        return getLocation(s).get();
+        Entity value = lookupOrNull(s);
+        if (value == null) {
+            throw new UnboundVariableException(s);
+        }
+
+        return value;
+    }
+
+    /**
+     * Looks up a Symbol in the environment by searching this environment and all enclosing
+     * environments, up to the topmost (global) environment.
+     *
+     * @param s Symbol
+     *
+     * @return Entity, or null if unbound
+     */
+    Entity lookupOrNull(Symbol s)
+    {
+        Entity value;
+        Environment e = this;
+        while (e != null) {
+            value = e.getLocalValue(s);
+            if (value == null) {
+                e = e.getParent();
+            }
+            else {
+                return value;
+            }
+        }
+
+        // it's unbound
+        return null;
+    }
+
+    /**
+     * Assigns a new value to an existing binding, searching this environment and all enclosing
+     * environments, with the mutation semantics of <code>set!</code>.
+     *
+     * @param s Symbol a variable name
+     * @param v the new value
+     *
+     * @throws UnboundVariableException if the variable is unbound
+     */
+    public void assign(Symbol s, Entity v) throws UnboundVariableException
+    {
+        Environment e = this;
+        while (e != null) {
+            if (e.setLocalValue(s, v)) {
+                return;
+            }
+            e = e.getParent();
+        }
+
+        throw new UnboundVariableException(s);
+    }
+
+    /**
+     * Gives the value bound to a symbol in this environment only, without searching the enclosing
+     * environments.
+     *
+     * @param s Symbol a variable name
+     *
+     * @return Entity, or null if not bound in this environment
+     */
+    Entity getLocalValue(Symbol s)
+    {
+        Location loc = assoc.get(s);
+        return loc == null ? null : loc.get();
+    }
+
+    /**
+     * Sets the value bound to a symbol in this environment only, without searching the enclosing
+     * environments.
+     *
+     * @param s Symbol a variable name
+     * @param v the new value
+     *
+     * @return true if the symbol is bound in this environment, false otherwise
+     */
+    boolean setLocalValue(Symbol s, Entity v)
+    {
+        Location loc = assoc.get(s);
+        if (loc == null) {
+            return false;
+        }
+        loc.set(v);
+        return true;
+    }
+
+    /**
+     * Gives the Location for the specified variable in this environment only, without searching the
+     * enclosing environments.
+     *
+     * @param s Symbol a variable name
+     *
+     * @return Location or null
+     */
+    Location getLocalLocation(Symbol s)
+    {
+        return assoc.get(s);
+    }
+
+    /**
+     * Tells whether a symbol is bound in a slot of this environment, rather than in a Location.
+     *
+     * @param s Symbol a variable name
+     *
+     * @return true if the variable has no Location in this environment, but is bound anyway
+     *
+     * @see LocalEnvironment
+     */
+    boolean isSlot(Symbol s)
+    {
+        return false;
     }
 
     /**
@@ -147,20 +289,25 @@ public class Environment extends AbstractEntity
     }
 
     /**
-     * Gives the Location for the specified variable, or null if unbound.
+     * Gives the Location for the specified variable, or null if unbound. Variables bound in the
+     * slots of a procedure frame have no Location, so null is returned in that case, too.
      *
      * @param s Symbol a variable name
      *
      * @return Location or null
      *
      * @see Location
+     * @see LocalEnvironment
      */
-    Location getLocationOrNull(Symbol s)
+    public Location getLocationOrNull(Symbol s)
     {
         Location loc;
         Environment e = this;
         while (e != null) {
-            loc = e.assoc.get(s);
+            if (e.isSlot(s)) {
+                return null;
+            }
+            loc = e.getLocalLocation(s);
             if (loc == null) {
                 e = e.getParent();
             }
@@ -173,6 +320,90 @@ public class Environment extends AbstractEntity
         return null;
     }
 
+    /**
+     * Gives the environment in which a variable is bound, searching this environment and all
+     * enclosing environments.
+     *
+     * @param s Symbol a variable name
+     *
+     * @return the environment, or null if unbound, or bound in the slots of a procedure frame
+     */
+    public Environment getBindingEnvironmentOrNull(Symbol s)
+    {
+        Environment e = this;
+        while (e != null) {
+            if (e.isSlot(s)) {
+                return null;
+            }
+            if (e.getLocalLocation(s) != null) {
+                return e;
+            }
+            e = e.getParent();
+        }
+        return null;
+    }
+
+    /**
+     * Gives the current binding generation of this environment. Any information derived from its
+     * bindings remains valid as long as the generation does not change.
+     *
+     * @return the binding generation
+     */
+    public int getGeneration()
+    {
+        return generation;
+    }
+
+    /**
+     * Gives the binding generation of a chain of environments, from this one up to an enclosing
+     * one, which changes whenever the generation of any of them does. What a variable bound in the
+     * enclosing environment resolves to in this one remains valid as long as this does not change.
+     *
+     * @param outer this environment, or one enclosing it
+     *
+     * @return the binding generation, or -1 if outer does not enclose this environment
+     */
+    public int getGeneration(Environment outer)
+    {
+        int sum = 0;
+        for (Environment e = this; e != null; e = e.parent) {
+            sum += e.generation;
+            if (e == outer) {
+                return sum & Integer.MAX_VALUE;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Starts a new binding generation of this environment, e.g., after removing some bindings.
+     */
+    protected synchronized void newGeneration()
+    {
+        ++generation;
+    }
+
+    /**
+     * Gives the environment in which the variables not bound in the slots of the enclosing
+     * procedure frames are to be found, i.e., the first enclosing environment that is not a
+     * procedure frame.
+     *
+     * @return the environment, or null if some of the frames has other bindings than its slots
+     *
+     * @see LocalEnvironment
+     */
+    public Environment getGlobalScope()
+    {
+        Environment e = this;
+        while (e instanceof LocalEnvironment) {
+            if (e.assoc != null) {
+                return null;
+            }
+            e = e.parent;
+        }
+        return e;
+    }
+
     public Environment getParent()
     {
         return parent;
@@ -181,6 +412,7 @@ public class Environment extends AbstractEntity
     public void setParent(Environment parent)
     {
         this.parent = parent;
+        newGeneration();
     }
 
     /**
@@ -193,6 +425,22 @@ public class Environment extends AbstractEntity
         return out;
     }
 
+    /**
+     * Dumps the bindings of this environment only.
+     *
+     * @param out the OutputPort to dump to
+     */
+    void dumpBindings(OutputPort out)
+    {
+        if (assoc == null) {
+            return;
+        }
+        for (Symbol s : assoc.keySet()) {
+            Location l = assoc.get(s);
+            out.printf("|       %s\t: %s\n", s.toString(), l.get().toString());
+        }
+    }
+
     /**
      * Dumps the contents of the environments to the current output port for debugging.
      *
@@ -218,10 +466,7 @@ public class Environment extends AbstractEntity
         out.printf("|——————————————— ExecutionContext :       %s \n",
                    this.executionContext);
         out.printf("| \n");
-        for (Symbol s : assoc.keySet()) {
-            Location l = assoc.get(s);
-            out.printf("|       %s\t: %s\n", s.toString(), l.get().toString());
-        }
+        dumpBindings(out);
         out.printf("\\—————————————————————————————————————————————/\n");
         if (this.getParent() != null) {
             getParent().dump();
@@ -54,10 +54,10 @@ public class EvalAction extends Action
      * @return the result of the evaluation
      */
     @Override
-    Entity invoke(Entity arg, Continuation cont)
+    protected Entity invoke(Entity arg, Continuation cont)
     {
         trace(out -> out.printf("%s\n", arg.toWriteFormat()), env);
-        cont.beginWith(new ExpressionAction(arg, env));
+        cont.push(new ExpressionAction(arg, env));
         return null;
     }
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2023 Guglielmo Nigri.  All Rights Reserved.
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of version 2 of the GNU General Public License as
+ * published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it would be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Further, this software is distributed without any warranty that it is
+ * free of the rightful claim of any third person regarding infringement
+ * or the like.  Any license provided herein, whether implied or
+ * otherwise, applies only to this software file.  Patent licenses, if
+ * any, provided herein do not apply to combinations of this program with
+ * other software, or any other product whatsoever.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write the Free Software Foundation, Inc., 59
+ * Temple Place - Suite 330, Boston MA 02111-1307, USA.
+ *
+ * Contact information: Guglielmo Nigri <guglielmonigri@yahoo.it>
+ *
+ */
+
+
+package gleam.lang;
+
+/**
+ * Expansion action. Records the result of a syntax rewriter call in the originating pair, then
+ * evaluates it.
+ *
+ * @see Pair#eval(Environment, Continuation)
+ */
+public class ExpansionAction extends Action
+{
+
+    private static final long serialVersionUID = 1L;
+
+    /** the rewritten form */
+    private final Pair form;
+
+    /** the syntax rewriter that produced the expansion */
+    private final SyntaxRewriter rewriter;
+
+    public ExpansionAction(Pair form, SyntaxRewriter rewriter, Environment env)
+    {
+        super(env);
+        this.form = form;
+        this.rewriter = rewriter;
+    }
+
+    /**
+     * Invokes this action, caching the expansion and causing its evaluation.
+     *
+     * @param arg  the expansion of the form
+     * @param cont the current Continuation
+     *
+     * @return the result of the evaluation
+     */
+    @Override
+    protected Entity invoke(Entity arg, Continuation cont)
+    {
+        trace(out -> out.printf("%s\n", arg.toWriteFormat()), env);
+        form.setExpansion(rewriter, arg);
+        cont.push(new ExpressionAction(arg, env));
+        return null;
+    }
+}
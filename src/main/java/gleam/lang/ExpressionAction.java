@@ -41,11 +41,11 @@ public class ExpressionAction extends Action
     private static final long serialVersionUID = 1L;
 
     /** the expression to evaluate */
-    private final Entity expr;
+    final Entity expr;
 
     public ExpressionAction(Entity expr, Environment env)
     {
-        super(env);
+        super(env, EXPRESSION);
         this.expr = expr;
     }
 
@@ -60,8 +60,8 @@ public class ExpressionAction extends Action
      * @throws gleam.lang.GleamException in case of errors
      */
     @Override
-    Entity invoke(Entity arg,
-                  Continuation cont) throws gleam.lang.GleamException
+    protected Entity invoke(Entity arg,
+                            Continuation cont) throws gleam.lang.GleamException
     {
         // note: ignore arg
         trace(out -> out.printf("%s\n", expr.toWriteFormat()), env);
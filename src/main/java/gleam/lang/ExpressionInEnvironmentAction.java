@@ -32,6 +32,8 @@
 
 package gleam.lang;
 
+import gleam.lang.compiler.Compiler;
+
 import static gleam.library.Arguments.requireEnvironment;
 
 /**
@@ -63,14 +65,14 @@ public class ExpressionInEnvironmentAction extends Action
      * @throws gleam.lang.GleamException in case of errors
      */
     @Override
-    Entity invoke(Entity newEnv,
-                  Continuation cont) throws gleam.lang.GleamException
+    protected Entity invoke(Entity newEnv,
+                            Continuation cont) throws gleam.lang.GleamException
     {
         Environment evalEnv = requireEnvironment("eval", newEnv);
-        expr = expr.analyze(evalEnv).optimize(evalEnv);
+        expr = Compiler.compile(expr, evalEnv);
         trace(out -> out.printf("%s\n", expr.toWriteFormat()), env);
 
-        cont.beginWith(new ExpressionAction(expr, evalEnv));
+        cont.push(new ExpressionAction(expr, evalEnv));
         return null;
     }
 }
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2023 Guglielmo Nigri.  All Rights Reserved.
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of version 2 of the GNU General Public License as
+ * published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it would be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Further, this software is distributed without any warranty that it is
+ * free of the rightful claim of any third person regarding infringement
+ * or the like.  Any license provided herein, whether implied or
+ * otherwise, applies only to this software file.  Patent licenses, if
+ * any, provided herein do not apply to combinations of this program with
+ * other software, or any other product whatsoever.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write the Free Software Foundation, Inc., 59
+ * Temple Place - Suite 330, Boston MA 02111-1307, USA.
+ *
+ * Contact information: Guglielmo Nigri <guglielmonigri@yahoo.it>
+ *
+ */
+
+package gleam.lang;
+
+import java.util.Arrays;
+
+/**
+ * A numeric vector of flonums, backed by a {@code double[]}.
+ */
+public final class F64Vector extends NumericVector
+{
+
+    private static final long serialVersionUID = 1L;
+
+    private final double[] elements;
+
+    /**
+     * Creates a vector of the given elements. The array is not copied.
+     */
+    public F64Vector(double[] elements)
+    {
+        this.elements = elements;
+    }
+
+    @Override
+    public Kind getKind()
+    {
+        return Kind.F64;
+    }
+
+    @Override
+    public int length()
+    {
+        return elements.length;
+    }
+
+    @Override
+    public double[] getArray()
+    {
+        return elements;
+    }
+
+    @Override
+    public Number get(int index)
+    {
+        return new Real(elements[index]);
+    }
+
+    @Override
+    public void set(String context, int index, Entity value) throws GleamException
+    {
+        elements[index] = toDouble(context, value);
+    }
+
+    @Override
+    public void fill(String context, Entity value) throws GleamException
+    {
+        Arrays.fill(elements, toDouble(context, value));
+    }
+
+    @Override
+    public NumericVector add(String context, NumericVector other)
+    {
+        double[] a = elements;
+        double[] b = ((F64Vector) other).elements;
+        double[] result = new double[a.length];
+        for (int i = 0; i < result.length; ++i) {
+            result[i] = a[i] + b[i];
+        }
+        return new F64Vector(result);
+    }
+
+    @Override
+    public NumericVector scale(String context, Entity factor) throws GleamException
+    {
+        double k = toDouble(context, factor);
+        double[] a = elements;
+        double[] result = new double[a.length];
+        for (int i = 0; i < result.length; ++i) {
+            result[i] = a[i] * k;
+        }
+        return new F64Vector(result);
+    }
+
+    @Override
+    public Number dot(NumericVector other)
+    {
+        double[] a = elements;
+        double[] b = ((F64Vector) other).elements;
+        double sum = 0.0;
+        for (int i = 0; i < a.length; ++i) {
+            sum += a[i] * b[i];
+        }
+        return new Real(sum);
+    }
+
+    @Override
+    public Number sum()
+    {
+        double sum = 0.0;
+        for (double e : elements) {
+            sum += e;
+        }
+        return new Real(sum);
+    }
+
+    @Override
+    public Number min()
+    {
+        double min = elements[0];
+        for (double e : elements) {
+            min = Math.min(min, e);
+        }
+        return new Real(min);
+    }
+
+    @Override
+    public Number max()
+    {
+        double max = elements[0];
+        for (double e : elements) {
+            max = Math.max(max, e);
+        }
+        return new Real(max);
+    }
+
+    private static double toDouble(String context, Entity value) throws GleamException
+    {
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        throw new GleamException(context + ": not a number", value);
+    }
+}
@@ -0,0 +1,530 @@
+/*
+ * Copyright (c) 2023 Guglielmo Nigri.  All Rights Reserved.
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of version 2 of the GNU General Public License as
+ * published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it would be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Further, this software is distributed without any warranty that it is
+ * free of the rightful claim of any third person regarding infringement
+ * or the like.  Any license provided herein, whether implied or
+ * otherwise, applies only to this software file.  Patent licenses, if
+ * any, provided herein do not apply to combinations of this program with
+ * other software, or any other product whatsoever.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write the Free Software Foundation, Inc., 59
+ * Temple Place - Suite 330, Boston MA 02111-1307, USA.
+ *
+ * Contact information: Guglielmo Nigri <guglielmonigri@yahoo.it>
+ *
+ */
+package gleam.lang;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Scheme hash table, with keys compared by {@code eq?}, {@code eqv?} or {@code equal?}.
+ * <p>
+ * Keys may be held strongly, or weakly, in which case an entry goes away once its key is no longer
+ * referenced elsewhere. Keys are wrapped so that the underlying {@link HashMap} compares them with
+ * the chosen equivalence, except for strong {@code eqv?} tables, where Java equality already
+ * matches the equivalence.
+ */
+public final class HashTable extends AbstractEntity
+{
+
+    private static final long serialVersionUID = 1L;
+
+    /** the maximum number of elements that contribute to an {@code equal?} hash code */
+    private static final int EQUAL_HASH_LIMIT = 64;
+
+    /** the length of a list after which {@code equal?} checks for circular lists */
+    private static final long CYCLE_CHECK_STEPS = 1 << 16;
+
+    /**
+     * The equivalences used to compare keys, with matching hash functions.
+     */
+    public enum Kind
+    {
+        EQ
+                {
+                    @Override
+                    public boolean test(Entity a, Entity b)
+                    {
+                        if (a instanceof JavaObject && b instanceof JavaObject) {
+                            return ((JavaObject) a).eq((JavaObject) b);
+                        }
+                        return a == b;
+                    }
+
+                    @Override
+                    public int hash(Entity e)
+                    {
+                        Object identity = e instanceof JavaObject
+                                          ? ((JavaObject) e).getObjectValue()
+                                          : e;
+                        return java.lang.System.identityHashCode(identity);
+                    }
+                },
+        EQV
+                {
+                    @Override
+                    public boolean test(Entity a, Entity b)
+                    {
+                        return a.equals(b);
+                    }
+
+                    @Override
+                    public int hash(Entity e)
+                    {
+                        return e.hashCode();
+                    }
+                },
+        EQUAL
+                {
+                    @Override
+                    public boolean test(Entity a, Entity b)
+                    {
+                        Entity listA = a;
+                        Entity listB = b;
+                        long steps = 0;
+                        long bound = -1;
+                        while (a instanceof Pair && b instanceof Pair) {
+                            if (a == b) {
+                                return true;
+                            }
+                            if (!test(((Pair) a).getCar(), ((Pair) b).getCar())) {
+                                return false;
+                            }
+                            a = ((Pair) a).getCdr();
+                            b = ((Pair) b).getCdr();
+                            if (++steps == CYCLE_CHECK_STEPS) {
+                                bound = cycleBound(listA, listB);
+                            }
+                            if (bound >= 0 && steps >= bound) {
+                                // circular lists, with equal elements all around
+                                return true;
+                            }
+                        }
+                        if (a instanceof Vector && b instanceof Vector) {
+                            Vector v = (Vector) a;
+                            Vector w = (Vector) b;
+                            if (v.length() != w.length()) {
+                                return false;
+                            }
+                            for (int i = 0; i < v.length(); ++i) {
+                                if (!test(v.get(i), w.get(i))) {
+                                    return false;
+                                }
+                            }
+                            return true;
+                        }
+                        if (a instanceof Bytevector && b instanceof Bytevector) {
+                            return ((Bytevector) a).contentEquals((Bytevector) b);
+                        }
+                        if (a instanceof NumericVector && b instanceof NumericVector) {
+                            return ((NumericVector) a).contentEquals((NumericVector) b);
+                        }
+                        return a.equals(b);
+                    }
+
+                    @Override
+                    public int hash(Entity e)
+                    {
+                        int[] budget = {EQUAL_HASH_LIMIT};
+                        return equalHash(e, budget);
+                    }
+                };
+
+        /**
+         * Tests whether two entities are equivalent.
+         */
+        public abstract boolean test(Entity a, Entity b);
+
+        /**
+         * Computes a hash code, which is the same for equivalent entities.
+         */
+        public abstract int hash(Entity e);
+    }
+
+    private final Kind kind;
+
+    private final boolean weak;
+
+    /** the entries, whose keys are wrapped unless this is a strong eqv? table */
+    private transient Map<Object, Entity> map;
+
+    /** cleared keys of a weak table, whose entries must be removed */
+    private transient ReferenceQueue<Entity> queue;
+
+    /**
+     * Creates an empty hash table.
+     *
+     * @param kind the equivalence used to compare keys
+     * @param weak true to hold keys weakly
+     */
+    public HashTable(Kind kind, boolean weak)
+    {
+        this.kind = kind;
+        this.weak = weak;
+        init();
+    }
+
+    private void init()
+    {
+        map = new HashMap<>();
+        queue = weak ? new ReferenceQueue<>() : null;
+    }
+
+    public Kind getKind()
+    {
+        return kind;
+    }
+
+    public boolean isWeak()
+    {
+        return weak;
+    }
+
+    /**
+     * Gets the value associated to a key.
+     *
+     * @return the value, or null if the key is not in the table
+     */
+    public Entity get(Entity key)
+    {
+        expunge();
+        return map.get(probe(key));
+    }
+
+    public void put(Entity key, Entity value)
+    {
+        expunge();
+        Object wrapped = weak ? new WeakKey(key, kind, queue) : probe(key);
+        if (weak) {
+            // replace the wrapper too, or it could refer to a key which is about to go away
+            map.remove(wrapped);
+        }
+        map.put(wrapped, value);
+    }
+
+    public void remove(Entity key)
+    {
+        expunge();
+        map.remove(probe(key));
+    }
+
+    public boolean containsKey(Entity key)
+    {
+        expunge();
+        return map.containsKey(probe(key));
+    }
+
+    public int size()
+    {
+        expunge();
+        return map.size();
+    }
+
+    public void clear()
+    {
+        map.clear();
+        if (weak) {
+            while (queue.poll() != null) {
+                // discard
+            }
+        }
+    }
+
+    public HashTable copy()
+    {
+        HashTable copy = new HashTable(kind, weak);
+        forEach(copy::put);
+        return copy;
+    }
+
+    /**
+     * Performs an action for each entry, on a snapshot of the table, so that the action may
+     * update the table.
+     */
+    public void forEach(java.util.function.BiConsumer<Entity, Entity> action)
+    {
+        expunge();
+        java.util.List<Entity> keys = new ArrayList<>(map.size());
+        java.util.List<Entity> values = new ArrayList<>(map.size());
+        for (Map.Entry<Object, Entity> entry : map.entrySet()) {
+            Entity key = unwrap(entry.getKey());
+            if (key != null) {
+                keys.add(key);
+                values.add(entry.getValue());
+            }
+        }
+        for (int i = 0; i < keys.size(); ++i) {
+            action.accept(keys.get(i), values.get(i));
+        }
+    }
+
+    /**
+     * Wraps a key for lookups.
+     */
+    private Object probe(Entity key)
+    {
+        if (kind == Kind.EQV && !weak) {
+            return key;
+        }
+        return new StrongKey(key, kind);
+    }
+
+    private static Entity unwrap(Object key)
+    {
+        return key instanceof Key ? ((Key) key).entity() : (Entity) key;
+    }
+
+    /**
+     * Removes the entries whose weak keys have been cleared.
+     */
+    private void expunge()
+    {
+        if (weak) {
+            Reference<? extends Entity> ref;
+            while ((ref = queue.poll()) != null) {
+                map.remove(ref);
+            }
+        }
+    }
+
+    private static int equalHash(Entity e, int[] budget)
+    {
+        int hash = 1;
+        while (e instanceof Pair && budget[0] > 0) {
+            --budget[0];
+            hash = 31 * hash + equalHash(((Pair) e).getCar(), budget);
+            e = ((Pair) e).getCdr();
+        }
+        if (e instanceof Pair) {
+            return hash;
+        }
+        if (e instanceof Vector) {
+            Vector v = (Vector) e;
+            for (int i = 0; i < v.length() && budget[0] > 0; ++i) {
+                --budget[0];
+                hash = 31 * hash + equalHash(v.get(i), budget);
+            }
+            return hash;
+        }
+        if (e instanceof Bytevector) {
+            return 31 * hash + ((Bytevector) e).contentHashCode();
+        }
+        if (e instanceof NumericVector) {
+            return 31 * hash + ((NumericVector) e).contentHashCode();
+        }
+        return 31 * hash + e.hashCode();
+    }
+
+    /**
+     * Computes how many elements two lists must have in common to be equal, if both are circular.
+     * Each list is made of a prefix of length mu followed by a cycle of length lambda, so two such
+     * lists are equal if their elements are, up to the longest prefix plus a common multiple of
+     * the cycle lengths.
+     *
+     * @return the number of elements, or -1 if a list is not circular
+     */
+    private static long cycleBound(Entity a, Entity b)
+    {
+        long[] cycleA = cycle(a);
+        long[] cycleB = cycle(b);
+        if (cycleA == null || cycleB == null) {
+            return -1;
+        }
+        long lambdaA = cycleA[1];
+        long lambdaB = cycleB[1];
+        long gcd = java.math.BigInteger.valueOf(lambdaA)
+                                       .gcd(java.math.BigInteger.valueOf(lambdaB))
+                                       .longValue();
+        return Math.max(cycleA[0], cycleB[0]) + lambdaA / gcd * lambdaB;
+    }
+
+    /**
+     * Finds the cycle of a circular list, with Brent's algorithm.
+     *
+     * @return the length of the prefix and of the cycle, or null if the list is not circular
+     */
+    private static long[] cycle(Entity list)
+    {
+        long power = 1;
+        long lambda = 1;
+        Entity tortoise = list;
+        Entity hare = next(list);
+        while (hare != tortoise) {
+            if (hare == null) {
+                return null;
+            }
+            if (power == lambda) {
+                tortoise = hare;
+                power *= 2;
+                lambda = 0;
+            }
+            hare = next(hare);
+            ++lambda;
+        }
+        tortoise = list;
+        hare = list;
+        for (long i = 0; i < lambda; ++i) {
+            hare = next(hare);
+        }
+        long mu = 0;
+        while (tortoise != hare) {
+            tortoise = next(tortoise);
+            hare = next(hare);
+            ++mu;
+        }
+        return new long[]{mu, lambda};
+    }
+
+    private static Entity next(Entity e)
+    {
+        return e instanceof Pair ? ((Pair) e).getCdr() : null;
+    }
+
+    @Override
+    public PrintWriter write(PrintWriter out)
+    {
+        out.print("#<hash-table>");
+        return out;
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws IOException
+    {
+        out.defaultWriteObject();
+        java.util.List<Entity> entries = new ArrayList<>();
+        forEach((key, value) -> {
+            entries.add(key);
+            entries.add(value);
+        });
+        out.writeObject(entries);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(java.io.ObjectInputStream in) throws IOException, ClassNotFoundException
+    {
+        in.defaultReadObject();
+        init();
+        java.util.List<Entity> entries = (java.util.List<Entity>) in.readObject();
+        for (int i = 0; i < entries.size(); i += 2) {
+            put(entries.get(i), entries.get(i + 1));
+        }
+    }
+
+    /**
+     * A key wrapper, comparing keys with an equivalence.
+     */
+    private interface Key
+    {
+        /**
+         * @return the key, or null if it has been cleared
+         */
+        Entity entity();
+
+        Kind kind();
+
+        static boolean equals(Key key, Object o)
+        {
+            if (key == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Entity a = key.entity();
+            Entity b = ((Key) o).entity();
+            return a != null && b != null && key.kind().test(a, b);
+        }
+    }
+
+    private static final class StrongKey implements Key
+    {
+        private final Entity entity;
+        private final Kind kind;
+        private final int hash;
+
+        StrongKey(Entity entity, Kind kind)
+        {
+            this.entity = entity;
+            this.kind = kind;
+            this.hash = kind.hash(entity);
+        }
+
+        @Override
+        public Entity entity()
+        {
+            return entity;
+        }
+
+        @Override
+        public Kind kind()
+        {
+            return kind;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            return Key.equals(this, o);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hash;
+        }
+    }
+
+    private static final class WeakKey extends WeakReference<Entity> implements Key
+    {
+        private final Kind kind;
+        private final int hash;
+
+        WeakKey(Entity entity, Kind kind, ReferenceQueue<Entity> queue)
+        {
+            super(entity, queue);
+            this.kind = kind;
+            this.hash = kind.hash(entity);
+        }
+
+        @Override
+        public Entity entity()
+        {
+            return get();
+        }
+
+        @Override
+        public Kind kind()
+        {
+            return kind;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            return Key.equals(this, o);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2023 Guglielmo Nigri.  All Rights Reserved.
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of version 2 of the GNU General Public License as
+ * published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it would be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Further, this software is distributed without any warranty that it is
+ * free of the rightful claim of any third person regarding infringement
+ * or the like.  Any license provided herein, whether implied or
+ * otherwise, applies only to this software file.  Patent licenses, if
+ * any, provided herein do not apply to combinations of this program with
+ * other software, or any other product whatsoever.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write the Free Software Foundation, Inc., 59
+ * Temple Place - Suite 330, Boston MA 02111-1307, USA.
+ *
+ * Contact information: Guglielmo Nigri <guglielmonigri@yahoo.it>
+ *
+ */
+package gleam.lang;
+
+/**
+ * Implements {@code hash-table-update!}: applies a procedure to the value associated to a key, and
+ * associates the result to the key. When the key is not in the table, the initial value comes
+ * from a default, or from calling a thunk.
+ */
+public class HashTableUpdateAction extends Action
+{
+
+    private static final long serialVersionUID = 1L;
+
+    private final HashTable table;
+    private final Entity key;
+
+    /** the procedure to apply, or null if the action receives its result */
+    private final Procedure procedure;
+
+    private HashTableUpdateAction(HashTable table,
+                                  Entity key,
+                                  Procedure procedure,
+                                  Environment env)
+    {
+        super(env);
+        this.table = table;
+        this.key = key;
+        this.procedure = procedure;
+    }
+
+    /**
+     * Starts the update of the value associated to a key.
+     *
+     * @param context   the name of the calling procedure, for error messages
+     * @param table     the hash table
+     * @param key       the key
+     * @param procedure the procedure computing the new value from the current one
+     * @param thunk     a procedure returning the initial value, or null
+     * @param value     the initial value, or null
+     * @param env       the environment
+     * @param cont      the current continuation
+     *
+     * @return the result, or null if the continuation has been updated
+     *
+     * @throws GleamException if the key is not in the table, and there is no initial value
+     */
+    public static Entity start(String context,
+                               HashTable table,
+                               Entity key,
+                               Procedure procedure,
+                               Procedure thunk,
+                               Entity value,
+                               Environment env,
+                               Continuation cont) throws GleamException
+    {
+        HashTableUpdateAction action = new HashTableUpdateAction(table, key, procedure, env);
+        Entity current = table.get(key);
+        if (current == null) {
+            current = value;
+        }
+        if (current != null) {
+            return action.invoke(current, cont);
+        }
+        if (thunk == null) {
+            throw new GleamException(context + ": key not found", key);
+        }
+        cont.push(action);
+        return thunk.apply(new Entity[0], env, cont);
+    }
+
+    /**
+     * Receives the current value, and applies the procedure to it; or receives the new value,
+     * and stores it.
+     *
+     * @param arg  the current value, or the new value
+     * @param cont the current continuation
+     *
+     * @throws GleamException in case of errors
+     */
+    @Override
+    protected Entity invoke(Entity arg, Continuation cont) throws GleamException
+    {
+        if (procedure == null) {
+            table.put(key, arg);
+            return Void.VALUE;
+        }
+        cont.push(new HashTableUpdateAction(table, key, null, env));
+        return procedure.apply(new Entity[]{arg}, env, cont);
+    }
+}
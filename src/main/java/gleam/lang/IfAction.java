@@ -45,7 +45,7 @@ public class IfAction extends Action
 
     public IfAction(Entity consequent, Entity alternate, Environment env)
     {
-        super(env);
+        super(env, IF);
         this.consequent = consequent;
         this.alternate = alternate;
     }
@@ -62,9 +62,9 @@ public class IfAction extends Action
      * @return the result of the evaluation
      */
     @Override
-    Entity invoke(Entity arg, Continuation cont)
+    protected Entity invoke(Entity arg, Continuation cont)
     {
-        cont.beginWith(
+        cont.push(
                 new ExpressionAction(
                         arg != Boolean.falseValue ? consequent : alternate,
                         env));
@@ -207,7 +207,7 @@ public class InputPort extends Port implements Closeable
         if (c == -1) {
             return Eof.VALUE;
         }
-        return new Character((char) c);
+        return Character.valueOf((char) c);
     }
 
     private void checkOpen() throws GleamException
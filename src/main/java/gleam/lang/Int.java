@@ -29,21 +29,58 @@ package gleam.lang;
 import java.io.PrintWriter;
 
 /**
- * Scheme integer numerical object.
+ * Scheme integer numerical object, also known as a <i>fixnum</i>. Exact integers that do not fit
+ * in a long are represented as {@link BigInt}.
+ *
+ * @see Arithmetic
  */
 public class Int extends Number implements Entity
 {
 
     private static final long serialVersionUID = 1L;
 
+    /** the smallest and the largest value of the preallocated instances */
+    private static final int CACHE_LOW = -128;
+    private static final int CACHE_HIGH = 1023;
+
+    /** preallocated instances of the integers most commonly used, e.g. as counters or indices */
+    private static final Int[] cache = new Int[CACHE_HIGH - CACHE_LOW + 1];
+
+    static {
+        for (int i = 0; i < cache.length; i++) {
+            cache[i] = new Int(i + CACHE_LOW);
+        }
+    }
+
     /** the value */
-    private final int value;
+    private final long value;
+
+    /**
+     * Returns an Int with the given value. Values in a small range around zero are preallocated,
+     * so this method should be preferred to the constructors.
+     *
+     * @param n the value
+     *
+     * @return an Int
+     */
+    public static Int valueOf(long n)
+    {
+        if (n >= CACHE_LOW && n <= CACHE_HIGH) {
+            return cache[(int) n - CACHE_LOW];
+        }
+        return new Int(n);
+    }
 
     public Int(int n)
     {
         value = n;
     }
 
+    public Int(long n)
+    {
+        value = n;
+    }
+
     /**
      * Writes an int.
      */
@@ -57,7 +94,7 @@ public class Int extends Number implements Entity
     @Override
     public int intValue()
     {
-        return value;
+        return (int) value;
     }
 
     @Override
@@ -86,14 +123,14 @@ public class Int extends Number implements Entity
 
     /**
      * Returns a hashcode for this Scheme object. The implementation is the same as per
-     * java.lang.Integer.
+     * java.lang.Long.
      *
      * @return int
      */
     @Override
     public int hashCode()
     {
-        return value;
+        return Long.hashCode(value);
     }
 
     /**
@@ -32,6 +32,7 @@
 
 package gleam.lang;
 
+import gleam.lang.compiler.Compiler;
 import gleam.library.Primitive;
 import gleam.util.Logger;
 
@@ -208,10 +209,12 @@ public class Interpreter
              * import primitives
              */
             importPrimitives(gleam.library.Booleans.primitives);
+            importPrimitives(gleam.library.Bytevectors.primitives);
             importPrimitives(gleam.library.Characters.primitives);
             importPrimitives(gleam.library.ControlFeatures.primitives);
             importPrimitives(gleam.library.Equivalence.primitives);
             importPrimitives(gleam.library.Eval.primitives);
+            importPrimitives(gleam.library.HashTables.primitives);
             importPrimitives(gleam.library.Input.primitives);
             importPrimitives(gleam.library.Interaction.primitives);
             importPrimitives(gleam.library.JavaInterface.primitives);
@@ -219,6 +222,7 @@ public class Interpreter
             importPrimitives(gleam.library.Output.primitives);
             importPrimitives(gleam.library.PairsAndLists.primitives);
             importPrimitives(gleam.library.Ports.primitives);
+            importPrimitives(gleam.library.Sorting.primitives);
             importPrimitives(gleam.library.Strings.primitives);
             importPrimitives(gleam.library.Symbols.primitives);
             importPrimitives(gleam.library.Syntax.primitives);
@@ -343,8 +347,8 @@ public class Interpreter
      */
     public void setGlobalEnv(Environment env)
     {
-        env.parent = interactionEnv;
-        sharedEnv.parent = env;
+        env.setParent(interactionEnv);
+        sharedEnv.setParent(env);
     }
 
     /**
@@ -383,8 +387,24 @@ public class Interpreter
      */
     public Entity eval(Entity expr, Environment env) throws GleamException
     {
-        expr = expr.analyze(env).optimize(env);
-        cont.beginWith(new ExpressionAction(expr, env));
+        return evalCompiled(Compiler.compile(expr, env), env);
+    }
+
+    /**
+     * Evaluates an expression already compiled for a given environment, e.g., by
+     * {@link Compiler#compile(Entity, Environment)}. A compiled expression can be evaluated any
+     * number of times, but only in the environment it was compiled for.
+     *
+     * @param expr the compiled expression
+     * @param env  the environment of evaluation
+     *
+     * @return the value of the expression
+     *
+     * @throws gleam.lang.GleamException in case of errors
+     */
+    public Entity evalCompiled(Entity expr, Environment env) throws GleamException
+    {
+        cont.push(new ExpressionAction(expr, env));
         execute();
         ExecutionContext context = env.getExecutionContext();
         if (context.isNoisy()) {
@@ -444,26 +464,146 @@ public class Interpreter
     }
 
     /**
-     * The main loop of program execution. When this method is called, the first action in the
-     * current continuation is invoked with the current value of the accumulator register as its
-     * argument. When a result is produced, it is stored in the accumulator. Then, the next action
-     * in the continuation chain is extracted, and the loop repeats itself until there are no more
-     * actions to execute.
+     * Applies a procedure and runs it to completion, in a continuation of its own, so that Java
+     * code can call Scheme procedures, e.g., from a comparator. A continuation captured during the
+     * call only extends to its return, so continuations should not be invoked across the call.
+     *
+     * @param procedure the procedure to apply
+     * @param args      the arguments, which are not kept after the call
+     * @param env       the environment of the call
+     *
+     * @return the value returned by the procedure
+     *
+     * @throws gleam.lang.GleamException in case of errors
+     */
+    public static Entity apply(Procedure procedure, Entity[] args, Environment env)
+            throws GleamException
+    {
+        return apply(procedure, args, env, new Continuation());
+    }
+
+    /**
+     * Applies a procedure and runs it to completion in the given continuation, which must be
+     * empty. The continuation is empty again when this method returns, even in case of errors, so
+     * that it can be reused for other calls, e.g., by the same thread.
+     *
+     * @param procedure the procedure to apply
+     * @param args      the arguments, which are not kept after the call
+     * @param env       the environment of the call
+     * @param cont      the empty continuation to run the procedure in
+     *
+     * @return the value returned by the procedure
+     *
+     * @throws gleam.lang.GleamException in case of errors
+     */
+    public static Entity apply(Procedure procedure,
+                               Entity[] args,
+                               Environment env,
+                               Continuation cont) throws GleamException
+    {
+        try {
+            Entity result = procedure.apply(args, env, cont);
+            if (result != null) {
+                return result;
+            }
+            return execute(cont, Void.VALUE);
+        }
+        catch (GleamException | RuntimeException e) {
+            cont.clear();
+            throw e;
+        }
+    }
+
+    /**
+     * Applies a procedure and runs it to completion. If this interpreter is idle, the program
+     * continuation is used, saving the allocation of a new one; otherwise, e.g., when called back
+     * from a running program, this is the same as {@link #apply(Procedure, Entity[], Environment)}.
+     *
+     * @param procedure the procedure to apply
+     * @param args      the arguments, which are not kept after the call
+     * @param env       the environment of the call
+     *
+     * @return the value returned by the procedure
+     *
+     * @throws gleam.lang.GleamException in case of errors
+     */
+    public Entity invoke(Procedure procedure, Entity[] args, Environment env)
+            throws GleamException
+    {
+        if (!cont.isEmpty()) {
+            return apply(procedure, args, env);
+        }
+        return apply(procedure, args, env, cont);
+    }
+
+    /**
+     * Runs the program continuation, leaving the result in the accumulator.
      *
      * @throws gleam.lang.GleamException in case of errors
      */
     private void execute() throws GleamException
     {
-        Action currentAction = cont.head;
-        Entity tmp;
-        while (currentAction != null) {
-            cont.head = currentAction.next;
-            tmp = currentAction.invoke(accum, cont);
-            if (tmp != null) {
-                accum = tmp;
+        accum = execute(cont, accum);
+    }
+
+    /**
+     * The main loop of program execution. When this method is called, the first action in the
+     * current continuation is removed and invoked with the current value of the accumulator
+     * register as its argument. When a result is produced, it is stored in the accumulator. Then,
+     * the loop repeats itself with the next action, until there are no more actions to execute.
+     * <p>
+     * Actions are dispatched on their opcode. The most frequent ones are executed inline, unless
+     * tracing is enabled, while the others are invoked from a call site of their own, which only
+     * ever sees one class of action, so that the JIT compiler can inline them as well.
+     *
+     * @param cont  the continuation to run
+     * @param value the initial value of the accumulator
+     *
+     * @return the final value of the accumulator
+     *
+     * @throws gleam.lang.GleamException in case of errors
+     */
+    private static Entity execute(Continuation cont, Entity value) throws GleamException
+    {
+        Action action;
+        Entity result;
+        while ((action = cont.pop()) != null) {
+            switch (action.opcode) {
+                case Action.EXPRESSION:
+                    if (action.env.getExecutionContext().isTraceEnabled()) {
+                        result = action.invoke(value, cont);
+                    }
+                    else {
+                        result = ((ExpressionAction) action).expr.eval(action.env, cont);
+                    }
+                    break;
+                case Action.IF:
+                    if (action.env.getExecutionContext().isTraceEnabled()) {
+                        result = action.invoke(value, cont);
+                    }
+                    else {
+                        IfAction ifAction = (IfAction) action;
+                        Entity branch = value != Boolean.falseValue
+                                        ? ifAction.consequent
+                                        : ifAction.alternate;
+                        result = branch.eval(action.env, cont);
+                    }
+                    break;
+                case Action.ARGUMENT:
+                    result = action.invoke(value, cont);
+                    break;
+                case Action.CALL:
+                    result = action.invoke(value, cont);
+                    break;
+                default:
+                    result = action.invoke(value, cont);
+                    break;
+            }
+            if (result != null) {
+                value = result;
             }
-            currentAction = cont.head;
         }
+        return value;
     }
 
     /**
@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2023 Guglielmo Nigri.  All Rights Reserved.
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of version 2 of the GNU General Public License as
+ * published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it would be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Further, this software is distributed without any warranty that it is
+ * free of the rightful claim of any third person regarding infringement
+ * or the like.  Any license provided herein, whether implied or
+ * otherwise, applies only to this software file.  Patent licenses, if
+ * any, provided herein do not apply to combinations of this program with
+ * other software, or any other product whatsoever.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write the Free Software Foundation, Inc., 59
+ * Temple Place - Suite 330, Boston MA 02111-1307, USA.
+ *
+ * Contact information: Guglielmo Nigri <guglielmonigri@yahoo.it>
+ *
+ */
+
+
+package gleam.lang;
+
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import static gleam.lang.Entities.cons;
+
+/**
+ * An analyzed lambda expression. Evaluating it creates a new {@link Closure}.
+ * <p>
+ * Besides the parameters and the body, it holds the <i>frame layout</i> of the procedure: the
+ * names of the parameters, followed by the names of the internal definitions found in the body.
+ * Each call of the procedure binds them to the slots of a new {@link LocalEnvironment}.
+ */
+public final class Lambda extends AbstractEntity
+{
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Names of procedures that may access the environment of their caller. A procedure whose body
+     * refers to any of them is not optimized, so that its bindings can always be found by name.
+     */
+    private static final Set<Symbol> reflectiveSymbols = new HashSet<>(Arrays.asList(
+            Symbol.makeSymbol("current-environment"),
+            Symbol.makeSymbol("eval"),
+            Symbol.makeSymbol("in-environment"),
+            Symbol.makeSymbol("load")));
+
+    /** the parameter specification, as in the lambda expression */
+    final Entity param;
+
+    /** the procedure body */
+    final List body;
+
+    /** the frame layout, or null if the parameter specification is invalid */
+    final Symbol[] names;
+
+    /** the number of required parameters */
+    final int required;
+
+    /** true if there is a "." notation parameter */
+    final boolean rest;
+
+    /**
+     * Creates a lambda whose frame only holds its parameters.
+     *
+     * @param param the parameter specification
+     * @param body  the procedure body
+     */
+    public Lambda(Entity param, List body)
+    {
+        this(param, body, Collections.emptySet());
+    }
+
+    private Lambda(Entity param, List body, Collection<Symbol> definitions)
+    {
+        this.param = param;
+        this.body = body;
+
+        java.util.List<Symbol> layout = new ArrayList<>();
+        int count = 0;
+        Entity currParam = param;
+        while (currParam instanceof Pair && ((Pair) currParam).getCar() instanceof Symbol) {
+            layout.add((Symbol) ((Pair) currParam).getCar());
+            count++;
+            currParam = ((Pair) currParam).getCdr();
+        }
+        this.required = count;
+        this.rest = currParam instanceof Symbol;
+        if (rest) {
+            layout.add((Symbol) currParam);
+        }
+        if (rest || currParam == EmptyList.VALUE) {
+            for (Symbol definition : definitions) {
+                if (!layout.contains(definition)) {
+                    layout.add(definition);
+                }
+            }
+            this.names = layout.toArray(new Symbol[0]);
+        }
+        else {
+            this.names = null;
+        }
+    }
+
+    /**
+     * Analyzes a lambda expression in a given environment, resolving its local variables to their
+     * lexical addresses.
+     *
+     * @param form the lambda expression, or the procedure definition, being optimized
+     * @param param the parameter specification
+     * @param body  the procedure body
+     * @param env   the environment in which the lambda expression will be evaluated
+     *
+     * @return the analyzed Lambda, or the unchanged form if it cannot be optimized
+     *
+     * @throws GleamException in case of errors
+     */
+    static Entity optimize(Entity form, Entity param, List body, Environment env)
+            throws GleamException
+    {
+        if (isReflective(body)) {
+            return form;
+        }
+        Collection<Symbol> definitions = new LinkedHashSet<>();
+        collectDefinitions(body, definitions);
+        Lambda lambda = new Lambda(param, body, definitions);
+        if (lambda.names == null) {
+            return form;
+        }
+
+        // optimize the body in a scope where each local variable has a slot
+        Environment scope = LocalEnvironment.newScope(lambda.names, env);
+        Pair optimizedBody = new Pair(EmptyList.VALUE, EmptyList.VALUE);
+        Pair ins = optimizedBody;
+        for (Entity expr : body) {
+            Pair nextcons = cons(expr.optimize(scope));
+            ins.setCdr(nextcons);
+            ins = nextcons;
+        }
+        return new Lambda(lambda, (List) optimizedBody.getCdr());
+    }
+
+    private Lambda(Lambda layout, List body)
+    {
+        this.param = layout.param;
+        this.body = body;
+        this.names = layout.names;
+        this.required = layout.required;
+        this.rest = layout.rest;
+    }
+
+    /**
+     * Tells whether some code refers to procedures that access the environment of their caller.
+     */
+    static boolean isReflective(Entity code)
+    {
+        while (code instanceof Pair) {
+            Pair pair = (Pair) code;
+            if (isReflective(pair.getCar())) {
+                return true;
+            }
+            code = pair.getCdr();
+        }
+        return code instanceof Symbol && reflectiveSymbols.contains(code);
+    }
+
+    /**
+     * Collects the names of the variables defined in a procedure body, excluding the bodies of
+     * nested procedures and quoted data.
+     */
+    private static void collectDefinitions(Entity code, Collection<Symbol> definitions)
+    {
+        while (code instanceof Pair) {
+            Pair pair = (Pair) code;
+            Entity expr = pair.getCar();
+            if (expr instanceof Pair) {
+                Pair form = (Pair) expr;
+                Entity op = form.getCar();
+                if (op == Symbol.QUOTE || op == Symbol.QUASIQUOTE || op == Symbol.LAMBDA) {
+                    code = pair.getCdr();
+                    continue;
+                }
+                if (op == Symbol.DEFINE && form.getCdr() instanceof Pair) {
+                    Pair defined = (Pair) form.getCdr();
+                    Entity target = defined.getCar();
+                    if (target instanceof Symbol) {
+                        definitions.add((Symbol) target);
+                        collectDefinitions(defined.getCdr(), definitions);
+                    }
+                    else if (target instanceof Pair && ((Pair) target).getCar() instanceof Symbol) {
+                        // the body belongs to the defined procedure
+                        definitions.add((Symbol) ((Pair) target).getCar());
+                    }
+                }
+                else {
+                    collectDefinitions(form, definitions);
+                }
+            }
+            code = pair.getCdr();
+        }
+    }
+
+    /**
+     * Evaluates this lambda expression, creating a new closure.
+     */
+    @Override
+    public Entity eval(Environment env, Continuation cont)
+    {
+        return new Closure(this, env);
+    }
+
+    /**
+     * Writes this lambda expression.
+     */
+    @Override
+    public PrintWriter write(PrintWriter out)
+    {
+        return cons(Symbol.LAMBDA, cons(param, body)).write(out);
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2023 Guglielmo Nigri.  All Rights Reserved.
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of version 2 of the GNU General Public License as
+ * published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it would be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Further, this software is distributed without any warranty that it is
+ * free of the rightful claim of any third person regarding infringement
+ * or the like.  Any license provided herein, whether implied or
+ * otherwise, applies only to this software file.  Patent licenses, if
+ * any, provided herein do not apply to combinations of this program with
+ * other software, or any other product whatsoever.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write the Free Software Foundation, Inc., 59
+ * Temple Place - Suite 330, Boston MA 02111-1307, USA.
+ *
+ * Contact information: Guglielmo Nigri <guglielmonigri@yahoo.it>
+ *
+ */
+package gleam.lang;
+
+/**
+ * Folds one or more lists with a procedure, position by position, up to the end of the shortest
+ * list, for {@code fold-left}, {@code fold-right} and {@code reduce}.
+ * <p>
+ * As in {@link ListMapAction}, each application of a procedure which may use the continuation
+ * schedules a new action, while pure primitive procedures are applied in a loop.
+ */
+public class ListFoldAction extends Action
+{
+
+    private static final long serialVersionUID = 1L;
+
+    private final Procedure procedure;
+
+    /** true to pass the accumulated value before the elements, false to pass it after them */
+    private final boolean accumulatorFirst;
+
+    /** the lists, starting at the elements the procedure is being applied to */
+    private final Entity[] lists;
+
+    private ListFoldAction(Procedure procedure,
+                           boolean accumulatorFirst,
+                           Entity[] lists,
+                           Environment env)
+    {
+        super(env);
+        this.procedure = procedure;
+        this.accumulatorFirst = accumulatorFirst;
+        this.lists = lists;
+    }
+
+    /**
+     * Starts folding lists from the left, as in {@code fold-left}, where the procedure is applied
+     * to the accumulated value followed by the elements; or as in {@code reduce}, where it is
+     * applied to the elements followed by the accumulated value.
+     * <p>
+     * For a fold from the right, as in {@code fold-right}, pass the lists reversed, and the
+     * accumulated value last.
+     *
+     * @param procedure        the procedure
+     * @param initial          the initial value
+     * @param lists            the lists, which must be proper
+     * @param accumulatorFirst true to pass the accumulated value before the elements, false to
+     *                         pass it after them
+     * @param env              the environment
+     * @param cont             the current continuation
+     *
+     * @return the result, or null if the continuation has been updated
+     *
+     * @throws GleamException in case of errors
+     */
+    public static Entity start(Procedure procedure,
+                               Entity initial,
+                               Entity[] lists,
+                               boolean accumulatorFirst,
+                               Environment env,
+                               Continuation cont) throws GleamException
+    {
+        return run(procedure, accumulatorFirst, lists, initial, env, cont);
+    }
+
+    private static Entity run(Procedure procedure,
+                              boolean accumulatorFirst,
+                              Entity[] lists,
+                              Entity value,
+                              Environment env,
+                              Continuation cont) throws GleamException
+    {
+        boolean pure = procedure instanceof PrimitiveProcedure &&
+                       ((PrimitiveProcedure) procedure).isPure();
+        int offset = accumulatorFirst ? 1 : 0;
+        Entity[] args = new Entity[lists.length + 1];
+        // unless an action is scheduled, the lists can be advanced in place
+        Entity[] tails = pure ? lists.clone() : new Entity[lists.length];
+        while (true) {
+            for (int i = 0; i < lists.length; ++i) {
+                if (!(lists[i] instanceof Pair)) {
+                    return value;
+                }
+                args[i + offset] = ((Pair) lists[i]).getCar();
+                tails[i] = ((Pair) lists[i]).getCdr();
+            }
+            args[accumulatorFirst ? 0 : lists.length] = value;
+            if (!pure) {
+                cont.push(new ListFoldAction(procedure, accumulatorFirst, tails, env));
+                return procedure.apply(args, env, cont);
+            }
+            value = procedure.apply(args, env, cont);
+            lists = tails;
+        }
+    }
+
+    /**
+     * Receives the result of the procedure, as the new accumulated value, and goes on with the
+     * next position.
+     *
+     * @param arg  the result of applying the procedure
+     * @param cont the current continuation
+     *
+     * @throws GleamException in case of errors
+     */
+    @Override
+    protected Entity invoke(Entity arg, Continuation cont) throws GleamException
+    {
+        return run(procedure, accumulatorFirst, lists, arg, env, cont);
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2023 Guglielmo Nigri.  All Rights Reserved.
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of version 2 of the GNU General Public License as
+ * published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it would be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Further, this software is distributed without any warranty that it is
+ * free of the rightful claim of any third person regarding infringement
+ * or the like.  Any license provided herein, whether implied or
+ * otherwise, applies only to this software file.  Patent licenses, if
+ * any, provided herein do not apply to combinations of this program with
+ * other software, or any other product whatsoever.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write the Free Software Foundation, Inc., 59
+ * Temple Place - Suite 330, Boston MA 02111-1307, USA.
+ *
+ * Contact information: Guglielmo Nigri <guglielmonigri@yahoo.it>
+ *
+ */
+package gleam.lang;
+
+/**
+ * Applies a procedure to the elements at each position of one or more lists, in order, up to the
+ * end of the shortest list, for {@code map}, {@code for-each} and {@code filter}.
+ * <p>
+ * Each application of a procedure which may use the continuation schedules a new action for the
+ * next position, so that the action stays unchanged even if a continuation captured by the
+ * procedure is called more than once. Pure primitive procedures are applied in a loop instead.
+ */
+public class ListMapAction extends Action
+{
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * What to do with the results.
+     */
+    public enum Mode
+    {
+        /** collect the results in a new list */
+        MAP("map"),
+        /** discard the results */
+        FOR_EACH("for-each"),
+        /** collect the elements for which the result is true */
+        FILTER("filter");
+
+        private final String name;
+
+        Mode(String name)
+        {
+            this.name = name;
+        }
+    }
+
+    private final Procedure procedure;
+    private final Mode mode;
+
+    /** the lists, starting at the elements the procedure is being applied to */
+    private final Entity[] lists;
+
+    /** the results so far, most recent first, or null if results are discarded */
+    private final List results;
+
+    private ListMapAction(Procedure procedure,
+                          Mode mode,
+                          Entity[] lists,
+                          List results,
+                          Environment env)
+    {
+        super(env);
+        this.procedure = procedure;
+        this.mode = mode;
+        this.lists = lists;
+        this.results = results;
+    }
+
+    /**
+     * Starts the application of a procedure to the elements of lists.
+     *
+     * @param procedure the procedure
+     * @param lists     the lists
+     * @param mode      what to do with the results
+     * @param env       the environment
+     * @param cont      the current continuation
+     *
+     * @return the result, or null if the continuation has been updated
+     *
+     * @throws GleamException in case of errors
+     */
+    public static Entity start(Procedure procedure,
+                               Entity[] lists,
+                               Mode mode,
+                               Environment env,
+                               Continuation cont) throws GleamException
+    {
+        List results = mode == Mode.FOR_EACH ? null : EmptyList.VALUE;
+        return run(procedure, mode, lists, results, env, cont);
+    }
+
+    private static Entity run(Procedure procedure,
+                              Mode mode,
+                              Entity[] lists,
+                              List results,
+                              Environment env,
+                              Continuation cont) throws GleamException
+    {
+        boolean pure = procedure instanceof PrimitiveProcedure &&
+                       ((PrimitiveProcedure) procedure).isPure();
+        Entity[] args = new Entity[lists.length];
+        if (!pure) {
+            if (!cars(mode, lists, args)) {
+                return finish(results);
+            }
+            cont.push(new ListMapAction(procedure, mode, lists, results, env));
+            return procedure.apply(args, env, cont);
+        }
+        // no action is scheduled, so the lists can be advanced in place
+        Entity[] tails = lists.clone();
+        while (cars(mode, tails, args)) {
+            results = accumulate(mode, results, args[0], procedure.apply(args, env, cont));
+            for (int i = 0; i < tails.length; ++i) {
+                tails[i] = ((Pair) tails[i]).getCdr();
+            }
+        }
+        return finish(results);
+    }
+
+    /**
+     * Receives the result of the procedure, and goes on with the next position.
+     *
+     * @param arg  the result of applying the procedure
+     * @param cont the current continuation
+     *
+     * @throws GleamException in case of errors
+     */
+    @Override
+    protected Entity invoke(Entity arg, Continuation cont) throws GleamException
+    {
+        List nextResults = accumulate(mode, results, ((Pair) lists[0]).getCar(), arg);
+        return run(procedure, mode, cdrs(lists), nextResults, env, cont);
+    }
+
+    /**
+     * Gets the elements at the current position.
+     *
+     * @return false at the end of the shortest list
+     */
+    private static boolean cars(Mode mode, Entity[] lists, Entity[] cars) throws GleamException
+    {
+        for (int i = 0; i < lists.length; ++i) {
+            if (!(lists[i] instanceof Pair)) {
+                if (lists[i] == EmptyList.VALUE) {
+                    return false;
+                }
+                throw new GleamException(mode.name + ": not a proper list", lists[i]);
+            }
+            cars[i] = ((Pair) lists[i]).getCar();
+        }
+        return true;
+    }
+
+    private static Entity[] cdrs(Entity[] lists)
+    {
+        Entity[] cdrs = new Entity[lists.length];
+        for (int i = 0; i < lists.length; ++i) {
+            cdrs[i] = ((Pair) lists[i]).getCdr();
+        }
+        return cdrs;
+    }
+
+    private static List accumulate(Mode mode, List results, Entity element, Entity result)
+    {
+        switch (mode) {
+            case MAP:
+                return new Pair(result, results);
+            case FILTER:
+                return result != Boolean.falseValue ? new Pair(element, results) : results;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Reverses the results into a new list, since the pairs so far may be shared with other
+     * continuations.
+     */
+    private static Entity finish(List results)
+    {
+        if (results == null) {
+            return Void.VALUE;
+        }
+        List list = EmptyList.VALUE;
+        for (Entity e = results; e instanceof Pair; e = ((Pair) e).getCdr()) {
+            list = new Pair(((Pair) e).getCar(), list);
+        }
+        return list;
+    }
+}
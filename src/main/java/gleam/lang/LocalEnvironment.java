@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2023 Guglielmo Nigri.  All Rights Reserved.
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of version 2 of the GNU General Public License as
+ * published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it would be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Further, this software is distributed without any warranty that it is
+ * free of the rightful claim of any third person regarding infringement
+ * or the like.  Any license provided herein, whether implied or
+ * otherwise, applies only to this software file.  Patent licenses, if
+ * any, provided herein do not apply to combinations of this program with
+ * other software, or any other product whatsoever.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write the Free Software Foundation, Inc., 59
+ * Temple Place - Suite 330, Boston MA 02111-1307, USA.
+ *
+ * Contact information: Guglielmo Nigri <guglielmonigri@yahoo.it>
+ *
+ */
+
+
+package gleam.lang;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Objects;
+
+/**
+ * The environment of a procedure call, also known as a <i>frame</i>.
+ * <p>
+ * Parameters and internal definitions of a procedure are bound to slots of an array, in the order
+ * given by the procedure's frame layout, so that analyzed code can access them in constant time by
+ * their (depth, index) lexical address. Any other definition made at run time in this environment,
+ * e.g., by <code>eval</code>, is kept in an association map, created on demand.
+ *
+ * @see gleam.lang.compiler.LocalRef
+ * @see Lambda
+ */
+public final class LocalEnvironment extends Environment
+{
+
+    private static final long serialVersionUID = 1L;
+
+    /** the names of the slots, shared by all the frames of the same procedure */
+    private final Symbol[] names;
+
+    /** the slots, a null value meaning not (yet) defined */
+    final Entity[] slots;
+
+    /**
+     * Creates a new frame.
+     *
+     * @param names  the names of the slots
+     * @param slots  the slot values, in the same order as names
+     * @param parent the parent environment
+     */
+    public LocalEnvironment(Symbol[] names, Entity[] slots, Environment parent)
+    {
+        super(parent, null);
+        this.names = names;
+        this.slots = slots;
+    }
+
+    /**
+     * Creates a frame to be used as a compile-time scope, where each name is bound to the
+     * undefined value.
+     *
+     * @param names  the names of the slots
+     * @param parent the parent environment
+     *
+     * @return a new LocalEnvironment
+     */
+    static LocalEnvironment newScope(Symbol[] names, Environment parent)
+    {
+        Entity[] slots = new Entity[names.length];
+        Arrays.fill(slots, Undefined.VALUE);
+        return new LocalEnvironment(names, slots, parent);
+    }
+
+    /**
+     * Gives the slot index of a name in this frame.
+     *
+     * @param s Symbol a variable name
+     *
+     * @return the slot index, or -1 if s is not the name of a slot
+     */
+    int indexOf(Symbol s)
+    {
+        // search backwards, so that the last of repeated names wins
+        for (int i = names.length - 1; i >= 0; --i) {
+            if (names[i] == s) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the value of a slot.
+     *
+     * @param index the slot index
+     *
+     * @return the value, or null if not (yet) defined
+     */
+    public Entity get(int index)
+    {
+        return slots[index];
+    }
+
+    /**
+     * Sets the value of a slot.
+     *
+     * @param index the slot index
+     * @param value the new value
+     */
+    public void set(int index, Entity value)
+    {
+        slots[index] = value;
+    }
+
+    /**
+     * Gives the index of the last defined slot with a given name. Names may be repeated in the
+     * frame of a <code>let*</code> form.
+     *
+     * @param s Symbol a variable name
+     *
+     * @return the slot index, or -1 if there is no such slot
+     */
+    private int definedIndexOf(Symbol s)
+    {
+        for (int i = names.length - 1; i >= 0; --i) {
+            if (names[i] == s && slots[i] != null) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Associates a symbol in this environment with a value.
+     *
+     * @return the Location of the binding, or null if the symbol is bound to a slot
+     */
+    @Override
+    public synchronized Location define(Symbol s, Entity v)
+    {
+        int index = indexOf(s);
+        if (index >= 0) {
+            slots[index] = Objects.requireNonNull(v);
+            return null;
+        }
+        if (assoc == null) {
+            assoc = new HashMap<>();
+        }
+        return super.define(s, v);
+    }
+
+    @Override
+    Entity getLocalValue(Symbol s)
+    {
+        int index = definedIndexOf(s);
+        if (index >= 0) {
+            return slots[index];
+        }
+        return assoc == null ? null : super.getLocalValue(s);
+    }
+
+    @Override
+    boolean setLocalValue(Symbol s, Entity v)
+    {
+        int index = definedIndexOf(s);
+        if (index >= 0) {
+            slots[index] = v;
+            return true;
+        }
+        return assoc != null && super.setLocalValue(s, v);
+    }
+
+    @Override
+    Location getLocalLocation(Symbol s)
+    {
+        return assoc == null ? null : super.getLocalLocation(s);
+    }
+
+    @Override
+    boolean isSlot(Symbol s)
+    {
+        return definedIndexOf(s) >= 0;
+    }
+
+    @Override
+    void dumpBindings(OutputPort out)
+    {
+        for (int i = 0; i < names.length; ++i) {
+            out.printf("|  [%d] %s\t: %s\n",
+                       i,
+                       names[i].toString(),
+                       slots[i] == null ? "-" : slots[i].toString());
+        }
+        super.dumpBindings(out);
+    }
+}
@@ -24,23 +24,38 @@
  *
  */
 
+
 package gleam.lang;
 
+import java.io.IOException;
 import java.io.PrintWriter;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Objects;
 
 /**
  * Scheme mutable string.
  * <p>
+ * The characters are kept in a {@code java.lang.String} until the string is first modified, when
+ * they are copied into a {@code StringBuilder}. The result of {@link #append} may be a rope, which
+ * is flattened on first access, so that appending repeatedly to a string takes linear time.
+ * String literals are immutable.
+ * <p>
  * Creation date: (28/10/2001 12.22.48)
  */
 public class MutableString extends AbstractEntity
 {
 
-    private static final long serialVersionUID = 1L;
+    private static final long serialVersionUID = 2L;
+
+    /** appended strings shorter than this are copied, rather than joined into a rope */
+    private static final int ROPE_THRESHOLD = 64;
+
+    /** the characters: a String or a Rope until modified, then a StringBuilder */
+    private CharSequence value;
 
-    /** The current string value. */
-    final StringBuilder value;
+    /** true if this string cannot be modified, e.g., a literal */
+    private final boolean immutable;
 
     /**
      * Creates a new Scheme string. Creation date: (28/10/01 12.24.51)
@@ -48,9 +63,166 @@ public class MutableString extends AbstractEntity
      * @param s java.lang.String
      */
     public MutableString(String s)
+    {
+        this(s, false);
+    }
+
+    /**
+     * Creates a new Scheme string.
+     *
+     * @param s         the characters
+     * @param immutable true if the string cannot be modified
+     */
+    public MutableString(String s, boolean immutable)
     {
         Objects.requireNonNull(s);
-        value = new StringBuilder(s);
+        this.value = s;
+        this.immutable = immutable;
+    }
+
+    private MutableString(CharSequence value)
+    {
+        this.value = value;
+        this.immutable = false;
+    }
+
+    /**
+     * Returns a new string, concatenating the given ones. Long results are ropes sharing the
+     * characters of the arguments which have not been modified.
+     */
+    public static MutableString append(MutableString[] strings)
+    {
+        int length = 0;
+        for (MutableString s : strings) {
+            length = Math.addExact(length, s.length());
+        }
+        if (length < ROPE_THRESHOLD) {
+            StringBuilder sb = new StringBuilder(length);
+            for (MutableString s : strings) {
+                sb.append(s.chars());
+            }
+            return new MutableString(sb.toString());
+        }
+        CharSequence rope = "";
+        for (MutableString s : strings) {
+            CharSequence piece = s.snapshot();
+            if (piece.length() > 0) {
+                rope = rope.length() == 0 ? piece : new Rope(rope, piece);
+            }
+        }
+        return new MutableString(rope);
+    }
+
+    public boolean isImmutable()
+    {
+        return immutable;
+    }
+
+    public int length()
+    {
+        return value.length();
+    }
+
+    public char charAt(int index)
+    {
+        return chars().charAt(index);
+    }
+
+    /**
+     * Replaces a character, copying the characters the first time this string is modified.
+     *
+     * @throws UnsupportedOperationException if this string is immutable
+     */
+    public void setCharAt(int index, char c)
+    {
+        builder().setCharAt(index, c);
+    }
+
+    /**
+     * Stores a character from start, inclusive, to end, exclusive.
+     *
+     * @throws UnsupportedOperationException if this string is immutable
+     */
+    public void fill(char c, int start, int end)
+    {
+        StringBuilder sb = builder();
+        for (int i = start; i < end; ++i) {
+            sb.setCharAt(i, c);
+        }
+    }
+
+    /**
+     * Returns a new string of the characters from start, inclusive, to end, exclusive.
+     */
+    public MutableString substring(int start, int end)
+    {
+        return new MutableString(chars().subSequence(start, end).toString());
+    }
+
+    /**
+     * Finds a character from start, inclusive, to end, exclusive.
+     *
+     * @return the index of the first occurrence, or -1
+     */
+    public int indexOf(char c, int start, int end)
+    {
+        CharSequence chars = chars();
+        for (int i = start; i < end; ++i) {
+            if (chars.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Compares two strings lexicographically, character by character.
+     *
+     * @return a negative integer, zero, or a positive integer as this string is less than, equal
+     * to, or greater than the other
+     */
+    public int compareTo(MutableString other)
+    {
+        CharSequence a = chars();
+        CharSequence b = other.chars();
+        int n = Math.min(a.length(), b.length());
+        for (int i = 0; i < n; ++i) {
+            int d = a.charAt(i) - b.charAt(i);
+            if (d != 0) {
+                return d;
+            }
+        }
+        return a.length() - b.length();
+    }
+
+    /**
+     * Gets the characters, flattening a rope.
+     */
+    private CharSequence chars()
+    {
+        if (value instanceof Rope) {
+            value = value.toString();
+        }
+        return value;
+    }
+
+    /**
+     * Gets characters which will never change, to be shared by a rope.
+     */
+    private CharSequence snapshot()
+    {
+        return value instanceof StringBuilder ? value.toString() : value;
+    }
+
+    private StringBuilder builder()
+    {
+        if (immutable) {
+            throw new UnsupportedOperationException("immutable string");
+        }
+        if (!(value instanceof StringBuilder)) {
+            value = new StringBuilder(chars());
+        }
+        return (StringBuilder) value;
     }
 
     /**
@@ -59,9 +231,10 @@ public class MutableString extends AbstractEntity
     @Override
     public PrintWriter write(PrintWriter out)
     {
+        CharSequence chars = chars();
         out.print("\"");
-        for (int i = 0; i < value.length(); ++i) {
-            switch (value.charAt(i)) {
+        for (int i = 0; i < chars.length(); ++i) {
+            switch (chars.charAt(i)) {
                 case '\t':
                     out.print("\\t");
                     break;
@@ -78,7 +251,7 @@ public class MutableString extends AbstractEntity
                     out.print("\\\"");
                     break;
                 default:
-                    out.print(value.charAt(i));
+                    out.print(chars.charAt(i));
             }
         }
         out.print("\"");
@@ -91,7 +264,7 @@ public class MutableString extends AbstractEntity
     @Override
     public PrintWriter display(PrintWriter out)
     {
-        out.print(value);
+        out.print(toString());
         return out;
     }
 
@@ -101,15 +274,30 @@ public class MutableString extends AbstractEntity
     @Override
     public String toString()
     {
-        return value.toString();
+        return chars().toString();
     }
 
+    /**
+     * Computes a hash code from the current characters, consistently with {@link #equals}, and
+     * the same as the hash code of the equivalent {@code java.lang.String}.
+     */
     @Override
     public int hashCode()
     {
-        return Objects.hashCode(value);
+        CharSequence chars = chars();
+        if (chars instanceof String) {
+            return chars.hashCode();
+        }
+        int hash = 0;
+        for (int i = 0; i < chars.length(); ++i) {
+            hash = 31 * hash + chars.charAt(i);
+        }
+        return hash;
     }
 
+    /**
+     * Compares the current characters, without copying them.
+     */
     @Override
     public boolean equals(Object o)
     {
@@ -119,7 +307,89 @@ public class MutableString extends AbstractEntity
         if (o == null || getClass() != o.getClass()) {
             return false;
         }
-        MutableString that = (MutableString) o;
-        return value.toString().equals(that.toString());
+        CharSequence a = chars();
+        CharSequence b = ((MutableString) o).chars();
+        if (a.length() != b.length()) {
+            return false;
+        }
+        if (a instanceof String && b instanceof String) {
+            return a.equals(b);
+        }
+        for (int i = 0; i < a.length(); ++i) {
+            if (a.charAt(i) != b.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws IOException
+    {
+        chars();
+        out.defaultWriteObject();
+    }
+
+    /**
+     * The concatenation of two character sequences which will never change. It is flattened into
+     * a string on first access, without recursion, however deep the rope.
+     */
+    private static final class Rope implements CharSequence
+    {
+        private CharSequence left;
+        private CharSequence right;
+        private final int length;
+        private String flat;
+
+        Rope(CharSequence left, CharSequence right)
+        {
+            this.left = left;
+            this.right = right;
+            this.length = Math.addExact(left.length(), right.length());
+        }
+
+        @Override
+        public int length()
+        {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index)
+        {
+            return toString().charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end)
+        {
+            return toString().subSequence(start, end);
+        }
+
+        @Override
+        public String toString()
+        {
+            if (flat == null) {
+                char[] chars = new char[length];
+                int pos = 0;
+                Deque<CharSequence> pending = new ArrayDeque<>();
+                pending.push(this);
+                while (!pending.isEmpty()) {
+                    CharSequence cs = pending.pop();
+                    if (cs instanceof Rope && ((Rope) cs).flat == null) {
+                        pending.push(((Rope) cs).right);
+                        pending.push(((Rope) cs).left);
+                    }
+                    else {
+                        String s = cs.toString();
+                        s.getChars(0, s.length(), chars, pos);
+                        pos += s.length();
+                    }
+                }
+                flat = new String(chars);
+                left = null;
+                right = null;
+            }
+            return flat;
+        }
     }
 }
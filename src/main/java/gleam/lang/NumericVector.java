@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2023 Guglielmo Nigri.  All Rights Reserved.
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of version 2 of the GNU General Public License as
+ * published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it would be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Further, this software is distributed without any warranty that it is
+ * free of the rightful claim of any third person regarding infringement
+ * or the like.  Any license provided herein, whether implied or
+ * otherwise, applies only to this software file.  Patent licenses, if
+ * any, provided herein do not apply to combinations of this program with
+ * other software, or any other product whatsoever.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write the Free Software Foundation, Inc., 59
+ * Temple Place - Suite 330, Boston MA 02111-1307, USA.
+ *
+ * Contact information: Guglielmo Nigri <guglielmonigri@yahoo.it>
+ *
+ */
+
+package gleam.lang;
+
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A homogeneous numeric vector, in the style of SRFI-4, whose elements are stored unboxed in a
+ * Java array of primitives. Scheme numbers are created only when single elements are read, while
+ * bulk operations work directly on the arrays.
+ */
+public abstract class NumericVector extends AbstractEntity
+{
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The kinds of numeric vectors, each with the tag used in names and in the external
+     * representation, e.g. {@code f64} in {@code f64vector-ref} and {@code #f64(1.0 2.0)}.
+     */
+    public enum Kind
+    {
+        F64("f64")
+                {
+                    @Override
+                    public NumericVector make(int size)
+                    {
+                        return new F64Vector(new double[size]);
+                    }
+                },
+        S64("s64")
+                {
+                    @Override
+                    public NumericVector make(int size)
+                    {
+                        return new S64Vector(new long[size]);
+                    }
+                },
+        S32("s32")
+                {
+                    @Override
+                    public NumericVector make(int size)
+                    {
+                        return new S32Vector(new int[size]);
+                    }
+                },
+        U8("u8")
+                {
+                    @Override
+                    public NumericVector make(int size)
+                    {
+                        return new U8Vector(new byte[size]);
+                    }
+                };
+
+        public final String tag;
+
+        Kind(String tag)
+        {
+            this.tag = tag;
+        }
+
+        /**
+         * Creates a vector of this kind, with all elements set to zero.
+         *
+         * @param size the number of elements
+         *
+         * @return a new numeric vector
+         */
+        public abstract NumericVector make(int size);
+
+        /**
+         * Gets the kind with the given tag.
+         *
+         * @param tag a tag, e.g. {@code f64}
+         *
+         * @return the kind, or null if there is no such kind
+         */
+        public static Kind forTag(String tag)
+        {
+            for (Kind kind : values()) {
+                if (kind.tag.equals(tag)) {
+                    return kind;
+                }
+            }
+            return null;
+        }
+    }
+
+    public abstract Kind getKind();
+
+    public abstract int length();
+
+    /**
+     * Gets the array holding the elements. The array is not copied.
+     *
+     * @return an array of primitives
+     */
+    public abstract Object getArray();
+
+    /**
+     * Gets an element.
+     *
+     * @param index the index, which must be in range
+     *
+     * @return the element as a Scheme number
+     */
+    public abstract Number get(int index);
+
+    /**
+     * Sets an element.
+     *
+     * @param context the name of the calling procedure, for error messages
+     * @param index   the index, which must be in range
+     * @param value   the new value, which must be representable in this kind of vector
+     *
+     * @throws GleamException if the value is not representable
+     */
+    public abstract void set(String context, int index, Entity value) throws GleamException;
+
+    /**
+     * Sets all elements to a value.
+     *
+     * @param context the name of the calling procedure, for error messages
+     * @param value   the new value, which must be representable in this kind of vector
+     *
+     * @throws GleamException if the value is not representable
+     */
+    public abstract void fill(String context, Entity value) throws GleamException;
+
+    /**
+     * Adds two vectors elementwise.
+     *
+     * @param context the name of the calling procedure, for error messages
+     * @param other   a vector of the same kind and length
+     *
+     * @return a new vector holding the sums
+     *
+     * @throws GleamException if a sum is not representable
+     */
+    public abstract NumericVector add(String context, NumericVector other) throws GleamException;
+
+    /**
+     * Multiplies each element by a factor.
+     *
+     * @param context the name of the calling procedure, for error messages
+     * @param factor  the factor
+     *
+     * @return a new vector holding the products
+     *
+     * @throws GleamException if the factor or a product is not representable
+     */
+    public abstract NumericVector scale(String context, Entity factor) throws GleamException;
+
+    /**
+     * Computes the dot product of two vectors.
+     *
+     * @param other a vector of the same kind and length
+     *
+     * @return the dot product
+     */
+    public abstract Number dot(NumericVector other);
+
+    /**
+     * Computes the sum of all elements.
+     */
+    public abstract Number sum();
+
+    /**
+     * Finds the smallest element of a non-empty vector.
+     */
+    public abstract Number min();
+
+    /**
+     * Finds the largest element of a non-empty vector.
+     */
+    public abstract Number max();
+
+    /**
+     * Converts a value to a long, checking that it is an exact integer in a given range.
+     */
+    static long toLong(String context, Entity value, long min, long max) throws GleamException
+    {
+        if (value instanceof Int) {
+            long n = ((Int) value).longValue();
+            if (n >= min && n <= max) {
+                return n;
+            }
+            throw new GleamException(context + ": value out of range", value);
+        }
+        throw new GleamException(context + ": not an exact integer", value);
+    }
+
+    /**
+     * Tests whether this vector is of the same kind as another, and has equal elements, as
+     * {@code equal?} does. Numeric vectors are otherwise compared by identity.
+     */
+    public boolean contentEquals(NumericVector other)
+    {
+        return Objects.deepEquals(getArray(), other.getArray());
+    }
+
+    /**
+     * Computes a hash code from the elements of this vector, consistent with
+     * {@link #contentEquals(NumericVector)}.
+     */
+    public int contentHashCode()
+    {
+        return Arrays.deepHashCode(new Object[]{getArray()});
+    }
+
+    /**
+     * Writes this vector, e.g. {@code #u8(1 2 3)}.
+     */
+    @Override
+    public PrintWriter write(PrintWriter out)
+    {
+        out.print("#");
+        out.print(getKind().tag);
+        out.print("(");
+        for (int i = 0; i < length(); ++i) {
+            if (i > 0) {
+                out.print(" ");
+            }
+            get(i).write(out);
+        }
+        out.print(")");
+        return out;
+    }
+}
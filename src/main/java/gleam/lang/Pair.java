@@ -26,9 +26,13 @@
 
 package gleam.lang;
 
+import gleam.lang.compiler.ArgumentAction;
+import gleam.lang.compiler.Call;
+import gleam.lang.compiler.CallAction;
 import gleam.util.Logger;
 
 import java.io.PrintWriter;
+import java.util.ArrayList;
 import java.util.Iterator;
 
 import static gleam.util.Logger.Level.INFO;
@@ -53,6 +57,9 @@ public class Pair extends AbstractEntity implements List
     private Entity car;
     private Entity cdr;
 
+    /** the cached result of rewriting this pair, if it is a syntax rewriter call */
+    private transient Expansion expansion;
+
     public Pair(Entity head, Entity tail)
     {
         this.car = head;
@@ -63,7 +70,6 @@ public class Pair extends AbstractEntity implements List
     /**
      * Evaluates the procedure call this pair stands for.
      */
-    @SuppressWarnings("UnusedAssignment")
     @Override
     public Entity eval(Environment env, Continuation cont) throws GleamException
     {
@@ -76,15 +82,13 @@ public class Pair extends AbstractEntity implements List
             Entity e = env.lookup((Symbol) operator);
             if (e instanceof SyntaxRewriter) {
                 // call of syntax rewriter, will be followed by evaluation of resulting expression
-                rewriteAndEval((SyntaxRewriter) e, new ArgumentList(), env, cont);
-
-                return null;
+                return rewriteAndEval((SyntaxRewriter) e, env, cont);
             }
             else if (e instanceof SyntaxProcedure) {
                 // special procedure call
                 // don't evaluate arguments at all!
-                cont.beginWith(new ExpressionAction(operator, env))
-                    .andThen(new ProcedureCallAction(new ArgumentList((List) this.getCdr()), env));
+                cont.push(new ProcedureCallAction(new ArgumentList((List) this.getCdr()), env));
+                cont.push(new ExpressionAction(operator, env));
 
                 return null;
             }
@@ -93,28 +97,28 @@ public class Pair extends AbstractEntity implements List
             Entity e = ((Location) operator).get();
             if (e instanceof SyntaxRewriter) {
                 // call of syntax rewriter, will be followed by evaluation of resulting expression
-                rewriteAndEval((SyntaxRewriter) e, new ArgumentList(), env, cont);
-
-                return null;
+                return rewriteAndEval((SyntaxRewriter) e, env, cont);
             }
         }
 
         /* we have a regular procedure call */
-        ArgumentList argList = new ArgumentList();
-        Action action = cont.beginSequence();
+        int argc = 0;
+        for (Entity rest = getCdr(); rest instanceof Pair; rest = ((Pair) rest).getCdr()) {
+            ++argc;
+        }
+        Entity[] operands = new Entity[argc];
+        for (int i = 0; i < argc; ++i) {
+            operands[i] = it.next();
+        }
+        Entity[] args = new Entity[argc];
 
         // first evaluate each argument in turn
-        int argidx = 0;
-        while (it.hasNext()) {
-            Entity nextArg = it.next();
-            action = action.andThen(new ExpressionAction(nextArg, env))
-                           .andThen(new ObtainArgumentAction(argList, argidx++, env));
-        }
-        // finally evaluate the operator and call it with the evaluated arguments
-        action = action.andThen(new ExpressionAction(operator, env))
-                       .andThen(new ProcedureCallAction(argList, env));
+        int i = ArgumentAction.evalDirectOperands(operands, args, 0, env, cont);
 
-        cont.endSequence();
+        // finally evaluate the operator and call it with the evaluated arguments
+        cont.push(new CallAction(args, env));
+        cont.push(new ExpressionAction(operator, env));
+        ArgumentAction.scheduleOperands(operands, args, i, env, cont);
 
         return null;
     }
@@ -180,6 +184,7 @@ public class Pair extends AbstractEntity implements List
     public void setCar(Entity obj)
     {
         car = obj;
+        expansion = null;
     }
 
     @Override
@@ -192,6 +197,7 @@ public class Pair extends AbstractEntity implements List
     public void setCdr(Entity obj)
     {
         cdr = obj;
+        expansion = null;
     }
 
     /**
@@ -202,13 +208,13 @@ public class Pair extends AbstractEntity implements List
     {
         /* first check for special forms */
         if (getCar() instanceof Symbol && System.isSpecialForm((Symbol) getCar(), env)) {
-            return this;
+            return System.optimizeSpecialForm(this, env);
         }
 
         /* if the operator is a syntax rewriter, we must not optimize */
         if ((getCar() instanceof SyntaxRewriter) ||
             (getCar() instanceof Symbol &&
-             env.lookup((Symbol) getCar()) instanceof SyntaxRewriter)) {
+             env.lookupOrNull((Symbol) getCar()) instanceof SyntaxRewriter)) {
             return this;
         }
 
@@ -221,53 +227,74 @@ public class Pair extends AbstractEntity implements List
 
         /* we must not modify in place, since this pair must remain
          * a valid data structure after optimization (think eval)
-         */
-        Pair retVal = new Pair(getCar(), getCdr());
-
-        /* so we have a simple procedure application:
+         *
+         * so we have a simple procedure application:
          * first optimize car, then cdr
          */
-        retVal.setCar(retVal.getCar().optimize(env));
+        Entity operator = getCar().optimize(env);
 
-        /* we can't do: retVal.cdr = retVal.cdr.optimize(env) but we must traverse the cdr list
-         * ourselves at this level, otherwise (f1 f2 f3) would be optimized as (f1 (f2 (f3)),
-         * which is wrong.
-         *
-         * this also means that we must allocate new pairs here.
+        /* we can't do: cdr = cdr.optimize(env) but we must traverse the cdr list ourselves at this
+         * level, otherwise (f1 f2 f3) would be optimized as (f1 (f2 (f3)), which is wrong.
          */
-        Entity rest = retVal.getCdr();
-        List restParent = retVal;
-        while (rest != EmptyList.VALUE) {
-            if (rest instanceof List) {
-                // this is a proper list
-                List restAsList = (List) rest;
-                rest = new Pair(restAsList.getCar(), restAsList.getCdr());
-                restParent.setCdr(rest);
-                restParent = restAsList;
-                restAsList.setCar(restAsList.getCar().optimize(env));
-                rest = restAsList.getCdr();
-            }
-            else {
-                /* this is an improper list (not necessarily an error: e.g., in lambda) */
-                logger.log(INFO, "dotted pair in optimize... check for correctness");
-                restParent.setCdr(rest.optimize(env));
-                break;
-            }
+        java.util.List<Entity> operands = new ArrayList<>();
+        Entity rest = getCdr();
+        while (rest instanceof Pair) {
+            Pair restAsPair = (Pair) rest;
+            operands.add(restAsPair.getCar().optimize(env));
+            rest = restAsPair.getCdr();
+        }
+        if (rest != EmptyList.VALUE) {
+            /* this is an improper list, which cannot be a procedure call */
+            logger.log(INFO, "dotted pair in optimize... check for correctness");
+            return this;
         }
-        return retVal;
+        return new Call(this, operator, operands.toArray(new Entity[0]));
     }
 
-    private void rewriteAndEval(SyntaxRewriter syntaxRewriter,
-                                ArgumentList args,
-                                Environment env,
-                                Continuation cont)
+    private Entity rewriteAndEval(SyntaxRewriter syntaxRewriter,
+                                  Environment env,
+                                  Continuation cont)
             throws GleamException
     {
+        // the expansion is reused as long as the operator is bound to the same rewriter
+        Expansion cached = expansion;
+        if (cached != null && cached.rewriter == syntaxRewriter) {
+            return cached.form.eval(env, cont);
+        }
+
         // pass this pair, not evaluated
-        args.set(0, this);
-        cont.beginWith(new ExpressionAction(syntaxRewriter, env))
-            .andThen(new ProcedureCallAction(args, env))
-            .andThen(new EvalAction(env));
+        ArgumentList args = new ArgumentList(new Entity[]{this});
+        cont.push(new ExpansionAction(this, syntaxRewriter, env));
+        cont.push(new ProcedureCallAction(args, env));
+        cont.push(new ExpressionAction(syntaxRewriter, env));
+
+        return null;
+    }
+
+    /**
+     * Caches the expansion of this pair.
+     *
+     * @param rewriter the syntax rewriter that produced the expansion
+     * @param form     the expansion
+     */
+    void setExpansion(SyntaxRewriter rewriter, Entity form)
+    {
+        expansion = new Expansion(rewriter, form);
+    }
+
+    /**
+     * The result of a syntax rewriter call.
+     */
+    private static final class Expansion
+    {
+        final SyntaxRewriter rewriter;
+        final Entity form;
+
+        Expansion(SyntaxRewriter rewriter, Entity form)
+        {
+            this.rewriter = rewriter;
+            this.form = form;
+        }
     }
 
     /**
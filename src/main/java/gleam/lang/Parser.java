@@ -29,6 +29,8 @@ package gleam.lang;
 import gleam.util.Logger;
 
 import java.io.StreamTokenizer;
+import java.math.BigInteger;
+import java.util.ArrayList;
 
 import static gleam.lang.Entities.cons;
 import static gleam.util.Logger.Level.DEBUG;
@@ -155,6 +157,45 @@ class Parser
         }
     }
 
+    private Vector readVector() throws GleamException, java.io.IOException
+    {
+        java.util.List<Entity> elements = new ArrayList<>();
+        while (true) {
+            String t = readToken();
+            if (t == null) {
+                throw new GleamException("read: unterminated vector");
+            }
+            if (t.equals(")")) {
+                log("#(...)", "vector");
+                return new Vector(elements.toArray(new Entity[0]));
+            }
+            elements.add(readObject(t));
+        }
+    }
+
+    private Entity readNumericVector(NumericVector.Kind kind)
+            throws GleamException, java.io.IOException
+    {
+        Vector elements = readVector();
+        NumericVector vector = kind.make(elements.length());
+        for (int i = 0; i < elements.length(); ++i) {
+            vector.set("read", i, elements.get(i));
+        }
+        log("#" + kind.tag + "(...)", kind.tag + "vector");
+        return vector;
+    }
+
+    private Bytevector readBytevector() throws GleamException, java.io.IOException
+    {
+        Vector elements = readVector();
+        Bytevector bytevector = new Bytevector(elements.length());
+        for (int i = 0; i < elements.length(); ++i) {
+            bytevector.set(i, (int) NumericVector.toLong("read", elements.get(i), 0, 255));
+        }
+        log("#vu8(...)", "bytevector");
+        return bytevector;
+    }
+
     private Entity readObject() throws GleamException, java.io.IOException
     {
         String t = readToken();
@@ -182,9 +223,29 @@ class Parser
                 Entity quotedobj = readObject();
                 return cons(Symbol.QUASIQUOTE, cons(quotedobj));
             }
+            case "#":
+                if ("(".equals(readToken())) {
+                    return readVector();
+                }
+                tkzr.pushBack();
+                return readOthers(t);
             case ")":  // extra parens
                 throw new GleamException("read: unexpected \")\"");
+            case "#vu8":
+                if ("(".equals(readToken())) {
+                    return readBytevector();
+                }
+                tkzr.pushBack();
+                return readOthers(t);
             default:
+                NumericVector.Kind kind =
+                        t.startsWith("#") ? NumericVector.Kind.forTag(t.substring(1)) : null;
+                if (kind != null) {
+                    if ("(".equals(readToken())) {
+                        return readNumericVector(kind);
+                    }
+                    tkzr.pushBack();
+                }
                 return readOthers(t);
         }
     }
@@ -194,14 +255,9 @@ class Parser
         if (".+-0123456789".indexOf(t.charAt(0)) >= 0
             && !t.equals("+") && !t.equals("-") && !t.equals("...")) {
             try {
-                if (!t.contains(".")) {
-                    log(t, "int");
-                    return new Int(Integer.parseInt(t));
-                }
-                log(t, "real");
-                return new Real(Double.parseDouble(t));
+                return readNumber(t);
             }
-            catch (NumberFormatException e) {
+            catch (NumberFormatException | ArithmeticException e) {
                 throw new GleamException("read: invalid number " + t);
             }
         }
@@ -216,7 +272,7 @@ class Parser
         else if (t.startsWith("\"")) {
             // it is a string
             log(t, "string");
-            return new MutableString(t.substring(1));
+            return new MutableString(t.substring(1), true);
         }
         else if (t.equalsIgnoreCase("#f")) {
             return Boolean.falseValue;
@@ -228,13 +284,13 @@ class Parser
             // poor man's character parser
             String charstring = t.substring(2);
             if (charstring.equalsIgnoreCase("space")) {
-                return new Character(' ');
+                return Character.valueOf(' ');
             }
             else if (charstring.equalsIgnoreCase("newline")) {
-                return new Character('\n');
+                return Character.valueOf('\n');
             }
             else if (charstring.length() == 1) {
-                return new Character(charstring.charAt(0));
+                return Character.valueOf(charstring.charAt(0));
             }
             else {
                 throw new GleamException("read: invalid character");
@@ -247,6 +303,34 @@ class Parser
         }
     }
 
+    /**
+     * Reads a number: an integer, a rational such as {@code 3/4}, or a real.
+     */
+    private Number readNumber(String t)
+    {
+        int slash = t.indexOf('/');
+        if (slash >= 0) {
+            log(t, "rational");
+            BigInteger denominator = new BigInteger(t.substring(slash + 1));
+            if (denominator.signum() == 0) {
+                throw new ArithmeticException("zero denominator");
+            }
+            return Arithmetic.rational(new BigInteger(t.substring(0, slash)), denominator);
+        }
+        if (t.indexOf('.') >= 0 || t.indexOf('e') >= 0 || t.indexOf('E') >= 0) {
+            log(t, "real");
+            return new Real(Double.parseDouble(t));
+        }
+        log(t, "int");
+        try {
+            return Int.valueOf(Long.parseLong(t));
+        }
+        catch (NumberFormatException e) {
+            // too large for a fixnum
+            return Arithmetic.integer(new BigInteger(t));
+        }
+    }
+
     /**
      * Reads a token.
      *
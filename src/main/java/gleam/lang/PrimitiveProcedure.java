@@ -31,6 +31,8 @@ import gleam.library.Primitive;
 import java.io.PrintWriter;
 import java.util.Iterator;
 
+import static gleam.lang.Entities.list;
+
 /**
  * Scheme primitive library procedure.
  */
@@ -49,6 +51,25 @@ public class PrimitiveProcedure extends Procedure
         this.primitive = primitive;
     }
 
+    /**
+     * Gets the primitive implementing this procedure.
+     */
+    public Primitive getPrimitive()
+    {
+        return primitive;
+    }
+
+    /**
+     * Tells whether this primitive procedure is pure, i.e., it has no side effects, and it never
+     * uses the continuation.
+     *
+     * @return true if pure, false otherwise
+     */
+    public boolean isPure()
+    {
+        return primitive.pure;
+    }
+
     /**
      * Applies this primitive procedure to a list of arguments.
      * <p>
@@ -97,6 +118,58 @@ public class PrimitiveProcedure extends Procedure
         }
     }
 
+    /**
+     * Applies this primitive procedure to an array of arguments. The arguments are converted to a
+     * list only if the primitive takes a variable number of arguments, or more than three, and it
+     * has no fast path for the actual number of arguments.
+     *
+     * @param args the arguments
+     * @param env  the environment in which to execute the primitive
+     * @param cont the continuation
+     *
+     * @throws GleamException in case of errors
+     */
+    @Override
+    public Entity apply(Entity[] args,
+                        Environment env,
+                        Continuation cont) throws GleamException
+    {
+        if (args.length < primitive.minArgs) {
+            throw new GleamException(primitive, "too few arguments", list(args));
+        }
+        if (primitive.maxArgs >= 0 && args.length > primitive.maxArgs) {
+            throw new GleamException(primitive, "too many arguments", list(args));
+        }
+        switch (primitive.maxArgs) {
+            case 0:
+                return primitive.proc0.apply(env, cont);
+            case 1:
+                return primitive.proc1.apply(arg(args, 0), env, cont);
+            case 2:
+                return primitive.proc2.apply(arg(args, 0), arg(args, 1), env, cont);
+            case 3:
+                return primitive.proc3.apply(arg(args, 0), arg(args, 1), arg(args, 2), env, cont);
+            default: // maxArgs > 3 or varargs
+                if (args.length == 2 && primitive.fastApply2) {
+                    return primitive.proc2.apply(args[0], args[1], env, cont);
+                }
+                if (args.length == 3 && primitive.fastApply3) {
+                    return primitive.proc3.apply(args[0], args[1], args[2], env, cont);
+                }
+                return primitive.procN.apply(list(args), env, cont);
+        }
+    }
+
+    /**
+     * Gets an optional argument.
+     *
+     * @return the argument at the given index, or null if missing
+     */
+    private static Entity arg(Entity[] args, int index)
+    {
+        return index < args.length ? args[index] : null;
+    }
+
     private void checkNumArgs(List args) throws GleamException
     {
         Iterator<Entity> it = new ListIterator(args);
@@ -109,6 +182,7 @@ public class PrimitiveProcedure extends Procedure
         }
         if (primitive.maxArgs > 0) {
             while (it.hasNext()) {
+                it.next();
                 if (++i > primitive.maxArgs) {
                     throw new GleamException(primitive, "too many arguments", args);
                 }
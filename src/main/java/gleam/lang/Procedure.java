@@ -26,6 +26,8 @@
 
 package gleam.lang;
 
+import static gleam.lang.Entities.list;
+
 /**
  * Abstract Scheme function object.
  */
@@ -43,4 +45,23 @@ public abstract class Procedure extends AbstractEntity
     public abstract Entity apply(List args,
                                  Environment env,
                                  Continuation cont) throws GleamException;
+
+    /**
+     * Applies this procedure to an array of arguments. This is the calling convention of compiled
+     * code: the array must not be modified by the procedure, nor kept after the call.
+     * <p>
+     * The default implementation converts the arguments to a list.
+     *
+     * @param args the arguments
+     * @param env  the environment in which to execute the procedure
+     * @param cont the continuation
+     *
+     * @throws GleamException in case of errors
+     */
+    public Entity apply(Entity[] args,
+                        Environment env,
+                        Continuation cont) throws GleamException
+    {
+        return apply(list(args), env, cont);
+    }
 }
@@ -56,11 +56,11 @@ public class ProcedureCallAction extends Action
      * @throws gleam.lang.GleamException in cse of errors
      */
     @Override
-    Entity invoke(Entity arg, Continuation cont) throws gleam.lang.GleamException
+    protected Entity invoke(Entity arg, Continuation cont) throws gleam.lang.GleamException
     {
         // apply function to args, return result
         Procedure procedure = requireProcedure("procedure call", arg);
         trace(out -> out.printf("%s\n", arg.toWriteFormat()), env);
-        return procedure.apply(arglist.getArguments(), env, cont);
+        return arglist.applyTo(procedure, env, cont);
     }
 }
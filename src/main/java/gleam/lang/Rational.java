@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2023 Guglielmo Nigri.  All Rights Reserved.
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of version 2 of the GNU General Public License as
+ * published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it would be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Further, this software is distributed without any warranty that it is
+ * free of the rightful claim of any third person regarding infringement
+ * or the like.  Any license provided herein, whether implied or
+ * otherwise, applies only to this software file.  Patent licenses, if
+ * any, provided herein do not apply to combinations of this program with
+ * other software, or any other product whatsoever.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write the Free Software Foundation, Inc., 59
+ * Temple Place - Suite 330, Boston MA 02111-1307, USA.
+ *
+ * Contact information: Guglielmo Nigri <guglielmonigri@yahoo.it>
+ *
+ */
+
+package gleam.lang;
+
+import java.io.PrintWriter;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+
+/**
+ * Scheme exact rational numerical object, for the ratios of integers that are not integers
+ * themselves. A rational is always in lowest terms, with a denominator greater than one.
+ *
+ * @see Arithmetic#rational(BigInteger, BigInteger)
+ */
+public class Rational extends Number implements Entity
+{
+
+    private static final long serialVersionUID = 1L;
+
+    /** the numerator */
+    private final BigInteger numerator;
+
+    /** the denominator, always greater than one */
+    private final BigInteger denominator;
+
+    Rational(BigInteger numerator, BigInteger denominator)
+    {
+        this.numerator = numerator;
+        this.denominator = denominator;
+    }
+
+    /**
+     * Writes a rational, e.g. {@code 3/4}.
+     */
+    @Override
+    public PrintWriter write(PrintWriter out)
+    {
+        out.print(toString());
+        return out;
+    }
+
+    public BigInteger getNumerator()
+    {
+        return numerator;
+    }
+
+    public BigInteger getDenominator()
+    {
+        return denominator;
+    }
+
+    @Override
+    public int intValue()
+    {
+        return numerator.divide(denominator).intValue();
+    }
+
+    @Override
+    public long longValue()
+    {
+        return numerator.divide(denominator).longValue();
+    }
+
+    @Override
+    public float floatValue()
+    {
+        return (float) doubleValue();
+    }
+
+    @Override
+    public double doubleValue()
+    {
+        return new BigDecimal(numerator).divide(new BigDecimal(denominator), MathContext.DECIMAL64)
+                                        .doubleValue();
+    }
+
+    @Override
+    public String toString()
+    {
+        return numerator + "/" + denominator;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return 31 * numerator.hashCode() + denominator.hashCode();
+    }
+
+    /**
+     * Scheme rational comparison.
+     *
+     * @param o java.lang.Object
+     *
+     * @return boolean
+     */
+    @Override
+    public boolean equals(Object o)
+    {
+        if (o instanceof Rational) {
+            Rational other = (Rational) o;
+            return numerator.equals(other.numerator) && denominator.equals(other.denominator);
+        }
+        return false;
+    }
+}
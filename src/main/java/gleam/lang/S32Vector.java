@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2023 Guglielmo Nigri.  All Rights Reserved.
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of version 2 of the GNU General Public License as
+ * published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it would be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Further, this software is distributed without any warranty that it is
+ * free of the rightful claim of any third person regarding infringement
+ * or the like.  Any license provided herein, whether implied or
+ * otherwise, applies only to this software file.  Patent licenses, if
+ * any, provided herein do not apply to combinations of this program with
+ * other software, or any other product whatsoever.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write the Free Software Foundation, Inc., 59
+ * Temple Place - Suite 330, Boston MA 02111-1307, USA.
+ *
+ * Contact information: Guglielmo Nigri <guglielmonigri@yahoo.it>
+ *
+ */
+
+package gleam.lang;
+
+import java.util.Arrays;
+
+/**
+ * A numeric vector of signed 32-bit exact integers, backed by an {@code int[]}.
+ */
+public final class S32Vector extends NumericVector
+{
+
+    private static final long serialVersionUID = 1L;
+
+    private final int[] elements;
+
+    /**
+     * Creates a vector of the given elements. The array is not copied.
+     */
+    public S32Vector(int[] elements)
+    {
+        this.elements = elements;
+    }
+
+    @Override
+    public Kind getKind()
+    {
+        return Kind.S32;
+    }
+
+    @Override
+    public int length()
+    {
+        return elements.length;
+    }
+
+    @Override
+    public int[] getArray()
+    {
+        return elements;
+    }
+
+    @Override
+    public Number get(int index)
+    {
+        return Int.valueOf(elements[index]);
+    }
+
+    @Override
+    public void set(String context, int index, Entity value) throws GleamException
+    {
+        elements[index] = (int) toLong(context, value, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public void fill(String context, Entity value) throws GleamException
+    {
+        Arrays.fill(elements, (int) toLong(context, value, Integer.MIN_VALUE, Integer.MAX_VALUE));
+    }
+
+    @Override
+    public NumericVector add(String context, NumericVector other) throws GleamException
+    {
+        int[] a = elements;
+        int[] b = ((S32Vector) other).elements;
+        int[] result = new int[a.length];
+        try {
+            for (int i = 0; i < result.length; ++i) {
+                result[i] = Math.addExact(a[i], b[i]);
+            }
+        }
+        catch (ArithmeticException e) {
+            throw new GleamException(context + ": value out of range");
+        }
+        return new S32Vector(result);
+    }
+
+    @Override
+    public NumericVector scale(String context, Entity factor) throws GleamException
+    {
+        int k = (int) toLong(context, factor, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        int[] a = elements;
+        int[] result = new int[a.length];
+        try {
+            for (int i = 0; i < result.length; ++i) {
+                result[i] = Math.multiplyExact(a[i], k);
+            }
+        }
+        catch (ArithmeticException e) {
+            throw new GleamException(context + ": value out of range");
+        }
+        return new S32Vector(result);
+    }
+
+    @Override
+    public Number dot(NumericVector other)
+    {
+        int[] a = elements;
+        int[] b = ((S32Vector) other).elements;
+        long sum = 0;
+        int i = 0;
+        try {
+            for (; i < a.length; ++i) {
+                // the product of two ints always fits in a long
+                sum = Math.addExact(sum, (long) a[i] * b[i]);
+            }
+            return Int.valueOf(sum);
+        }
+        catch (ArithmeticException e) {
+            // go on with bignums from the element that overflowed
+            Number acc = Int.valueOf(sum);
+            for (; i < a.length; ++i) {
+                acc = Arithmetic.add(acc, Int.valueOf((long) a[i] * b[i]));
+            }
+            return acc;
+        }
+    }
+
+    @Override
+    public Number sum()
+    {
+        // cannot overflow, as an int[] has less than 2^31 elements
+        long sum = 0;
+        for (int e : elements) {
+            sum += e;
+        }
+        return Int.valueOf(sum);
+    }
+
+    @Override
+    public Number min()
+    {
+        int min = elements[0];
+        for (int e : elements) {
+            min = Math.min(min, e);
+        }
+        return Int.valueOf(min);
+    }
+
+    @Override
+    public Number max()
+    {
+        int max = elements[0];
+        for (int e : elements) {
+            max = Math.max(max, e);
+        }
+        return Int.valueOf(max);
+    }
+}
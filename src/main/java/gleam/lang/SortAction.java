@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2023 Guglielmo Nigri.  All Rights Reserved.
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of version 2 of the GNU General Public License as
+ * published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it would be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Further, this software is distributed without any warranty that it is
+ * free of the rightful claim of any third person regarding infringement
+ * or the like.  Any license provided herein, whether implied or
+ * otherwise, applies only to this software file.  Patent licenses, if
+ * any, provided herein do not apply to combinations of this program with
+ * other software, or any other product whatsoever.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write the Free Software Foundation, Inc., 59
+ * Temple Place - Suite 330, Boston MA 02111-1307, USA.
+ *
+ * Contact information: Guglielmo Nigri <guglielmonigri@yahoo.it>
+ *
+ */
+package gleam.lang;
+
+/**
+ * Sorts a range of the elements of a vector with a stable merge sort, calling an ordering
+ * predicate once per comparison, for {@code sort}, {@code list-sort}, {@code vector-sort} and
+ * {@code vector-sort!}.
+ * <p>
+ * The sort merges runs of elements, held in lists, pair by pair until a single run is left. As in
+ * {@link ListMapAction}, each application of a predicate which may use the continuation schedules
+ * a new action, holding the state of the sort, so that the action stays unchanged even if a
+ * continuation captured by the predicate is called more than once. Pure primitive predicates are
+ * applied in a loop instead.
+ */
+public class SortAction extends Action
+{
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * What to return once the elements are sorted.
+     */
+    public enum Result
+    {
+        /** a new list of the sorted elements */
+        LIST,
+        /** the vector, with the range sorted */
+        VECTOR,
+        /** an unspecified value */
+        VOID;
+
+        /**
+         * Makes the result of sorting a range of a vector in place.
+         *
+         * @param vector the vector
+         * @param start  the start index of the range
+         * @param end    the end index of the range
+         *
+         * @return the result
+         */
+        public Entity of(Vector vector, int start, int end)
+        {
+            switch (this) {
+                case LIST:
+                    return vector.toList(start, end);
+                case VECTOR:
+                    return vector;
+                default:
+                    return Void.VALUE;
+            }
+        }
+    }
+
+    private final Procedure less;
+    private final Vector vector;
+    private final int start;
+    private final Result result;
+
+    /** the runs still to merge in this pass, in order */
+    private final Entity runs;
+
+    /** the runs already merged in this pass, most recent first */
+    private final Entity done;
+
+    /** the rest of the runs being merged */
+    private final Entity left;
+    private final Entity right;
+
+    /** the elements merged so far, most recent first */
+    private final Entity merged;
+
+    private SortAction(SortAction action,
+                       Entity runs,
+                       Entity done,
+                       Entity left,
+                       Entity right,
+                       Entity merged)
+    {
+        super(action.env);
+        this.less = action.less;
+        this.vector = action.vector;
+        this.start = action.start;
+        this.result = action.result;
+        this.runs = runs;
+        this.done = done;
+        this.left = left;
+        this.right = right;
+        this.merged = merged;
+    }
+
+    private SortAction(Procedure less, Vector vector, int start, Result result, Environment env)
+    {
+        super(env);
+        this.less = less;
+        this.vector = vector;
+        this.start = start;
+        this.result = result;
+        this.runs = EmptyList.VALUE;
+        this.done = EmptyList.VALUE;
+        this.left = null;
+        this.right = null;
+        this.merged = EmptyList.VALUE;
+    }
+
+    /**
+     * Starts sorting a range of the elements of a vector in place.
+     *
+     * @param less   the ordering predicate
+     * @param vector the vector
+     * @param start  the start index of the range
+     * @param end    the end index of the range
+     * @param result what to return once the elements are sorted
+     * @param env    the environment
+     * @param cont   the current continuation
+     *
+     * @return the result, or null if the continuation has been updated
+     *
+     * @throws GleamException in case of errors
+     */
+    public static Entity start(Procedure less,
+                               Vector vector,
+                               int start,
+                               int end,
+                               Result result,
+                               Environment env,
+                               Continuation cont) throws GleamException
+    {
+        Entity runs = EmptyList.VALUE;
+        for (int i = end - 1; i >= start; --i) {
+            runs = new Pair(new Pair(vector.get(i), EmptyList.VALUE), runs);
+        }
+        SortAction action = new SortAction(less, vector, start, result, env);
+        return action.run(runs, EmptyList.VALUE, null, null, EmptyList.VALUE, cont);
+    }
+
+    /**
+     * Merges runs until the predicate must be applied by a new action, or the sort is complete.
+     *
+     * @param left null if no merge is in progress
+     */
+    private Entity run(Entity runs,
+                       Entity done,
+                       Entity left,
+                       Entity right,
+                       Entity merged,
+                       Continuation cont) throws GleamException
+    {
+        boolean pure = less instanceof PrimitiveProcedure &&
+                       ((PrimitiveProcedure) less).isPure();
+        Entity[] args = new Entity[2];
+        while (true) {
+            if (left == null) {
+                if (runs instanceof Pair && ((Pair) runs).getCdr() instanceof Pair) {
+                    Pair next = (Pair) ((Pair) runs).getCdr();
+                    left = ((Pair) runs).getCar();
+                    right = next.getCar();
+                    runs = next.getCdr();
+                    merged = EmptyList.VALUE;
+                    continue;
+                }
+                if (runs instanceof Pair) {
+                    // an odd run out, carried over to the next pass
+                    done = new Pair(((Pair) runs).getCar(), done);
+                }
+                if (!(done instanceof Pair) || ((Pair) done).getCdr() == EmptyList.VALUE) {
+                    return finish(done instanceof Pair ? ((Pair) done).getCar() : done);
+                }
+                runs = reverse(done);
+                done = EmptyList.VALUE;
+                continue;
+            }
+            if (left == EmptyList.VALUE || right == EmptyList.VALUE) {
+                Entity rest = left == EmptyList.VALUE ? right : left;
+                done = new Pair(prepend(merged, rest), done);
+                left = null;
+                continue;
+            }
+            // an element from the right run goes first only if it is less, for stability
+            args[0] = ((Pair) right).getCar();
+            args[1] = ((Pair) left).getCar();
+            if (!pure) {
+                cont.push(new SortAction(this, runs, done, left, right, merged));
+                return less.apply(args, env, cont);
+            }
+            if (less.apply(args, env, cont) != Boolean.falseValue) {
+                merged = new Pair(args[0], merged);
+                right = ((Pair) right).getCdr();
+            }
+            else {
+                merged = new Pair(args[1], merged);
+                left = ((Pair) left).getCdr();
+            }
+        }
+    }
+
+    /**
+     * Receives the result of the predicate, moves the smaller element to the merged ones, and
+     * goes on with the sort.
+     *
+     * @param arg  the result of applying the predicate
+     * @param cont the current continuation
+     *
+     * @throws GleamException in case of errors
+     */
+    @Override
+    protected Entity invoke(Entity arg, Continuation cont) throws GleamException
+    {
+        if (arg != Boolean.falseValue) {
+            return run(runs, done, left, ((Pair) right).getCdr(),
+                       new Pair(((Pair) right).getCar(), merged), cont);
+        }
+        return run(runs, done, ((Pair) left).getCdr(), right,
+                   new Pair(((Pair) left).getCar(), merged), cont);
+    }
+
+    /**
+     * Stores the sorted elements in the vector.
+     */
+    private Entity finish(Entity sorted)
+    {
+        int end = start;
+        for (Entity e = sorted; e instanceof Pair; e = ((Pair) e).getCdr()) {
+            vector.set(end++, ((Pair) e).getCar());
+        }
+        return result.of(vector, start, end);
+    }
+
+    private static Entity reverse(Entity list)
+    {
+        return prepend(list, EmptyList.VALUE);
+    }
+
+    /**
+     * Prepends the elements of a list, in reverse order, to another list.
+     */
+    private static Entity prepend(Entity reversed, Entity list)
+    {
+        for (Entity e = reversed; e instanceof Pair; e = ((Pair) e).getCdr()) {
+            list = new Pair(((Pair) e).getCar(), list);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2023 Guglielmo Nigri.  All Rights Reserved.
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of version 2 of the GNU General Public License as
+ * published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it would be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Further, this software is distributed without any warranty that it is
+ * free of the rightful claim of any third person regarding infringement
+ * or the like.  Any license provided herein, whether implied or
+ * otherwise, applies only to this software file.  Patent licenses, if
+ * any, provided herein do not apply to combinations of this program with
+ * other software, or any other product whatsoever.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write the Free Software Foundation, Inc., 59
+ * Temple Place - Suite 330, Boston MA 02111-1307, USA.
+ *
+ * Contact information: Guglielmo Nigri <guglielmonigri@yahoo.it>
+ *
+ */
+package gleam.lang;
+
+/**
+ * Applies a predicate to the characters of a string, in order, until it returns true, for
+ * {@code string-index}.
+ * <p>
+ * As in {@link ListMapAction}, each application of a predicate which may use the continuation
+ * schedules a new action for the next index, while pure primitive predicates are applied in a
+ * loop.
+ */
+public class StringIndexAction extends Action
+{
+
+    private static final long serialVersionUID = 1L;
+
+    private final Procedure predicate;
+    private final MutableString string;
+
+    /** the index of the character the predicate is being applied to */
+    private final int index;
+
+    /** the end index of the search */
+    private final int end;
+
+    private StringIndexAction(Procedure predicate,
+                              MutableString string,
+                              int index,
+                              int end,
+                              Environment env)
+    {
+        super(env);
+        this.predicate = predicate;
+        this.string = string;
+        this.index = index;
+        this.end = end;
+    }
+
+    /**
+     * Starts searching a range of a string for the first character satisfying a predicate.
+     *
+     * @param predicate the predicate
+     * @param string    the string
+     * @param start     the start index of the range
+     * @param end       the end index of the range
+     * @param env       the environment
+     * @param cont      the current continuation
+     *
+     * @return the index of the character, false if none is found, or null if the continuation
+     * has been updated
+     *
+     * @throws GleamException in case of errors
+     */
+    public static Entity start(Procedure predicate,
+                               MutableString string,
+                               int start,
+                               int end,
+                               Environment env,
+                               Continuation cont) throws GleamException
+    {
+        return run(predicate, string, start, end, env, cont);
+    }
+
+    private static Entity run(Procedure predicate,
+                              MutableString string,
+                              int index,
+                              int end,
+                              Environment env,
+                              Continuation cont) throws GleamException
+    {
+        boolean pure = predicate instanceof PrimitiveProcedure &&
+                       ((PrimitiveProcedure) predicate).isPure();
+        Entity[] args = new Entity[1];
+        for (; index < end; ++index) {
+            args[0] = Character.valueOf(string.charAt(index));
+            if (!pure) {
+                cont.push(new StringIndexAction(predicate, string, index, end, env));
+                return predicate.apply(args, env, cont);
+            }
+            if (predicate.apply(args, env, cont) != Boolean.falseValue) {
+                return Int.valueOf(index);
+            }
+        }
+        return Boolean.falseValue;
+    }
+
+    /**
+     * Receives the result of the predicate, and returns the index if it is true, or goes on with
+     * the next index.
+     *
+     * @param arg  the result of applying the predicate
+     * @param cont the current continuation
+     *
+     * @throws GleamException in case of errors
+     */
+    @Override
+    protected Entity invoke(Entity arg, Continuation cont) throws GleamException
+    {
+        if (arg != Boolean.falseValue) {
+            return Int.valueOf(index);
+        }
+        return run(predicate, string, index + 1, end, env, cont);
+    }
+}
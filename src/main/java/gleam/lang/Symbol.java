@@ -26,6 +26,8 @@
 
 package gleam.lang;
 
+import gleam.lang.compiler.GlobalRef;
+import gleam.lang.compiler.LocalRef;
 import gleam.util.Logger;
 
 import java.io.PrintWriter;
@@ -50,6 +52,7 @@ public final class Symbol extends AbstractEntity
      * defined here as constants for convenience
      */
     public static final Symbol AND = makeSymbol("and");
+    public static final Symbol ARROW = makeSymbol("=>");
     public static final Symbol BEGIN = makeSymbol("begin");
     public static final Symbol CALL_CC = makeSymbol("call/cc");
     public static final Symbol CALL_WITH_CURRENT_CONTINUATION =
@@ -57,6 +60,8 @@ public final class Symbol extends AbstractEntity
     public static final Symbol CASE = makeSymbol("case");
     public static final Symbol COND = makeSymbol("cond");
     public static final Symbol DEFINE = makeSymbol("define");
+    public static final Symbol DO = makeSymbol("do");
+    public static final Symbol ELSE = makeSymbol("else");
     public static final Symbol ERROBJ = makeSymbol("__errobj");
     public static final Symbol HELP = makeSymbol("help");
     public static final Symbol IF = makeSymbol("if");
@@ -126,19 +131,39 @@ public final class Symbol extends AbstractEntity
     @Override
     public Entity optimize(Environment env)
     {
-        Location loc = env.getLocationOrNull(this);
-        if (loc == null) {
-            // if unbound, return just the symbol (for syntax rewriters)
-            return this;
+        /* local variables of procedures are resolved to their lexical address */
+        int depth = 0;
+        for (Environment e = env; e instanceof LocalEnvironment; e = e.getParent()) {
+            LocalEnvironment frame = (LocalEnvironment) e;
+            int index = frame.indexOf(this);
+            if (index >= 0) {
+                return new LocalRef(this, depth, index);
+            }
+            if (frame.getLocalLocation(this) != null) {
+                return this;
+            }
+            ++depth;
+        }
+        if (depth > 0) {
+            /* a free variable of a procedure body, whose binding
+             * may still change, so let name resolution take place at run time
+             */
+            return new GlobalRef(this);
         }
-        if (loc.get() == Undefined.VALUE) {
+
+        Location loc = env.getLocationOrNull(this);
+        if (loc != null && loc.get() == Undefined.VALUE) {
             /* this symbol is a function parameter, so let
              * name resolution take place at run time
              */
             return this;
         }
 
-        return loc;
+        /* a global variable, bound or not yet, which may be shadowed
+         * before it is evaluated, e.g., by a preceding define in the same
+         * form, so let the reference check the binding generation
+         */
+        return new GlobalRef(this);
     }
 
     /**
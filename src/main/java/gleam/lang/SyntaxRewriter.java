@@ -45,7 +45,7 @@ public final class SyntaxRewriter extends Closure implements SyntaxObject
 
     public SyntaxRewriter(Closure rewriter)
     {
-        super(rewriter.param, rewriter.body, rewriter.definitionEnv);
+        super(rewriter.lambda, rewriter.definitionEnv);
     }
 
     /**
@@ -26,11 +26,32 @@
 
 package gleam.lang;
 
+import gleam.lang.compiler.And;
+import gleam.lang.compiler.Assignment;
+import gleam.lang.compiler.Case;
+import gleam.lang.compiler.Cond;
+import gleam.lang.compiler.Constant;
+import gleam.lang.compiler.Do;
+import gleam.lang.compiler.GlobalRef;
+import gleam.lang.compiler.If;
+import gleam.lang.compiler.Let;
+import gleam.lang.compiler.NamedLet;
+import gleam.lang.compiler.Or;
+import gleam.lang.compiler.Sequence;
+import gleam.lang.compiler.Variable;
 import gleam.util.Logger;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 
+import static gleam.lang.Entities.cons;
+import static gleam.lang.Entities.list;
+import static gleam.library.Arguments.requireList;
+import static gleam.library.Arguments.requirePair;
+import static gleam.library.Arguments.requireSymbol;
+
 /**
  * Scheme runtime support.
  * <p>
@@ -266,11 +287,534 @@ public final class System
                 }
             }
         }
+        else if (op == Symbol.LET || op == Symbol.LETSTAR || op == Symbol.LETREC) {
+            if (op == Symbol.LET && isVariable(arg)) {
+                // named let
+                if (!it.hasNext()) {
+                    throw new GleamException("let: missing bindings", form);
+                }
+                arg = it.next();
+            }
+            analyzeBindings(op, arg, false, form, env);
+            if (!it.hasNext()) {
+                throw new GleamException(op + ": missing body", form);
+            }
+            while (it.hasNext()) {
+                it.replace(it.next().analyze(env));
+            }
+        }
+        else if (op == Symbol.COND) {
+            analyzeClauses(op, form, env);
+        }
+        else if (op == Symbol.CASE) {
+            // analyze key
+            it.replace(arg.analyze(env));
+            analyzeClauses(op, (List) form.getCdr(), env);
+        }
+        else if (op == Symbol.DO) {
+            analyzeBindings(op, arg, true, form, env);
+            if (!it.hasNext()) {
+                throw new GleamException("do: missing test", form);
+            }
+            // analyze test and result expressions
+            arg = it.next();
+            if (!(arg instanceof Pair)) {
+                throw new GleamException("do: invalid test", form);
+            }
+            analyzeList((List) arg, env);
+            // analyze commands
+            while (it.hasNext()) {
+                it.replace(it.next().analyze(env));
+            }
+        }
         else {
             logger.debug("analyzeSpecialForm: unknown: ", op);
         }
     }
 
+    /**
+     * Performs syntactic analysis of the bindings of a <code>let</code>, <code>let*</code>,
+     * <code>letrec</code> or <code>do</code> form, e.g., <code>((x 1) (y 2))</code>.
+     *
+     * @param op       the keyword of the form
+     * @param bindings the bindings
+     * @param withStep true if each binding may have a step expression, as in <code>do</code>
+     * @param form     the whole form, for error reporting
+     * @param env      the environment
+     *
+     * @throws GleamException in case of syntax errors
+     */
+    private static void analyzeBindings(Entity op,
+                                        Entity bindings,
+                                        boolean withStep,
+                                        List form,
+                                        Environment env) throws GleamException
+    {
+        if (!(bindings instanceof List)) {
+            throw new GleamException(op + ": invalid bindings", form);
+        }
+        Collection<Symbol> varSet = new HashSet<>();
+        for (Entity binding : (List) bindings) {
+            if (!(binding instanceof Pair) || !isVariable(((Pair) binding).getCar())) {
+                throw new GleamException(op + ": invalid binding", form);
+            }
+            Pair pair = (Pair) binding;
+            if (!varSet.add((Symbol) pair.getCar()) && op != Symbol.LETSTAR) {
+                throw new GleamException(op + ": repeated variable", form);
+            }
+            Entity exprs = pair.getCdr();
+            int count = 0;
+            Entity rest = exprs;
+            for (; rest instanceof Pair; rest = ((Pair) rest).getCdr()) {
+                ++count;
+            }
+            if (rest != EmptyList.VALUE || count < 1 || count > (withStep ? 2 : 1)) {
+                throw new GleamException(op + ": invalid binding", form);
+            }
+            analyzeList((List) exprs, env);
+        }
+    }
+
+    /**
+     * Performs syntactic analysis of the clauses of a <code>cond</code> or <code>case</code>
+     * form.
+     *
+     * @param op   the keyword of the form
+     * @param form the list whose cdr is the list of clauses
+     * @param env  the environment
+     *
+     * @throws GleamException in case of syntax errors
+     */
+    private static void analyzeClauses(Entity op, List form, Environment env) throws GleamException
+    {
+        ListIterator it = new ListIterator(form);
+        it.next();
+        while (it.hasNext()) {
+            Entity clause = it.next();
+            if (!(clause instanceof Pair)) {
+                throw new GleamException(op + ": invalid clause", clause);
+            }
+            Pair pair = (Pair) clause;
+            Entity test = pair.getCar();
+            if (test == Symbol.ELSE) {
+                if (it.hasNext()) {
+                    throw new GleamException(op + ": else clause must be the last one", clause);
+                }
+                if (pair.getCdr() == EmptyList.VALUE) {
+                    throw new GleamException(op + ": missing else expressions", clause);
+                }
+            }
+            else if (op == Symbol.CASE) {
+                // the data are not analyzed
+                if (!(test instanceof List)) {
+                    throw new GleamException("case: invalid clause data", clause);
+                }
+                if (pair.getCdr() == EmptyList.VALUE) {
+                    throw new GleamException("case: missing clause expressions", clause);
+                }
+            }
+            else {
+                pair.setCar(test.analyze(env));
+            }
+            Entity rest = pair.getCdr();
+            if (rest instanceof Pair && ((Pair) rest).getCar() == Symbol.ARROW) {
+                Entity recipient = ((Pair) rest).getCdr();
+                if (!(recipient instanceof Pair) || ((Pair) recipient).getCdr() != EmptyList.VALUE) {
+                    throw new GleamException(op + ": invalid => clause", clause);
+                }
+                analyzeList((List) recipient, env);
+            }
+            else if (rest instanceof List) {
+                analyzeList((List) rest, env);
+            }
+            else {
+                throw new GleamException(op + ": invalid clause", clause);
+            }
+        }
+    }
+
+    /**
+     * Analyzes each element of a proper list in place.
+     */
+    private static void analyzeList(List list, Environment env) throws GleamException
+    {
+        ListIterator it = new ListIterator(list);
+        while (it.hasNext()) {
+            it.replace(it.next().analyze(env));
+        }
+    }
+
+    /**
+     * Performs environment optimization of special forms. The form must have been analyzed.
+     * <p>
+     * Lambda expressions and procedure definitions are replaced by {@link Lambda} objects, whose
+     * bodies are optimized in turn; quotations, conditionals, sequences, assignments, binding
+     * forms and iterations are compiled to nodes; definitions have their value optimized. Any
+     * other form is returned unchanged.
+     *
+     * @param form the special form
+     * @param env  the environment in which the form will be evaluated
+     *
+     * @return the optimized form
+     *
+     * @throws GleamException in case of errors
+     */
+    static Entity optimizeSpecialForm(Pair form, Environment env) throws GleamException
+    {
+        Entity op = form.getCar();
+        if (!(form.getCdr() instanceof Pair)) {
+            return form;
+        }
+        Pair args = (Pair) form.getCdr();
+
+        if (op == Symbol.LAMBDA) {
+            if (!(args.getCdr() instanceof Pair)) {
+                return form;
+            }
+            return Lambda.optimize(form, args.getCar(), (List) args.getCdr(), env);
+        }
+        else if (op == Symbol.DEFINE) {
+            Entity target = args.getCar();
+            if (target instanceof Pair) {
+                // (define (name . params) body...) => (define name (lambda params body...))
+                Pair procTarget = (Pair) target;
+                if (!(args.getCdr() instanceof Pair)) {
+                    return form;
+                }
+                Entity lambda = Lambda.optimize(form,
+                                                procTarget.getCdr(),
+                                                (List) args.getCdr(),
+                                                env);
+                if (lambda == form) {
+                    return form;
+                }
+                return cons(op, cons(procTarget.getCar(), cons(lambda)));
+            }
+            // the defined variable is not optimized
+            return new Pair(op, new Pair(target, optimizeList(args.getCdr(), env)));
+        }
+        else if (op == Symbol.SET) {
+            Entity variable = args.getCar().optimize(env);
+            Entity value = ((Pair) args.getCdr()).getCar().optimize(env);
+            if (variable instanceof Location) {
+                // a global variable, whose binding may be shadowed before the assignment
+                variable = new GlobalRef((Symbol) args.getCar());
+            }
+            if (variable instanceof Variable) {
+                return new Assignment(form, (Variable) variable, value);
+            }
+            return new Pair(op, new Pair(args.getCar(), cons(value)));
+        }
+        else if (op == Symbol.QUOTE) {
+            return new Constant(form, args.getCar());
+        }
+        else if (op == Symbol.IF) {
+            Entity test = args.getCar().optimize(env);
+            Pair rest = (Pair) args.getCdr();
+            Entity consequent = rest.getCar().optimize(env);
+            Entity alternate = rest.getCdr() instanceof Pair
+                               ? ((Pair) rest.getCdr()).getCar().optimize(env)
+                               : Void.VALUE;
+            return new If(form, test, consequent, alternate);
+        }
+        else if (op == Symbol.BEGIN) {
+            java.util.List<Entity> body = new ArrayList<>();
+            for (Entity expr : args) {
+                body.add(expr.optimize(env));
+            }
+            return new Sequence(form, body.toArray(new Entity[0]));
+        }
+        else if (op == Symbol.AND) {
+            return new And(form, (List) optimizeList(args, env));
+        }
+        else if (op == Symbol.OR) {
+            return new Or(form, (List) optimizeList(args, env));
+        }
+        else if (op == Symbol.LET || op == Symbol.LETSTAR || op == Symbol.LETREC) {
+            return makeLet(form, env, true);
+        }
+        else if (op == Symbol.COND) {
+            return makeCond(form, env, true);
+        }
+        else if (op == Symbol.CASE) {
+            return makeCase(form, env, true);
+        }
+        else if (op == Symbol.DO) {
+            return makeDo(form, env, true);
+        }
+        return form;
+    }
+
+    /**
+     * Makes the node of a <code>let</code>, <code>let*</code> or <code>letrec</code> form. The
+     * variables are bound in a new frame, with no procedure call involved.
+     *
+     * @param form    the binding form
+     * @param env     the environment in which the form will be evaluated
+     * @param compile true to optimize the subexpressions, false to leave them unchanged
+     *
+     * @return the node, or the unchanged form if it cannot be compiled
+     *
+     * @throws GleamException in case of syntax errors
+     */
+    public static Entity makeLet(Pair form, Environment env, boolean compile)
+            throws GleamException
+    {
+        Entity op = form.getCar();
+        Pair args = requirePair(op + ": missing bindings", form.getCdr());
+        if (op == Symbol.LET && args.getCar() instanceof Symbol) {
+            return makeNamedLet(form,
+                                (Symbol) args.getCar(),
+                                requirePair("let: missing bindings", args.getCdr()),
+                                env,
+                                compile);
+        }
+        List body = requirePair(op + ": missing body", args.getCdr());
+        java.util.List<Symbol> vars = new ArrayList<>();
+        java.util.List<Entity> inits = new ArrayList<>();
+        parseBindings(op, args.getCar(), vars, inits, null);
+        Symbol[] names = vars.toArray(new Symbol[0]);
+        boolean sequential = op != Symbol.LET;
+        if (!compile) {
+            return new Let(form, names, inits.toArray(new Entity[0]), sequential, body);
+        }
+
+        // the frame layout and the body are the same as those of a procedure
+        if (Lambda.isReflective(args.getCar())) {
+            return form;
+        }
+        Entity compiled = Lambda.optimize(form, list(names), body, env);
+        if (!(compiled instanceof Lambda)) {
+            return form;
+        }
+        Lambda lambda = (Lambda) compiled;
+        Entity[] compiledInits = new Entity[names.length];
+        for (int i = 0; i < names.length; ++i) {
+            Environment scope;
+            if (op == Symbol.LET) {
+                scope = env;
+            }
+            else if (op == Symbol.LETSTAR) {
+                // only the previous variables are visible
+                scope = LocalEnvironment.newScope(Arrays.copyOf(lambda.names, i), env);
+            }
+            else {
+                scope = LocalEnvironment.newScope(lambda.names, env);
+            }
+            compiledInits[i] = inits.get(i).optimize(scope);
+        }
+        return new Let(form, lambda.names, compiledInits, sequential, lambda.body);
+    }
+
+    /**
+     * Makes the node of a named <code>let</code> form.
+     */
+    private static Entity makeNamedLet(Pair form,
+                                       Symbol name,
+                                       Pair args,
+                                       Environment env,
+                                       boolean compile) throws GleamException
+    {
+        List body = requirePair("let: missing body", args.getCdr());
+        java.util.List<Symbol> vars = new ArrayList<>();
+        java.util.List<Entity> inits = new ArrayList<>();
+        parseBindings(Symbol.LET, args.getCar(), vars, inits, null);
+        List params = list(vars.toArray(new Entity[0]));
+        if (!compile) {
+            return new NamedLet(form, name, new Lambda(params, body), inits.toArray(new Entity[0]));
+        }
+
+        Environment scope = LocalEnvironment.newScope(new Symbol[]{name}, env);
+        Entity lambda = Lambda.optimize(form, params, body, scope);
+        if (lambda == form) {
+            return form;
+        }
+        Entity[] compiledInits = new Entity[inits.size()];
+        for (int i = 0; i < compiledInits.length; ++i) {
+            compiledInits[i] = inits.get(i).optimize(env);
+        }
+        return new NamedLet(form, name, lambda, compiledInits);
+    }
+
+    /**
+     * Makes the node of a <code>cond</code> form.
+     *
+     * @param form    the conditional form
+     * @param env     the environment in which the form will be evaluated
+     * @param compile true to optimize the subexpressions, false to leave them unchanged
+     *
+     * @return the node
+     *
+     * @throws GleamException in case of syntax errors
+     */
+    public static Entity makeCond(Pair form, Environment env, boolean compile)
+            throws GleamException
+    {
+        return new Cond(form, parseClauses(Symbol.COND, form.getCdr(), env, compile));
+    }
+
+    /**
+     * Makes the node of a <code>case</code> form.
+     *
+     * @param form    the conditional form
+     * @param env     the environment in which the form will be evaluated
+     * @param compile true to optimize the subexpressions, false to leave them unchanged
+     *
+     * @return the node
+     *
+     * @throws GleamException in case of syntax errors
+     */
+    public static Entity makeCase(Pair form, Environment env, boolean compile)
+            throws GleamException
+    {
+        Pair args = requirePair("case: missing key", form.getCdr());
+        Entity key = compile ? args.getCar().optimize(env) : args.getCar();
+        return new Case(form, key, parseClauses(Symbol.CASE, args.getCdr(), env, compile));
+    }
+
+    /**
+     * Makes the node of a <code>do</code> form.
+     *
+     * @param form    the iteration form
+     * @param env     the environment in which the form will be evaluated
+     * @param compile true to optimize the subexpressions, false to leave them unchanged
+     *
+     * @return the node, or the unchanged form if it cannot be compiled
+     *
+     * @throws GleamException in case of syntax errors
+     */
+    public static Entity makeDo(Pair form, Environment env, boolean compile)
+            throws GleamException
+    {
+        Pair args = requirePair("do: missing variables", form.getCdr());
+        Pair rest = requirePair("do: missing test", args.getCdr());
+        Pair exit = requirePair("do: invalid test", rest.getCar());
+        List result = requireList("do: invalid result", exit.getCdr());
+        List commands = requireList("do: invalid commands", rest.getCdr());
+        java.util.List<Symbol> vars = new ArrayList<>();
+        java.util.List<Entity> inits = new ArrayList<>();
+        java.util.List<Entity> steps = new ArrayList<>();
+        parseBindings(Symbol.DO, args.getCar(), vars, inits, steps);
+        Symbol[] names = vars.toArray(new Symbol[0]);
+        Entity[] initArray = inits.toArray(new Entity[0]);
+        Entity[] stepArray = steps.toArray(new Entity[0]);
+        if (!compile) {
+            return new Do(form, names, initArray, stepArray, exit.getCar(), result, commands);
+        }
+
+        if (Lambda.isReflective(args)) {
+            return form;
+        }
+        // the variables are bound in a new frame at each iteration
+        Environment scope = LocalEnvironment.newScope(names, env);
+        for (int i = 0; i < names.length; ++i) {
+            initArray[i] = initArray[i].optimize(env);
+            if (stepArray[i] != null) {
+                stepArray[i] = stepArray[i].optimize(scope);
+            }
+        }
+        return new Do(form,
+                      names,
+                      initArray,
+                      stepArray,
+                      exit.getCar().optimize(scope),
+                      (List) optimizeList(result, scope),
+                      (List) optimizeList(commands, scope));
+    }
+
+    /**
+     * Parses a list of bindings, e.g., <code>((x 1) (y 2))</code>.
+     *
+     * @param op       the keyword of the form
+     * @param bindings the bindings
+     * @param vars     the list collecting the variables
+     * @param inits    the list collecting the initial values
+     * @param steps    the list collecting the step expressions, null if not allowed
+     *
+     * @throws GleamException in case of syntax errors
+     */
+    private static void parseBindings(Entity op,
+                                      Entity bindings,
+                                      java.util.List<Symbol> vars,
+                                      java.util.List<Entity> inits,
+                                      java.util.List<Entity> steps) throws GleamException
+    {
+        String context = op + ": invalid binding";
+        for (Entity binding : requireList(op + ": invalid bindings", bindings)) {
+            Pair pair = requirePair(context, binding);
+            vars.add(requireSymbol(context, pair.getCar()));
+            Pair exprs = requirePair(context, pair.getCdr());
+            inits.add(exprs.getCar());
+            if (steps != null && exprs.getCdr() instanceof Pair) {
+                steps.add(((Pair) exprs.getCdr()).getCar());
+            }
+            else if (steps != null) {
+                steps.add(null);
+            }
+        }
+    }
+
+    /**
+     * Parses the clauses of a <code>cond</code> or <code>case</code> form. The test of a
+     * <code>case</code> clause is the list of its data.
+     *
+     * @param op      the keyword of the form
+     * @param clauses the clauses
+     * @param env     the environment in which the form will be evaluated
+     * @param compile true to optimize the subexpressions, false to leave them unchanged
+     *
+     * @return the parsed clauses
+     *
+     * @throws GleamException in case of syntax errors
+     */
+    private static Cond.Clause[] parseClauses(Entity op,
+                                              Entity clauses,
+                                              Environment env,
+                                              boolean compile) throws GleamException
+    {
+        String context = op + ": invalid clause";
+        java.util.List<Cond.Clause> result = new ArrayList<>();
+        for (Entity clause : requireList(op + ": invalid clauses", clauses)) {
+            Pair pair = requirePair(context, clause);
+            Entity test = pair.getCar();
+            if (test == Symbol.ELSE) {
+                test = null;
+            }
+            else if (op == Symbol.CASE) {
+                test = requireList("case: invalid clause data", test);
+            }
+            else if (compile) {
+                test = test.optimize(env);
+            }
+            Entity rest = pair.getCdr();
+            if (rest instanceof Pair && ((Pair) rest).getCar() == Symbol.ARROW) {
+                Entity recipient = requirePair(context, ((Pair) rest).getCdr()).getCar();
+                result.add(new Cond.Clause(test,
+                                           EmptyList.VALUE,
+                                           compile ? recipient.optimize(env) : recipient));
+            }
+            else {
+                List body = requireList(context, rest);
+                result.add(new Cond.Clause(test,
+                                           compile ? (List) optimizeList(body, env) : body,
+                                           null));
+            }
+        }
+        return result.toArray(new Cond.Clause[0]);
+    }
+
+    /**
+     * Optimizes each element of a proper list, returning a new list.
+     */
+    private static Entity optimizeList(Entity list, Environment env) throws GleamException
+    {
+        if (!(list instanceof Pair)) {
+            return list;
+        }
+        Pair pair = (Pair) list;
+        return new Pair(pair.getCar().optimize(env), optimizeList(pair.getCdr(), env));
+    }
+
     /**
      * Determines if a given object is a variable. An object is a variable iff it is a symbol.
      */
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2023 Guglielmo Nigri.  All Rights Reserved.
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of version 2 of the GNU General Public License as
+ * published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it would be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Further, this software is distributed without any warranty that it is
+ * free of the rightful claim of any third person regarding infringement
+ * or the like.  Any license provided herein, whether implied or
+ * otherwise, applies only to this software file.  Patent licenses, if
+ * any, provided herein do not apply to combinations of this program with
+ * other software, or any other product whatsoever.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write the Free Software Foundation, Inc., 59
+ * Temple Place - Suite 330, Boston MA 02111-1307, USA.
+ *
+ * Contact information: Guglielmo Nigri <guglielmonigri@yahoo.it>
+ *
+ */
+
+package gleam.lang;
+
+import java.util.Arrays;
+
+/**
+ * A numeric vector of unsigned 8-bit exact integers, backed by a {@code byte[]}. The bytes hold
+ * the values from 0 to 255, so they must be read as unsigned.
+ */
+public final class U8Vector extends NumericVector
+{
+
+    private static final long serialVersionUID = 1L;
+
+    private final byte[] elements;
+
+    /**
+     * Creates a vector of the given elements. The array is not copied.
+     */
+    public U8Vector(byte[] elements)
+    {
+        this.elements = elements;
+    }
+
+    @Override
+    public Kind getKind()
+    {
+        return Kind.U8;
+    }
+
+    @Override
+    public int length()
+    {
+        return elements.length;
+    }
+
+    @Override
+    public byte[] getArray()
+    {
+        return elements;
+    }
+
+    @Override
+    public Number get(int index)
+    {
+        return Int.valueOf(elements[index] & 0xFF);
+    }
+
+    @Override
+    public void set(String context, int index, Entity value) throws GleamException
+    {
+        elements[index] = (byte) toLong(context, value, 0, 255);
+    }
+
+    @Override
+    public void fill(String context, Entity value) throws GleamException
+    {
+        Arrays.fill(elements, (byte) toLong(context, value, 0, 255));
+    }
+
+    @Override
+    public NumericVector add(String context, NumericVector other) throws GleamException
+    {
+        byte[] a = elements;
+        byte[] b = ((U8Vector) other).elements;
+        byte[] result = new byte[a.length];
+        int overflow = 0;
+        for (int i = 0; i < result.length; ++i) {
+            int sum = (a[i] & 0xFF) + (b[i] & 0xFF);
+            overflow |= sum;
+            result[i] = (byte) sum;
+        }
+        if (overflow > 255) {
+            throw new GleamException(context + ": value out of range");
+        }
+        return new U8Vector(result);
+    }
+
+    @Override
+    public NumericVector scale(String context, Entity factor) throws GleamException
+    {
+        int k = (int) toLong(context, factor, 0, 255);
+        byte[] a = elements;
+        byte[] result = new byte[a.length];
+        int overflow = 0;
+        for (int i = 0; i < result.length; ++i) {
+            int product = (a[i] & 0xFF) * k;
+            overflow |= product;
+            result[i] = (byte) product;
+        }
+        if (overflow > 255) {
+            throw new GleamException(context + ": value out of range");
+        }
+        return new U8Vector(result);
+    }
+
+    @Override
+    public Number dot(NumericVector other)
+    {
+        // cannot overflow, as each product is less than 2^16
+        byte[] a = elements;
+        byte[] b = ((U8Vector) other).elements;
+        long sum = 0;
+        for (int i = 0; i < a.length; ++i) {
+            sum += (a[i] & 0xFF) * (b[i] & 0xFF);
+        }
+        return Int.valueOf(sum);
+    }
+
+    @Override
+    public Number sum()
+    {
+        long sum = 0;
+        for (byte e : elements) {
+            sum += e & 0xFF;
+        }
+        return Int.valueOf(sum);
+    }
+
+    @Override
+    public Number min()
+    {
+        int min = 255;
+        for (byte e : elements) {
+            min = Math.min(min, e & 0xFF);
+        }
+        return Int.valueOf(min);
+    }
+
+    @Override
+    public Number max()
+    {
+        int max = 0;
+        for (byte e : elements) {
+            max = Math.max(max, e & 0xFF);
+        }
+        return Int.valueOf(max);
+    }
+}
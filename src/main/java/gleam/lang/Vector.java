@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2023 Guglielmo Nigri.  All Rights Reserved.
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of version 2 of the GNU General Public License as
+ * published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it would be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Further, this software is distributed without any warranty that it is
+ * free of the rightful claim of any third person regarding infringement
+ * or the like.  Any license provided herein, whether implied or
+ * otherwise, applies only to this software file.  Patent licenses, if
+ * any, provided herein do not apply to combinations of this program with
+ * other software, or any other product whatsoever.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write the Free Software Foundation, Inc., 59
+ * Temple Place - Suite 330, Boston MA 02111-1307, USA.
+ *
+ * Contact information: Guglielmo Nigri <guglielmonigri@yahoo.it>
+ *
+ */
+
+package gleam.lang;
+
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.Comparator;
+
+import static gleam.lang.Entities.cons;
+
+/**
+ * Scheme vector, a fixed-size sequence of entities indexed by exact integers.
+ */
+public final class Vector extends AbstractEntity
+{
+
+    private static final long serialVersionUID = 1L;
+
+    /** the elements */
+    private final Entity[] elements;
+
+    /**
+     * Creates a vector of the given elements. The array is not copied.
+     *
+     * @param elements the elements
+     */
+    public Vector(Entity[] elements)
+    {
+        this.elements = elements;
+    }
+
+    /**
+     * Creates a vector of the given size, each element being the given fill.
+     *
+     * @param size the number of elements
+     * @param fill the initial value of each element
+     */
+    public Vector(int size, Entity fill)
+    {
+        this.elements = new Entity[size];
+        Arrays.fill(elements, fill);
+    }
+
+    /**
+     * Creates a vector of the elements of a list.
+     *
+     * @param list a proper list
+     *
+     * @return a new Vector
+     */
+    public static Vector fromList(List list)
+    {
+        int size = 0;
+        for (Entity e = list; e instanceof Pair; e = ((Pair) e).getCdr()) {
+            ++size;
+        }
+        Entity[] elements = new Entity[size];
+        int i = 0;
+        for (Entity e = list; e instanceof Pair; e = ((Pair) e).getCdr()) {
+            elements[i++] = ((Pair) e).getCar();
+        }
+        return new Vector(elements);
+    }
+
+    public int length()
+    {
+        return elements.length;
+    }
+
+    public Entity get(int index)
+    {
+        return elements[index];
+    }
+
+    public void set(int index, Entity value)
+    {
+        elements[index] = value;
+    }
+
+    /**
+     * Stores a value in the elements from start, inclusive, to end, exclusive.
+     */
+    public void fill(Entity value, int start, int end)
+    {
+        Arrays.fill(elements, start, end, value);
+    }
+
+    /**
+     * Sorts the elements from start, inclusive, to end, exclusive. The sort is stable.
+     *
+     * @param parallel true to sort in parallel, only if the comparator is thread-safe
+     */
+    public void sort(Comparator<? super Entity> comparator, int start, int end, boolean parallel)
+    {
+        if (parallel) {
+            Arrays.parallelSort(elements, start, end, comparator);
+        }
+        else {
+            Arrays.sort(elements, start, end, comparator);
+        }
+    }
+
+    /**
+     * Returns a new vector of the elements from start, inclusive, to end, exclusive.
+     */
+    public Vector copy(int start, int end)
+    {
+        return new Vector(Arrays.copyOfRange(elements, start, end));
+    }
+
+    /**
+     * Returns a new list of the elements from start, inclusive, to end, exclusive.
+     */
+    public List toList(int start, int end)
+    {
+        List list = EmptyList.VALUE;
+        for (int i = end - 1; i >= start; --i) {
+            list = cons(elements[i], list);
+        }
+        return list;
+    }
+
+    /**
+     * Writes this vector.
+     */
+    @Override
+    public PrintWriter write(PrintWriter out)
+    {
+        out.print("#(");
+        for (int i = 0; i < elements.length; ++i) {
+            if (i > 0) {
+                out.print(" ");
+            }
+            elements[i].write(out);
+        }
+        out.print(")");
+        return out;
+    }
+
+    /**
+     * Displays this vector.
+     */
+    @Override
+    public PrintWriter display(PrintWriter out)
+    {
+        out.print("#(");
+        for (int i = 0; i < elements.length; ++i) {
+            if (i > 0) {
+                out.print(" ");
+            }
+            elements[i].display(out);
+        }
+        out.print(")");
+        return out;
+    }
+}
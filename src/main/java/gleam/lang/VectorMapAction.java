@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2023 Guglielmo Nigri.  All Rights Reserved.
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of version 2 of the GNU General Public License as
+ * published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it would be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Further, this software is distributed without any warranty that it is
+ * free of the rightful claim of any third person regarding infringement
+ * or the like.  Any license provided herein, whether implied or
+ * otherwise, applies only to this software file.  Patent licenses, if
+ * any, provided herein do not apply to combinations of this program with
+ * other software, or any other product whatsoever.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write the Free Software Foundation, Inc., 59
+ * Temple Place - Suite 330, Boston MA 02111-1307, USA.
+ *
+ * Contact information: Guglielmo Nigri <guglielmonigri@yahoo.it>
+ *
+ */
+
+package gleam.lang;
+
+/**
+ * Applies a procedure to the elements at each index of one or more vectors, in order, and
+ * optionally collects the results in a new vector. Each application schedules a new action for the
+ * next index, so that the action stays unchanged even if a continuation captured by the procedure
+ * is called more than once.
+ */
+public class VectorMapAction extends Action
+{
+
+    private static final long serialVersionUID = 1L;
+
+    private final Procedure procedure;
+    private final Vector[] vectors;
+
+    /** the number of elements to process */
+    private final int length;
+
+    /** the index of the element the procedure is being applied to */
+    private final int index;
+
+    /** the results so far, most recent first, or null if results are discarded */
+    private final List results;
+
+    private VectorMapAction(Procedure procedure,
+                            Vector[] vectors,
+                            int length,
+                            int index,
+                            List results,
+                            Environment env)
+    {
+        super(env);
+        this.procedure = procedure;
+        this.vectors = vectors;
+        this.length = length;
+        this.index = index;
+        this.results = results;
+    }
+
+    /**
+     * Starts the application of a procedure to the elements of vectors, up to the length of the
+     * shortest one.
+     *
+     * @param procedure the procedure
+     * @param vectors   the vectors
+     * @param collect   true to collect the results in a vector, false to discard them
+     * @param env       the environment
+     * @param cont      the current continuation
+     *
+     * @return the result, or null if the continuation has been updated
+     *
+     * @throws GleamException in case of errors
+     */
+    public static Entity start(Procedure procedure,
+                               Vector[] vectors,
+                               boolean collect,
+                               Environment env,
+                               Continuation cont) throws GleamException
+    {
+        int length = Integer.MAX_VALUE;
+        for (Vector v : vectors) {
+            length = Math.min(length, v.length());
+        }
+        if (length == 0) {
+            return collect ? new Vector(new Entity[0]) : Void.VALUE;
+        }
+        List results = collect ? EmptyList.VALUE : null;
+        return new VectorMapAction(procedure, vectors, length, 0, results, env).apply(cont);
+    }
+
+    /**
+     * Schedules this action, and applies the procedure to the elements at its index.
+     */
+    private Entity apply(Continuation cont) throws GleamException
+    {
+        Entity[] args = new Entity[vectors.length];
+        for (int i = 0; i < args.length; ++i) {
+            args[i] = vectors[i].get(index);
+        }
+        cont.push(this);
+        return procedure.apply(args, env, cont);
+    }
+
+    /**
+     * Receives the result of the procedure, and goes on with the next index.
+     *
+     * @param arg  the result of applying the procedure
+     * @param cont the current continuation
+     *
+     * @throws GleamException in case of errors
+     */
+    @Override
+    protected Entity invoke(Entity arg, Continuation cont) throws GleamException
+    {
+        List nextResults = results == null ? null : new Pair(arg, results);
+        int next = index + 1;
+        if (next < length) {
+            return new VectorMapAction(procedure, vectors, length, next, nextResults, env)
+                    .apply(cont);
+        }
+        if (nextResults == null) {
+            return Void.VALUE;
+        }
+        Entity[] elements = new Entity[length];
+        Entity e = nextResults;
+        for (int i = length - 1; i >= 0; --i) {
+            Pair p = (Pair) e;
+            elements[i] = p.getCar();
+            e = p.getCdr();
+        }
+        return new Vector(elements);
+    }
+}
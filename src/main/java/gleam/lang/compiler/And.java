@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2001-2023 Guglielmo Nigri.  All Rights Reserved.
+ * Copyright (c) 2023 Guglielmo Nigri.  All Rights Reserved.
  *
  * This program is free software; you can redistribute it and/or modify it
  * under the terms of version 2 of the GNU General Public License as
@@ -24,36 +24,36 @@
  *
  */
 
-package gleam.lang;
+package gleam.lang.compiler;
+
+import gleam.lang.Continuation;
+import gleam.lang.Entity;
+import gleam.lang.Environment;
+import gleam.lang.GleamException;
+import gleam.lang.List;
 
 /**
- * Obtain argument action.
- * <p>
- * When evaluated sets the n-th element in a given argument list.
+ * An <code>and</code> form. Evaluates to the first false value, or the value of the last expression.
  */
-public class ObtainArgumentAction extends Action
+public final class And extends Node
 {
 
-    private static final long serialVersionUID = 2L;
-
-    private final ArgumentList arglist;
+    private static final long serialVersionUID = 1L;
 
-    private final int argumentIndex;
+    private final List exprs;
 
-    public ObtainArgumentAction(ArgumentList arglist, int argumentIndex, Environment env)
+    public And(Entity source, List exprs)
     {
-        super(env);
-        this.arglist = arglist;
-        this.argumentIndex = argumentIndex;
+        super(source);
+        this.exprs = exprs;
     }
 
+    /**
+     * Evaluates the expressions from left to right.
+     */
     @Override
-    Entity invoke(Entity arg, Continuation cont)
-            throws GleamException
+    public Entity eval(Environment env, Continuation cont) throws GleamException
     {
-        // arg is already evaluated
-        arglist.set(argumentIndex, arg);
-        trace(out -> out.printf("[%s] <- %s\n", argumentIndex, arg.toWriteFormat()), env);
-        return arg;
+        return LogicalAction.evalNext(exprs, false, env, cont);
     }
 }
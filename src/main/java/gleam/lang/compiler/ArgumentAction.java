@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2023 Guglielmo Nigri.  All Rights Reserved.
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of version 2 of the GNU General Public License as
+ * published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it would be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Further, this software is distributed without any warranty that it is
+ * free of the rightful claim of any third person regarding infringement
+ * or the like.  Any license provided herein, whether implied or
+ * otherwise, applies only to this software file.  Patent licenses, if
+ * any, provided herein do not apply to combinations of this program with
+ * other software, or any other product whatsoever.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write the Free Software Foundation, Inc., 59
+ * Temple Place - Suite 330, Boston MA 02111-1307, USA.
+ *
+ * Contact information: Guglielmo Nigri <guglielmonigri@yahoo.it>
+ *
+ */
+
+package gleam.lang.compiler;
+
+import gleam.lang.Action;
+import gleam.lang.Continuation;
+import gleam.lang.Entity;
+import gleam.lang.Environment;
+import gleam.lang.ExpressionAction;
+import gleam.lang.GleamException;
+
+/**
+ * Stores an evaluated argument of a procedure call, then evaluates the operands that follow it.
+ * <p>
+ * Operands are evaluated directly into the argument array whenever possible, e.g., constants,
+ * variable references, or calls of primitives on them. Only when an operand cannot be evaluated
+ * directly, an action is scheduled to evaluate it, followed by an ArgumentAction to resume with
+ * the remaining operands.
+ *
+ * @see Node#evalDirect(Environment, Continuation, int)
+ */
+public class ArgumentAction extends Action
+{
+
+    private static final long serialVersionUID = 1L;
+
+    private final Entity[] operands;
+
+    private final Entity[] args;
+
+    private final int index;
+
+    private ArgumentAction(Entity[] operands, Entity[] args, int index, Environment env)
+    {
+        super(env, ARGUMENT);
+        this.operands = operands;
+        this.args = args;
+        this.index = index;
+    }
+
+    /**
+     * Evaluates directly some operands, from left to right, into an array, as long as possible.
+     * The remaining ones can then be scheduled with
+     * {@link #scheduleOperands(Entity[], Entity[], int, Environment, Continuation)}.
+     *
+     * @param operands the operands
+     * @param args     the array receiving the values, at the same indexes as the operands
+     * @param start    the index of the first operand to evaluate
+     * @param env      the environment in which the operands are evaluated
+     * @param cont     the current Continuation, which is not modified
+     *
+     * @return the index of the first operand that could not be evaluated, or the number of
+     * operands
+     *
+     * @throws GleamException in case of errors evaluating an operand
+     */
+    public static int evalDirectOperands(Entity[] operands,
+                                         Entity[] args,
+                                         int start,
+                                         Environment env,
+                                         Continuation cont) throws GleamException
+    {
+        int i = start;
+        while (i < operands.length) {
+            Entity value = Node.evalDirect(operands[i], env, cont, 0);
+            if (value == null) {
+                break;
+            }
+            args[i] = value;
+            ++i;
+        }
+        return i;
+    }
+
+    /**
+     * Schedules the evaluation of the operands starting from a given one, if any, into an array.
+     * The actions using the values must have been scheduled already.
+     *
+     * @param operands the operands
+     * @param args     the array receiving the values, at the same indexes as the operands
+     * @param index    the index of the first operand to evaluate
+     * @param env      the environment in which the operands are evaluated
+     * @param cont     the current Continuation
+     */
+    public static void scheduleOperands(Entity[] operands,
+                                        Entity[] args,
+                                        int index,
+                                        Environment env,
+                                        Continuation cont)
+    {
+        if (index < operands.length) {
+            cont.push(new ArgumentAction(operands, args, index, env));
+            cont.push(new ExpressionAction(operands[index], env));
+        }
+    }
+
+    /**
+     * Invokes this action, storing its argument and evaluating the operands that follow. The
+     * first of them that cannot be evaluated directly is scheduled next, followed by a new
+     * ArgumentAction.
+     *
+     * @param arg  the evaluated argument
+     * @param cont the current Continuation
+     *
+     * @return the argument
+     *
+     * @throws GleamException in case of errors evaluating an operand directly
+     */
+    @Override
+    protected Entity invoke(Entity arg, Continuation cont) throws GleamException
+    {
+        args[index] = arg;
+        trace(out -> out.printf("[%s] <- %s\n", index, arg.toWriteFormat()), env);
+        int i = evalDirectOperands(operands, args, index + 1, env, cont);
+        scheduleOperands(operands, args, i, env, cont);
+        return arg;
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2023 Guglielmo Nigri.  All Rights Reserved.
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of version 2 of the GNU General Public License as
+ * published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it would be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Further, this software is distributed without any warranty that it is
+ * free of the rightful claim of any third person regarding infringement
+ * or the like.  Any license provided herein, whether implied or
+ * otherwise, applies only to this software file.  Patent licenses, if
+ * any, provided herein do not apply to combinations of this program with
+ * other software, or any other product whatsoever.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write the Free Software Foundation, Inc., 59
+ * Temple Place - Suite 330, Boston MA 02111-1307, USA.
+ *
+ * Contact information: Guglielmo Nigri <guglielmonigri@yahoo.it>
+ *
+ */
+
+package gleam.lang.compiler;
+
+import gleam.lang.Action;
+import gleam.lang.Continuation;
+import gleam.lang.Entity;
+import gleam.lang.Environment;
+import gleam.lang.GleamException;
+import gleam.lang.Void;
+
+/**
+ * Assigns a value to a compiled variable reference.
+ *
+ * @see Assignment
+ */
+public class AssignAction extends Action
+{
+
+    private static final long serialVersionUID = 1L;
+
+    private final Variable variable;
+
+    public AssignAction(Variable variable, Environment env)
+    {
+        super(env);
+        this.variable = variable;
+    }
+
+    /**
+     * Invokes this action, assigning its argument to the variable.
+     *
+     * @param arg  the value to assign
+     * @param cont the current Continuation
+     *
+     * @return the <code>Void</code> singleton
+     *
+     * @throws GleamException if the variable is unbound
+     */
+    @Override
+    protected Entity invoke(Entity arg, Continuation cont) throws GleamException
+    {
+        variable.assign(env, arg);
+        trace(out -> out.printf("%s <- %s\n",
+                                variable.toWriteFormat(),
+                                arg.toWriteFormat()), env);
+        return Void.VALUE;
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2023 Guglielmo Nigri.  All Rights Reserved.
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of version 2 of the GNU General Public License as
+ * published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it would be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Further, this software is distributed without any warranty that it is
+ * free of the rightful claim of any third person regarding infringement
+ * or the like.  Any license provided herein, whether implied or
+ * otherwise, applies only to this software file.  Patent licenses, if
+ * any, provided herein do not apply to combinations of this program with
+ * other software, or any other product whatsoever.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write the Free Software Foundation, Inc., 59
+ * Temple Place - Suite 330, Boston MA 02111-1307, USA.
+ *
+ * Contact information: Guglielmo Nigri <guglielmonigri@yahoo.it>
+ *
+ */
+
+package gleam.lang.compiler;
+
+import gleam.lang.Continuation;
+import gleam.lang.Entity;
+import gleam.lang.Environment;
+import gleam.lang.ExpressionAction;
+import gleam.lang.GleamException;
+import gleam.lang.Location;
+import gleam.lang.PrimitiveProcedure;
+import gleam.lang.Symbol;
+import gleam.lang.SyntaxObject;
+
+import static gleam.library.Arguments.requireProcedure;
+
+/**
+ * A procedure call with N arguments.
+ * <p>
+ * The arguments are evaluated from left to right, then the operator is evaluated and applied to
+ * them.
+ */
+public final class Call extends Node
+{
+
+    private static final long serialVersionUID = 1L;
+
+    private final Entity operator;
+    private final Entity[] operands;
+
+    /** true if the operator is a variable, and all the operands may be evaluated directly */
+    private final boolean direct;
+
+    public Call(Entity source, Entity operator, Entity[] operands)
+    {
+        super(source);
+        this.operator = operator;
+        this.operands = operands;
+        this.direct = isVariable(operator) && areDirect(operands);
+    }
+
+    /**
+     * Evaluates this procedure call.
+     * <p>
+     * If the operator is a global variable, its Location is resolved when the call starts, so that
+     * the procedure is fetched from it directly when the arguments are ready. Operands are
+     * evaluated directly as long as possible: if all of them are, the procedure is called at once.
+     */
+    @Override
+    public Entity eval(Environment env, Continuation cont) throws GleamException
+    {
+        Location location = null;
+        if (operator instanceof GlobalRef) {
+            location = ((GlobalRef) operator).locate(env);
+        }
+        else if (operator instanceof Location) {
+            location = (Location) operator;
+        }
+        if (location != null ? location.get() instanceof SyntaxObject : isSyntax(operator, env)) {
+            // the operator has been bound to syntax since compilation
+            return source.eval(env, cont);
+        }
+
+        Entity[] args = new Entity[operands.length];
+        int i = ArgumentAction.evalDirectOperands(operands, args, 0, env, cont);
+        if (i == operands.length) {
+            // all the operands have been evaluated, so the procedure can be called right away
+            Entity procedure = location != null
+                               ? location.get()
+                               : evalDirect(operator, env, cont, 0);
+            if (procedure != null) {
+                return requireProcedure("procedure call", procedure).apply(args, env, cont);
+            }
+        }
+        if (location != null) {
+            cont.push(new CallAction(location, args, env));
+        }
+        else {
+            cont.push(new CallAction(args, env));
+            cont.push(new ExpressionAction(operator, env));
+        }
+        ArgumentAction.scheduleOperands(operands, args, i, env, cont);
+
+        return null;
+    }
+
+    @Override
+    boolean isDirect()
+    {
+        return direct;
+    }
+
+    /**
+     * Evaluates this procedure call directly, if the operator is bound to a pure primitive, and
+     * all the operands can be evaluated directly, too.
+     * <p>
+     * The procedure is checked before evaluating the operands, so as to give up early. This is
+     * only done at run time, since the binding of a variable may change after compilation.
+     *
+     * @see PrimitiveProcedure#isPure()
+     */
+    @Override
+    Entity evalDirect(Environment env, Continuation cont, int depth) throws GleamException
+    {
+        if (!direct || depth > MAX_DIRECT_DEPTH) {
+            return null;
+        }
+        Entity procedure;
+        if (operator instanceof GlobalRef) {
+            Location location = ((GlobalRef) operator).locate(env);
+            procedure = location != null ? location.get() : null;
+        }
+        else {
+            procedure = operator.eval(env, cont);
+        }
+        if (!(procedure instanceof PrimitiveProcedure) || !((PrimitiveProcedure) procedure).isPure()) {
+            return null;
+        }
+        Entity[] args = new Entity[operands.length];
+        for (int i = 0; i < operands.length; ++i) {
+            Entity value = evalDirect(operands[i], env, cont, depth + 1);
+            if (value == null) {
+                return null;
+            }
+            args[i] = value;
+        }
+        return ((PrimitiveProcedure) procedure).apply(args, env, cont);
+    }
+
+    private static boolean isVariable(Entity operator)
+    {
+        return operator instanceof GlobalRef ||
+               operator instanceof LocalRef ||
+               operator instanceof Location;
+    }
+
+    private static boolean areDirect(Entity[] operands)
+    {
+        for (Entity operand : operands) {
+            if (!isDirect(operand)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSyntax(Entity operator, Environment env) throws GleamException
+    {
+        if (operator instanceof Symbol) {
+            return env.lookup((Symbol) operator) instanceof SyntaxObject;
+        }
+        if (operator instanceof GlobalRef) {
+            return env.lookup(((GlobalRef) operator).getSymbol()) instanceof SyntaxObject;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2023 Guglielmo Nigri.  All Rights Reserved.
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of version 2 of the GNU General Public License as
+ * published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it would be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Further, this software is distributed without any warranty that it is
+ * free of the rightful claim of any third person regarding infringement
+ * or the like.  Any license provided herein, whether implied or
+ * otherwise, applies only to this software file.  Patent licenses, if
+ * any, provided herein do not apply to combinations of this program with
+ * other software, or any other product whatsoever.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write the Free Software Foundation, Inc., 59
+ * Temple Place - Suite 330, Boston MA 02111-1307, USA.
+ *
+ * Contact information: Guglielmo Nigri <guglielmonigri@yahoo.it>
+ *
+ */
+
+package gleam.lang.compiler;
+
+import gleam.lang.Action;
+import gleam.lang.Continuation;
+import gleam.lang.Entity;
+import gleam.lang.Environment;
+import gleam.lang.GleamException;
+import gleam.lang.Location;
+import gleam.lang.Procedure;
+
+import static gleam.library.Arguments.requireProcedure;
+
+/**
+ * Applies a procedure to the evaluated arguments of a procedure call.
+ */
+public class CallAction extends Action
+{
+
+    private static final long serialVersionUID = 1L;
+
+    /** the Location of the procedure to call, or null to call the argument */
+    private final Location location;
+
+    private final Entity[] args;
+
+    public CallAction(Entity[] args, Environment env)
+    {
+        this(null, args, env);
+    }
+
+    public CallAction(Location location, Entity[] args, Environment env)
+    {
+        super(env, CALL);
+        this.location = location;
+        this.args = args;
+    }
+
+    /**
+     * Invokes this action, calling the procedure passed as argument, or the one in the Location.
+     *
+     * @param arg  the operator to call, if there is no Location
+     * @param cont the current Continuation
+     *
+     * @throws GleamException in case of errors
+     */
+    @Override
+    protected Entity invoke(Entity arg, Continuation cont) throws GleamException
+    {
+        Entity operator = location == null ? arg : location.get();
+        Procedure procedure = requireProcedure("procedure call", operator);
+        trace(out -> out.printf("%s\n", operator.toWriteFormat()), env);
+        return procedure.apply(args, env, cont);
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2023 Guglielmo Nigri.  All Rights Reserved.
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of version 2 of the GNU General Public License as
+ * published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it would be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Further, this software is distributed without any warranty that it is
+ * free of the rightful claim of any third person regarding infringement
+ * or the like.  Any license provided herein, whether implied or
+ * otherwise, applies only to this software file.  Patent licenses, if
+ * any, provided herein do not apply to combinations of this program with
+ * other software, or any other product whatsoever.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write the Free Software Foundation, Inc., 59
+ * Temple Place - Suite 330, Boston MA 02111-1307, USA.
+ *
+ * Contact information: Guglielmo Nigri <guglielmonigri@yahoo.it>
+ *
+ */
+
+package gleam.lang.compiler;
+
+import gleam.lang.Continuation;
+import gleam.lang.Entity;
+import gleam.lang.Environment;
+import gleam.lang.ExpressionAction;
+import gleam.lang.List;
+
+/**
+ * A <code>case</code> form.
+ * <p>
+ * The key is evaluated, then the first clause whose data contain a value equivalent to the key (in
+ * the sense of <code>eqv?</code>) is selected.
+ */
+public final class Case extends Node
+{
+
+    private static final long serialVersionUID = 1L;
+
+    private final Entity key;
+
+    /** the clauses; the test of each one is the list of its data */
+    private final Cond.Clause[] clauses;
+
+    public Case(Entity source, Entity key, Cond.Clause[] clauses)
+    {
+        super(source);
+        this.key = key;
+        this.clauses = clauses;
+    }
+
+    /**
+     * Evaluates the key, then selects a clause.
+     */
+    @Override
+    public Entity eval(Environment env, Continuation cont)
+    {
+        cont.push(new CaseAction(clauses, env));
+        cont.push(new ExpressionAction(key, env));
+
+        return null;
+    }
+
+    /**
+     * Finds the clause matching a key.
+     *
+     * @return the selected clause, or null if no clause applies
+     */
+    static Cond.Clause selectClause(Cond.Clause[] clauses, Entity key)
+    {
+        for (Cond.Clause clause : clauses) {
+            if (clause.test == null) {
+                // else clause
+                return clause;
+            }
+            for (Entity datum : (List) clause.test) {
+                if (datum.equals(key)) {
+                    return clause;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2023 Guglielmo Nigri.  All Rights Reserved.
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of version 2 of the GNU General Public License as
+ * published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it would be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Further, this software is distributed without any warranty that it is
+ * free of the rightful claim of any third person regarding infringement
+ * or the like.  Any license provided herein, whether implied or
+ * otherwise, applies only to this software file.  Patent licenses, if
+ * any, provided herein do not apply to combinations of this program with
+ * other software, or any other product whatsoever.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write the Free Software Foundation, Inc., 59
+ * Temple Place - Suite 330, Boston MA 02111-1307, USA.
+ *
+ * Contact information: Guglielmo Nigri <guglielmonigri@yahoo.it>
+ *
+ */
+
+package gleam.lang.compiler;
+
+import gleam.lang.Action;
+import gleam.lang.Continuation;
+import gleam.lang.Entity;
+import gleam.lang.Environment;
+import gleam.lang.Void;
+
+/**
+ * Selects a clause of a <code>case</code> form, depending on the value of its key.
+ *
+ * @see Case
+ */
+public class CaseAction extends Action
+{
+
+    private static final long serialVersionUID = 1L;
+
+    private final Cond.Clause[] clauses;
+
+    public CaseAction(Cond.Clause[] clauses, Environment env)
+    {
+        super(env);
+        this.clauses = clauses;
+    }
+
+    /**
+     * Invokes this action, evaluating the clause that matches the key.
+     *
+     * @param arg  the value of the key
+     * @param cont the current Continuation
+     *
+     * @return the value of the form, or null if only the continuation has been updated
+     */
+    @Override
+    protected Entity invoke(Entity arg, Continuation cont)
+    {
+        trace(out -> out.printf("%s\n", arg.toWriteFormat()), env);
+        Cond.Clause clause = Case.selectClause(clauses, arg);
+        if (clause == null) {
+            return Void.VALUE;
+        }
+        return clause.select(arg, env, cont);
+    }
+}
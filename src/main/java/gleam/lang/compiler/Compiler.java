@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2023 Guglielmo Nigri.  All Rights Reserved.
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of version 2 of the GNU General Public License as
+ * published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it would be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Further, this software is distributed without any warranty that it is
+ * free of the rightful claim of any third person regarding infringement
+ * or the like.  Any license provided herein, whether implied or
+ * otherwise, applies only to this software file.  Patent licenses, if
+ * any, provided herein do not apply to combinations of this program with
+ * other software, or any other product whatsoever.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write the Free Software Foundation, Inc., 59
+ * Temple Place - Suite 330, Boston MA 02111-1307, USA.
+ *
+ * Contact information: Guglielmo Nigri <guglielmonigri@yahoo.it>
+ *
+ */
+
+package gleam.lang.compiler;
+
+import gleam.lang.Entity;
+import gleam.lang.Environment;
+import gleam.lang.GleamException;
+
+/**
+ * The Gleam compiler.
+ * <p>
+ * Compilation turns an expression into a tree of executable nodes, in two steps. First, syntax
+ * analysis checks the special forms. Then environment optimization resolves variables, either to
+ * their lexical address in a procedure frame ({@link LocalRef}) or to a reference caching their
+ * global {@link gleam.lang.Location} ({@link GlobalRef}), and replaces the forms it knows with specialized nodes: constants
+ * ({@link Constant}), conditionals ({@link If}), sequences ({@link Sequence}), procedure calls
+ * ({@link Call}) and lambda expressions ({@link gleam.lang.Lambda}).
+ * <p>
+ * Nodes are entities, so a compiled tree can contain forms that were left uncompiled, such as the
+ * calls to syntax rewriters, and evaluating it goes through the usual action/continuation
+ * trampoline of the interpreter. Therefore, continuations can be captured anywhere.
+ */
+public final class Compiler
+{
+
+    /** Can't instantiate this class. */
+    private Compiler() {}
+
+    /**
+     * Compiles an expression, to be evaluated in a given environment.
+     *
+     * @param expr the expression
+     * @param env  the environment of evaluation
+     *
+     * @return the compiled expression
+     *
+     * @throws GleamException in case of syntax errors
+     */
+    public static Entity compile(Entity expr, Environment env) throws GleamException
+    {
+        return expr.analyze(env).optimize(env);
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2023 Guglielmo Nigri.  All Rights Reserved.
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of version 2 of the GNU General Public License as
+ * published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it would be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Further, this software is distributed without any warranty that it is
+ * free of the rightful claim of any third person regarding infringement
+ * or the like.  Any license provided herein, whether implied or
+ * otherwise, applies only to this software file.  Patent licenses, if
+ * any, provided herein do not apply to combinations of this program with
+ * other software, or any other product whatsoever.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write the Free Software Foundation, Inc., 59
+ * Temple Place - Suite 330, Boston MA 02111-1307, USA.
+ *
+ * Contact information: Guglielmo Nigri <guglielmonigri@yahoo.it>
+ *
+ */
+
+package gleam.lang.compiler;
+
+import gleam.lang.Continuation;
+import gleam.lang.EmptyList;
+import gleam.lang.Entity;
+import gleam.lang.Environment;
+import gleam.lang.ExpressionAction;
+import gleam.lang.List;
+
+import java.io.Serializable;
+
+/**
+ * A <code>cond</code> form.
+ * <p>
+ * The tests of the clauses are evaluated in order, until one of them yields a true value; then the
+ * body of the clause is evaluated, or its recipient is called with the value of the test.
+ */
+public final class Cond extends Node
+{
+
+    private static final long serialVersionUID = 1L;
+
+    private final Clause[] clauses;
+
+    public Cond(Entity source, Clause[] clauses)
+    {
+        super(source);
+        this.clauses = clauses;
+    }
+
+    /**
+     * Evaluates the clauses.
+     */
+    @Override
+    public Entity eval(Environment env, Continuation cont)
+    {
+        return evalClause(clauses, 0, env, cont);
+    }
+
+    /**
+     * Evaluates the clauses, starting from a given one.
+     *
+     * @return the value of the form, or null if only the continuation has been updated
+     */
+    static Entity evalClause(Clause[] clauses, int index, Environment env, Continuation cont)
+    {
+        if (index == clauses.length) {
+            // no clause applies
+            return EmptyList.VALUE;
+        }
+        Clause clause = clauses[index];
+        if (clause.test == null) {
+            // else clause
+            return clause.select(null, env, cont);
+        }
+        cont.push(new CondAction(clauses, index, env));
+        cont.push(new ExpressionAction(clause.test, env));
+
+        return null;
+    }
+
+    /**
+     * A clause of a <code>cond</code> or <code>case</code> form.
+     */
+    public static final class Clause implements Serializable
+    {
+        private static final long serialVersionUID = 1L;
+
+        /** the test, or null for an <code>else</code> clause */
+        final Entity test;
+
+        /** the expressions of the clause body, possibly empty */
+        final List body;
+
+        /** the recipient of a <code>=&gt;</code> clause, or null */
+        final Entity recipient;
+
+        public Clause(Entity test, List body, Entity recipient)
+        {
+            this.test = test;
+            this.body = body;
+            this.recipient = recipient;
+        }
+
+        /**
+         * Evaluates this clause, once it has been selected.
+         *
+         * @param value the value of the test, or the key of a <code>case</code> form
+         * @param env   the environment
+         * @param cont  the current Continuation
+         *
+         * @return the value of the form, or null if only the continuation has been updated
+         */
+        Entity select(Entity value, Environment env, Continuation cont)
+        {
+            if (recipient != null) {
+                cont.push(new CallAction(new Entity[]{value}, env));
+                cont.push(new ExpressionAction(recipient, env));
+                return null;
+            }
+            if (body == EmptyList.VALUE) {
+                return value;
+            }
+            cont.addCommandSequence(body, env);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2023 Guglielmo Nigri.  All Rights Reserved.
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of version 2 of the GNU General Public License as
+ * published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it would be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Further, this software is distributed without any warranty that it is
+ * free of the rightful claim of any third person regarding infringement
+ * or the like.  Any license provided herein, whether implied or
+ * otherwise, applies only to this software file.  Patent licenses, if
+ * any, provided herein do not apply to combinations of this program with
+ * other software, or any other product whatsoever.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write the Free Software Foundation, Inc., 59
+ * Temple Place - Suite 330, Boston MA 02111-1307, USA.
+ *
+ * Contact information: Guglielmo Nigri <guglielmonigri@yahoo.it>
+ *
+ */
+
+package gleam.lang.compiler;
+
+import gleam.lang.Continuation;
+import gleam.lang.Entity;
+import gleam.lang.Environment;
+
+/**
+ * A constant, e.g., a quoted datum.
+ */
+public final class Constant extends Node
+{
+
+    private static final long serialVersionUID = 1L;
+
+    private final Entity value;
+
+    public Constant(Entity source, Entity value)
+    {
+        super(source);
+        this.value = value;
+    }
+
+    /**
+     * Gives the value of this constant.
+     */
+    @Override
+    public Entity eval(Environment env, Continuation cont)
+    {
+        return value;
+    }
+
+    @Override
+    boolean isDirect()
+    {
+        return true;
+    }
+
+    @Override
+    Entity evalDirect(Environment env, Continuation cont, int depth)
+    {
+        return eval(env, cont);
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2023 Guglielmo Nigri.  All Rights Reserved.
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of version 2 of the GNU General Public License as
+ * published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it would be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Further, this software is distributed without any warranty that it is
+ * free of the rightful claim of any third person regarding infringement
+ * or the like.  Any license provided herein, whether implied or
+ * otherwise, applies only to this software file.  Patent licenses, if
+ * any, provided herein do not apply to combinations of this program with
+ * other software, or any other product whatsoever.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write the Free Software Foundation, Inc., 59
+ * Temple Place - Suite 330, Boston MA 02111-1307, USA.
+ *
+ * Contact information: Guglielmo Nigri <guglielmonigri@yahoo.it>
+ *
+ */
+
+package gleam.lang.compiler;
+
+import gleam.lang.Boolean;
+import gleam.lang.Continuation;
+import gleam.lang.EmptyList;
+import gleam.lang.Entity;
+import gleam.lang.Environment;
+import gleam.lang.ExpressionAction;
+import gleam.lang.GleamException;
+import gleam.lang.List;
+import gleam.lang.LocalEnvironment;
+import gleam.lang.Symbol;
+import gleam.lang.Void;
+
+/**
+ * A <code>do</code> iteration form.
+ * <p>
+ * Each iteration binds the variables in a new frame, whose slots are filled by the step
+ * expressions evaluated in the frame of the previous iteration. No procedure is created.
+ */
+public final class Do extends Node
+{
+
+    private static final long serialVersionUID = 1L;
+
+    /** the frame layout, i.e., the variables */
+    private final Symbol[] names;
+
+    private final Entity[] inits;
+
+    /** the step expressions; a variable with no step keeps its value */
+    private final Entity[] steps;
+
+    private final Entity test;
+
+    private final List result;
+
+    private final List commands;
+
+    public Do(Entity source,
+              Symbol[] names,
+              Entity[] inits,
+              Entity[] steps,
+              Entity test,
+              List result,
+              List commands)
+    {
+        super(source);
+        this.names = names;
+        this.inits = inits;
+        this.steps = steps.clone();
+        for (int i = 0; i < steps.length; ++i) {
+            if (this.steps[i] == null) {
+                this.steps[i] = new LocalRef(names[i], 0, i);
+            }
+        }
+        this.test = test;
+        this.result = result;
+        this.commands = commands;
+    }
+
+    /**
+     * Binds the variables to their initial values, then starts the iteration.
+     */
+    @Override
+    public Entity eval(Environment env, Continuation cont) throws GleamException
+    {
+        Entity[] slots = new Entity[names.length];
+        LocalEnvironment frame = new LocalEnvironment(names, slots, env);
+        int i = ArgumentAction.evalDirectOperands(inits, slots, 0, env, cont);
+        cont.push(new DoAction(this, frame, false));
+        cont.push(new ExpressionAction(test, frame));
+        ArgumentAction.scheduleOperands(inits, slots, i, env, cont);
+
+        return null;
+    }
+
+    /**
+     * Performs an iteration, depending on the value of the test: either executes the commands
+     * and steps the variables, or ends the iteration.
+     *
+     * @param frame     the frame of the current iteration
+     * @param testValue the value of the test in the current iteration
+     * @param cont      the current Continuation
+     *
+     * @return the value of the form, or null if only the continuation has been updated
+     *
+     * @throws GleamException in case of errors
+     */
+    Entity iterate(LocalEnvironment frame, Entity testValue, Continuation cont)
+            throws GleamException
+    {
+        if (testValue != Boolean.falseValue) {
+            if (result == EmptyList.VALUE) {
+                return Void.VALUE;
+            }
+            cont.addCommandSequence(result, frame);
+            return null;
+        }
+        if (commands == EmptyList.VALUE) {
+            return step(frame, cont);
+        }
+
+        cont.push(new DoAction(this, frame, true));
+        cont.addCommandSequence(commands, frame);
+
+        return null;
+    }
+
+    /**
+     * Binds the variables to the values of the step expressions in a new frame, then evaluates
+     * the test.
+     *
+     * @param frame the frame of the current iteration
+     * @param cont  the current Continuation
+     *
+     * @return null, since only the continuation has been updated
+     *
+     * @throws GleamException in case of errors
+     */
+    Entity step(LocalEnvironment frame, Continuation cont) throws GleamException
+    {
+        Entity[] slots = new Entity[names.length];
+        LocalEnvironment next = new LocalEnvironment(names, slots, frame.getParent());
+        int i = ArgumentAction.evalDirectOperands(steps, slots, 0, frame, cont);
+        cont.push(new DoAction(this, next, false));
+        cont.push(new ExpressionAction(test, next));
+        ArgumentAction.scheduleOperands(steps, slots, i, frame, cont);
+
+        return null;
+    }
+}
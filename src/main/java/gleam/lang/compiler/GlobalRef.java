@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2023 Guglielmo Nigri.  All Rights Reserved.
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of version 2 of the GNU General Public License as
+ * published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it would be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Further, this software is distributed without any warranty that it is
+ * free of the rightful claim of any third person regarding infringement
+ * or the like.  Any license provided herein, whether implied or
+ * otherwise, applies only to this software file.  Patent licenses, if
+ * any, provided herein do not apply to combinations of this program with
+ * other software, or any other product whatsoever.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write the Free Software Foundation, Inc., 59
+ * Temple Place - Suite 330, Boston MA 02111-1307, USA.
+ *
+ * Contact information: Guglielmo Nigri <guglielmonigri@yahoo.it>
+ *
+ */
+
+package gleam.lang.compiler;
+
+import gleam.lang.Continuation;
+import gleam.lang.Entity;
+import gleam.lang.Environment;
+import gleam.lang.GleamException;
+import gleam.lang.Location;
+import gleam.lang.Symbol;
+
+/**
+ * A reference to a variable that is not local to the enclosing procedures, e.g., a global
+ * variable, resolved at run time.
+ * <p>
+ * Each reference is an <i>inline cache</i>: it remembers the Location it resolved to, together
+ * with the environment it was resolved in, the environment the variable is bound in, and the
+ * binding generation of the environments from the former to the latter. As long as no binding is
+ * added to or removed from any of these, which could shadow the cached one, subsequent evaluations
+ * in the same environment just fetch the value from the Location. Bindings made elsewhere, e.g.,
+ * in other sessions, do not affect the cache.
+ *
+ * @see Environment#getGeneration(Environment)
+ */
+public final class GlobalRef extends Node implements Variable
+{
+
+    private static final long serialVersionUID = 1L;
+
+    /** the cached resolution, or null */
+    private transient Resolution resolution;
+
+    public GlobalRef(Symbol symbol)
+    {
+        super(symbol);
+    }
+
+    /**
+     * Evaluates this variable, by fetching the content of its Location.
+     */
+    @Override
+    public Entity eval(Environment env, Continuation cont) throws GleamException
+    {
+        Location location = locate(env);
+        if (location == null) {
+            return env.lookup(getSymbol());
+        }
+        return location.get();
+    }
+
+    @Override
+    boolean isDirect()
+    {
+        return true;
+    }
+
+    @Override
+    Entity evalDirect(Environment env, Continuation cont, int depth) throws GleamException
+    {
+        return eval(env, cont);
+    }
+
+    /**
+     * Assigns a new value to this variable.
+     */
+    @Override
+    public void assign(Environment env, Entity value) throws GleamException
+    {
+        Location location = locate(env);
+        if (location == null) {
+            env.assign(getSymbol(), value);
+        }
+        else {
+            location.set(value);
+        }
+    }
+
+    /**
+     * Finds the Location of this variable, using the cached one if still valid.
+     *
+     * @param env the current environment
+     *
+     * @return the Location, or null if the variable is unbound, or it can only be found by name
+     */
+    public Location locate(Environment env)
+    {
+        Environment scope = env.getGlobalScope();
+        if (scope == null) {
+            return null;
+        }
+        Resolution cached = resolution;
+        if (cached != null && cached.scope == scope
+            && cached.generation == scope.getGeneration(cached.owner)) {
+            return cached.location;
+        }
+        Symbol symbol = getSymbol();
+        Environment owner = scope.getBindingEnvironmentOrNull(symbol);
+        if (owner == null) {
+            return null;
+        }
+        int generation = scope.getGeneration(owner);
+        Location location = owner.getLocationOrNull(symbol);
+        if (location != null && owner == scope.getBindingEnvironmentOrNull(symbol)) {
+            // no binding shadowed it while resolving
+            resolution = new Resolution(scope, owner, generation, location);
+        }
+        return location;
+    }
+
+    /**
+     * Gets the variable name.
+     */
+    public Symbol getSymbol()
+    {
+        return (Symbol) source;
+    }
+
+    /**
+     * The Location a variable resolved to. Instances are immutable, so that they can be shared
+     * between threads safely.
+     */
+    private static final class Resolution
+    {
+        final Environment scope;
+        final Environment owner;
+        final int generation;
+        final Location location;
+
+        Resolution(Environment scope, Environment owner, int generation, Location location)
+        {
+            this.scope = scope;
+            this.owner = owner;
+            this.generation = generation;
+            this.location = location;
+        }
+    }
+}
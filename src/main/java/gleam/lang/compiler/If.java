@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2023 Guglielmo Nigri.  All Rights Reserved.
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of version 2 of the GNU General Public License as
+ * published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it would be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Further, this software is distributed without any warranty that it is
+ * free of the rightful claim of any third person regarding infringement
+ * or the like.  Any license provided herein, whether implied or
+ * otherwise, applies only to this software file.  Patent licenses, if
+ * any, provided herein do not apply to combinations of this program with
+ * other software, or any other product whatsoever.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write the Free Software Foundation, Inc., 59
+ * Temple Place - Suite 330, Boston MA 02111-1307, USA.
+ *
+ * Contact information: Guglielmo Nigri <guglielmonigri@yahoo.it>
+ *
+ */
+
+package gleam.lang.compiler;
+
+import gleam.lang.Continuation;
+import gleam.lang.Entity;
+import gleam.lang.Environment;
+import gleam.lang.Boolean;
+import gleam.lang.ExpressionAction;
+import gleam.lang.GleamException;
+import gleam.lang.IfAction;
+
+/**
+ * A conditional expression.
+ */
+public final class If extends Node
+{
+
+    private static final long serialVersionUID = 1L;
+
+    private final Entity test;
+    private final Entity consequent;
+    private final Entity alternate;
+
+    public If(Entity source, Entity test, Entity consequent, Entity alternate)
+    {
+        super(source);
+        this.test = test;
+        this.consequent = consequent;
+        this.alternate = alternate;
+    }
+
+    /**
+     * Evaluates the test, then the consequent or the alternate. If the test can be evaluated
+     * directly, the chosen branch is evaluated right away.
+     */
+    @Override
+    public Entity eval(Environment env, Continuation cont) throws GleamException
+    {
+        Entity value = evalDirect(test, env, cont, 0);
+        if (value != null) {
+            return (value != Boolean.falseValue ? consequent : alternate).eval(env, cont);
+        }
+        cont.push(new IfAction(consequent, alternate, env));
+        cont.push(new ExpressionAction(test, env));
+
+        return null;
+    }
+
+    @Override
+    boolean isDirect()
+    {
+        return isDirect(test) && isDirect(consequent) && isDirect(alternate);
+    }
+
+    @Override
+    Entity evalDirect(Environment env, Continuation cont, int depth) throws GleamException
+    {
+        if (depth > MAX_DIRECT_DEPTH) {
+            return null;
+        }
+        Entity value = evalDirect(test, env, cont, depth + 1);
+        if (value == null) {
+            return null;
+        }
+        return evalDirect(value != Boolean.falseValue ? consequent : alternate, env, cont, depth + 1);
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2023 Guglielmo Nigri.  All Rights Reserved.
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of version 2 of the GNU General Public License as
+ * published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it would be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Further, this software is distributed without any warranty that it is
+ * free of the rightful claim of any third person regarding infringement
+ * or the like.  Any license provided herein, whether implied or
+ * otherwise, applies only to this software file.  Patent licenses, if
+ * any, provided herein do not apply to combinations of this program with
+ * other software, or any other product whatsoever.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write the Free Software Foundation, Inc., 59
+ * Temple Place - Suite 330, Boston MA 02111-1307, USA.
+ *
+ * Contact information: Guglielmo Nigri <guglielmonigri@yahoo.it>
+ *
+ */
+
+package gleam.lang.compiler;
+
+import gleam.lang.Continuation;
+import gleam.lang.Entity;
+import gleam.lang.Environment;
+import gleam.lang.GleamException;
+import gleam.lang.List;
+import gleam.lang.LocalEnvironment;
+import gleam.lang.Symbol;
+
+/**
+ * A block of local bindings: <code>let</code>, <code>let*</code> or <code>letrec</code>.
+ * <p>
+ * The bindings are made in a single new frame, without creating any procedure. For
+ * <code>let</code>, the initial values are evaluated in the enclosing environment; for
+ * <code>let*</code> and <code>letrec</code>, they are evaluated in the new frame, in order, each
+ * one seeing the variables already bound.
+ */
+public final class Let extends Node
+{
+
+    private static final long serialVersionUID = 1L;
+
+    /** the frame layout: the variables, possibly followed by internal definitions */
+    private final Symbol[] names;
+
+    /** the initial values of the variables */
+    private final Entity[] inits;
+
+    /** true if the initial values are evaluated in the new frame */
+    private final boolean sequential;
+
+    private final List body;
+
+    public Let(Entity source, Symbol[] names, Entity[] inits, boolean sequential, List body)
+    {
+        super(source);
+        this.names = names;
+        this.inits = inits;
+        this.sequential = sequential;
+        this.body = body;
+    }
+
+    /**
+     * Binds the variables, then evaluates the body.
+     */
+    @Override
+    public Entity eval(Environment env, Continuation cont) throws GleamException
+    {
+        Entity[] slots = new Entity[names.length];
+        LocalEnvironment frame = new LocalEnvironment(names, slots, env);
+        // the variables take the first slots, then come the internal definitions, if any
+        Environment initEnv = sequential ? frame : env;
+        int i = ArgumentAction.evalDirectOperands(inits, slots, 0, initEnv, cont);
+        cont.addCommandSequence(body, frame);
+        ArgumentAction.scheduleOperands(inits, slots, i, initEnv, cont);
+
+        return null;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2023 Guglielmo Nigri.  All Rights Reserved.
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of version 2 of the GNU General Public License as
+ * published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it would be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Further, this software is distributed without any warranty that it is
+ * free of the rightful claim of any third person regarding infringement
+ * or the like.  Any license provided herein, whether implied or
+ * otherwise, applies only to this software file.  Patent licenses, if
+ * any, provided herein do not apply to combinations of this program with
+ * other software, or any other product whatsoever.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write the Free Software Foundation, Inc., 59
+ * Temple Place - Suite 330, Boston MA 02111-1307, USA.
+ *
+ * Contact information: Guglielmo Nigri <guglielmonigri@yahoo.it>
+ *
+ */
+
+package gleam.lang.compiler;
+
+import gleam.lang.Continuation;
+import gleam.lang.Entity;
+import gleam.lang.Environment;
+import gleam.lang.GleamException;
+import gleam.lang.LocalEnvironment;
+import gleam.lang.Symbol;
+
+/**
+ * A reference to a local variable, i.e., a parameter or an internal definition of a procedure,
+ * resolved to its lexical address: the number of frames to go up from the current environment
+ * (depth), and the slot index in that frame.
+ *
+ * @see LocalEnvironment
+ */
+public final class LocalRef extends Node implements Variable
+{
+
+    private static final long serialVersionUID = 1L;
+
+    /** the number of frames to go up from the current environment */
+    private final int depth;
+
+    /** the slot index in the frame */
+    private final int index;
+
+    public LocalRef(Symbol symbol, int depth, int index)
+    {
+        super(symbol);
+        this.depth = depth;
+        this.index = index;
+    }
+
+    /**
+     * Evaluates this variable, by fetching the content of its slot.
+     */
+    @Override
+    public Entity eval(Environment env, Continuation cont) throws GleamException
+    {
+        Environment e = env;
+        for (int i = depth; i > 0; --i) {
+            e = e.getParent();
+        }
+        Entity value = ((LocalEnvironment) e).get(index);
+        if (value == null) {
+            // an internal definition not executed yet: resolve the name at run time
+            return e.lookup(getSymbol());
+        }
+        return value;
+    }
+
+    @Override
+    boolean isDirect()
+    {
+        return true;
+    }
+
+    @Override
+    Entity evalDirect(Environment env, Continuation cont, int depth) throws GleamException
+    {
+        return eval(env, cont);
+    }
+
+    /**
+     * Assigns a new value to this variable, by setting the content of its slot.
+     */
+    @Override
+    public void assign(Environment env, Entity value) throws GleamException
+    {
+        Environment e = env;
+        for (int i = depth; i > 0; --i) {
+            e = e.getParent();
+        }
+        LocalEnvironment frame = (LocalEnvironment) e;
+        if (frame.get(index) == null) {
+            // an internal definition not executed yet: resolve the name at run time
+            frame.assign(getSymbol(), value);
+        }
+        else {
+            frame.set(index, value);
+        }
+    }
+
+    /**
+     * Gets the variable name.
+     */
+    public Symbol getSymbol()
+    {
+        return (Symbol) source;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2023 Guglielmo Nigri.  All Rights Reserved.
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of version 2 of the GNU General Public License as
+ * published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it would be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Further, this software is distributed without any warranty that it is
+ * free of the rightful claim of any third person regarding infringement
+ * or the like.  Any license provided herein, whether implied or
+ * otherwise, applies only to this software file.  Patent licenses, if
+ * any, provided herein do not apply to combinations of this program with
+ * other software, or any other product whatsoever.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write the Free Software Foundation, Inc., 59
+ * Temple Place - Suite 330, Boston MA 02111-1307, USA.
+ *
+ * Contact information: Guglielmo Nigri <guglielmonigri@yahoo.it>
+ *
+ */
+
+package gleam.lang.compiler;
+
+import gleam.lang.Action;
+import gleam.lang.Boolean;
+import gleam.lang.Continuation;
+import gleam.lang.EmptyList;
+import gleam.lang.Entity;
+import gleam.lang.Environment;
+import gleam.lang.ExpressionAction;
+import gleam.lang.GleamException;
+import gleam.lang.List;
+
+/**
+ * Evaluates the remaining expressions of an <code>and</code> form, or of an <code>or</code> form.
+ *
+ * @see And
+ * @see Or
+ */
+public class LogicalAction extends Action
+{
+
+    private static final long serialVersionUID = 1L;
+
+    /** the expressions to evaluate next */
+    private final List exprs;
+
+    /** the value that stops the evaluation: false for <code>and</code>, true for <code>or</code> */
+    private final boolean stopValue;
+
+    public LogicalAction(List exprs, boolean stopValue, Environment env)
+    {
+        super(env);
+        this.exprs = exprs;
+        this.stopValue = stopValue;
+    }
+
+    /**
+     * Evaluates a list of expressions, from left to right, until one of them yields a value of the
+     * given truth value. The last expression is evaluated in tail position.
+     *
+     * @param exprs     the expressions
+     * @param stopValue the truth value that stops the evaluation
+     * @param env       the environment
+     * @param cont      the current Continuation
+     *
+     * @return the value of the form, or null if only the continuation has been updated
+     *
+     * @throws GleamException in case of errors
+     */
+    static Entity evalNext(List exprs, boolean stopValue, Environment env, Continuation cont)
+            throws GleamException
+    {
+        if (exprs == EmptyList.VALUE) {
+            // (and) => #t, (or) => #f
+            return Boolean.makeBoolean(!stopValue);
+        }
+        Entity rest = exprs.getCdr();
+        if (rest instanceof List && rest != EmptyList.VALUE) {
+            cont.push(new LogicalAction((List) rest, stopValue, env));
+        }
+        cont.push(new ExpressionAction(exprs.getCar(), env));
+        return null;
+    }
+
+    /**
+     * Invokes this action, stopping the evaluation if the argument has the stop truth value.
+     *
+     * @param arg  the value of the previous expression
+     * @param cont the current Continuation
+     *
+     * @return the value of the form, or null if only the continuation has been updated
+     *
+     * @throws GleamException in case of errors
+     */
+    @Override
+    protected Entity invoke(Entity arg, Continuation cont) throws GleamException
+    {
+        trace(out -> out.printf("%s\n", arg.toWriteFormat()), env);
+        if ((arg != Boolean.falseValue) == stopValue) {
+            return arg;
+        }
+        return evalNext(exprs, stopValue, env, cont);
+    }
+}
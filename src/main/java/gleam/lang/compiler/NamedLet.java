@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2023 Guglielmo Nigri.  All Rights Reserved.
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of version 2 of the GNU General Public License as
+ * published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it would be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Further, this software is distributed without any warranty that it is
+ * free of the rightful claim of any third person regarding infringement
+ * or the like.  Any license provided herein, whether implied or
+ * otherwise, applies only to this software file.  Patent licenses, if
+ * any, provided herein do not apply to combinations of this program with
+ * other software, or any other product whatsoever.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write the Free Software Foundation, Inc., 59
+ * Temple Place - Suite 330, Boston MA 02111-1307, USA.
+ *
+ * Contact information: Guglielmo Nigri <guglielmonigri@yahoo.it>
+ *
+ */
+
+package gleam.lang.compiler;
+
+import gleam.lang.Continuation;
+import gleam.lang.Entity;
+import gleam.lang.Environment;
+import gleam.lang.ExpressionAction;
+import gleam.lang.GleamException;
+import gleam.lang.LocalEnvironment;
+import gleam.lang.Procedure;
+import gleam.lang.Symbol;
+
+/**
+ * A named <code>let</code>, e.g., <code>(let loop ((i 0)) (if (&lt; i 10) (loop (+ i 1))))</code>.
+ * <p>
+ * The procedure is bound to its name in a new frame of one slot, then it is called with the
+ * initial values, evaluated in the enclosing environment.
+ */
+public final class NamedLet extends Node
+{
+
+    private static final long serialVersionUID = 1L;
+
+    /** the frame layout, i.e., the name of the procedure */
+    private final Symbol[] names;
+
+    /** the lambda expression of the procedure */
+    private final Entity lambda;
+
+    /** the initial values of the procedure parameters */
+    private final Entity[] inits;
+
+    public NamedLet(Entity source, Symbol name, Entity lambda, Entity[] inits)
+    {
+        super(source);
+        this.names = new Symbol[]{name};
+        this.lambda = lambda;
+        this.inits = inits;
+    }
+
+    /**
+     * Binds the procedure, then calls it.
+     */
+    @Override
+    public Entity eval(Environment env, Continuation cont) throws GleamException
+    {
+        LocalEnvironment frame = new LocalEnvironment(names, new Entity[1], env);
+        Entity procedure = lambda.eval(frame, cont);
+        frame.set(0, procedure);
+
+        Entity[] args = new Entity[inits.length];
+        int i = ArgumentAction.evalDirectOperands(inits, args, 0, env, cont);
+        if (i == inits.length) {
+            // all the initial values have been evaluated
+            return ((Procedure) procedure).apply(args, env, cont);
+        }
+        cont.push(new CallAction(args, env));
+        cont.push(new ExpressionAction(procedure, env));
+        ArgumentAction.scheduleOperands(inits, args, i, env, cont);
+
+        return null;
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2023 Guglielmo Nigri.  All Rights Reserved.
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of version 2 of the GNU General Public License as
+ * published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it would be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Further, this software is distributed without any warranty that it is
+ * free of the rightful claim of any third person regarding infringement
+ * or the like.  Any license provided herein, whether implied or
+ * otherwise, applies only to this software file.  Patent licenses, if
+ * any, provided herein do not apply to combinations of this program with
+ * other software, or any other product whatsoever.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write the Free Software Foundation, Inc., 59
+ * Temple Place - Suite 330, Boston MA 02111-1307, USA.
+ *
+ * Contact information: Guglielmo Nigri <guglielmonigri@yahoo.it>
+ *
+ */
+
+package gleam.lang.compiler;
+
+import gleam.lang.AbstractEntity;
+import gleam.lang.Continuation;
+import gleam.lang.Entity;
+import gleam.lang.Environment;
+import gleam.lang.GleamException;
+import gleam.lang.Pair;
+
+import java.io.PrintWriter;
+
+/**
+ * A node of a compiled expression tree.
+ * <p>
+ * Evaluating a node follows the same protocol as {@link Entity#eval(Environment, Continuation)}:
+ * the node either returns a value, or it adds the actions to perform to the continuation, and
+ * returns null.
+ *
+ * <p>
+ * Some nodes can also be evaluated <i>directly</i>, i.e., by recursive Java calls instead of
+ * actions, as long as they only call primitives that never use the continuation. Subexpressions
+ * of this kind are common in the leaves of a program, e.g., {@code (car (cdr x))}, and evaluating
+ * them directly saves scheduling an action for each of their calls.
+ *
+ * @see Compiler
+ */
+public abstract class Node extends AbstractEntity
+{
+
+    private static final long serialVersionUID = 1L;
+
+    /** the maximum nesting depth of direct evaluation */
+    static final int MAX_DIRECT_DEPTH = 32;
+
+    /** the form this node was compiled from */
+    protected final Entity source;
+
+    protected Node(Entity source)
+    {
+        this.source = source;
+    }
+
+    /**
+     * Executes this node.
+     */
+    @Override
+    public abstract Entity eval(Environment env, Continuation cont) throws GleamException;
+
+    /**
+     * Tells whether this node may be evaluated directly. This only depends on the shape of the
+     * node: whether the procedures it calls allow it can only be known at run time.
+     */
+    boolean isDirect()
+    {
+        return false;
+    }
+
+    /**
+     * Evaluates this node directly, if possible. Since giving up leaves no trace in the
+     * continuation, and the work done so far has no side effects, the caller can then evaluate
+     * this node as usual.
+     *
+     * @param env   the environment in which to evaluate this node
+     * @param cont  the current continuation, which is never modified
+     * @param depth the current nesting depth of direct evaluation
+     *
+     * @return the value of this node, or null if it must be evaluated by the interpreter
+     *
+     * @throws GleamException in case of errors
+     */
+    Entity evalDirect(Environment env, Continuation cont, int depth) throws GleamException
+    {
+        return null;
+    }
+
+    /**
+     * Tells whether an expression may be evaluated directly.
+     *
+     * @see #isDirect()
+     */
+    static boolean isDirect(Entity expr)
+    {
+        if (expr instanceof Node) {
+            return ((Node) expr).isDirect();
+        }
+        // symbols, locations, lambda expressions and self-evaluating data
+        return !(expr instanceof Pair);
+    }
+
+    /**
+     * Evaluates an expression directly, if possible.
+     *
+     * @return the value of the expression, or null if it must be evaluated by the interpreter
+     *
+     * @throws GleamException in case of errors
+     * @see #evalDirect(Environment, Continuation, int)
+     */
+    static Entity evalDirect(Entity expr, Environment env, Continuation cont, int depth)
+            throws GleamException
+    {
+        if (expr instanceof Node) {
+            return ((Node) expr).evalDirect(env, cont, depth);
+        }
+        if (expr instanceof Pair) {
+            return null;
+        }
+        return expr.eval(env, cont);
+    }
+
+    /**
+     * Writes this node as its source form.
+     */
+    @Override
+    public PrintWriter write(PrintWriter out)
+    {
+        return source.write(out);
+    }
+}
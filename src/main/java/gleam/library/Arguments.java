@@ -26,20 +26,52 @@
 
 package gleam.library;
 
+import gleam.lang.Arithmetic;
+import gleam.lang.BinaryInputPort;
+import gleam.lang.BinaryOutputPort;
+import gleam.lang.Bytevector;
 import gleam.lang.Closure;
 import gleam.lang.Entity;
 import gleam.lang.Environment;
 import gleam.lang.GleamException;
 import gleam.lang.InputPort;
+import gleam.lang.Int;
 import gleam.lang.List;
 import gleam.lang.MutableString;
 import gleam.lang.OutputPort;
 import gleam.lang.Pair;
 import gleam.lang.Procedure;
 import gleam.lang.Symbol;
+import gleam.lang.Vector;
 
 public class Arguments
 {
+    public static BinaryInputPort requireBinaryInputPort(String context, Entity arg)
+            throws GleamException
+    {
+        if (arg instanceof BinaryInputPort) {
+            return (BinaryInputPort) arg;
+        }
+        throw new GleamException(context + ": not a binary input port", arg);
+    }
+
+    public static BinaryOutputPort requireBinaryOutputPort(String context, Entity arg)
+            throws GleamException
+    {
+        if (arg instanceof BinaryOutputPort) {
+            return (BinaryOutputPort) arg;
+        }
+        throw new GleamException(context + ": not a binary output port", arg);
+    }
+
+    public static Bytevector requireBytevector(String context, Entity arg) throws GleamException
+    {
+        if (arg instanceof Bytevector) {
+            return (Bytevector) arg;
+        }
+        throw new GleamException(context + ": not a bytevector", arg);
+    }
+
     public static gleam.lang.Character requireCharacter(String context,
                                                         Entity arg) throws GleamException
     {
@@ -65,6 +97,30 @@ public class Arguments
         throw new GleamException(context + ": not an environment", arg);
     }
 
+    public static gleam.lang.Number requireInteger(String context, Entity arg)
+            throws GleamException
+    {
+        if (arg instanceof gleam.lang.Number && Arithmetic.isInteger((gleam.lang.Number) arg)) {
+            return (gleam.lang.Number) arg;
+        }
+        throw new GleamException(context + ": not an integer", arg);
+    }
+
+    /**
+     * Requires an exact integer index in the range from zero, inclusive, to a limit, exclusive.
+     */
+    public static int requireIndex(String context, Entity arg, int limit) throws GleamException
+    {
+        if (arg instanceof Int) {
+            long index = ((Int) arg).longValue();
+            if (index >= 0 && index < limit) {
+                return (int) index;
+            }
+            throw new GleamException(context + ": index out of range", arg);
+        }
+        throw new GleamException(context + ": not an index", arg);
+    }
+
     public static InputPort requireInputPort(String context, Entity arg) throws GleamException
     {
         if (arg instanceof InputPort) {
@@ -130,6 +186,14 @@ public class Arguments
         throw new GleamException(context + ": not a symbol", arg);
     }
 
+    public static Vector requireVector(String context, Entity arg) throws GleamException
+    {
+        if (arg instanceof Vector) {
+            return (Vector) arg;
+        }
+        throw new GleamException(context + ": not a vector", arg);
+    }
+
     /** Can't instantiate this class. */
     private Arguments() {}
 }
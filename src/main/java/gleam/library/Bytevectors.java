@@ -0,0 +1,513 @@
+/*
+ * Copyright (c) 2023 Guglielmo Nigri.  All Rights Reserved.
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of version 2 of the GNU General Public License as
+ * published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it would be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Further, this software is distributed without any warranty that it is
+ * free of the rightful claim of any third person regarding infringement
+ * or the like.  Any license provided herein, whether implied or
+ * otherwise, applies only to this software file.  Patent licenses, if
+ * any, provided herein do not apply to combinations of this program with
+ * other software, or any other product whatsoever.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write the Free Software Foundation, Inc., 59
+ * Temple Place - Suite 330, Boston MA 02111-1307, USA.
+ *
+ * Contact information: Guglielmo Nigri <guglielmonigri@yahoo.it>
+ *
+ */
+package gleam.library;
+
+import gleam.lang.Boolean;
+import gleam.lang.Bytevector;
+import gleam.lang.Continuation;
+import gleam.lang.Entity;
+import gleam.lang.Environment;
+import gleam.lang.GleamException;
+import gleam.lang.Int;
+import gleam.lang.List;
+import gleam.lang.ListIterator;
+import gleam.lang.MutableString;
+import gleam.lang.Pair;
+import gleam.lang.Symbol;
+import gleam.lang.Void;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static gleam.lang.Environment.Kind.REPORT_ENV;
+import static gleam.library.Arguments.requireBytevector;
+import static gleam.library.Arguments.requireIndex;
+import static gleam.library.Arguments.requireMutableString;
+
+/**
+ * BYTEVECTORS
+ * <p>
+ * Primitive operator and procedure implementation library.
+ */
+public final class Bytevectors
+{
+
+    private static final Symbol BIG = Symbol.makeSymbol("big");
+
+    private static final Symbol LITTLE = Symbol.makeSymbol("little");
+
+    private static final Primitive[] bytevectorPrimitives = {
+
+            /*
+             * bytevector?
+             * Tests if argument is a bytevector
+             */
+            new Primitive("bytevector?",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          1,
+                          1, /* min, max no. of arguments */
+                          "Returns true if argument is a bytevector, false otherwise",
+                          "E.g. (bytevector? (bytevector 1 2 3)) => #t" /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity obj,
+                                    Environment env,
+                                    Continuation cont)
+                {
+                    return Boolean.makeBoolean(obj instanceof Bytevector);
+                }
+            },
+
+            /*
+             * make-bytevector
+             * Creates a bytevector of a given size
+             */
+            new Primitive("make-bytevector",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          1,
+                          2, /* min, max no. of arguments */
+                          "Creates a bytevector of a given size, e.g. (make-bytevector 4 255)",
+                          "The bytes are initialized to the optional fill value, or 0" /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity k,
+                                    Entity fill,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    Bytevector bytevector =
+                            new Bytevector(requireIndex(getName(), k, Integer.MAX_VALUE));
+                    if (fill != null) {
+                        bytevector.fill(requireByte(this, fill), 0, bytevector.length());
+                    }
+                    return bytevector;
+                }
+            },
+
+            /*
+             * bytevector
+             * Creates a bytevector of the arguments
+             */
+            new Primitive("bytevector",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          0,
+                          Primitive.VAR_ARGS, /* min, max no. of arguments */
+                          "Creates a bytevector of the arguments, e.g. (bytevector 1 2 3)",
+                          null /* doc strings */)
+            {
+                @Override
+                public Entity apply(List args,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    int size = 0;
+                    for (Entity e = args; e instanceof Pair; e = ((Pair) e).getCdr()) {
+                        ++size;
+                    }
+                    Bytevector bytevector = new Bytevector(size);
+                    int i = 0;
+                    for (Entity e = args; e instanceof Pair; e = ((Pair) e).getCdr()) {
+                        bytevector.set(i++, requireByte(this, ((Pair) e).getCar()));
+                    }
+                    return bytevector;
+                }
+            },
+
+            /*
+             * bytevector-length
+             * Returns the number of bytes in a bytevector
+             */
+            new Primitive("bytevector-length",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          1,
+                          1, /* min, max no. of arguments */
+                          "Returns the number of bytes in a bytevector",
+                          null /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity bv,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    return Int.valueOf(requireBytevector(getName(), bv).length());
+                }
+            },
+
+            /*
+             * bytevector-u8-ref
+             * Returns a byte of a bytevector
+             */
+            new Primitive("bytevector-u8-ref",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          2,
+                          2, /* min, max no. of arguments */
+                          "Returns the byte of a bytevector at a given index",
+                          null /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity bv,
+                                    Entity k,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    Bytevector bytevector = requireBytevector(getName(), bv);
+                    return Int.valueOf(bytevector.get(requireIndex(getName(),
+                                                                   k,
+                                                                   bytevector.length())));
+                }
+            },
+
+            /*
+             * bytevector-u8-set!
+             * Sets a byte of a bytevector
+             */
+            new Primitive("bytevector-u8-set!",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          3,
+                          3, /* min, max no. of arguments */
+                          "Sets the byte of a bytevector at a given index",
+                          "E.g. (bytevector-u8-set! bv 0 255)" /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity bv,
+                                    Entity k,
+                                    Entity value,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    Bytevector bytevector = requireBytevector(getName(), bv);
+                    int index = requireIndex(getName(), k, bytevector.length());
+                    bytevector.set(index, requireByte(this, value));
+                    return Void.VALUE;
+                }
+            },
+
+            /*
+             * bytevector-copy
+             * Copies a bytevector
+             */
+            new Primitive("bytevector-copy",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          1,
+                          3, /* min, max no. of arguments */
+                          "Returns a new copy of a bytevector",
+                          "Optional start and end indices restrict the bytes to copy" /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity bv,
+                                    Entity from,
+                                    Entity to,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    Bytevector bytevector = requireBytevector(getName(), bv);
+                    int start = start(this, bytevector, from);
+                    return bytevector.copy(start, end(this, bytevector, start, to));
+                }
+            },
+
+            /*
+             * bytevector-copy!
+             * Copies bytes between bytevectors
+             */
+            new Primitive("bytevector-copy!",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          3,
+                          5, /* min, max no. of arguments */
+                          "Copies the bytes of a bytevector into another one at a given index",
+                          "E.g. (bytevector-copy! to at from start end), where start and end " +
+                          "are optional" /* doc strings */)
+            {
+                @Override
+                public Entity apply(List args,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    ListIterator it = new ListIterator(args);
+                    Bytevector to = requireBytevector(getName(), it.next());
+                    int at = requireIndex(getName(), it.next(), to.length() + 1);
+                    Bytevector from = requireBytevector(getName(), it.next());
+                    int start = start(this, from, it.hasNext() ? it.next() : null);
+                    int end = end(this, from, start, it.hasNext() ? it.next() : null);
+                    if (end - start > to.length() - at) {
+                        throw new GleamException(getName() + ": not enough room", to);
+                    }
+                    to.copy(at, from, start, end);
+                    return Void.VALUE;
+                }
+            },
+
+            /*
+             * utf8->string
+             * Decodes a bytevector as UTF-8
+             */
+            new Primitive("utf8->string",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          1,
+                          3, /* min, max no. of arguments */
+                          "Returns a string of the characters encoded in UTF-8 by a bytevector",
+                          "Optional start and end indices restrict the bytes to decode" /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity bv,
+                                    Entity from,
+                                    Entity to,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    Bytevector bytevector = requireBytevector(getName(), bv);
+                    int start = start(this, bytevector, from);
+                    ByteBuffer bytes = bytevector.view(start, end(this, bytevector, start, to));
+                    return new MutableString(StandardCharsets.UTF_8.decode(bytes).toString());
+                }
+            },
+
+            /*
+             * string->utf8
+             * Encodes a string as UTF-8
+             */
+            new Primitive("string->utf8",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          1,
+                          1, /* min, max no. of arguments */
+                          "Returns a bytevector of the UTF-8 encoding of a string",
+                          null /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity s,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    String string = requireMutableString(getName(), s).toString();
+                    return new Bytevector(ByteBuffer.wrap(string.getBytes(StandardCharsets.UTF_8)));
+                }
+            }
+
+    }; // primitives
+
+    /**
+     * This array contains definitions of primitives. It is used by static initializers in
+     * gleam.lang.System to populate the three initial environments.
+     */
+    public static final Primitive[] primitives = concat(bytevectorPrimitives,
+                                                        Bytevector.Type.values());
+
+    /**
+     * Defines the accessors of a type of multi-byte elements, in the style of R6RS, e.g. for
+     * {@code u32}: {@code bytevector-u32-native-ref} and {@code bytevector-u32-native-set!}, in the
+     * native byte order, and {@code bytevector-u32-ref} and {@code bytevector-u32-set!}, taking
+     * the byte order as a further argument, either {@code big} or {@code little}.
+     * <p>
+     * Unlike R6RS, the native accessors do not require aligned indices.
+     */
+    private static Primitive[] accessorPrimitives(Bytevector.Type type)
+    {
+        final String prefix = "bytevector-" + type.tag;
+        return new Primitive[]{
+
+                new Primitive(prefix + "-native-ref",
+                              REPORT_ENV,
+                              Primitive.IDENTIFIER, /* environment, type */
+                              2,
+                              2, /* min, max no. of arguments */
+                              "Returns the " + type.tag + " element of a bytevector at a given " +
+                              "index, in native byte order",
+                              null /* doc strings */)
+                {
+                    @Override
+                    public Entity apply(Entity bv,
+                                        Entity k,
+                                        Environment env,
+                                        Continuation cont) throws GleamException
+                    {
+                        Bytevector bytevector = requireBytevector(getName(), bv);
+                        int index = requireElementIndex(this, type, bytevector, k);
+                        return bytevector.get(type, index, true);
+                    }
+                },
+
+                new Primitive(prefix + "-native-set!",
+                              REPORT_ENV,
+                              Primitive.IDENTIFIER, /* environment, type */
+                              3,
+                              3, /* min, max no. of arguments */
+                              "Sets the " + type.tag + " element of a bytevector at a given " +
+                              "index, in native byte order",
+                              null /* doc strings */)
+                {
+                    @Override
+                    public Entity apply(Entity bv,
+                                        Entity k,
+                                        Entity value,
+                                        Environment env,
+                                        Continuation cont) throws GleamException
+                    {
+                        Bytevector bytevector = requireBytevector(getName(), bv);
+                        int index = requireElementIndex(this, type, bytevector, k);
+                        bytevector.set(getName(), type, index, value, true);
+                        return Void.VALUE;
+                    }
+                },
+
+                new Primitive(prefix + "-ref",
+                              REPORT_ENV,
+                              Primitive.IDENTIFIER, /* environment, type */
+                              3,
+                              3, /* min, max no. of arguments */
+                              "Returns the " + type.tag + " element of a bytevector at a given " +
+                              "index, in a given byte order",
+                              "E.g. (" + prefix + "-ref bv 0 'big)" /* doc strings */)
+                {
+                    @Override
+                    public Entity apply(Entity bv,
+                                        Entity k,
+                                        Entity endianness,
+                                        Environment env,
+                                        Continuation cont) throws GleamException
+                    {
+                        Bytevector bytevector = requireBytevector(getName(), bv);
+                        int index = requireElementIndex(this, type, bytevector, k);
+                        return bytevector.get(type, index, isNative(this, endianness));
+                    }
+                },
+
+                new Primitive(prefix + "-set!",
+                              REPORT_ENV,
+                              Primitive.IDENTIFIER, /* environment, type */
+                              4,
+                              4, /* min, max no. of arguments */
+                              "Sets the " + type.tag + " element of a bytevector at a given " +
+                              "index, in a given byte order",
+                              "E.g. (" + prefix + "-set! bv 0 1 'little)" /* doc strings */)
+                {
+                    @Override
+                    public Entity apply(List args,
+                                        Environment env,
+                                        Continuation cont) throws GleamException
+                    {
+                        ListIterator it = new ListIterator(args);
+                        Bytevector bytevector = requireBytevector(getName(), it.next());
+                        int index = requireElementIndex(this, type, bytevector, it.next());
+                        Entity value = it.next();
+                        boolean isNative = isNative(this, it.next());
+                        bytevector.set(getName(), type, index, value, isNative);
+                        return Void.VALUE;
+                    }
+                }
+        };
+    }
+
+    private static Primitive[] concat(Primitive[] primitives, Bytevector.Type[] types)
+    {
+        java.util.List<Primitive> all = new ArrayList<>(Arrays.asList(primitives));
+        for (Bytevector.Type type : types) {
+            all.addAll(Arrays.asList(accessorPrimitives(type)));
+        }
+        return all.toArray(new Primitive[0]);
+    }
+
+    /**
+     * Requires an exact integer from 0 to 255.
+     */
+    private static int requireByte(Primitive primitive, Entity arg) throws GleamException
+    {
+        if (arg instanceof Int) {
+            long value = ((Int) arg).longValue();
+            if (value >= 0 && value <= 255) {
+                return (int) value;
+            }
+        }
+        throw new GleamException(primitive.getName() + ": not a byte", arg);
+    }
+
+    /**
+     * Requires the index of a whole multi-byte element.
+     */
+    private static int requireElementIndex(Primitive primitive,
+                                           Bytevector.Type type,
+                                           Bytevector bytevector,
+                                           Entity arg) throws GleamException
+    {
+        int limit = bytevector.length() - type.size + 1;
+        return requireIndex(primitive.getName(), arg, Math.max(limit, 0));
+    }
+
+    /**
+     * Tells whether a byte order, either {@code big} or {@code little}, is the native one.
+     */
+    private static boolean isNative(Primitive primitive, Entity endianness) throws GleamException
+    {
+        boolean big = ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN;
+        if (endianness == BIG) {
+            return big;
+        }
+        if (endianness == LITTLE) {
+            return !big;
+        }
+        throw new GleamException(primitive.getName() + ": not a byte order", endianness);
+    }
+
+    /**
+     * Gets the optional start index of a range of bytes.
+     */
+    static int start(Primitive primitive, Bytevector bytevector, Entity arg)
+            throws GleamException
+    {
+        return arg == null ? 0 : requireIndex(primitive.getName(), arg, bytevector.length() + 1);
+    }
+
+    /**
+     * Gets the optional end index of a range of bytes.
+     */
+    static int end(Primitive primitive, Bytevector bytevector, int start, Entity arg)
+            throws GleamException
+    {
+        if (arg == null) {
+            return bytevector.length();
+        }
+        int end = requireIndex(primitive.getName(), arg, bytevector.length() + 1);
+        if (end < start) {
+            throw new GleamException(primitive.getName() + ": end index before start index", arg);
+        }
+        return end;
+    }
+
+    /** Can't instantiate this class. */
+    private Bytevectors() {}
+}
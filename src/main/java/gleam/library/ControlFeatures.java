@@ -93,10 +93,9 @@ public final class ControlFeatures
                     Arguments.requireProcedure("call-with-current-continuation: invalid argument",
                                                arg1);
                     /* create a new procedure call with the continuation argument. */
-                    ArgumentList arglist = new ArgumentList();
                     /* use a copy of cont, as it's going to change */
-                    arglist.set(0, new Continuation(cont));
-                    cont.beginWith(new ProcedureCallAction(arglist, env));
+                    ArgumentList arglist = new ArgumentList(new Entity[]{new Continuation(cont)});
+                    cont.push(new ProcedureCallAction(arglist, env));
                     return arg1;
                 }
             },
@@ -121,7 +120,7 @@ public final class ControlFeatures
                     Arguments.requireProcedure("apply", proc);
                     List argList = Arguments.requireList("apply: invalid arguments", args);
                     /* create a new procedure call with the given arguments. */
-                    cont.beginWith(new ProcedureCallAction(new ArgumentList(argList), env));
+                    cont.push(new ProcedureCallAction(new ArgumentList(argList), env));
                     return proc;
                 }
             }
@@ -30,6 +30,7 @@ import gleam.lang.Boolean;
 import gleam.lang.Continuation;
 import gleam.lang.Entity;
 import gleam.lang.Environment;
+import gleam.lang.HashTable;
 import gleam.lang.JavaObject;
 
 import static gleam.lang.Environment.Kind.REPORT_ENV;
@@ -97,6 +98,30 @@ public final class Equivalence
                 {
                     return Boolean.makeBoolean(arg1.equals(arg2));
                 }
+            },
+
+            /*
+             * equal?
+             * Compares arguments by structure.
+             */
+            new Primitive("equal?",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          2,
+                          2, /* min, max no. of arguments */
+                          "True if two objects have the same structure and equivalent contents, " +
+                          "false otherwise",
+                          "E.g. (equal? (list 1 #(2)) (list 1 #(2))) => #t. Circular lists " +
+                          "are compared without looping forever" /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity arg1,
+                                    Entity arg2,
+                                    Environment env,
+                                    Continuation cont)
+                {
+                    return Boolean.makeBoolean(HashTable.Kind.EQUAL.test(arg1, arg2));
+                }
             }
 
     }; // primitives
@@ -35,6 +35,7 @@ import gleam.lang.ExpressionInEnvironmentAction;
 import gleam.lang.GleamException;
 import gleam.lang.Interpreter;
 import gleam.lang.Number;
+import gleam.lang.compiler.Compiler;
 
 import static gleam.lang.Environment.Kind.INTERACTION_ENV;
 import static gleam.lang.Environment.Kind.REPORT_ENV;
@@ -76,8 +77,8 @@ public final class Eval
                     Environment eval_env = arg2 == null
                                            ? env
                                            : requireEnvironment("eval", arg2);
-                    arg1 = arg1.analyze(env).optimize(eval_env);
-                    cont.beginWith(new ExpressionAction(arg1, eval_env));
+                    arg1 = Compiler.compile(arg1, eval_env);
+                    cont.push(new ExpressionAction(arg1, eval_env));
                     return null;
                 }
             },
@@ -198,8 +199,8 @@ public final class Eval
                 {
                     // 1) evaluate environment expr
                     // 2) evaluate expr in that env
-                    cont.beginWith(new ExpressionAction(argEnv, env))
-                        .andThen(new ExpressionInEnvironmentAction(argExpr, env));
+                    cont.push(new ExpressionInEnvironmentAction(argExpr, env));
+                    cont.push(new ExpressionAction(argEnv, env));
 
                     return null;
                 }
@@ -0,0 +1,595 @@
+/*
+ * Copyright (c) 2023 Guglielmo Nigri.  All Rights Reserved.
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of version 2 of the GNU General Public License as
+ * published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it would be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Further, this software is distributed without any warranty that it is
+ * free of the rightful claim of any third person regarding infringement
+ * or the like.  Any license provided herein, whether implied or
+ * otherwise, applies only to this software file.  Patent licenses, if
+ * any, provided herein do not apply to combinations of this program with
+ * other software, or any other product whatsoever.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write the Free Software Foundation, Inc., 59
+ * Temple Place - Suite 330, Boston MA 02111-1307, USA.
+ *
+ * Contact information: Guglielmo Nigri <guglielmonigri@yahoo.it>
+ *
+ */
+package gleam.library;
+
+import gleam.lang.Boolean;
+import gleam.lang.Continuation;
+import gleam.lang.EmptyList;
+import gleam.lang.Entity;
+import gleam.lang.Environment;
+import gleam.lang.GleamException;
+import gleam.lang.HashTable;
+import gleam.lang.HashTableUpdateAction;
+import gleam.lang.Int;
+import gleam.lang.List;
+import gleam.lang.ListIterator;
+import gleam.lang.Pair;
+import gleam.lang.Procedure;
+import gleam.lang.Symbol;
+import gleam.lang.Vector;
+import gleam.lang.VectorMapAction;
+import gleam.lang.Void;
+
+import java.util.ArrayList;
+
+import static gleam.lang.Environment.Kind.REPORT_ENV;
+import static gleam.library.Arguments.requireProcedure;
+
+/**
+ * HASH TABLES
+ * <p>
+ * Primitive operator and procedure implementation library, in the style of SRFI-69.
+ */
+public final class HashTables
+{
+
+    private static final Symbol WEAK_KEYS = Symbol.makeSymbol("weak-keys");
+
+    /**
+     * This array contains definitions of primitives. It is used by static initializers in
+     * gleam.lang.System to populate the three initial environments.
+     */
+    public static final Primitive[] primitives = {
+
+            /*
+             * make-hash-table
+             * Creates a hash table
+             */
+            new Primitive("make-hash-table",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          0,
+                          3, /* min, max no. of arguments */
+                          "Creates a hash table, e.g. (make-hash-table eq?)",
+                          "Keys are compared with the optional equivalence, one of eq?, eqv? or " +
+                          "equal?, which is the default. An optional hash function is accepted " +
+                          "and ignored, since each equivalence has its own. With the symbol " +
+                          "weak-keys as the last argument, keys are held weakly, " +
+                          "e.g. (make-hash-table eq? 'weak-keys)" /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity arg1,
+                                    Entity arg2,
+                                    Entity arg3,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    HashTable.Kind kind = HashTable.Kind.EQUAL;
+                    boolean weak = false;
+                    Entity[] args = {arg1, arg2, arg3};
+                    for (int i = 0; i < args.length && args[i] != null; ++i) {
+                        if (args[i] == WEAK_KEYS && (i == 2 || args[i + 1] == null)) {
+                            weak = true;
+                        }
+                        else if (i == 0) {
+                            kind = getKind(this, args[i], env);
+                        }
+                        else if (i == 1) {
+                            requireProcedure(getName(), args[i]);
+                        }
+                        else {
+                            throw new GleamException(getName() + ": invalid argument", args[i]);
+                        }
+                    }
+                    return new HashTable(kind, weak);
+                }
+            },
+
+            /*
+             * hash-table?
+             * Tests if argument is a hash table
+             */
+            new Primitive("hash-table?",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          1,
+                          1, /* min, max no. of arguments */
+                          "Returns true if argument is a hash table, false otherwise",
+                          null /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity obj,
+                                    Environment env,
+                                    Continuation cont)
+                {
+                    return Boolean.makeBoolean(obj instanceof HashTable);
+                }
+            },
+
+            /*
+             * hash-table-ref
+             * Returns the value associated to a key
+             */
+            new Primitive("hash-table-ref",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          2,
+                          4, /* min, max no. of arguments */
+                          "Returns the value associated to a key in a hash table",
+                          "E.g. (hash-table-ref table key failure success): if the key is not " +
+                          "found, the result of calling the optional failure thunk is returned, " +
+                          "otherwise it is an error; if it is found and the optional success " +
+                          "procedure is given, it is applied to the value" /* doc strings */)
+            {
+                @Override
+                public Entity apply(List args,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    ListIterator it = new ListIterator(args);
+                    HashTable table = requireHashTable(this, it.next());
+                    Entity key = it.next();
+                    Procedure failure = it.hasNext() ? requireProcedure(getName(), it.next()) : null;
+                    Procedure success = it.hasNext() ? requireProcedure(getName(), it.next()) : null;
+                    Entity value = table.get(key);
+                    if (value == null) {
+                        if (failure == null) {
+                            throw new GleamException(getName() + ": key not found", key);
+                        }
+                        return failure.apply(new Entity[0], env, cont);
+                    }
+                    if (success != null) {
+                        return success.apply(new Entity[]{value}, env, cont);
+                    }
+                    return value;
+                }
+            },
+
+            /*
+             * hash-table-ref/default
+             * Returns the value associated to a key, or a default
+             */
+            new Primitive("hash-table-ref/default",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          3,
+                          3, /* min, max no. of arguments */
+                          "Returns the value associated to a key in a hash table, or a default " +
+                          "value if the key is not found",
+                          "E.g. (hash-table-ref/default table 'a 0)" /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity t,
+                                    Entity key,
+                                    Entity value,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    Entity found = requireHashTable(this, t).get(key);
+                    return found == null ? value : found;
+                }
+            },
+
+            /*
+             * hash-table-set!
+             * Associates a value to a key
+             */
+            new Primitive("hash-table-set!",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          3,
+                          3, /* min, max no. of arguments */
+                          "Associates a value to a key in a hash table",
+                          "E.g. (hash-table-set! table 'a 1)" /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity t,
+                                    Entity key,
+                                    Entity value,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    requireHashTable(this, t).put(key, value);
+                    return Void.VALUE;
+                }
+            },
+
+            /*
+             * hash-table-delete!
+             * Removes a key
+             */
+            new Primitive("hash-table-delete!",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          2,
+                          2, /* min, max no. of arguments */
+                          "Removes a key and its value from a hash table",
+                          null /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity t,
+                                    Entity key,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    requireHashTable(this, t).remove(key);
+                    return Void.VALUE;
+                }
+            },
+
+            /*
+             * hash-table-contains?
+             * Tests if a key is in a hash table
+             */
+            new Primitive("hash-table-contains?",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          2,
+                          2, /* min, max no. of arguments */
+                          "Returns true if a key is in a hash table, false otherwise",
+                          null /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity t,
+                                    Entity key,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    return Boolean.makeBoolean(requireHashTable(this, t).containsKey(key));
+                }
+            },
+
+            /*
+             * hash-table-size
+             * Returns the number of entries
+             */
+            new Primitive("hash-table-size",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          1,
+                          1, /* min, max no. of arguments */
+                          "Returns the number of entries in a hash table",
+                          null /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity t,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    return Int.valueOf(requireHashTable(this, t).size());
+                }
+            },
+
+            /*
+             * hash-table-update!
+             * Updates the value associated to a key
+             */
+            new Primitive("hash-table-update!",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          3,
+                          4, /* min, max no. of arguments */
+                          "Applies a procedure to the value associated to a key in a hash table, " +
+                          "and associates the result to the key",
+                          "E.g. (hash-table-update! table key proc failure): if the key is not " +
+                          "found, the procedure is applied to the result of calling the " +
+                          "optional failure thunk, otherwise it is an error" /* doc strings */)
+            {
+                @Override
+                public Entity apply(List args,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    ListIterator it = new ListIterator(args);
+                    HashTable table = requireHashTable(this, it.next());
+                    Entity key = it.next();
+                    Procedure procedure = requireProcedure(getName(), it.next());
+                    Procedure failure = it.hasNext() ? requireProcedure(getName(), it.next()) : null;
+                    return HashTableUpdateAction.start(getName(),
+                                                       table,
+                                                       key,
+                                                       procedure,
+                                                       failure,
+                                                       null,
+                                                       env,
+                                                       cont);
+                }
+            },
+
+            /*
+             * hash-table-update!/default
+             * Updates the value associated to a key, or a default
+             */
+            new Primitive("hash-table-update!/default",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          4,
+                          4, /* min, max no. of arguments */
+                          "Applies a procedure to the value associated to a key in a hash table, " +
+                          "or to a default value if the key is not found, and associates the " +
+                          "result to the key",
+                          "E.g. (hash-table-update!/default table word (lambda (n) (+ n 1)) 0)" /* doc strings */)
+            {
+                @Override
+                public Entity apply(List args,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    ListIterator it = new ListIterator(args);
+                    HashTable table = requireHashTable(this, it.next());
+                    Entity key = it.next();
+                    Procedure procedure = requireProcedure(getName(), it.next());
+                    Entity value = it.next();
+                    return HashTableUpdateAction.start(getName(),
+                                                       table,
+                                                       key,
+                                                       procedure,
+                                                       null,
+                                                       value,
+                                                       env,
+                                                       cont);
+                }
+            },
+
+            /*
+             * hash-table-walk
+             * Applies a procedure to each entry
+             */
+            new Primitive("hash-table-walk",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          2,
+                          2, /* min, max no. of arguments */
+                          "Applies a procedure to the key and value of each entry in a hash table",
+                          "E.g. (hash-table-walk table (lambda (k v) (display k)))" /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity t,
+                                    Entity proc,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    HashTable table = requireHashTable(this, t);
+                    Procedure procedure = requireProcedure(getName(), proc);
+                    java.util.List<Entity> keys = new ArrayList<>();
+                    java.util.List<Entity> values = new ArrayList<>();
+                    table.forEach((key, value) -> {
+                        keys.add(key);
+                        values.add(value);
+                    });
+                    Vector[] vectors = {new Vector(keys.toArray(new Entity[0])),
+                                        new Vector(values.toArray(new Entity[0]))};
+                    return VectorMapAction.start(procedure, vectors, false, env, cont);
+                }
+            },
+
+            /*
+             * hash-table->alist
+             * Returns the entries as an association list
+             */
+            new Primitive("hash-table->alist",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          1,
+                          1, /* min, max no. of arguments */
+                          "Returns an association list of the entries in a hash table",
+                          null /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity t,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    List[] alist = {EmptyList.VALUE};
+                    requireHashTable(this, t).forEach(
+                            (key, value) -> alist[0] = new Pair(new Pair(key, value), alist[0]));
+                    return alist[0];
+                }
+            },
+
+            /*
+             * hash-table-keys
+             * Returns the keys
+             */
+            new Primitive("hash-table-keys",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          1,
+                          1, /* min, max no. of arguments */
+                          "Returns a list of the keys in a hash table",
+                          null /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity t,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    List[] keys = {EmptyList.VALUE};
+                    requireHashTable(this, t).forEach(
+                            (key, value) -> keys[0] = new Pair(key, keys[0]));
+                    return keys[0];
+                }
+            },
+
+            /*
+             * hash-table-values
+             * Returns the values
+             */
+            new Primitive("hash-table-values",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          1,
+                          1, /* min, max no. of arguments */
+                          "Returns a list of the values in a hash table",
+                          null /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity t,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    List[] values = {EmptyList.VALUE};
+                    requireHashTable(this, t).forEach(
+                            (key, value) -> values[0] = new Pair(value, values[0]));
+                    return values[0];
+                }
+            },
+
+            /*
+             * hash-table-copy
+             * Copies a hash table
+             */
+            new Primitive("hash-table-copy",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          1,
+                          1, /* min, max no. of arguments */
+                          "Returns a new hash table with the same entries as a hash table",
+                          null /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity t,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    return requireHashTable(this, t).copy();
+                }
+            },
+
+            /*
+             * hash-table-clear!
+             * Removes all entries
+             */
+            new Primitive("hash-table-clear!",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          1,
+                          1, /* min, max no. of arguments */
+                          "Removes all the entries from a hash table",
+                          null /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity t,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    requireHashTable(this, t).clear();
+                    return Void.VALUE;
+                }
+            },
+
+            /*
+             * hash
+             * Computes a hash code consistent with equal?
+             */
+            new Primitive("hash",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          1,
+                          2, /* min, max no. of arguments */
+                          "Returns a hash code for an object, which is the same for objects that " +
+                          "are equal?",
+                          "The optional bound, a positive integer, limits the range of the result" /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity obj,
+                                    Entity bound,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    return hash(this, HashTable.Kind.EQUAL.hash(obj), bound);
+                }
+            },
+
+            /*
+             * hash-by-identity
+             * Computes a hash code consistent with eq?
+             */
+            new Primitive("hash-by-identity",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          1,
+                          2, /* min, max no. of arguments */
+                          "Returns a hash code for an object, which is the same for objects that " +
+                          "are eq?",
+                          "The optional bound, a positive integer, limits the range of the result" /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity obj,
+                                    Entity bound,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    return hash(this, HashTable.Kind.EQ.hash(obj), bound);
+                }
+            }
+
+    }; // primitives
+
+    private static HashTable requireHashTable(Primitive primitive, Entity arg)
+            throws GleamException
+    {
+        if (arg instanceof HashTable) {
+            return (HashTable) arg;
+        }
+        throw new GleamException(primitive.getName() + ": not a hash table", arg);
+    }
+
+    /**
+     * Gets the kind of hash table for an equivalence procedure, by comparing it with the current
+     * values of {@code eq?}, {@code eqv?} and {@code equal?}.
+     */
+    private static HashTable.Kind getKind(Primitive primitive, Entity equivalence, Environment env)
+            throws GleamException
+    {
+        if (equivalence == env.lookup(Symbol.makeSymbol("eq?"))) {
+            return HashTable.Kind.EQ;
+        }
+        if (equivalence == env.lookup(Symbol.makeSymbol("eqv?"))) {
+            return HashTable.Kind.EQV;
+        }
+        if (equivalence == env.lookup(Symbol.makeSymbol("equal?"))) {
+            return HashTable.Kind.EQUAL;
+        }
+        throw new GleamException(primitive.getName() + ": unsupported equivalence", equivalence);
+    }
+
+    private static Int hash(Primitive primitive, int hash, Entity bound) throws GleamException
+    {
+        long value = hash & 0xFFFFFFFFL;
+        if (bound != null) {
+            int n = Arguments.requireIndex(primitive.getName(), bound, Integer.MAX_VALUE);
+            if (n == 0) {
+                throw new GleamException(primitive.getName() + ": bound must be positive", bound);
+            }
+            value %= n;
+        }
+        return Int.valueOf(value);
+    }
+
+    /** Can't instantiate this class. */
+    private HashTables() {}
+}
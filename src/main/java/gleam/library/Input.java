@@ -26,15 +26,22 @@
 
 package gleam.library;
 
+import gleam.lang.BinaryInputPort;
 import gleam.lang.Boolean;
+import gleam.lang.Bytevector;
 import gleam.lang.Continuation;
 import gleam.lang.Entity;
 import gleam.lang.Environment;
 import gleam.lang.Eof;
 import gleam.lang.GleamException;
 import gleam.lang.InputPort;
+import gleam.lang.Int;
+import gleam.lang.List;
+import gleam.lang.ListIterator;
 
 import static gleam.lang.Environment.Kind.REPORT_ENV;
+import static gleam.library.Arguments.requireBytevector;
+import static gleam.library.Arguments.requireIndex;
 import static gleam.library.Primitive.IDENTIFIER;
 
 /**
@@ -159,6 +166,116 @@ public final class Input
                     InputPort iport = getInputPort(this, arg1, env);
                     return iport.isCharReady();
                 }
+            },
+
+            /*
+             * read-u8
+             * Reads a byte from a binary input port
+             */
+            new Primitive("read-u8",
+                          REPORT_ENV, /* environment */
+                          IDENTIFIER, /* type */
+                          0, /* min no. of arguments */
+                          1, /* max no. of arguments */
+                          "Returns the next byte available from the binary input port", /* comment */
+                          null /* docs */)
+            {
+                @Override
+                public Entity apply(Entity arg1,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    return getBinaryInputPort(this, arg1, env).readU8();
+                }
+            },
+
+            /*
+             * peek-u8
+             * Reads a byte from a binary input port, without consuming it
+             */
+            new Primitive("peek-u8",
+                          REPORT_ENV, /* environment */
+                          IDENTIFIER, /* type */
+                          0, /* min no. of arguments */
+                          1, /* max no. of arguments */
+                          "Returns the next byte available from the binary input port, without " +
+                          "consuming it", /* comment */
+                          null /* docs */)
+            {
+                @Override
+                public Entity apply(Entity arg1,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    return getBinaryInputPort(this, arg1, env).peekU8();
+                }
+            },
+
+            /*
+             * read-bytevector
+             * Reads bytes from a binary input port into a new bytevector
+             */
+            new Primitive("read-bytevector",
+                          REPORT_ENV, /* environment */
+                          IDENTIFIER, /* type */
+                          1, /* min no. of arguments */
+                          2, /* max no. of arguments */
+                          "Returns a bytevector of at most k bytes read from the binary input " +
+                          "port", /* comment */
+                          "E.g. (read-bytevector 512 port). Returns the EOF object if no bytes " +
+                          "are available before the end of input" /* docs */)
+            {
+                @Override
+                public Entity apply(Entity arg1,
+                                    Entity arg2,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    int k = requireIndex(getName(), arg1, Integer.MAX_VALUE);
+                    BinaryInputPort iport = getBinaryInputPort(this, arg2, env);
+                    Bytevector bytevector = new Bytevector(k);
+                    int count = iport.read(bytevector, 0, k);
+                    if (count < 0) {
+                        return Eof.VALUE;
+                    }
+                    return count < k ? bytevector.copy(0, count) : bytevector;
+                }
+            },
+
+            /*
+             * read-bytevector!
+             * Reads bytes from a binary input port into a bytevector
+             */
+            new Primitive("read-bytevector!",
+                          REPORT_ENV, /* environment */
+                          IDENTIFIER, /* type */
+                          1, /* min no. of arguments */
+                          4, /* max no. of arguments */
+                          "Reads bytes from the binary input port into a bytevector, and returns " +
+                          "the number of bytes read", /* comment */
+                          "E.g. (read-bytevector! bv port start end), where port, start and end " +
+                          "are optional. Returns the EOF object if no bytes are available " +
+                          "before the end of input" /* docs */)
+            {
+                @Override
+                public Entity apply(List args,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    ListIterator it = new ListIterator(args);
+                    Bytevector bytevector = requireBytevector(getName(), it.next());
+                    BinaryInputPort iport =
+                            getBinaryInputPort(this, it.hasNext() ? it.next() : null, env);
+                    int start = Bytevectors.start(this,
+                                                  bytevector,
+                                                  it.hasNext() ? it.next() : null);
+                    int end = Bytevectors.end(this,
+                                              bytevector,
+                                              start,
+                                              it.hasNext() ? it.next() : null);
+                    int count = iport.read(bytevector, start, end);
+                    return count < 0 ? Eof.VALUE : Int.valueOf(count);
+                }
             }
 
     }; // primitives
@@ -177,6 +294,14 @@ public final class Input
         return iport;
     }
 
+    private static BinaryInputPort getBinaryInputPort(Primitive primitive,
+                                                      Entity arg,
+                                                      Environment env) throws GleamException
+    {
+        Entity iport = arg == null ? env.getExecutionContext().getIn() : arg;
+        return Arguments.requireBinaryInputPort(primitive.getName(), iport);
+    }
+
     /** Can't instantiate this class. */
     private Input() {}
 }
@@ -32,6 +32,7 @@
 
 package gleam.library;
 
+import gleam.lang.BigInt;
 import gleam.lang.Continuation;
 import gleam.lang.Entity;
 import gleam.lang.Environment;
@@ -48,6 +49,7 @@ import gleam.util.Logger;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -228,7 +230,11 @@ public class JavaInterface
             return double.class;
         }
         else if (arg instanceof Int) {
-            return int.class;
+            long value = ((Int) arg).longValue();
+            return value == (int) value ? int.class : long.class;
+        }
+        else if (arg instanceof BigInt) {
+            return BigInteger.class;
         }
         throw new GleamException("cannot obtain the Java Class for a Gleam entity", arg);
     }
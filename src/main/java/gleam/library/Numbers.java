@@ -26,6 +26,7 @@
 
 package gleam.library;
 
+import gleam.lang.Arithmetic;
 import gleam.lang.Boolean;
 import gleam.lang.Continuation;
 import gleam.lang.Entity;
@@ -43,6 +44,12 @@ import static gleam.lang.Environment.Kind.REPORT_ENV;
  * NUMBERS
  * <p>
  * Primitive operator and procedure implementation library.
+ * <p>
+ * Arithmetic follows the numerical tower, as implemented by {@link Arithmetic}: exact operands
+ * give exact results, and only inexact operands make results inexact.
+ * <p>
+ * The variadic arithmetic and comparison operators also have fast paths for calls with two or
+ * three arguments, specialized for fixnum and flonum operands.
  */
 public final class Numbers
 {
@@ -70,20 +77,25 @@ public final class Numbers
                                     Environment env,
                                     Continuation cont) throws GleamException
                 {
-                    double result = 0.0;
                     ListIterator it = new ListIterator(args);
-                    // first assume unary minus
-                    result -= getNumberArgument(this, it.next());
-                    /* if it is a real difference make sign adjustment and
-                     * subtract remaining arguments
-                     */
-                    if (it.hasNext()) {
-                        result = -result;
+                    Number result = getNumberArgument(this, it.next());
+                    if (!it.hasNext()) {
+                        // unary minus
+                        return Arithmetic.negate(result);
                     }
                     while (it.hasNext()) {
-                        result -= getNumberArgument(this, it.next());
+                        result = Arithmetic.subtract(result, getNumberArgument(this, it.next()));
                     }
-                    return number(result);
+                    return result;
+                }
+
+                @Override
+                public Entity apply(Entity arg1,
+                                    Entity arg2,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    return subtract(this, arg1, arg2);
                 }
             },
 
@@ -104,12 +116,31 @@ public final class Numbers
                                     Environment env,
                                     Continuation cont) throws GleamException
                 {
-                    double result = 0.0;
+                    Number result = Int.valueOf(0);
                     ListIterator it = new ListIterator(args);
                     while (it.hasNext()) {
-                        result += getNumberArgument(this, it.next());
+                        result = Arithmetic.add(result, getNumberArgument(this, it.next()));
                     }
-                    return number(result);
+                    return result;
+                }
+
+                @Override
+                public Entity apply(Entity arg1,
+                                    Entity arg2,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    return add(this, arg1, arg2);
+                }
+
+                @Override
+                public Entity apply(Entity arg1,
+                                    Entity arg2,
+                                    Entity arg3,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    return add(this, add(this, arg1, arg2), arg3);
                 }
             },
 
@@ -123,35 +154,39 @@ public final class Numbers
                           1,
                           Primitive.VAR_ARGS, /* min, max no. of arguments */
                           "Division, e.g. (/ 42 7)",
-                          null /* doc strings */)
+                          "The quotient of exact numbers is exact, e.g. (/ 1 3) => 1/3" /* doc strings */)
             {
                 @Override
                 public Entity apply(List args,
                                     Environment env,
                                     Continuation cont) throws GleamException
                 {
-                    double result = 1.0;
                     ListIterator it = new ListIterator(args);
-                    // first assume inverse
-                    double next = getNumberArgument(this, it.next());
-                    if (next == 0.0) {
-                        throw new GleamException("/: division by zero");
-                    }
+                    Number result = getNumberArgument(this, it.next());
                     if (!it.hasNext()) {
-                        result /= next;
-                    }
-                    else {
-                        // it is a division, adjust result and divide remaining arguments
-                        result = next;
+                        // inverse
+                        return Arithmetic.divide(Int.valueOf(1), getDivisor(this, result));
                     }
                     while (it.hasNext()) {
-                        next = getNumberArgument(this, it.next());
-                        if (next == 0.0) {
-                            throw new GleamException("/: division by zero");
-                        }
-                        result /= next;
+                        Number next = getNumberArgument(this, it.next());
+                        result = Arithmetic.divide(result, getDivisor(this, next));
+                    }
+                    return result;
+                }
+
+                @Override
+                public Entity apply(Entity arg1,
+                                    Entity arg2,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    if (arg1 instanceof Real && arg2 instanceof Real &&
+                        ((Real) arg2).doubleValue() != 0.0) {
+                        return new Real(((Real) arg1).doubleValue() / ((Real) arg2).doubleValue());
                     }
-                    return number(result);
+                    Number dividend = getNumberArgument(this, arg1);
+                    Number divisor = getNumberArgument(this, arg2);
+                    return Arithmetic.divide(dividend, getDivisor(this, divisor));
                 }
             },
 
@@ -172,12 +207,31 @@ public final class Numbers
                                     Environment env,
                                     Continuation cont) throws GleamException
                 {
-                    double result = 1.0;
+                    Number result = Int.valueOf(1);
                     ListIterator it = new ListIterator(args);
                     while (it.hasNext()) {
-                        result *= getNumberArgument(this, it.next());
+                        result = Arithmetic.multiply(result, getNumberArgument(this, it.next()));
                     }
-                    return number(result);
+                    return result;
+                }
+
+                @Override
+                public Entity apply(Entity arg1,
+                                    Entity arg2,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    return multiply(this, arg1, arg2);
+                }
+
+                @Override
+                public Entity apply(Entity arg1,
+                                    Entity arg2,
+                                    Entity arg3,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    return multiply(this, multiply(this, arg1, arg2), arg3);
                 }
             },
 
@@ -199,7 +253,7 @@ public final class Numbers
                                     Continuation cont) throws GleamException
                 {
                     boolean retVal = true;
-                    double prev, curr;
+                    Number prev, curr;
                     ListIterator it = new ListIterator(args);
                     // get first argument as prev
                     prev = getNumberArgument(this, it.next());
@@ -207,11 +261,31 @@ public final class Numbers
                     // follow remaining arguments
                     while (it.hasNext()) {
                         curr = getNumberArgument(this, it.next());
-                        retVal &= prev == curr;
+                        retVal &= Arithmetic.numberEquals(prev, curr);
                         prev = curr;
                     }
                     return Boolean.makeBoolean(retVal);
                 }
+
+                @Override
+                public Entity apply(Entity arg1,
+                                    Entity arg2,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    return Boolean.makeBoolean(numberEquals(this, arg1, arg2));
+                }
+
+                @Override
+                public Entity apply(Entity arg1,
+                                    Entity arg2,
+                                    Entity arg3,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    return Boolean.makeBoolean(numberEquals(this, arg1, arg2) &
+                                               numberEquals(this, arg2, arg3));
+                }
             },
 
             /*
@@ -232,7 +306,7 @@ public final class Numbers
                                     Continuation cont) throws GleamException
                 {
                     boolean retVal = true;
-                    double prev, curr;
+                    Number prev, curr;
                     ListIterator it = new ListIterator(args);
                     // get first argument as prev
                     prev = getNumberArgument(this, it.next());
@@ -240,11 +314,31 @@ public final class Numbers
                     // follow remaining arguments
                     while (it.hasNext()) {
                         curr = getNumberArgument(this, it.next());
-                        retVal &= prev >= curr;
+                        retVal &= Arithmetic.compare(prev, curr) >= 0;
                         prev = curr;
                     }
                     return Boolean.makeBoolean(retVal);
                 }
+
+                @Override
+                public Entity apply(Entity arg1,
+                                    Entity arg2,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    return Boolean.makeBoolean(compare(this, arg1, arg2) >= 0);
+                }
+
+                @Override
+                public Entity apply(Entity arg1,
+                                    Entity arg2,
+                                    Entity arg3,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    return Boolean.makeBoolean(compare(this, arg1, arg2) >= 0 &
+                                               compare(this, arg2, arg3) >= 0);
+                }
             },
 
             /*
@@ -265,7 +359,7 @@ public final class Numbers
                                     Continuation cont) throws GleamException
                 {
                     boolean retVal = true;
-                    double prev, curr;
+                    Number prev, curr;
                     ListIterator it = new ListIterator(args);
                     // get first argument as prev
                     prev = getNumberArgument(this, it.next());
@@ -273,11 +367,31 @@ public final class Numbers
                     // follow remaining arguments
                     while (it.hasNext()) {
                         curr = getNumberArgument(this, it.next());
-                        retVal &= prev <= curr;
+                        retVal &= Arithmetic.compare(prev, curr) <= 0;
                         prev = curr;
                     }
                     return Boolean.makeBoolean(retVal);
                 }
+
+                @Override
+                public Entity apply(Entity arg1,
+                                    Entity arg2,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    return Boolean.makeBoolean(compare(this, arg1, arg2) <= 0);
+                }
+
+                @Override
+                public Entity apply(Entity arg1,
+                                    Entity arg2,
+                                    Entity arg3,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    return Boolean.makeBoolean(compare(this, arg1, arg2) <= 0 &
+                                               compare(this, arg2, arg3) <= 0);
+                }
             },
 
             /*
@@ -298,7 +412,7 @@ public final class Numbers
                                     Continuation cont) throws GleamException
                 {
                     boolean retVal = true;
-                    double prev, curr;
+                    Number prev, curr;
                     ListIterator it = new ListIterator(args);
                     // get first argument as prev
                     prev = getNumberArgument(this, it.next());
@@ -306,11 +420,31 @@ public final class Numbers
                     // follow remaining arguments
                     while (it.hasNext()) {
                         curr = getNumberArgument(this, it.next());
-                        retVal &= prev > curr;
+                        retVal &= Arithmetic.compare(prev, curr) > 0;
                         prev = curr;
                     }
                     return Boolean.makeBoolean(retVal);
                 }
+
+                @Override
+                public Entity apply(Entity arg1,
+                                    Entity arg2,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    return Boolean.makeBoolean(compare(this, arg1, arg2) > 0);
+                }
+
+                @Override
+                public Entity apply(Entity arg1,
+                                    Entity arg2,
+                                    Entity arg3,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    return Boolean.makeBoolean(compare(this, arg1, arg2) > 0 &
+                                               compare(this, arg2, arg3) > 0);
+                }
             },
 
             /*
@@ -331,7 +465,7 @@ public final class Numbers
                                     Continuation cont) throws GleamException
                 {
                     boolean retVal = true;
-                    double prev, curr;
+                    Number prev, curr;
                     ListIterator it = new ListIterator(args);
                     // get first argument as prev
                     prev = getNumberArgument(this, it.next());
@@ -339,11 +473,31 @@ public final class Numbers
                     // follow remaining arguments
                     while (it.hasNext()) {
                         curr = getNumberArgument(this, it.next());
-                        retVal &= prev < curr;
+                        retVal &= Arithmetic.compare(prev, curr) < 0;
                         prev = curr;
                     }
                     return Boolean.makeBoolean(retVal);
                 }
+
+                @Override
+                public Entity apply(Entity arg1,
+                                    Entity arg2,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    return Boolean.makeBoolean(compare(this, arg1, arg2) < 0);
+                }
+
+                @Override
+                public Entity apply(Entity arg1,
+                                    Entity arg2,
+                                    Entity arg3,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    return Boolean.makeBoolean(compare(this, arg1, arg2) < 0 &
+                                               compare(this, arg2, arg3) < 0);
+                }
             },
 
             /*
@@ -365,22 +519,405 @@ public final class Numbers
                 {
                     return Boolean.makeBoolean(arg1 instanceof Number);
                 }
+            },
+
+            /*
+             * integer?
+             * Tests if argument is an integer
+             */
+            new Primitive("integer?",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          1,
+                          1, /* min, max no. of arguments */
+                          "Returns true if argument is an integer, false otherwise",
+                          "E.g. (integer? 3.0) => #t" /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity arg1,
+                                    Environment env,
+                                    Continuation cont)
+                {
+                    return Boolean.makeBoolean(arg1 instanceof Number &&
+                                               Arithmetic.isInteger((Number) arg1));
+                }
+            },
+
+            /*
+             * rational?
+             * Tests if argument is a rational number
+             */
+            new Primitive("rational?",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          1,
+                          1, /* min, max no. of arguments */
+                          "Returns true if argument is a rational number, false otherwise",
+                          "E.g. (rational? 1/3) => #t" /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity arg1,
+                                    Environment env,
+                                    Continuation cont)
+                {
+                    return Boolean.makeBoolean(arg1 instanceof Number &&
+                                               !isNonFinite((Number) arg1));
+                }
+            },
+
+            /*
+             * real?
+             * Tests if argument is a real number
+             */
+            new Primitive("real?",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          1,
+                          1, /* min, max no. of arguments */
+                          "Returns true if argument is a real number, false otherwise",
+                          "E.g. (real? 1.5) => #t" /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity arg1,
+                                    Environment env,
+                                    Continuation cont)
+                {
+                    return Boolean.makeBoolean(arg1 instanceof Number);
+                }
+            },
+
+            /*
+             * exact?
+             * Tests if argument is an exact number
+             */
+            new Primitive("exact?",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          1,
+                          1, /* min, max no. of arguments */
+                          "Returns true if argument is an exact number, false otherwise",
+                          "E.g. (exact? 1/3) => #t" /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity arg1,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    return Boolean.makeBoolean(Arithmetic.isExact(getNumberArgument(this, arg1)));
+                }
+            },
+
+            /*
+             * inexact?
+             * Tests if argument is an inexact number
+             */
+            new Primitive("inexact?",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          1,
+                          1, /* min, max no. of arguments */
+                          "Returns true if argument is an inexact number, false otherwise",
+                          "E.g. (inexact? 0.5) => #t" /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity arg1,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    return Boolean.makeBoolean(!Arithmetic.isExact(getNumberArgument(this, arg1)));
+                }
+            },
+
+            /*
+             * exact->inexact
+             * Converts a number to an inexact one
+             */
+            new Primitive("exact->inexact",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          1,
+                          1, /* min, max no. of arguments */
+                          "Returns an inexact number close to the argument",
+                          "E.g. (exact->inexact 1/4) => 0.25" /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity arg1,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    return Arithmetic.toInexact(getNumberArgument(this, arg1));
+                }
+            },
+
+            /*
+             * inexact->exact
+             * Converts a number to an exact one
+             */
+            new Primitive("inexact->exact",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          1,
+                          1, /* min, max no. of arguments */
+                          "Returns an exact number equal to the argument",
+                          "E.g. (inexact->exact 0.25) => 1/4" /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity arg1,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    return Arithmetic.toExact(getFiniteArgument(this, arg1));
+                }
+            },
+
+            /*
+             * numerator
+             * Gets the numerator of a number
+             */
+            new Primitive("numerator",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          1,
+                          1, /* min, max no. of arguments */
+                          "Returns the numerator of a number in lowest terms",
+                          "E.g. (numerator 6/4) => 3" /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity arg1,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    return Arithmetic.getNumerator(getFiniteArgument(this, arg1));
+                }
+            },
+
+            /*
+             * denominator
+             * Gets the denominator of a number
+             */
+            new Primitive("denominator",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          1,
+                          1, /* min, max no. of arguments */
+                          "Returns the denominator of a number in lowest terms",
+                          "E.g. (denominator 6/4) => 2" /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity arg1,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    return Arithmetic.getDenominator(getFiniteArgument(this, arg1));
+                }
+            },
+
+            /*
+             * abs
+             * Gets the absolute value of a number
+             */
+            new Primitive("abs",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          1,
+                          1, /* min, max no. of arguments */
+                          "Returns the absolute value of a number",
+                          "E.g. (abs -7) => 7" /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity arg1,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    return Arithmetic.abs(getNumberArgument(this, arg1));
+                }
+            },
+
+            /*
+             * quotient
+             * Implements integer division
+             */
+            new Primitive("quotient",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          2,
+                          2, /* min, max no. of arguments */
+                          "Integer quotient, truncated toward zero",
+                          "E.g. (quotient -7 2) => -3" /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity arg1,
+                                    Entity arg2,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    Number n1 = Arguments.requireInteger(getName(), arg1);
+                    Number n2 = Arguments.requireInteger(getName(), arg2);
+                    if (Arithmetic.isZero(n2)) {
+                        throw new GleamException(getName() + ": division by zero", arg2);
+                    }
+                    return Arithmetic.quotient(n1, n2);
+                }
+            },
+
+            /*
+             * remainder
+             * Implements integer remainder
+             */
+            new Primitive("remainder",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          2,
+                          2, /* min, max no. of arguments */
+                          "Integer remainder, with the sign of the dividend",
+                          "E.g. (remainder -7 2) => -1" /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity arg1,
+                                    Entity arg2,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    Number n1 = Arguments.requireInteger(getName(), arg1);
+                    Number n2 = Arguments.requireInteger(getName(), arg2);
+                    if (Arithmetic.isZero(n2)) {
+                        throw new GleamException(getName() + ": division by zero", arg2);
+                    }
+                    return Arithmetic.remainder(n1, n2);
+                }
+            },
+
+            /*
+             * modulo
+             * Implements integer modulo
+             */
+            new Primitive("modulo",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          2,
+                          2, /* min, max no. of arguments */
+                          "Integer modulo, with the sign of the divisor",
+                          "E.g. (modulo -7 2) => 1" /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity arg1,
+                                    Entity arg2,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    Number n1 = Arguments.requireInteger(getName(), arg1);
+                    Number n2 = Arguments.requireInteger(getName(), arg2);
+                    if (Arithmetic.isZero(n2)) {
+                        throw new GleamException(getName() + ": division by zero", arg2);
+                    }
+                    return Arithmetic.modulo(n1, n2);
+                }
             }
 
     }; // primitives
 
-    private static Number number(double number)
+    /*
+     * Two-argument operations, specialized for fixnum and flonum operands.
+     */
+
+    private static Number add(Primitive primitive,
+                              Entity arg1,
+                              Entity arg2) throws GleamException
+    {
+        if (arg1 instanceof Int && arg2 instanceof Int) {
+            return Arithmetic.add(((Int) arg1).longValue(), ((Int) arg2).longValue());
+        }
+        if (arg1 instanceof Real && arg2 instanceof Real) {
+            return new Real(((Real) arg1).doubleValue() + ((Real) arg2).doubleValue());
+        }
+        return Arithmetic.add(getNumberArgument(primitive, arg1),
+                              getNumberArgument(primitive, arg2));
+    }
+
+    private static Number subtract(Primitive primitive,
+                                   Entity arg1,
+                                   Entity arg2) throws GleamException
     {
-        if ((int) number == number) {
-            return new Int((int) number);
+        if (arg1 instanceof Int && arg2 instanceof Int) {
+            return Arithmetic.subtract(((Int) arg1).longValue(), ((Int) arg2).longValue());
+        }
+        if (arg1 instanceof Real && arg2 instanceof Real) {
+            return new Real(((Real) arg1).doubleValue() - ((Real) arg2).doubleValue());
         }
-        return new Real(number);
+        return Arithmetic.subtract(getNumberArgument(primitive, arg1),
+                                   getNumberArgument(primitive, arg2));
     }
 
-    private static double getNumberArgument(Primitive primitive,
+    private static Number multiply(Primitive primitive,
+                                   Entity arg1,
+                                   Entity arg2) throws GleamException
+    {
+        if (arg1 instanceof Int && arg2 instanceof Int) {
+            return Arithmetic.multiply(((Int) arg1).longValue(), ((Int) arg2).longValue());
+        }
+        if (arg1 instanceof Real && arg2 instanceof Real) {
+            return new Real(((Real) arg1).doubleValue() * ((Real) arg2).doubleValue());
+        }
+        return Arithmetic.multiply(getNumberArgument(primitive, arg1),
+                                   getNumberArgument(primitive, arg2));
+    }
+
+    private static int compare(Primitive primitive,
+                               Entity arg1,
+                               Entity arg2) throws GleamException
+    {
+        if (arg1 instanceof Int && arg2 instanceof Int) {
+            return Long.compare(((Int) arg1).longValue(), ((Int) arg2).longValue());
+        }
+        if (arg1 instanceof Real && arg2 instanceof Real) {
+            return Arithmetic.compare(((Real) arg1).doubleValue(), ((Real) arg2).doubleValue());
+        }
+        return Arithmetic.compare(getNumberArgument(primitive, arg1),
+                                  getNumberArgument(primitive, arg2));
+    }
+
+    private static boolean numberEquals(Primitive primitive,
+                                        Entity arg1,
+                                        Entity arg2) throws GleamException
+    {
+        if (arg1 instanceof Int && arg2 instanceof Int) {
+            return ((Int) arg1).longValue() == ((Int) arg2).longValue();
+        }
+        if (arg1 instanceof Real && arg2 instanceof Real) {
+            return ((Real) arg1).doubleValue() == ((Real) arg2).doubleValue();
+        }
+        return Arithmetic.numberEquals(getNumberArgument(primitive, arg1),
+                                       getNumberArgument(primitive, arg2));
+    }
+
+    private static Number getNumberArgument(Primitive primitive,
                                             Entity obj) throws GleamException
     {
-        return Arguments.requireNumber(primitive.getName(), obj).doubleValue();
+        return Arguments.requireNumber(primitive.getName(), obj);
+    }
+
+    private static Number getDivisor(Primitive primitive, Number divisor) throws GleamException
+    {
+        if (Arithmetic.isZero(divisor)) {
+            throw new GleamException(primitive.getName() + ": division by zero");
+        }
+        return divisor;
+    }
+
+    private static Number getFiniteArgument(Primitive primitive,
+                                            Entity obj) throws GleamException
+    {
+        Number number = getNumberArgument(primitive, obj);
+        if (isNonFinite(number)) {
+            throw new GleamException(primitive.getName() + ": not a finite number", obj);
+        }
+        return number;
+    }
+
+    private static boolean isNonFinite(Number number)
+    {
+        return number instanceof Real &&
+               (Double.isInfinite(number.doubleValue()) || Double.isNaN(number.doubleValue()));
     }
 
     /** Can't instantiate this class. */
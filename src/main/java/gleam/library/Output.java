@@ -26,15 +26,21 @@
 
 package gleam.library;
 
+import gleam.lang.BinaryOutputPort;
+import gleam.lang.Bytevector;
 import gleam.lang.Character;
 import gleam.lang.Continuation;
 import gleam.lang.Entity;
 import gleam.lang.Environment;
 import gleam.lang.GleamException;
+import gleam.lang.Int;
+import gleam.lang.List;
+import gleam.lang.ListIterator;
 import gleam.lang.OutputPort;
 import gleam.lang.Void;
 
 import static gleam.lang.Environment.Kind.REPORT_ENV;
+import static gleam.library.Arguments.requireBytevector;
 import static gleam.library.Arguments.requireOutputPort;
 import static gleam.library.Primitive.IDENTIFIER;
 
@@ -172,11 +178,79 @@ public final class Output
                                     Environment env,
                                     Continuation cont) throws GleamException
                 {
+                    if (arg1 instanceof BinaryOutputPort) {
+                        ((BinaryOutputPort) arg1).flush();
+                        return Void.VALUE;
+                    }
                     OutputPort oport = getOutputPort(this, arg1, env);
 
                     oport.flush();
                     return Void.VALUE;
                 }
+            },
+
+            /*
+             * write-u8
+             * Writes a byte to a binary output port
+             */
+            new Primitive("write-u8",
+                          REPORT_ENV, /* environment */
+                          IDENTIFIER, /* type */
+                          1, /* min no. of arguments */
+                          2, /* max no. of arguments */
+                          "Writes a byte to the binary output port", /* comment */
+                          null /* docs */)
+            {
+                @Override
+                public Entity apply(Entity arg1,
+                                    Entity arg2,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    BinaryOutputPort oport = getBinaryOutputPort(this, arg2, env);
+                    if (arg1 instanceof Int) {
+                        long value = ((Int) arg1).longValue();
+                        if (value >= 0 && value <= 255) {
+                            oport.writeU8((int) value);
+                            return Void.VALUE;
+                        }
+                    }
+                    throw new GleamException(getName() + ": not a byte", arg1);
+                }
+            },
+
+            /*
+             * write-bytevector
+             * Writes the bytes of a bytevector to a binary output port
+             */
+            new Primitive("write-bytevector",
+                          REPORT_ENV, /* environment */
+                          IDENTIFIER, /* type */
+                          1, /* min no. of arguments */
+                          4, /* max no. of arguments */
+                          "Writes the bytes of a bytevector to the binary output port", /* comment */
+                          "E.g. (write-bytevector bv port start end), where port, start and end " +
+                          "are optional" /* docs */)
+            {
+                @Override
+                public Entity apply(List args,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    ListIterator it = new ListIterator(args);
+                    Bytevector bytevector = requireBytevector(getName(), it.next());
+                    BinaryOutputPort oport =
+                            getBinaryOutputPort(this, it.hasNext() ? it.next() : null, env);
+                    int start = Bytevectors.start(this,
+                                                  bytevector,
+                                                  it.hasNext() ? it.next() : null);
+                    int end = Bytevectors.end(this,
+                                              bytevector,
+                                              start,
+                                              it.hasNext() ? it.next() : null);
+                    oport.write(bytevector, start, end);
+                    return Void.VALUE;
+                }
             }
 
     }; // primitives
@@ -197,4 +271,12 @@ public final class Output
         }
         return oport;
     }
+
+    private static BinaryOutputPort getBinaryOutputPort(Primitive primitive,
+                                                        Entity arg,
+                                                        Environment env) throws GleamException
+    {
+        Entity oport = arg == null ? env.getExecutionContext().getOut() : arg;
+        return Arguments.requireBinaryOutputPort(primitive.getName(), oport);
+    }
 }
@@ -32,14 +32,23 @@ import gleam.lang.EmptyList;
 import gleam.lang.Entity;
 import gleam.lang.Environment;
 import gleam.lang.GleamException;
+import gleam.lang.HashTable;
+import gleam.lang.Int;
 import gleam.lang.List;
+import gleam.lang.ListFoldAction;
 import gleam.lang.ListIterator;
+import gleam.lang.ListMapAction;
 import gleam.lang.Pair;
+import gleam.lang.Procedure;
 import gleam.lang.Void;
 
+import java.util.ArrayList;
+
 import static gleam.lang.Environment.Kind.REPORT_ENV;
+import static gleam.library.Arguments.requireIndex;
 import static gleam.library.Arguments.requireList;
 import static gleam.library.Arguments.requirePair;
+import static gleam.library.Arguments.requireProcedure;
 
 /**
  * PAIRS AND LISTS
@@ -238,10 +247,638 @@ public final class PairsAndLists
                     requirePair("set-cdr!", first).setCdr(second);
                     return Void.VALUE;
                 }
+            },
+
+            /*
+             * length
+             * Returns the length of a list
+             */
+            new Primitive("length",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          1,
+                          1, /* min, max no. of arguments */
+                          "Returns the number of elements in a list, e.g. (length '(a b c)) => 3",
+                          "It is an error if the list is improper or circular" /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity list,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    return Int.valueOf(length(this, list, false));
+                }
+            },
+
+            /*
+             * append
+             * Concatenates lists
+             */
+            new Primitive("append",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          0,
+                          Primitive.VAR_ARGS, /* min, max no. of arguments */
+                          "Returns a list of the elements of the arguments, in order, " +
+                          "e.g. (append '(a) '(b c)) => (a b c)",
+                          "All the arguments but the last are copied, and must be lists; the " +
+                          "last one becomes the tail of the result, and may be any object" /* doc strings */)
+            {
+                @Override
+                public Entity apply(List args,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    if (args == EmptyList.VALUE) {
+                        return EmptyList.VALUE;
+                    }
+                    ListBuilder result = new ListBuilder();
+                    Entity e = args;
+                    Pair p = (Pair) e;
+                    while (p.getCdr() instanceof Pair) {
+                        Entity list = p.getCar();
+                        length(this, list, false);
+                        for (Entity t = list; t instanceof Pair; t = ((Pair) t).getCdr()) {
+                            result.add(((Pair) t).getCar());
+                        }
+                        p = (Pair) p.getCdr();
+                    }
+                    return result.build(p.getCar());
+                }
+            },
+
+            /*
+             * reverse
+             * Reverses a list
+             */
+            new Primitive("reverse",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          1,
+                          1, /* min, max no. of arguments */
+                          "Returns a new list of the elements of a list in reverse order",
+                          "E.g. (reverse '(a b c)) => (c b a)" /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity list,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    length(this, list, false);
+                    List result = EmptyList.VALUE;
+                    for (Entity t = list; t instanceof Pair; t = ((Pair) t).getCdr()) {
+                        result = new Pair(((Pair) t).getCar(), result);
+                    }
+                    return result;
+                }
+            },
+
+            /*
+             * list-tail
+             * Returns a sublist of a list
+             */
+            new Primitive("list-tail",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          2,
+                          2, /* min, max no. of arguments */
+                          "Returns the sublist of a list obtained by omitting the first k elements",
+                          "E.g. (list-tail '(a b c) 2) => (c)" /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity list,
+                                    Entity k,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    return tail(this, list, requireIndex(getName(), k, Integer.MAX_VALUE));
+                }
+            },
+
+            /*
+             * list-ref
+             * Returns an element of a list
+             */
+            new Primitive("list-ref",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          2,
+                          2, /* min, max no. of arguments */
+                          "Returns the element of a list at a given index",
+                          "E.g. (list-ref '(a b c) 1) => b" /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity list,
+                                    Entity k,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    Entity tail = tail(this, list, requireIndex(getName(), k, Integer.MAX_VALUE));
+                    if (!(tail instanceof Pair)) {
+                        throw new GleamException(getName() + ": index out of range", k);
+                    }
+                    return ((Pair) tail).getCar();
+                }
+            },
+
+            /*
+             * list-copy
+             * Copies a list
+             */
+            new Primitive("list-copy",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          1,
+                          1, /* min, max no. of arguments */
+                          "Returns a new copy of a list",
+                          "Only the pairs are copied, not the elements. An improper list keeps " +
+                          "its last cdr, and any other object is returned as it is" /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity list,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    length(this, list, true);
+                    ListBuilder result = new ListBuilder();
+                    Entity t = list;
+                    for (; t instanceof Pair; t = ((Pair) t).getCdr()) {
+                        result.add(((Pair) t).getCar());
+                    }
+                    return result.build(t);
+                }
+            },
+
+            /*
+             * last
+             * Returns the last pair of a list
+             */
+            new Primitive("last",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          1,
+                          1, /* min, max no. of arguments */
+                          "Returns the last pair of a non-empty list, e.g. (last '(a b c)) => (c)",
+                          null /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity list,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    length(this, requirePair(getName(), list), true);
+                    Pair p = (Pair) list;
+                    while (p.getCdr() instanceof Pair) {
+                        p = (Pair) p.getCdr();
+                    }
+                    return p;
+                }
+            },
+
+            /*
+             * memq
+             * Finds an element of a list, comparing with eq?
+             */
+            new Primitive("memq",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          2,
+                          2, /* min, max no. of arguments */
+                          "Returns the first sublist of a list whose car is eq? to an object, " +
+                          "or false",
+                          "E.g. (memq 'b '(a b c)) => (b c)" /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity obj,
+                                    Entity list,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    return member(this, HashTable.Kind.EQ, obj, list);
+                }
+            },
+
+            /*
+             * memv
+             * Finds an element of a list, comparing with eqv?
+             */
+            new Primitive("memv",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          2,
+                          2, /* min, max no. of arguments */
+                          "Returns the first sublist of a list whose car is eqv? to an object, " +
+                          "or false",
+                          "E.g. (memv 101 '(100 101 102)) => (101 102)" /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity obj,
+                                    Entity list,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    return member(this, HashTable.Kind.EQV, obj, list);
+                }
+            },
+
+            /*
+             * member
+             * Finds an element of a list, comparing with equal?
+             */
+            new Primitive("member",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          2,
+                          2, /* min, max no. of arguments */
+                          "Returns the first sublist of a list whose car is equal? to an object, " +
+                          "or false",
+                          "E.g. (member (list 'a) '(b (a) c)) => ((a) c)" /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity obj,
+                                    Entity list,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    return member(this, HashTable.Kind.EQUAL, obj, list);
+                }
+            },
+
+            /*
+             * assq
+             * Finds an association, comparing keys with eq?
+             */
+            new Primitive("assq",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          2,
+                          2, /* min, max no. of arguments */
+                          "Returns the first pair of an association list whose car is eq? to " +
+                          "an object, or false",
+                          "E.g. (assq 'b '((a 1) (b 2))) => (b 2)" /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity obj,
+                                    Entity alist,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    return assoc(this, HashTable.Kind.EQ, obj, alist);
+                }
+            },
+
+            /*
+             * assv
+             * Finds an association, comparing keys with eqv?
+             */
+            new Primitive("assv",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          2,
+                          2, /* min, max no. of arguments */
+                          "Returns the first pair of an association list whose car is eqv? to " +
+                          "an object, or false",
+                          "E.g. (assv 5 '((2 3) (5 7))) => (5 7)" /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity obj,
+                                    Entity alist,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    return assoc(this, HashTable.Kind.EQV, obj, alist);
+                }
+            },
+
+            /*
+             * assoc
+             * Finds an association, comparing keys with equal?
+             */
+            new Primitive("assoc",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          2,
+                          2, /* min, max no. of arguments */
+                          "Returns the first pair of an association list whose car is equal? " +
+                          "to an object, or false",
+                          "E.g. (assoc (list 'a) '(((a)) ((b)))) => ((a))" /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity obj,
+                                    Entity alist,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    return assoc(this, HashTable.Kind.EQUAL, obj, alist);
+                }
+            },
+
+            /*
+             * map
+             * Applies a procedure to list elements, collecting the results
+             */
+            new Primitive("map",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          2,
+                          Primitive.VAR_ARGS, /* min, max no. of arguments */
+                          "Returns a list of the results of applying a procedure to list elements",
+                          "E.g. (map + '(1 2) '(10 20)) => (11 22). With more lists, it stops " +
+                          "at the end of the shortest one" /* doc strings */)
+            {
+                @Override
+                public Entity apply(List args,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    ListIterator it = new ListIterator(args);
+                    Procedure procedure = requireProcedure(getName(), it.next());
+                    return ListMapAction.start(procedure, lists(it), ListMapAction.Mode.MAP, env, cont);
+                }
+            },
+
+            /*
+             * for-each
+             * Applies a procedure to list elements
+             */
+            new Primitive("for-each",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          2,
+                          Primitive.VAR_ARGS, /* min, max no. of arguments */
+                          "Applies a procedure to list elements in order, for its side effects",
+                          "E.g. (for-each display '(1 2 3))" /* doc strings */)
+            {
+                @Override
+                public Entity apply(List args,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    ListIterator it = new ListIterator(args);
+                    Procedure procedure = requireProcedure(getName(), it.next());
+                    return ListMapAction.start(procedure,
+                                               lists(it),
+                                               ListMapAction.Mode.FOR_EACH,
+                                               env,
+                                               cont);
+                }
+            },
+
+            /*
+             * filter
+             * Selects list elements
+             */
+            new Primitive("filter",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          2,
+                          2, /* min, max no. of arguments */
+                          "Returns a list of the elements of a list which satisfy a predicate",
+                          "E.g. (filter symbol? '(a 2 b)) => (a b)" /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity pred,
+                                    Entity list,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    return ListMapAction.start(requireProcedure(getName(), pred),
+                                               new Entity[]{list},
+                                               ListMapAction.Mode.FILTER,
+                                               env,
+                                               cont);
+                }
+            },
+
+            /*
+             * fold-left
+             * Folds lists from the left
+             */
+            new Primitive("fold-left",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          3,
+                          Primitive.VAR_ARGS, /* min, max no. of arguments */
+                          "Combines list elements from the left, starting from an initial value",
+                          "E.g. (fold-left cons '() '(1 2)) => ((() . 1) . 2)" /* doc strings */)
+            {
+                @Override
+                public Entity apply(List args,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    ListIterator it = new ListIterator(args);
+                    Procedure procedure = requireProcedure(getName(), it.next());
+                    Entity initial = it.next();
+                    Entity[] lists = lists(it);
+                    for (Entity list : lists) {
+                        length(this, list, false);
+                    }
+                    return ListFoldAction.start(procedure, initial, lists, true, env, cont);
+                }
+            },
+
+            /*
+             * fold-right
+             * Folds lists from the right
+             */
+            new Primitive("fold-right",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          3,
+                          Primitive.VAR_ARGS, /* min, max no. of arguments */
+                          "Combines list elements from the right, starting from an initial value",
+                          "E.g. (fold-right cons '() '(1 2)) => (1 2)" /* doc strings */)
+            {
+                @Override
+                public Entity apply(List args,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    ListIterator it = new ListIterator(args);
+                    Procedure procedure = requireProcedure(getName(), it.next());
+                    Entity initial = it.next();
+                    Entity[] lists = lists(it);
+                    int length = Integer.MAX_VALUE;
+                    for (Entity list : lists) {
+                        length = Math.min(length, length(this, list, false));
+                    }
+                    Entity[] reversed = new Entity[lists.length];
+                    for (int i = 0; i < lists.length; ++i) {
+                        List result = EmptyList.VALUE;
+                        Entity t = lists[i];
+                        for (int j = 0; j < length; ++j, t = ((Pair) t).getCdr()) {
+                            result = new Pair(((Pair) t).getCar(), result);
+                        }
+                        reversed[i] = result;
+                    }
+                    return ListFoldAction.start(procedure, initial, reversed, false, env, cont);
+                }
+            },
+
+            /*
+             * reduce
+             * Folds a list from the left, starting from its first element
+             */
+            new Primitive("reduce",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          3,
+                          3, /* min, max no. of arguments */
+                          "Combines list elements from the left, starting from the first one, " +
+                          "e.g. (reduce + 0 '(1 2 3)) => 6",
+                          "The procedure is applied to each element and the value so far. " +
+                          "If the list is empty, the result is the second argument" /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity proc,
+                                    Entity identity,
+                                    Entity list,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    Procedure procedure = requireProcedure(getName(), proc);
+                    if (length(this, list, false) == 0) {
+                        return identity;
+                    }
+                    Pair p = (Pair) list;
+                    return ListFoldAction.start(procedure,
+                                                p.getCar(),
+                                                new Entity[]{p.getCdr()},
+                                                false,
+                                                env,
+                                                cont);
+                }
             }
 
     }; // primitives
 
+    /**
+     * Counts the elements of a list.
+     *
+     * @param allowImproper true to accept an improper list, false to require a proper one
+     *
+     * @throws GleamException if the list is circular, or improper when not allowed
+     */
+    private static int length(Primitive primitive, Entity list, boolean allowImproper)
+            throws GleamException
+    {
+        int length = 0;
+        Entity slow = list;
+        Entity fast = list;
+        while (fast instanceof Pair) {
+            fast = ((Pair) fast).getCdr();
+            ++length;
+            if (!(fast instanceof Pair)) {
+                break;
+            }
+            fast = ((Pair) fast).getCdr();
+            ++length;
+            slow = ((Pair) slow).getCdr();
+            if (fast == slow) {
+                throw new GleamException(primitive.getName() + ": circular list", list);
+            }
+        }
+        if (!allowImproper && fast != EmptyList.VALUE) {
+            throw new GleamException(primitive.getName() + ": not a proper list", list);
+        }
+        return length;
+    }
+
+    /**
+     * Omits the first elements of a list.
+     */
+    private static Entity tail(Primitive primitive, Entity list, int k) throws GleamException
+    {
+        Entity t = list;
+        for (int i = 0; i < k; ++i) {
+            if (!(t instanceof Pair)) {
+                throw new GleamException(primitive.getName() + ": list too short", list);
+            }
+            t = ((Pair) t).getCdr();
+        }
+        return t;
+    }
+
+    private static Entity member(Primitive primitive, HashTable.Kind kind, Entity obj, Entity list)
+            throws GleamException
+    {
+        Entity t = list;
+        for (; t instanceof Pair; t = ((Pair) t).getCdr()) {
+            if (kind.test(obj, ((Pair) t).getCar())) {
+                return t;
+            }
+        }
+        if (t != EmptyList.VALUE) {
+            throw new GleamException(primitive.getName() + ": not a proper list", list);
+        }
+        return Boolean.falseValue;
+    }
+
+    private static Entity assoc(Primitive primitive, HashTable.Kind kind, Entity obj, Entity alist)
+            throws GleamException
+    {
+        Entity t = alist;
+        for (; t instanceof Pair; t = ((Pair) t).getCdr()) {
+            Entity entry = ((Pair) t).getCar();
+            if (!(entry instanceof Pair)) {
+                throw new GleamException(primitive.getName() + ": not an association list", alist);
+            }
+            if (kind.test(((Pair) entry).getCar(), obj)) {
+                return entry;
+            }
+        }
+        if (t != EmptyList.VALUE) {
+            throw new GleamException(primitive.getName() + ": not a proper list", alist);
+        }
+        return Boolean.falseValue;
+    }
+
+    /**
+     * Gets the remaining list arguments of map, for-each and folds.
+     */
+    private static Entity[] lists(ListIterator it)
+    {
+        java.util.List<Entity> lists = new ArrayList<>();
+        while (it.hasNext()) {
+            lists.add(it.next());
+        }
+        return lists.toArray(new Entity[0]);
+    }
+
+    /**
+     * Builds a list by adding elements at its end.
+     */
+    private static final class ListBuilder
+    {
+        private Pair head;
+        private Pair last;
+
+        void add(Entity element)
+        {
+            Pair pair = new Pair(element, EmptyList.VALUE);
+            if (head == null) {
+                head = pair;
+            }
+            else {
+                last.setCdr(pair);
+            }
+            last = pair;
+        }
+
+        /**
+         * Gets the list, ending with a given tail.
+         */
+        Entity build(Entity tail)
+        {
+            if (head == null) {
+                return tail;
+            }
+            last.setCdr(tail);
+            return head;
+        }
+    }
+
     /** Can't instantiate this class. */
     private PairsAndLists() {}
 }
@@ -26,16 +26,23 @@
 
 package gleam.library;
 
+import gleam.lang.BinaryInputPort;
+import gleam.lang.BinaryOutputPort;
 import gleam.lang.Boolean;
 import gleam.lang.Continuation;
 import gleam.lang.Entity;
 import gleam.lang.Environment;
 import gleam.lang.GleamException;
 import gleam.lang.InputPort;
+import gleam.lang.MutableString;
 import gleam.lang.OutputPort;
 import gleam.lang.Port;
+import gleam.lang.Void;
+
+import java.io.IOException;
 
 import static gleam.lang.Environment.Kind.REPORT_ENV;
+import static gleam.library.Arguments.requireMutableString;
 import static gleam.library.Primitive.IDENTIFIER;
 
 /**
@@ -90,7 +97,8 @@ public final class Ports
                                     Environment env,
                                     Continuation cont)
                 {
-                    return Boolean.makeBoolean(obj instanceof InputPort);
+                    return Boolean.makeBoolean(obj instanceof InputPort ||
+                                               obj instanceof BinaryInputPort);
                 }
             },
 
@@ -111,7 +119,8 @@ public final class Ports
                                     Environment env,
                                     Continuation cont)
                 {
-                    return Boolean.makeBoolean(obj instanceof OutputPort);
+                    return Boolean.makeBoolean(obj instanceof OutputPort ||
+                                               obj instanceof BinaryOutputPort);
                 }
             },
 
@@ -210,7 +219,92 @@ public final class Ports
                           "Takes a string naming an existing file and returns an input port " +
                           "capable of delivering characters from the file.", /* comment */
                           null /* docs */,
-                          (Proc1) Ports::openInputFile)
+                          (Proc1) Ports::openInputFile),
+
+            /*
+             * open-binary-input-file
+             * Takes a string naming an existing file and returns a binary input port capable of
+             * delivering bytes from the file
+             */
+            new Primitive("open-binary-input-file",
+                          REPORT_ENV, /* environment */
+                          IDENTIFIER, /* type */
+                          1, /* min no. of arguments */
+                          1, /* max no. of arguments */
+                          "Takes a string naming an existing file and returns a binary input " +
+                          "port capable of delivering bytes from the file.", /* comment */
+                          null /* docs */)
+            {
+                @Override
+                public Entity apply(Entity arg1,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    MutableString fileName = requireMutableString(getName(), arg1);
+                    try {
+                        return new BinaryInputPort(fileName.toString());
+                    }
+                    catch (IOException e) {
+                        throw new GleamException(getName() + ": I/O error " + e.getMessage(),
+                                                 fileName);
+                    }
+                }
+            },
+
+            /*
+             * open-binary-output-file
+             * Takes a string naming a file and returns a binary output port capable of writing
+             * bytes to the file
+             */
+            new Primitive("open-binary-output-file",
+                          REPORT_ENV, /* environment */
+                          IDENTIFIER, /* type */
+                          1, /* min no. of arguments */
+                          1, /* max no. of arguments */
+                          "Takes a string naming a file and returns a binary output port " +
+                          "capable of writing bytes to the file.", /* comment */
+                          "The file is created, or truncated if it already exists." /* docs */)
+            {
+                @Override
+                public Entity apply(Entity arg1,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    MutableString fileName = requireMutableString(getName(), arg1);
+                    try {
+                        return new BinaryOutputPort(fileName.toString());
+                    }
+                    catch (IOException e) {
+                        throw new GleamException(getName() + ": I/O error " + e.getMessage(),
+                                                 fileName);
+                    }
+                }
+            },
+
+            /*
+             * close-port
+             * Closes a port
+             */
+            new Primitive("close-port",
+                          REPORT_ENV,
+                          IDENTIFIER, /* environment, type */
+                          1,
+                          1, /* min, max no. of arguments */
+                          "Closes a port, flushing any pending output",
+                          "Closing a port which is already closed has no effect" /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity obj,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    if (!(obj instanceof Port)) {
+                        throw new GleamException(getName() + ": not a port", obj);
+                    }
+                    ((Port) obj).close();
+                    return Void.VALUE;
+                }
+            }
 
     }; // primitives
 
@@ -38,11 +38,19 @@ import gleam.lang.Environment;
 import gleam.lang.GleamException;
 import gleam.lang.List;
 
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
 /**
  * A primitive procedure of the language. Each primitive should extend this class, overriding
  * exactly one of the apply methods to define its behavior. The method to override should be the one
  * corresponding to the maxArgs of the primitive (0..3, or N when more than 3 or VAR_ARGS). Missing
  * arguments will be represented by null values if minArgs is less than maxArgs.
+ * <p>
+ * A primitive taking a variable number of arguments may additionally override the two- and
+ * three-argument apply methods. These are then used in place of the variadic one for calls with
+ * exactly two or three arguments, so that no argument list has to be built.
  */
 public class Primitive implements Proc0, Proc1, Proc2, Proc3, ProcN,
                                   java.io.Serializable
@@ -57,6 +65,24 @@ public class Primitive implements Proc0, Proc1, Proc2, Proc3, ProcN,
     public static final int VAR_ARGS = -1;
 
     private static final long serialVersionUID = 2L;
+
+    /**
+     * Names of the primitives that are <i>pure</i>: they have no side effects, and never use the
+     * continuation, so they can be applied in direct-style evaluation, even speculatively.
+     */
+    private static final Set<String> PURE_PRIMITIVES = new HashSet<>(Arrays.asList(
+            "*", "+", "-", "/", "<", "<=", "=", ">", ">=", "abs", "append", "assoc", "assq",
+            "assv", "boolean?", "bytevector-length", "bytevector?", "car", "cdr", "char?", "cons",
+            "denominator", "environment?", "eof-object?", "eq?", "equal?", "eqv?",
+            "exact->inexact", "exact?", "inexact->exact", "inexact?", "integer?", "last", "length",
+            "list", "list->string", "list-copy", "list-ref", "list-tail", "make-string", "member",
+            "memq", "memv", "modulo", "not", "null?", "number?", "numerator", "pair?",
+            "procedure?", "quotient", "rational?", "real?", "remainder", "reverse", "string",
+            "string->list", "string-append", "string-copy", "string-join", "string-length",
+            "string-ref", "string-split", "string<=?", "string<?", "string=?", "string>=?",
+            "string>?", "string?", "substring", "symbol?", "vector", "vector-length", "vector-ref",
+            "vector?"));
+
     /** definition environment */
     public final Environment.Kind definitionEnv;
     /** true if this primitive defines a syntax keyword, false otherwise */
@@ -76,6 +102,21 @@ public class Primitive implements Proc0, Proc1, Proc2, Proc3, ProcN,
     /** primitive name, as used in programs, e.g. "car" */
     private final String name;
 
+    /** true if this primitive has no side effects, and never uses the continuation */
+    public final boolean pure;
+
+    /**
+     * true if this primitive takes a variable number of arguments, but also overrides the
+     * two-argument apply method as a fast path for calls with exactly two arguments
+     */
+    public final boolean fastApply2;
+
+    /**
+     * true if this primitive takes a variable number of arguments, but also overrides the
+     * three-argument apply method as a fast path for calls with exactly three arguments
+     */
+    public final boolean fastApply3;
+
     public final Proc0 proc0;
     public final Proc1 proc1;
     public final Proc2 proc2;
@@ -96,6 +137,7 @@ public class Primitive implements Proc0, Proc1, Proc2, Proc3, ProcN,
                       ProcN procN)
     {
         this.name = name;
+        this.pure = !keyword && PURE_PRIMITIVES.contains(name);
         this.definitionEnv = definitionEnv;
         this.keyword = keyword;
         this.minArgs = minArgs;
@@ -118,6 +160,35 @@ public class Primitive implements Proc0, Proc1, Proc2, Proc3, ProcN,
         this.proc2 = proc2 == null ? this : proc2;
         this.proc3 = proc3 == null ? this : proc3;
         this.procN = procN == null ? this : procN;
+        this.fastApply2 = hasFastApply(2,
+                                       Entity.class,
+                                       Entity.class,
+                                       Environment.class,
+                                       Continuation.class);
+        this.fastApply3 = hasFastApply(3,
+                                       Entity.class,
+                                       Entity.class,
+                                       Entity.class,
+                                       Environment.class,
+                                       Continuation.class);
+    }
+
+    /**
+     * Tells whether a primitive taking more than three arguments, or a variable number of
+     * arguments, also overrides the fixed-arity apply method for the given number of arguments.
+     */
+    private boolean hasFastApply(int argc, Class<?>... parameterTypes)
+    {
+        if (maxArgs >= 0 && maxArgs <= 3 || argc < minArgs) {
+            return false;
+        }
+        try {
+            return getClass().getMethod("apply", parameterTypes).getDeclaringClass() !=
+                   Primitive.class;
+        }
+        catch (NoSuchMethodException e) {
+            return false;
+        }
     }
 
     /**
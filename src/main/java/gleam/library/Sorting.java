@@ -0,0 +1,294 @@
+/*
+ * Copyright (c) 2023 Guglielmo Nigri.  All Rights Reserved.
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of version 2 of the GNU General Public License as
+ * published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it would be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Further, this software is distributed without any warranty that it is
+ * free of the rightful claim of any third person regarding infringement
+ * or the like.  Any license provided herein, whether implied or
+ * otherwise, applies only to this software file.  Patent licenses, if
+ * any, provided herein do not apply to combinations of this program with
+ * other software, or any other product whatsoever.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write the Free Software Foundation, Inc., 59
+ * Temple Place - Suite 330, Boston MA 02111-1307, USA.
+ *
+ * Contact information: Guglielmo Nigri <guglielmonigri@yahoo.it>
+ *
+ */
+package gleam.library;
+
+import gleam.lang.Arithmetic;
+import gleam.lang.Continuation;
+import gleam.lang.EmptyList;
+import gleam.lang.Entity;
+import gleam.lang.Environment;
+import gleam.lang.GleamException;
+import gleam.lang.List;
+import gleam.lang.ListIterator;
+import gleam.lang.MutableString;
+import gleam.lang.Number;
+import gleam.lang.Pair;
+import gleam.lang.PrimitiveProcedure;
+import gleam.lang.Procedure;
+import gleam.lang.SortAction;
+import gleam.lang.SortAction.Result;
+import gleam.lang.Vector;
+
+import static gleam.lang.Environment.Kind.REPORT_ENV;
+import static gleam.library.Arguments.requireProcedure;
+import static gleam.library.Arguments.requireVector;
+
+/**
+ * SORTING
+ * <p>
+ * Primitive operator and procedure implementation library, in the style of SRFI-132.
+ * <p>
+ * Elements are sorted with a stable merge sort, calling the ordering predicate once per
+ * comparison through the continuation, so that errors and escapes from the predicate propagate as
+ * in any other procedure call. When the predicate is the built-in {@code <} and all the elements
+ * are numbers, or {@code string<?} and all the elements are strings, they are compared directly,
+ * and large inputs are sorted in parallel.
+ */
+public final class Sorting
+{
+
+    /** the minimum number of elements to sort in parallel */
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
+
+    /** the built-in primitives, compared by identity, since their names may be rebound */
+    private static final Primitive LESS = find(Numbers.primitives, "<");
+
+    private static final Primitive STRING_LESS = find(Strings.primitives, "string<?");
+
+    /**
+     * This array contains definitions of primitives. It is used by static initializers in
+     * gleam.lang.System to populate the three initial environments.
+     */
+    public static final Primitive[] primitives = {
+
+            /*
+             * sort
+             * Sorts a list or a vector
+             */
+            new Primitive("sort",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          2,
+                          2, /* min, max no. of arguments */
+                          "Returns a new list or vector of the elements of a sequence, sorted " +
+                          "by an ordering predicate, e.g. (sort '(3 1 2) <) => (1 2 3)",
+                          "The sort is stable: equal elements keep their relative order" /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity seq,
+                                    Entity less,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    if (seq instanceof Vector) {
+                        Vector vector = (Vector) seq;
+                        return sort(this, vector.copy(0, vector.length()), less, Result.VECTOR,
+                                    env, cont);
+                    }
+                    return sort(this, toVector(this, seq), less, Result.LIST, env, cont);
+                }
+            },
+
+            /*
+             * list-sort
+             * Sorts a list
+             */
+            new Primitive("list-sort",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          2,
+                          2, /* min, max no. of arguments */
+                          "Returns a new list of the elements of a list, sorted by an ordering " +
+                          "predicate, e.g. (list-sort < '(3 1 2)) => (1 2 3)",
+                          "The sort is stable: equal elements keep their relative order" /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity less,
+                                    Entity list,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    return sort(this, toVector(this, list), less, Result.LIST, env, cont);
+                }
+            },
+
+            /*
+             * vector-sort
+             * Sorts a vector
+             */
+            new Primitive("vector-sort",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          2,
+                          4, /* min, max no. of arguments */
+                          "Returns a new vector of the elements of a vector, sorted by an " +
+                          "ordering predicate, e.g. (vector-sort < #(3 1 2)) => #(1 2 3)",
+                          "Optional start and end indices restrict the elements to sort. " +
+                          "The sort is stable: equal elements keep their relative order" /* doc strings */)
+            {
+                @Override
+                public Entity apply(List args,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    ListIterator it = new ListIterator(args);
+                    Entity less = it.next();
+                    Vector vector = requireVector(getName(), it.next());
+                    int start = Vectors.start(this, vector, it.hasNext() ? it.next() : null);
+                    int end = Vectors.end(this, vector, start, it.hasNext() ? it.next() : null);
+                    return sort(this, vector.copy(start, end), less, Result.VECTOR, env, cont);
+                }
+            },
+
+            /*
+             * vector-sort!
+             * Sorts a vector in place
+             */
+            new Primitive("vector-sort!",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          2,
+                          4, /* min, max no. of arguments */
+                          "Sorts the elements of a vector by an ordering predicate, " +
+                          "e.g. (vector-sort! v <)",
+                          "Optional start and end indices restrict the elements to sort. " +
+                          "The sort is stable: equal elements keep their relative order" /* doc strings */)
+            {
+                @Override
+                public Entity apply(List args,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    ListIterator it = new ListIterator(args);
+                    Vector vector = requireVector(getName(), it.next());
+                    Entity less = it.next();
+                    int start = Vectors.start(this, vector, it.hasNext() ? it.next() : null);
+                    int end = Vectors.end(this, vector, start, it.hasNext() ? it.next() : null);
+                    return sort(this, vector, start, end, less, Result.VOID, env, cont);
+                }
+            }
+
+    }; // primitives
+
+    /** Can't instantiate this class. */
+    private Sorting() {}
+
+    private static Entity sort(Primitive primitive,
+                               Vector vector,
+                               Entity less,
+                               Result result,
+                               Environment env,
+                               Continuation cont) throws GleamException
+    {
+        return sort(primitive, vector, 0, vector.length(), less, result, env, cont);
+    }
+
+    /**
+     * Sorts a range of the elements of a vector in place.
+     *
+     * @return the result, or null if the continuation has been updated
+     */
+    private static Entity sort(Primitive primitive,
+                               Vector vector,
+                               int start,
+                               int end,
+                               Entity less,
+                               Result result,
+                               Environment env,
+                               Continuation cont) throws GleamException
+    {
+        Procedure procedure = requireProcedure(primitive.getName(), less);
+        boolean parallel = end - start >= PARALLEL_THRESHOLD;
+        if (isPrimitive(procedure, LESS) && allNumbers(vector, start, end)) {
+            vector.sort(Sorting::compareNumbers, start, end, parallel);
+        }
+        else if (isPrimitive(procedure, STRING_LESS) && allStrings(vector, start, end)) {
+            vector.sort(Sorting::compareStrings, start, end, parallel);
+        }
+        else {
+            return SortAction.start(procedure, vector, start, end, result, env, cont);
+        }
+        return result.of(vector, start, end);
+    }
+
+    private static Primitive find(Primitive[] primitives, String name)
+    {
+        for (Primitive primitive : primitives) {
+            if (primitive.getName().equals(name)) {
+                return primitive;
+            }
+        }
+        throw new IllegalStateException("primitive not found: " + name);
+    }
+
+    private static boolean isPrimitive(Procedure procedure, Primitive primitive)
+    {
+        return procedure instanceof PrimitiveProcedure
+               && ((PrimitiveProcedure) procedure).getPrimitive() == primitive;
+    }
+
+    private static boolean allNumbers(Vector vector, int start, int end)
+    {
+        for (int i = start; i < end; ++i) {
+            if (!(vector.get(i) instanceof Number)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks that all the elements are strings, flattening them so that they can be compared from
+     * several threads.
+     */
+    private static boolean allStrings(Vector vector, int start, int end)
+    {
+        for (int i = start; i < end; ++i) {
+            if (!(vector.get(i) instanceof MutableString)) {
+                return false;
+            }
+        }
+        for (int i = start; i < end; ++i) {
+            vector.get(i).toString();
+        }
+        return true;
+    }
+
+    private static int compareStrings(Entity a, Entity b)
+    {
+        return ((MutableString) a).compareTo((MutableString) b);
+    }
+
+    private static int compareNumbers(Entity a, Entity b)
+    {
+        return Arithmetic.compare((Number) a, (Number) b);
+    }
+
+    /**
+     * Copies the elements of a proper list into a new vector.
+     */
+    private static Vector toVector(Primitive primitive, Entity list) throws GleamException
+    {
+        Entity t = list;
+        while (t instanceof Pair) {
+            t = ((Pair) t).getCdr();
+        }
+        if (t != EmptyList.VALUE) {
+            throw new GleamException(primitive.getName() + ": not a proper list", list);
+        }
+        return Vector.fromList((List) list);
+    }
+}
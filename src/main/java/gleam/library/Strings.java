@@ -24,15 +24,33 @@
  *
  */
 
+
 package gleam.library;
 
 import gleam.lang.Boolean;
 import gleam.lang.Continuation;
+import gleam.lang.EmptyList;
 import gleam.lang.Entity;
 import gleam.lang.Environment;
+import gleam.lang.GleamException;
+import gleam.lang.Int;
+import gleam.lang.List;
+import gleam.lang.ListIterator;
 import gleam.lang.MutableString;
+import gleam.lang.Pair;
+import gleam.lang.Procedure;
+import gleam.lang.StringIndexAction;
+import gleam.lang.Void;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.function.IntPredicate;
 
 import static gleam.lang.Environment.Kind.REPORT_ENV;
+import static gleam.library.Arguments.requireCharacter;
+import static gleam.library.Arguments.requireIndex;
+import static gleam.library.Arguments.requireList;
+import static gleam.library.Arguments.requireMutableString;
 
 /**
  * STRINGS
@@ -67,10 +85,583 @@ public final class Strings
                 {
                     return Boolean.makeBoolean(obj instanceof MutableString);
                 }
+            },
+
+            /*
+             * make-string
+             * Creates a string
+             */
+            new Primitive("make-string",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          1,
+                          2, /* min, max no. of arguments */
+                          "Creates a string of a given length, e.g. (make-string 3 #\\a)",
+                          "If no fill character is given, the string is filled with spaces" /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity k,
+                                    Entity fill,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    int length = requireIndex(getName(), k, Integer.MAX_VALUE);
+                    char c = fill == null ? ' ' : requireCharacter(getName(), fill).getCharValue();
+                    char[] chars = new char[length];
+                    Arrays.fill(chars, c);
+                    return new MutableString(new String(chars));
+                }
+            },
+
+            /*
+             * string
+             * Creates a string of characters
+             */
+            new Primitive("string",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          0,
+                          Primitive.VAR_ARGS, /* min, max no. of arguments */
+                          "Returns a new string of the arguments, e.g. (string #\\a #\\b) => \"ab\"",
+                          null /* doc strings */)
+            {
+                @Override
+                public Entity apply(List args,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    return listToString(this, args);
+                }
+            },
+
+            /*
+             * string-length
+             * Returns the length of a string
+             */
+            new Primitive("string-length",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          1,
+                          1, /* min, max no. of arguments */
+                          "Returns the number of characters in a string",
+                          "E.g. (string-length \"abc\") => 3" /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity s,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    return Int.valueOf(requireMutableString(getName(), s).length());
+                }
+            },
+
+            /*
+             * string-ref
+             * Returns a character of a string
+             */
+            new Primitive("string-ref",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          2,
+                          2, /* min, max no. of arguments */
+                          "Returns the character of a string at a given index",
+                          "E.g. (string-ref \"abc\" 1) => #\\b" /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity s,
+                                    Entity k,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    MutableString string = requireMutableString(getName(), s);
+                    int index = requireIndex(getName(), k, string.length());
+                    return gleam.lang.Character.valueOf(string.charAt(index));
+                }
+            },
+
+            /*
+             * string-set!
+             * Replaces a character of a string
+             */
+            new Primitive("string-set!",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          3,
+                          3, /* min, max no. of arguments */
+                          "Stores a character in a string at a given index, " +
+                          "e.g. (string-set! s 0 #\\a)",
+                          "It is an error to modify a string literal" /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity s,
+                                    Entity k,
+                                    Entity c,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    MutableString string = requireMutable(this, s);
+                    int index = requireIndex(getName(), k, string.length());
+                    string.setCharAt(index, requireCharacter(getName(), c).getCharValue());
+                    return Void.VALUE;
+                }
+            },
+
+            /*
+             * string-fill!
+             * Fills a string
+             */
+            new Primitive("string-fill!",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          2,
+                          4, /* min, max no. of arguments */
+                          "Stores a character in the elements of a string, " +
+                          "e.g. (string-fill! s #\\a)",
+                          "Optional start and end indices restrict the characters to replace. " +
+                          "It is an error to modify a string literal" /* doc strings */)
+            {
+                @Override
+                public Entity apply(List args,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    ListIterator it = new ListIterator(args);
+                    MutableString string = requireMutable(this, it.next());
+                    char c = requireCharacter(getName(), it.next()).getCharValue();
+                    int start = start(this, string, it.hasNext() ? it.next() : null);
+                    int end = end(this, string, start, it.hasNext() ? it.next() : null);
+                    string.fill(c, start, end);
+                    return Void.VALUE;
+                }
+            },
+
+            /*
+             * substring
+             * Returns a part of a string
+             */
+            new Primitive("substring",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          2,
+                          3, /* min, max no. of arguments */
+                          "Returns a new string of the characters of a string from start to end, " +
+                          "e.g. (substring \"hello\" 1 3) => \"el\"",
+                          "If no end index is given, the new string extends to the end" /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity s,
+                                    Entity k1,
+                                    Entity k2,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    MutableString string = requireMutableString(getName(), s);
+                    int start = start(this, string, k1);
+                    return string.substring(start, end(this, string, start, k2));
+                }
+            },
+
+            /*
+             * string-copy
+             * Copies a string
+             */
+            new Primitive("string-copy",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          1,
+                          3, /* min, max no. of arguments */
+                          "Returns a new, modifiable copy of a string, e.g. (string-copy \"abc\")",
+                          "Optional start and end indices restrict the characters to copy" /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity s,
+                                    Entity k1,
+                                    Entity k2,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    MutableString string = requireMutableString(getName(), s);
+                    int start = start(this, string, k1);
+                    return string.substring(start, end(this, string, start, k2));
+                }
+            },
+
+            /*
+             * string-append
+             * Concatenates strings
+             */
+            new Primitive("string-append",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          0,
+                          Primitive.VAR_ARGS, /* min, max no. of arguments */
+                          "Returns a new string of the characters of the arguments, in order",
+                          "E.g. (string-append \"ab\" \"c\") => \"abc\". Appending to a long " +
+                          "string does not copy it, so strings can be built incrementally" /* doc strings */)
+            {
+                @Override
+                public Entity apply(List args,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    java.util.List<MutableString> strings = new ArrayList<>();
+                    ListIterator it = new ListIterator(args);
+                    while (it.hasNext()) {
+                        strings.add(requireMutableString(getName(), it.next()));
+                    }
+                    return MutableString.append(strings.toArray(new MutableString[0]));
+                }
+            },
+
+            /*
+             * string=?
+             * Compares strings for equality
+             */
+            new Primitive("string=?",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          1,
+                          Primitive.VAR_ARGS, /* min, max no. of arguments */
+                          "True if all the strings have the same characters, false otherwise",
+                          "E.g. (string=? \"abc\" \"abc\") => #t" /* doc strings */)
+            {
+                @Override
+                public Entity apply(List args,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    return compare(this, args, c -> c == 0);
+                }
+            },
+
+            /*
+             * string<?
+             * Compares strings
+             */
+            new Primitive("string<?",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          1,
+                          Primitive.VAR_ARGS, /* min, max no. of arguments */
+                          "True if the strings are in strictly increasing lexicographic order, " +
+                          "false otherwise",
+                          "E.g. (string<? \"abc\" \"abd\") => #t" /* doc strings */)
+            {
+                @Override
+                public Entity apply(List args,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    return compare(this, args, c -> c < 0);
+                }
+            },
+
+            /*
+             * string>?
+             * Compares strings
+             */
+            new Primitive("string>?",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          1,
+                          Primitive.VAR_ARGS, /* min, max no. of arguments */
+                          "True if the strings are in strictly decreasing lexicographic order, " +
+                          "false otherwise",
+                          "E.g. (string>? \"abd\" \"abc\") => #t" /* doc strings */)
+            {
+                @Override
+                public Entity apply(List args,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    return compare(this, args, c -> c > 0);
+                }
+            },
+
+            /*
+             * string<=?
+             * Compares strings
+             */
+            new Primitive("string<=?",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          1,
+                          Primitive.VAR_ARGS, /* min, max no. of arguments */
+                          "True if the strings are in increasing lexicographic order, " +
+                          "false otherwise",
+                          "E.g. (string<=? \"abc\" \"abc\") => #t" /* doc strings */)
+            {
+                @Override
+                public Entity apply(List args,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    return compare(this, args, c -> c <= 0);
+                }
+            },
+
+            /*
+             * string>=?
+             * Compares strings
+             */
+            new Primitive("string>=?",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          1,
+                          Primitive.VAR_ARGS, /* min, max no. of arguments */
+                          "True if the strings are in decreasing lexicographic order, " +
+                          "false otherwise",
+                          "E.g. (string>=? \"abc\" \"abc\") => #t" /* doc strings */)
+            {
+                @Override
+                public Entity apply(List args,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    return compare(this, args, c -> c >= 0);
+                }
+            },
+
+            /*
+             * string->list
+             * Converts a string to a list of characters
+             */
+            new Primitive("string->list",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          1,
+                          3, /* min, max no. of arguments */
+                          "Returns a new list of the characters of a string",
+                          "E.g. (string->list \"ab\") => (#\\a #\\b). Optional start and end " +
+                          "indices restrict the characters to convert" /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity s,
+                                    Entity k1,
+                                    Entity k2,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    MutableString string = requireMutableString(getName(), s);
+                    int start = start(this, string, k1);
+                    int end = end(this, string, start, k2);
+                    List list = EmptyList.VALUE;
+                    for (int i = end - 1; i >= start; --i) {
+                        list = new Pair(gleam.lang.Character.valueOf(string.charAt(i)), list);
+                    }
+                    return list;
+                }
+            },
+
+            /*
+             * list->string
+             * Converts a list of characters to a string
+             */
+            new Primitive("list->string",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          1,
+                          1, /* min, max no. of arguments */
+                          "Returns a new string of the characters in a list",
+                          "E.g. (list->string '(#\\a #\\b)) => \"ab\"" /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity list,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    return listToString(this, requireList(getName(), list));
+                }
+            },
+
+            /*
+             * string-index
+             * Finds a character in a string
+             */
+            new Primitive("string-index",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          2,
+                          4, /* min, max no. of arguments */
+                          "Returns the index of the first character of a string matching a " +
+                          "character or a predicate, or false",
+                          "E.g. (string-index \"hello\" #\\l) => 2. Optional start and end " +
+                          "indices restrict the characters to search" /* doc strings */)
+            {
+                @Override
+                public Entity apply(List args,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    ListIterator it = new ListIterator(args);
+                    MutableString string = requireMutableString(getName(), it.next());
+                    Entity pred = it.next();
+                    int start = start(this, string, it.hasNext() ? it.next() : null);
+                    int end = end(this, string, start, it.hasNext() ? it.next() : null);
+                    if (pred instanceof gleam.lang.Character) {
+                        int index = string.indexOf(((gleam.lang.Character) pred).getCharValue(),
+                                                   start,
+                                                   end);
+                        return index < 0 ? Boolean.falseValue : Int.valueOf(index);
+                    }
+                    if (pred instanceof Procedure) {
+                        return StringIndexAction.start((Procedure) pred, string, start, end, env,
+                                                       cont);
+                    }
+                    throw new GleamException(getName() + ": not a character or predicate", pred);
+                }
+            },
+
+            /*
+             * string-join
+             * Concatenates a list of strings
+             */
+            new Primitive("string-join",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          1,
+                          2, /* min, max no. of arguments */
+                          "Returns a new string of the strings in a list, separated by a " +
+                          "delimiter, e.g. (string-join '(\"a\" \"b\") \", \") => \"a, b\"",
+                          "The default delimiter is a space" /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity list,
+                                    Entity delimiter,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    String separator = delimiter == null
+                                       ? " "
+                                       : requireMutableString(getName(), delimiter).toString();
+                    StringBuilder sb = new StringBuilder();
+                    ListIterator it = new ListIterator(requireList(getName(), list));
+                    boolean first = true;
+                    while (it.hasNext()) {
+                        MutableString s = requireMutableString(getName(), it.next());
+                        if (!first) {
+                            sb.append(separator);
+                        }
+                        sb.append(s);
+                        first = false;
+                    }
+                    return new MutableString(sb.toString());
+                }
+            },
+
+            /*
+             * string-split
+             * Splits a string
+             */
+            new Primitive("string-split",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          2,
+                          2, /* min, max no. of arguments */
+                          "Returns a list of the parts of a string separated by a delimiter, " +
+                          "e.g. (string-split \"a,b\" #\\,) => (\"a\" \"b\")",
+                          "The delimiter is a character or a non-empty string. Empty parts are " +
+                          "kept, e.g. (string-split \"a,,b\" \",\") => (\"a\" \"\" \"b\")" /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity s,
+                                    Entity delimiter,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    String string = requireMutableString(getName(), s).toString();
+                    String separator;
+                    if (delimiter instanceof gleam.lang.Character) {
+                        separator = String.valueOf(
+                                ((gleam.lang.Character) delimiter).getCharValue());
+                    }
+                    else {
+                        separator = requireMutableString(getName(), delimiter).toString();
+                        if (separator.isEmpty()) {
+                            throw new GleamException(getName() + ": empty delimiter", delimiter);
+                        }
+                    }
+                    java.util.List<Entity> parts = new ArrayList<>();
+                    int from = 0;
+                    int at;
+                    while ((at = string.indexOf(separator, from)) >= 0) {
+                        parts.add(new MutableString(string.substring(from, at)));
+                        from = at + separator.length();
+                    }
+                    parts.add(new MutableString(string.substring(from)));
+                    List list = EmptyList.VALUE;
+                    for (int i = parts.size() - 1; i >= 0; --i) {
+                        list = new Pair(parts.get(i), list);
+                    }
+                    return list;
+                }
             }
 
     }; // primitives
 
     /** Can't instantiate this class. */
     private Strings() {}
+
+    private static MutableString requireMutable(Primitive primitive, Entity arg)
+            throws GleamException
+    {
+        MutableString string = requireMutableString(primitive.getName(), arg);
+        if (string.isImmutable()) {
+            throw new GleamException(primitive.getName() + ": immutable string", arg);
+        }
+        return string;
+    }
+
+    /**
+     * Gets the optional start index of a range of characters.
+     */
+    private static int start(Primitive primitive, MutableString string, Entity arg)
+            throws GleamException
+    {
+        return arg == null ? 0 : requireIndex(primitive.getName(), arg, string.length() + 1);
+    }
+
+    /**
+     * Gets the optional end index of a range of characters.
+     */
+    private static int end(Primitive primitive, MutableString string, int start, Entity arg)
+            throws GleamException
+    {
+        if (arg == null) {
+            return string.length();
+        }
+        int end = requireIndex(primitive.getName(), arg, string.length() + 1);
+        if (end < start) {
+            throw new GleamException(primitive.getName() + ": end index before start index", arg);
+        }
+        return end;
+    }
+
+    /**
+     * Compares each string argument with the next one.
+     */
+    private static Entity compare(Primitive primitive, List args, IntPredicate test)
+            throws GleamException
+    {
+        ListIterator it = new ListIterator(args);
+        MutableString prev = requireMutableString(primitive.getName(), it.next());
+        boolean result = true;
+        while (it.hasNext()) {
+            MutableString curr = requireMutableString(primitive.getName(), it.next());
+            result &= test.test(prev.compareTo(curr));
+            prev = curr;
+        }
+        return Boolean.makeBoolean(result);
+    }
+
+    private static MutableString listToString(Primitive primitive, List list)
+            throws GleamException
+    {
+        StringBuilder sb = new StringBuilder();
+        ListIterator it = new ListIterator(list);
+        while (it.hasNext()) {
+            sb.append(requireCharacter(primitive.getName(), it.next()).getCharValue());
+        }
+        return new MutableString(sb.toString());
+    }
 }
@@ -41,6 +41,8 @@ import gleam.lang.Symbol;
 import gleam.lang.SyntaxRewriter;
 import gleam.lang.Undefined;
 import gleam.lang.Void;
+import gleam.lang.compiler.And;
+import gleam.lang.compiler.Or;
 
 import static gleam.lang.Environment.Kind.INTERACTION_ENV;
 import static gleam.lang.Environment.Kind.NULL_ENV;
@@ -118,8 +120,8 @@ public final class Syntax
                         // create binding
                         env.define(s, Undefined.VALUE);
                         // equivalent to set!
-                        cont.beginWith(new ExpressionAction(value, env))
-                            .andThen(new AssignmentAction(s, env));
+                        cont.push(new AssignmentAction(s, env));
+                        cont.push(new ExpressionAction(value, env));
 
                         return null;
                     }
@@ -132,7 +134,7 @@ public final class Syntax
                         // create binding
                         env.define(s, Undefined.VALUE);
                         // equivalent to set!
-                        cont.beginWith(new AssignmentAction(s, env));
+                        cont.push(new AssignmentAction(s, env));
 
                         return new Closure(params, body, env);
                     }
@@ -187,8 +189,8 @@ public final class Syntax
                         alternate = Void.VALUE;
                     }
 
-                    cont.beginWith(new ExpressionAction(test, env))
-                        .andThen(new IfAction(consequent, alternate, env));
+                    cont.push(new IfAction(consequent, alternate, env));
+                    cont.push(new ExpressionAction(test, env));
 
                     return null;
                 }
@@ -213,8 +215,8 @@ public final class Syntax
                                     Continuation cont) throws GleamException
                 {
                     Symbol s = requireSymbol("set!", arg1);
-                    cont.beginWith(new ExpressionAction(obj, env))
-                        .andThen(new AssignmentAction(s, env));
+                    cont.push(new AssignmentAction(s, env));
+                    cont.push(new ExpressionAction(obj, env));
 
                     return null;
                 }
@@ -246,29 +248,49 @@ public final class Syntax
 
             /*
              * case
-             * @todo implementation
+             * Selects a clause by the value of a key.
             */
             new Primitive("case",
                           NULL_ENV,
                           Primitive.KEYWORD, /* environment, type */
-                          0,
+                          2,
                           Primitive.VAR_ARGS, /* min, max no. of arguments */
-                          "See cond",
-                          null /* doc strings */)
-            {},
+                          "Conditional by key, e.g. (case (* 2 3) ((2 3 5 7) 'prime) ((1 4 6 8 9) 'composite))",
+                          "The key is compared to the data of each clause with eqv?" /* doc strings */)
+            {
+                @Override
+                public Entity apply(List args,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    Pair form = new Pair(Symbol.CASE, args);
+                    return gleam.lang.System.makeCase(form, env, false).eval(env, cont);
+                }
+            },
 
             /*
              * do
-             * @todo implementation
+             * Iteration.
             */
             new Primitive("do",
                           NULL_ENV,
                           Primitive.KEYWORD, /* environment, type */
-                          0,
+                          2,
                           Primitive.VAR_ARGS, /* min, max no. of arguments */
-                          "Iteration syntax (not implemented)",
-                          null /* doc strings */)
-            {},
+                          "Iteration, e.g. (do ((i 0 (+ i 1))) ((= i 5) 'done) (display i))",
+                          "Each variable is bound to its initial value, then at each iteration, " +
+                          "unless the test is true, the commands are executed and each variable " +
+                          "is bound to the value of its step expression, if any." /* doc strings */)
+            {
+                @Override
+                public Entity apply(List args,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    Pair form = new Pair(Symbol.DO, args);
+                    return gleam.lang.System.makeDo(form, env, false).eval(env, cont);
+                }
+            },
 
             //    /**
             //     * delay
@@ -329,24 +351,63 @@ public final class Syntax
             new Primitive("let",
                           NULL_ENV,
                           Primitive.KEYWORD, /* environment, type */
-                          1,
+                          2,
                           Primitive.VAR_ARGS, /* min, max no. of arguments */
                           "Introduce bindings, e.g. (let ((x 2) (y 3)) (* x y))",
-                          null /* doc strings */)
-            {},
+                          "With a name, binds it to a procedure called with the initial values, " +
+                          "e.g. (let loop ((i 0)) (if (< i 10) (loop (+ i 1)) i))" /* doc strings */)
+            {
+                @Override
+                public Entity apply(List args,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    Pair form = new Pair(Symbol.LET, args);
+                    return gleam.lang.System.makeLet(form, env, false).eval(env, cont);
+                }
+            },
 
             /*
              * let*
-             * @todo implementation
             */
             new Primitive("let*",
                           NULL_ENV,
                           Primitive.KEYWORD, /* environment, type */
-                          1,
+                          2,
                           Primitive.VAR_ARGS, /* min, max no. of arguments */
                           "Introduce bindings sequentially, e.g. (let* ((x 9) (y (+ x 1))) (+ x y))",
                           null /* doc strings */)
-            {},
+            {
+                @Override
+                public Entity apply(List args,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    Pair form = new Pair(Symbol.LETSTAR, args);
+                    return gleam.lang.System.makeLet(form, env, false).eval(env, cont);
+                }
+            },
+
+            /*
+             * letrec
+            */
+            new Primitive("letrec",
+                          NULL_ENV,
+                          Primitive.KEYWORD, /* environment, type */
+                          2,
+                          Primitive.VAR_ARGS, /* min, max no. of arguments */
+                          "Introduce recursive bindings, e.g. (letrec ((even? (lambda (n) (if (= n 0) #t (odd? (- n 1))))) (odd? (lambda (n) (if (= n 0) #f (even? (- n 1)))))) (even? 100))",
+                          null /* doc strings */)
+            {
+                @Override
+                public Entity apply(List args,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    Pair form = new Pair(Symbol.LETREC, args);
+                    return gleam.lang.System.makeLet(form, env, false).eval(env, cont);
+                }
+            },
 
             /*
              * cond
@@ -357,8 +418,59 @@ public final class Syntax
                           1,
                           Primitive.VAR_ARGS, /* min, max no. of arguments */
                           "Conditional, e.g. (cond ((> 3 3) 'greater) ((< 3 3) 'less) (else 'equal))",
-                          null /* doc strings */)
-            {},
+                          "A clause of the form (test => recipient) calls recipient with the value " +
+                          "of test, if true" /* doc strings */)
+            {
+                @Override
+                public Entity apply(List args,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    Pair form = new Pair(Symbol.COND, args);
+                    return gleam.lang.System.makeCond(form, env, false).eval(env, cont);
+                }
+            },
+
+            /*
+             * and
+            */
+            new Primitive("and",
+                          NULL_ENV,
+                          Primitive.KEYWORD, /* environment, type */
+                          0,
+                          Primitive.VAR_ARGS, /* min, max no. of arguments */
+                          "Logical and, e.g. (and (> 3 2) (< 3 4))",
+                          "Gives the first false value, or the value of the last expression, or #t " +
+                          "if there are no expressions" /* doc strings */)
+            {
+                @Override
+                public Entity apply(List args,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    return new And(new Pair(Symbol.AND, args), args).eval(env, cont);
+                }
+            },
+
+            /*
+             * or
+            */
+            new Primitive("or",
+                          NULL_ENV,
+                          Primitive.KEYWORD, /* environment, type */
+                          0,
+                          Primitive.VAR_ARGS, /* min, max no. of arguments */
+                          "Logical or, e.g. (or (> 3 4) (< 3 4))",
+                          "Gives the first true value, or #f if there is none" /* doc strings */)
+            {
+                @Override
+                public Entity apply(List args,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    return new Or(new Pair(Symbol.OR, args), args).eval(env, cont);
+                }
+            },
 
             /*
              * unquote
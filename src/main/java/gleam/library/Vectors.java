@@ -26,6 +26,31 @@
 
 package gleam.library;
 
+import gleam.lang.Boolean;
+import gleam.lang.Continuation;
+import gleam.lang.EmptyList;
+import gleam.lang.Entity;
+import gleam.lang.Environment;
+import gleam.lang.GleamException;
+import gleam.lang.Int;
+import gleam.lang.List;
+import gleam.lang.ListIterator;
+import gleam.lang.NumericVector;
+import gleam.lang.Pair;
+import gleam.lang.Procedure;
+import gleam.lang.Vector;
+import gleam.lang.VectorMapAction;
+import gleam.lang.Void;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static gleam.lang.Environment.Kind.REPORT_ENV;
+import static gleam.library.Arguments.requireIndex;
+import static gleam.library.Arguments.requireList;
+import static gleam.library.Arguments.requireProcedure;
+import static gleam.library.Arguments.requireVector;
+
 /**
  * VECTORS
  * <p>
@@ -34,13 +59,692 @@ package gleam.library;
 public final class Vectors
 {
 
+    /**
+     * Definitions of the primitives of generic vectors.
+     */
+    private static final Primitive[] vectorPrimitives = {
+
+            /*
+             * vector?
+             * Tests if argument is a vector
+             */
+            new Primitive("vector?",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          1,
+                          1, /* min, max no. of arguments */
+                          "Returns true if argument is a vector, false otherwise",
+                          "E.g. (vector? #(1 2 3)) => #t" /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity obj,
+                                    Environment env,
+                                    Continuation cont)
+                {
+                    return Boolean.makeBoolean(obj instanceof Vector);
+                }
+            },
+
+            /*
+             * make-vector
+             * Creates a new vector
+             */
+            new Primitive("make-vector",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          1,
+                          2, /* min, max no. of arguments */
+                          "Creates a vector of a given size, e.g. (make-vector 3 0)",
+                          "The elements are initialized to the optional fill value, or #f" /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity k,
+                                    Entity fill,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    int size = requireIndex(getName(), k, Integer.MAX_VALUE);
+                    return new Vector(size, fill == null ? Boolean.falseValue : fill);
+                }
+            },
+
+            /*
+             * vector
+             * Creates a new vector of the arguments
+             */
+            new Primitive("vector",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          0,
+                          Primitive.VAR_ARGS, /* min, max no. of arguments */
+                          "Creates a vector of the arguments, e.g. (vector 1 2 3)",
+                          null /* doc strings */)
+            {
+                @Override
+                public Entity apply(List args,
+                                    Environment env,
+                                    Continuation cont)
+                {
+                    return Vector.fromList(args);
+                }
+            },
+
+            /*
+             * vector-length
+             * Gets the length of a vector
+             */
+            new Primitive("vector-length",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          1,
+                          1, /* min, max no. of arguments */
+                          "Returns the number of elements in a vector, e.g. (vector-length #(1 2 3))",
+                          null /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity v,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    return Int.valueOf(requireVector(getName(), v).length());
+                }
+            },
+
+            /*
+             * vector-ref
+             * Gets an element of a vector
+             */
+            new Primitive("vector-ref",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          2,
+                          2, /* min, max no. of arguments */
+                          "Returns the element of a vector at a given index, e.g. (vector-ref #(a b c) 1)",
+                          null /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity v,
+                                    Entity k,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    Vector vector = requireVector(getName(), v);
+                    return vector.get(requireIndex(getName(), k, vector.length()));
+                }
+            },
+
+            /*
+             * vector-set!
+             * Sets an element of a vector
+             */
+            new Primitive("vector-set!",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          3,
+                          3, /* min, max no. of arguments */
+                          "Stores an object in a vector at a given index, e.g. (vector-set! v 0 'a)",
+                          null /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity v,
+                                    Entity k,
+                                    Entity obj,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    Vector vector = requireVector(getName(), v);
+                    vector.set(requireIndex(getName(), k, vector.length()), obj);
+                    return Void.VALUE;
+                }
+            },
+
+            /*
+             * vector-fill!
+             * Fills a vector
+             */
+            new Primitive("vector-fill!",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          2,
+                          4, /* min, max no. of arguments */
+                          "Stores an object in the elements of a vector, e.g. (vector-fill! v 0)",
+                          "Optional start and end indices restrict the elements to fill" /* doc strings */)
+            {
+                @Override
+                public Entity apply(List args,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    ListIterator it = new ListIterator(args);
+                    Vector vector = requireVector(getName(), it.next());
+                    Entity fill = it.next();
+                    int start = start(this, vector, it.hasNext() ? it.next() : null);
+                    int end = end(this, vector, start, it.hasNext() ? it.next() : null);
+                    vector.fill(fill, start, end);
+                    return Void.VALUE;
+                }
+            },
+
+            /*
+             * vector-copy
+             * Copies a vector
+             */
+            new Primitive("vector-copy",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          1,
+                          3, /* min, max no. of arguments */
+                          "Returns a new copy of a vector, e.g. (vector-copy #(1 2 3))",
+                          "Optional start and end indices restrict the elements to copy" /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity v,
+                                    Entity from,
+                                    Entity to,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    Vector vector = requireVector(getName(), v);
+                    int start = start(this, vector, from);
+                    return vector.copy(start, end(this, vector, start, to));
+                }
+            },
+
+            /*
+             * vector->list
+             * Converts a vector to a list
+             */
+            new Primitive("vector->list",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          1,
+                          3, /* min, max no. of arguments */
+                          "Returns a list of the elements of a vector, e.g. (vector->list #(1 2 3))",
+                          "Optional start and end indices restrict the elements to convert" /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity v,
+                                    Entity from,
+                                    Entity to,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    Vector vector = requireVector(getName(), v);
+                    int start = start(this, vector, from);
+                    return vector.toList(start, end(this, vector, start, to));
+                }
+            },
+
+            /*
+             * list->vector
+             * Converts a list to a vector
+             */
+            new Primitive("list->vector",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          1,
+                          1, /* min, max no. of arguments */
+                          "Returns a vector of the elements of a list, e.g. (list->vector '(1 2 3))",
+                          null /* doc strings */)
+            {
+                @Override
+                public Entity apply(Entity list,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    return Vector.fromList(requireList(getName(), list));
+                }
+            },
+
+            /*
+             * vector-map
+             * Maps a procedure over vectors
+             */
+            new Primitive("vector-map",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          2,
+                          Primitive.VAR_ARGS, /* min, max no. of arguments */
+                          "Returns a vector of the results of applying a procedure to vector elements",
+                          "E.g. (vector-map + #(1 2) #(10 20)) => #(11 22)" /* doc strings */)
+            {
+                @Override
+                public Entity apply(List args,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    ListIterator it = new ListIterator(args);
+                    Procedure procedure = requireProcedure(getName(), it.next());
+                    Vector[] vectors = vectors(this, it);
+                    return VectorMapAction.start(procedure, vectors, true, env, cont);
+                }
+            },
+
+            /*
+             * vector-for-each
+             * Applies a procedure to vector elements
+             */
+            new Primitive("vector-for-each",
+                          REPORT_ENV,
+                          Primitive.IDENTIFIER, /* environment, type */
+                          2,
+                          Primitive.VAR_ARGS, /* min, max no. of arguments */
+                          "Applies a procedure to vector elements in order, for its side effects",
+                          "E.g. (vector-for-each display #(1 2 3))" /* doc strings */)
+            {
+                @Override
+                public Entity apply(List args,
+                                    Environment env,
+                                    Continuation cont) throws GleamException
+                {
+                    ListIterator it = new ListIterator(args);
+                    Procedure procedure = requireProcedure(getName(), it.next());
+                    Vector[] vectors = vectors(this, it);
+                    return VectorMapAction.start(procedure, vectors, false, env, cont);
+                }
+            }
+
+    }; // vectorPrimitives
+
     /**
      * This array contains definitions of primitives. It is used by static initializers in
      * gleam.lang.System to populate the three initial environments.
      */
-    public static final Primitive[] primitives = {
-            // TODO
-    }; // primitives
+    public static final Primitive[] primitives =
+            concat(vectorPrimitives,
+                   numericVectorPrimitives(NumericVector.Kind.F64),
+                   numericVectorPrimitives(NumericVector.Kind.S64),
+                   numericVectorPrimitives(NumericVector.Kind.S32),
+                   numericVectorPrimitives(NumericVector.Kind.U8));
+
+    /**
+     * Defines the primitives of a kind of numeric vectors, in the style of SRFI-4, e.g. for
+     * {@code f64}: {@code f64vector?}, {@code make-f64vector}, {@code f64vector}, {@code
+     * f64vector-length}, {@code f64vector-ref}, {@code f64vector-set!}, {@code f64vector->list},
+     * {@code list->f64vector}, and the bulk operations {@code f64vector-fill!}, {@code
+     * f64vector-add}, {@code f64vector-scale}, {@code f64vector-dot}, {@code f64vector-sum},
+     * {@code f64vector-min} and {@code f64vector-max}.
+     */
+    private static Primitive[] numericVectorPrimitives(NumericVector.Kind kind)
+    {
+        final String type = kind.tag + "vector";
+        return new Primitive[]{
+
+                new Primitive(type + "?",
+                              REPORT_ENV,
+                              Primitive.IDENTIFIER, /* environment, type */
+                              1,
+                              1, /* min, max no. of arguments */
+                              "Returns true if argument is a " + type + ", false otherwise",
+                              null /* doc strings */)
+                {
+                    @Override
+                    public Entity apply(Entity obj,
+                                        Environment env,
+                                        Continuation cont)
+                    {
+                        return Boolean.makeBoolean(obj instanceof NumericVector &&
+                                                   ((NumericVector) obj).getKind() == kind);
+                    }
+                },
+
+                new Primitive("make-" + type,
+                              REPORT_ENV,
+                              Primitive.IDENTIFIER, /* environment, type */
+                              1,
+                              2, /* min, max no. of arguments */
+                              "Creates a " + type + " of a given size",
+                              "The elements are initialized to the optional fill value, or 0" /* doc strings */)
+                {
+                    @Override
+                    public Entity apply(Entity k,
+                                        Entity fill,
+                                        Environment env,
+                                        Continuation cont) throws GleamException
+                    {
+                        NumericVector vector =
+                                kind.make(requireIndex(getName(), k, Integer.MAX_VALUE));
+                        if (fill != null) {
+                            vector.fill(getName(), fill);
+                        }
+                        return vector;
+                    }
+                },
+
+                new Primitive(type,
+                              REPORT_ENV,
+                              Primitive.IDENTIFIER, /* environment, type */
+                              0,
+                              Primitive.VAR_ARGS, /* min, max no. of arguments */
+                              "Creates a " + type + " of the arguments",
+                              null /* doc strings */)
+                {
+                    @Override
+                    public Entity apply(List args,
+                                        Environment env,
+                                        Continuation cont) throws GleamException
+                    {
+                        return fromList(this, kind, args);
+                    }
+                },
+
+                new Primitive(type + "-length",
+                              REPORT_ENV,
+                              Primitive.IDENTIFIER, /* environment, type */
+                              1,
+                              1, /* min, max no. of arguments */
+                              "Returns the number of elements in a " + type,
+                              null /* doc strings */)
+                {
+                    @Override
+                    public Entity apply(Entity v,
+                                        Environment env,
+                                        Continuation cont) throws GleamException
+                    {
+                        return Int.valueOf(requireNumericVector(this, kind, v).length());
+                    }
+                },
+
+                new Primitive(type + "-ref",
+                              REPORT_ENV,
+                              Primitive.IDENTIFIER, /* environment, type */
+                              2,
+                              2, /* min, max no. of arguments */
+                              "Returns the element of a " + type + " at a given index",
+                              null /* doc strings */)
+                {
+                    @Override
+                    public Entity apply(Entity v,
+                                        Entity k,
+                                        Environment env,
+                                        Continuation cont) throws GleamException
+                    {
+                        NumericVector vector = requireNumericVector(this, kind, v);
+                        return vector.get(requireIndex(getName(), k, vector.length()));
+                    }
+                },
+
+                new Primitive(type + "-set!",
+                              REPORT_ENV,
+                              Primitive.IDENTIFIER, /* environment, type */
+                              3,
+                              3, /* min, max no. of arguments */
+                              "Stores a number in a " + type + " at a given index",
+                              null /* doc strings */)
+                {
+                    @Override
+                    public Entity apply(Entity v,
+                                        Entity k,
+                                        Entity obj,
+                                        Environment env,
+                                        Continuation cont) throws GleamException
+                    {
+                        NumericVector vector = requireNumericVector(this, kind, v);
+                        vector.set(getName(), requireIndex(getName(), k, vector.length()), obj);
+                        return Void.VALUE;
+                    }
+                },
+
+                new Primitive(type + "->list",
+                              REPORT_ENV,
+                              Primitive.IDENTIFIER, /* environment, type */
+                              1,
+                              1, /* min, max no. of arguments */
+                              "Returns a list of the elements of a " + type,
+                              null /* doc strings */)
+                {
+                    @Override
+                    public Entity apply(Entity v,
+                                        Environment env,
+                                        Continuation cont) throws GleamException
+                    {
+                        NumericVector vector = requireNumericVector(this, kind, v);
+                        List list = EmptyList.VALUE;
+                        for (int i = vector.length() - 1; i >= 0; --i) {
+                            list = new Pair(vector.get(i), list);
+                        }
+                        return list;
+                    }
+                },
+
+                new Primitive("list->" + type,
+                              REPORT_ENV,
+                              Primitive.IDENTIFIER, /* environment, type */
+                              1,
+                              1, /* min, max no. of arguments */
+                              "Returns a " + type + " of the elements of a list",
+                              null /* doc strings */)
+                {
+                    @Override
+                    public Entity apply(Entity list,
+                                        Environment env,
+                                        Continuation cont) throws GleamException
+                    {
+                        return fromList(this, kind, requireList(getName(), list));
+                    }
+                },
+
+                new Primitive(type + "-fill!",
+                              REPORT_ENV,
+                              Primitive.IDENTIFIER, /* environment, type */
+                              2,
+                              2, /* min, max no. of arguments */
+                              "Stores a number in all the elements of a " + type,
+                              null /* doc strings */)
+                {
+                    @Override
+                    public Entity apply(Entity v,
+                                        Entity fill,
+                                        Environment env,
+                                        Continuation cont) throws GleamException
+                    {
+                        requireNumericVector(this, kind, v).fill(getName(), fill);
+                        return Void.VALUE;
+                    }
+                },
+
+                new Primitive(type + "-add",
+                              REPORT_ENV,
+                              Primitive.IDENTIFIER, /* environment, type */
+                              2,
+                              2, /* min, max no. of arguments */
+                              "Returns a new " + type + " of the elementwise sums of two " + type + "s",
+                              null /* doc strings */)
+                {
+                    @Override
+                    public Entity apply(Entity v,
+                                        Entity w,
+                                        Environment env,
+                                        Continuation cont) throws GleamException
+                    {
+                        NumericVector vector = requireNumericVector(this, kind, v);
+                        return vector.add(getName(), requireSameLength(this, vector, w));
+                    }
+                },
+
+                new Primitive(type + "-scale",
+                              REPORT_ENV,
+                              Primitive.IDENTIFIER, /* environment, type */
+                              2,
+                              2, /* min, max no. of arguments */
+                              "Returns a new " + type + " of the elements multiplied by a number",
+                              null /* doc strings */)
+                {
+                    @Override
+                    public Entity apply(Entity v,
+                                        Entity factor,
+                                        Environment env,
+                                        Continuation cont) throws GleamException
+                    {
+                        return requireNumericVector(this, kind, v).scale(getName(), factor);
+                    }
+                },
+
+                new Primitive(type + "-dot",
+                              REPORT_ENV,
+                              Primitive.IDENTIFIER, /* environment, type */
+                              2,
+                              2, /* min, max no. of arguments */
+                              "Returns the dot product of two " + type + "s",
+                              null /* doc strings */)
+                {
+                    @Override
+                    public Entity apply(Entity v,
+                                        Entity w,
+                                        Environment env,
+                                        Continuation cont) throws GleamException
+                    {
+                        NumericVector vector = requireNumericVector(this, kind, v);
+                        return vector.dot(requireSameLength(this, vector, w));
+                    }
+                },
+
+                new Primitive(type + "-sum",
+                              REPORT_ENV,
+                              Primitive.IDENTIFIER, /* environment, type */
+                              1,
+                              1, /* min, max no. of arguments */
+                              "Returns the sum of the elements of a " + type,
+                              null /* doc strings */)
+                {
+                    @Override
+                    public Entity apply(Entity v,
+                                        Environment env,
+                                        Continuation cont) throws GleamException
+                    {
+                        return requireNumericVector(this, kind, v).sum();
+                    }
+                },
+
+                new Primitive(type + "-min",
+                              REPORT_ENV,
+                              Primitive.IDENTIFIER, /* environment, type */
+                              1,
+                              1, /* min, max no. of arguments */
+                              "Returns the smallest element of a non-empty " + type,
+                              null /* doc strings */)
+                {
+                    @Override
+                    public Entity apply(Entity v,
+                                        Environment env,
+                                        Continuation cont) throws GleamException
+                    {
+                        return requireNonEmpty(this, kind, v).min();
+                    }
+                },
+
+                new Primitive(type + "-max",
+                              REPORT_ENV,
+                              Primitive.IDENTIFIER, /* environment, type */
+                              1,
+                              1, /* min, max no. of arguments */
+                              "Returns the largest element of a non-empty " + type,
+                              null /* doc strings */)
+                {
+                    @Override
+                    public Entity apply(Entity v,
+                                        Environment env,
+                                        Continuation cont) throws GleamException
+                    {
+                        return requireNonEmpty(this, kind, v).max();
+                    }
+                }
+        };
+    }
+
+    private static Primitive[] concat(Primitive[]... arrays)
+    {
+        java.util.List<Primitive> all = new ArrayList<>();
+        for (Primitive[] array : arrays) {
+            all.addAll(Arrays.asList(array));
+        }
+        return all.toArray(new Primitive[0]);
+    }
+
+    private static NumericVector requireNumericVector(Primitive primitive,
+                                                      NumericVector.Kind kind,
+                                                      Entity arg) throws GleamException
+    {
+        if (arg instanceof NumericVector && ((NumericVector) arg).getKind() == kind) {
+            return (NumericVector) arg;
+        }
+        throw new GleamException(primitive.getName() + ": not a " + kind.tag + "vector", arg);
+    }
+
+    private static NumericVector requireSameLength(Primitive primitive,
+                                                   NumericVector vector,
+                                                   Entity arg) throws GleamException
+    {
+        NumericVector other = requireNumericVector(primitive, vector.getKind(), arg);
+        if (other.length() != vector.length()) {
+            throw new GleamException(primitive.getName() + ": vectors of different lengths", arg);
+        }
+        return other;
+    }
+
+    private static NumericVector requireNonEmpty(Primitive primitive,
+                                                 NumericVector.Kind kind,
+                                                 Entity arg) throws GleamException
+    {
+        NumericVector vector = requireNumericVector(primitive, kind, arg);
+        if (vector.length() == 0) {
+            throw new GleamException(primitive.getName() + ": empty vector", arg);
+        }
+        return vector;
+    }
+
+    private static NumericVector fromList(Primitive primitive,
+                                          NumericVector.Kind kind,
+                                          List list) throws GleamException
+    {
+        int size = 0;
+        for (Entity e = list; e instanceof Pair; e = ((Pair) e).getCdr()) {
+            ++size;
+        }
+        NumericVector vector = kind.make(size);
+        int i = 0;
+        for (Entity e = list; e instanceof Pair; e = ((Pair) e).getCdr()) {
+            vector.set(primitive.getName(), i++, ((Pair) e).getCar());
+        }
+        return vector;
+    }
+
+    /**
+     * Gets the optional start index of a range of vector elements.
+     */
+    static int start(Primitive primitive, Vector vector, Entity arg)
+            throws GleamException
+    {
+        return arg == null ? 0 : requireIndex(primitive.getName(), arg, vector.length() + 1);
+    }
+
+    /**
+     * Gets the optional end index of a range of vector elements.
+     */
+    static int end(Primitive primitive, Vector vector, int start, Entity arg)
+            throws GleamException
+    {
+        if (arg == null) {
+            return vector.length();
+        }
+        int end = requireIndex(primitive.getName(), arg, vector.length() + 1);
+        if (end < start) {
+            throw new GleamException(primitive.getName() + ": end index before start index", arg);
+        }
+        return end;
+    }
+
+    /**
+     * Gets the remaining vector arguments of vector-map and vector-for-each.
+     */
+    private static Vector[] vectors(Primitive primitive, ListIterator it) throws GleamException
+    {
+        java.util.List<Vector> vectors = new ArrayList<>();
+        while (it.hasNext()) {
+            vectors.add(requireVector(primitive.getName(), it.next()));
+        }
+        return vectors.toArray(new Vector[0]);
+    }
 
     /** Can't instantiate this class. */
     private Vectors() {}
@@ -26,15 +26,24 @@
 
 package gleam.util;
 
+import gleam.lang.Arithmetic;
+import gleam.lang.Bytevector;
 import gleam.lang.Entity;
+import gleam.lang.F64Vector;
 import gleam.lang.JavaObject;
 import gleam.lang.List;
 import gleam.lang.ListIterator;
 import gleam.lang.MutableString;
+import gleam.lang.NumericVector;
+import gleam.lang.S32Vector;
+import gleam.lang.S64Vector;
 import gleam.lang.Symbol;
+import gleam.lang.U8Vector;
 import gleam.lang.Undefined;
 import gleam.lang.Void;
 
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 
 import static gleam.lang.Entities.bool;
@@ -64,7 +73,26 @@ public class EntityObjectConverter implements Converter<Entity, Object>
             return ((gleam.lang.Real) entity).doubleValue();
         }
         else if (entity instanceof gleam.lang.Int) {
-            return ((gleam.lang.Int) entity).intValue();
+            long value = ((gleam.lang.Int) entity).longValue();
+            if (value == (int) value) {
+                return (int) value;
+            }
+            return value;
+        }
+        else if (entity instanceof gleam.lang.BigInt) {
+            return ((gleam.lang.BigInt) entity).bigIntegerValue();
+        }
+        else if (entity instanceof gleam.lang.Rational) {
+            return ((gleam.lang.Rational) entity).doubleValue();
+        }
+        else if (entity instanceof NumericVector) {
+            // the backing array, not a copy
+            return ((NumericVector) entity).getArray();
+        }
+        else if (entity instanceof Bytevector) {
+            // a view of the same bytes, not a copy
+            Bytevector bytevector = (Bytevector) entity;
+            return bytevector.view(0, bytevector.length());
         }
         else if (entity instanceof List) {
             return javaList((List) entity);
@@ -97,12 +125,33 @@ public class EntityObjectConverter implements Converter<Entity, Object>
         else if (value instanceof Boolean) {
             return bool((Boolean) value);
         }
+        else if (value instanceof Character) {
+            return gleam.lang.Character.valueOf((Character) value);
+        }
+        else if (value instanceof Integer || value instanceof Long
+                 || value instanceof Short || value instanceof Byte) {
+            return integer(((Number) value).longValue());
+        }
+        else if (value instanceof BigInteger) {
+            return Arithmetic.integer((BigInteger) value);
+        }
         else if (value instanceof Number) {
-            Number number = (Number) value;
-            if (number.doubleValue() == number.intValue()) {
-                return integer(number.intValue());
-            }
-            return real(number.doubleValue());
+            return real(((Number) value).doubleValue());
+        }
+        else if (value instanceof double[]) {
+            return new F64Vector((double[]) value);
+        }
+        else if (value instanceof long[]) {
+            return new S64Vector((long[]) value);
+        }
+        else if (value instanceof int[]) {
+            return new S32Vector((int[]) value);
+        }
+        else if (value instanceof byte[]) {
+            return new U8Vector((byte[]) value);
+        }
+        else if (value instanceof ByteBuffer) {
+            return new Bytevector((ByteBuffer) value);
         }
         return makeJavaObject(value);
     }
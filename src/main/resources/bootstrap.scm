@@ -28,29 +28,6 @@
 
 ;(define (list . elems) elems)
 
-(define (list-copy x)
-  (if (pair? x)
-    (cons (car x) (list-copy (cdr x)))
-    x))
-
-(define (last x)
-  (if (pair? x)
-    (if (null? (cdr x))
-      x
-      (last (cdr x)))
-    (error "last" x)))
-
-(define (append . args)
-  (define (_append2 lst1 lst2)
-    (if (null? lst1)
-        lst2
-        (cons (car lst1) (_append2 (cdr lst1) lst2))))
-  (if (not (pair? args))
-      args
-      (if (null? (cdr args))
-        (car args)
-        (_append2 (car args) (apply append (cdr args))))))
-
 ; nconc
 
 
@@ -109,33 +86,6 @@
     )))
 
 
-;;;; PRIMITIVE  PROCEDURES
-
-;;; equal?
-
-(define (equal? a b)
-  (define (equal-pair? a b)
-    (if (equal? (car a) (car b))
-      (equal? (cdr a) (cdr b))
-      #f))
-  (if (pair? a)
-    (if (pair? b)
-      (equal-pair? a b)
-      #f)
-    (if (pair? b)
-      #f
-      (eqv? a b)) ) )
-
-;;; map
-
-(define (map f list)
-  (define (map1 f list res)
-    (if (null? list)
-      res
-      (map1 f (cdr list) (append res (cons (f (car list)) '() ))) ))
-  (map1 f list '()) )
-
-
 ;;; Pairs and lists.
 
 ;; car - cdr compositions  (caar pair) ... (cddddr pair)
@@ -172,62 +122,6 @@
 (define (cddddr x) (cdr (cdr (cdr (cdr x)))))
 
 
-;;; (memq   obj list)
-;;; (memv   obj list)
-;;; (member obj list)
-
-(define (memq obj list)
-    (if (null? list) #f
-  (if (not (pair? list))
-      (error "2nd arg to memq not a list: " list)
-      (if (eq?  obj (car list)) list
-    (memq  obj (cdr list)) ))))
-
-
-(define (memv obj list)
-    (if (null? list) #f
-  (if (not (pair? list))
-      (error "2nd arg to memv not a list: " list)
-      (if (eqv?  obj (car list)) list
-    (memv  obj (cdr list)) ))))
-
-
-(define (member obj list)
-    (if (null? list) #f
-  (if (not (pair? list))
-      (error "2nd arg to member not a list: " list)
-      (if (equal?  obj (car list)) list
-    (member  obj (cdr list)) ))))
-
-
-;;; (assq  obj alist)
-;;; (assv  obj alist)
-;;; (assoc obj alist)
-
-(define (assq obj alist)
-    (if (null? alist) #f
-  (if (not (pair? alist))
-      (error "2nd argument to assq not a list: " alist)
-      (if (eq? (caar alist) obj) (car alist)
-    (assq obj (cdr alist))))))
-
-
-(define (assv obj alist)
-    (if (null? alist) #f
-  (if (not (pair? alist))
-      (error "2nd argument to assv not a list: " alist)
-      (if (eqv? (caar alist) obj) (car alist)
-    (assv obj (cdr alist))))))
-
-
-(define (assoc obj alist)
-    (if (null? alist) #f
-  (if (not (pair? alist))
-      (error "2nd argument to assoc not a list: " alist)
-      (if (equal? (caar alist) obj) (car alist)
-    (assoc obj (cdr alist))))))
-
-
 ;;;; GLEAM MACRO SYSTEM
 
 ;;; simple variant of let for use in _defmacro
@@ -249,119 +143,11 @@
 
 ; (_defmacro (h x) `(help ',(car x)) )
 
-;;; let
-
-; (let ((a b) (c d) ...) ...)
-; (let ((x 10) (y 20)) (+ x y)) => 30
-
-(_defmacro (let _x)
-  (define decl (car _x))
-  (define body (cdr _x))
-  `((lambda ,(map car decl) ,@body) ,@(map cadr decl)  ))
-
-
-;;; let*
-
-; (let* ((a b) (c d) ...) ...)
-; (let* ((x 10) (y (+ 1 x))) (+ x y)) => 21
-
-(_defmacro (let* x)
-  (if (null? (cdar x))
-    `(let ,@x)
-    `(let (,(caar x)) (let* ,(cdar x) ,@(cdr x)) )))
-
-
 ;;; gensym
 
 (define (gensym . x) (generate-symbol) )
 
 
-;;; and
-
-; (and)       => #t
-; (and e1)    => e1
-; (and e1 e2 ...) =>
-;   (let ((x e1)
-;             (thunk (lambda()(and e2...))))
-;       (if x (thunk) x))
-
-(_defmacro (and args)
-    (if (null? args) #t
-  (if (null? (cdr args)) (car args)
-      (let* ((x (gensym "_x"))
-      (thunk (gensym "_thunk")))
-    `(let* ((,x ,(car args))
-           (,thunk (lambda ()
-        (and ,@(cdr args)))))
-        (if ,x (,thunk) ,x))
-      ))))
-
-
-;;; or
-
-; (or)       => #f
-; (or e1)    => e1
-; (or e1 e2 ...) =>
-;   (let ((x e1)
-;             (thunk (lambda()(or e2...))))
-;       (if x x (thunk)))
-
-
-(_defmacro (or args)
-    (if (null? args) #f
-  (if (null? (cdr args)) (car args)
-      (let ((x (gensym "_x"))
-      (thunk (gensym "_thunk")))
-    `(let ((,x ,(car args))
-           (,thunk (lambda ()
-         (or ,@(cdr args)))))
-        (if ,x ,x (,thunk)))
-      ))))
-
-;;; cond
-
-; (cond) => '()
-;
-; (cond (else seq)) => (begin seq)
-;
-; (cond (e1) c2 ...) => (or e1 (cond c2 ...))
-;
-; (cond (e1 => recipient) c2 ...) =>
-;   (let ((t e1)
-;         (r (lambda() recipient))
-;         (c (lambda() c2 ...)))
-;    (if t ((r)t) (c)) )
-;
-; (cond (e1 seq1) c2 ...) =>
-;    (if e1 (begin seq1)
-;     (cond c2 ...))
-;
-;(cond ((assv 'b '((a 1) (b 2))) => cadr) (else #f)) => 2
-
-
-(_defmacro (cond form)
-    (if (null? form) ''()
-  (let ((c1 (car form)))
-      (if (not (pair? c1))
-    (error "invalid cond syntax: " form)
-    (if (eq? (car c1) 'else)
-        `(begin ,@(cdr c1))
-    (if (null? (cdr c1))
-        `(or ,(car c1)
-       (cond ,@(cddr form)))
-    (if (eq? (cadr c1) '=>)
-      (let ((t (gensym "_t"))
-      (r (gensym "_r"))
-      (c (gensym "_c")))
-        `(let ((,t ,(car c1))
-         (,r (lambda () ,@(cddr c1)))
-         (,c (lambda () (cond ,@(cdr form)))))
-      (if ,t ((,r),t) (,c))) )
-      `(if ,(car c1)
-           (begin ,@(cdr c1))
-           (cond ,@(cdr form)))
-    )))))))
-
 (define (set-last-cdr! list elem)
   (if (null? (cdr list))
       (set-cdr! list elem)
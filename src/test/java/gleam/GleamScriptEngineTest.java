@@ -0,0 +1,315 @@
+/*
+ * Copyright (c) 2023 Guglielmo Nigri.  All Rights Reserved.
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of version 2 of the GNU General Public License as
+ * published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it would be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Further, this software is distributed without any warranty that it is
+ * free of the rightful claim of any third person regarding infringement
+ * or the like.  Any license provided herein, whether implied or
+ * otherwise, applies only to this software file.  Patent licenses, if
+ * any, provided herein do not apply to combinations of this program with
+ * other software, or any other product whatsoever.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write the Free Software Foundation, Inc., 59
+ * Temple Place - Suite 330, Boston MA 02111-1307, USA.
+ *
+ * Contact information: Guglielmo Nigri <guglielmonigri@yahoo.it>
+ *
+ */
+
+package gleam;
+
+import gleam.interop.FunctionException;
+import gleam.lang.Entity;
+import gleam.util.Logger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.script.Bindings;
+import javax.script.CompiledScript;
+import javax.script.ScriptContext;
+import javax.script.ScriptException;
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GleamScriptEngineTest
+{
+    private GleamScriptEngine engine;
+
+    @BeforeEach
+    void init()
+    {
+        Logger.getLogger().setLevel(Logger.Level.CONFIG);
+        engine = new GleamScriptEngine();
+    }
+
+    @Test
+    void compile_and_eval_many_times() throws ScriptException
+    {
+        engine.eval("(define n 0)");
+        CompiledScript script = engine.compile("(set! n (+ n 1)) (* n 10)");
+        assertSame(engine, script.getEngine());
+        assertEquals(10, script.eval());
+        assertEquals(20, script.eval());
+        assertEquals(2, engine.eval("n"));
+    }
+
+    @Test
+    void compiled_script_with_other_bindings() throws ScriptException
+    {
+        CompiledScript script = engine.compile("(* y 2)");
+        engine.put("y", 10);
+        Bindings bindings = engine.createBindings();
+        bindings.put("y", 5);
+
+        assertEquals(20, script.eval());
+        assertEquals(10, script.eval(bindings));
+        assertEquals(20, script.eval());
+    }
+
+    @Test
+    void compiled_script_uses_macros_defined_before() throws ScriptException
+    {
+        CompiledScript script = engine.compile(
+                "(_defmacro (twice args) `(* 2 ,(car args))) (twice 21)");
+        assertEquals(42, script.eval());
+        assertEquals(42, script.eval());
+    }
+
+    @Test
+    void compile_syntax_error()
+    {
+        assertThrows(ScriptException.class, () -> engine.compile("(+ 1"));
+    }
+
+    @Test
+    void compiled_script_sees_redefined_globals() throws ScriptException
+    {
+        CompiledScript script = engine.compile("(car '(1 2))");
+        assertEquals(1, script.eval());
+        engine.eval("(define (car x) 'mine)");
+        assertEquals("mine", script.eval());
+        assertEquals("mine", engine.eval("(car '(1 2))"));
+    }
+
+    @Test
+    void compiled_script_not_recompiled_for_other_engines() throws ScriptException
+    {
+        CompiledScript script = engine.compile("(car '(1 2))");
+        assertEquals(1, script.eval());
+        GleamBindings bindings = (GleamBindings) engine.getBindings(ScriptContext.ENGINE_SCOPE);
+        Entity compiled = bindings.getCompiledForms((GleamCompiledScript) script).nodes[0];
+
+        new GleamScriptEngine().eval("(define (car x) 'other)");
+        assertEquals(1, script.eval());
+        assertSame(compiled, bindings.getCompiledForms((GleamCompiledScript) script).nodes[0]);
+    }
+
+    @Test
+    void compiled_script_releases_bindings() throws ScriptException, InterruptedException
+    {
+        CompiledScript script = engine.compile("(define (g) y) (g)");
+        List<WeakReference<Bindings>> references = new ArrayList<>();
+        for (int i = 0; i < 100; ++i) {
+            Bindings bindings = engine.createBindings();
+            bindings.put("y", i);
+            assertEquals(i, script.eval(bindings));
+            references.add(new WeakReference<>(bindings));
+        }
+        assertReleased(references);
+    }
+
+    private static void assertReleased(List<? extends Reference<?>> references)
+            throws InterruptedException
+    {
+        for (int i = 0; i < 20 && references.stream().anyMatch(r -> r.get() != null); ++i) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertEquals(0, references.stream().filter(r -> r.get() != null).count());
+    }
+
+    @Test
+    void eval_cache_disabled_by_default()
+    {
+        assertNull(engine.getEvalCache());
+    }
+
+    @Test
+    void eval_cache_statistics() throws ScriptException
+    {
+        GleamScriptEngineFactory factory = new GleamScriptEngineFactory();
+        factory.setParameter(GleamScriptEngineFactory.EVAL_CACHE_CAPACITY, 2);
+        GleamScriptEngine cached = (GleamScriptEngine) factory.getScriptEngine();
+        EvalCache cache = cached.getEvalCache();
+        assertEquals(2, cache.getCapacity());
+
+        cached.eval("(define x 1)");
+        assertEquals(2, cached.eval("(+ x 1)"));
+        cached.eval("(set! x 2)");
+        assertEquals(3, cached.eval("(+ x 1)"));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(3, cache.getMissCount());
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(2, cache.size());
+
+        Bindings bindings = cached.createBindings();
+        bindings.put("x", 10);
+        assertEquals(11, cached.eval("(+ x 1)", bindings));
+        assertEquals(3, cached.eval("(+ x 1)"));
+        assertEquals(3, cache.getHitCount());
+    }
+
+    private static GleamScriptEngine newCachedEngine(int capacity)
+    {
+        GleamScriptEngineFactory factory = new GleamScriptEngineFactory();
+        factory.setParameter(GleamScriptEngineFactory.EVAL_CACHE_CAPACITY, capacity);
+        return (GleamScriptEngine) factory.getScriptEngine();
+    }
+
+    @Test
+    void eval_cache_sees_redefined_globals() throws ScriptException
+    {
+        GleamScriptEngine cached = newCachedEngine(4);
+        assertEquals(3, cached.eval("(+ 1 2)"));
+        cached.eval("(define (+ a b) (* a b))");
+        assertEquals(2, cached.eval("(+ 1 2)"));
+        assertEquals(1, cached.getEvalCache().getHitCount());
+    }
+
+    @Test
+    void eval_cache_releases_bindings() throws ScriptException, InterruptedException
+    {
+        GleamScriptEngine cached = newCachedEngine(4);
+        List<WeakReference<Bindings>> references = new ArrayList<>();
+        for (int i = 0; i < 100; ++i) {
+            Bindings bindings = cached.createBindings();
+            bindings.put("y", i);
+            assertEquals(i, cached.eval("(define (g) y) (g)", bindings));
+            references.add(new WeakReference<>(bindings));
+        }
+        assertEquals(99, cached.getEvalCache().getHitCount());
+        assertReleased(references);
+    }
+
+    @Test
+    void invoke_function() throws ScriptException, NoSuchMethodException
+    {
+        engine.eval("(define (score x y) (+ (* x 10) y))");
+        engine.eval("(define (greet s) (string-append \"hello, \" s))");
+        assertEquals(12, engine.invokeFunction("score", 1, 2));
+        assertEquals(2.5, engine.invokeFunction("score", 0.25, 0));
+        assertEquals("hello, world", engine.invokeFunction("greet", "world"));
+
+        engine.eval("(define (score x y) (- x y))");
+        assertEquals(-1, engine.invokeFunction("score", 1, 2));
+    }
+
+    @Test
+    void invoke_function_errors() throws ScriptException, NoSuchMethodException
+    {
+        engine.eval("(define not-a-function 1)");
+        engine.eval("(define (fail x) (car x))");
+        assertThrows(NoSuchMethodException.class, () -> engine.invokeFunction("undefined"));
+        assertThrows(NoSuchMethodException.class, () -> engine.invokeFunction("not-a-function"));
+        assertThrows(ScriptException.class, () -> engine.invokeFunction("fail", 1));
+        assertEquals(3, engine.invokeFunction("+", 1, 2));
+    }
+
+    @Test
+    void get_interface() throws ScriptException
+    {
+        engine.eval("(define (compare a b) (- (string-length a) (string-length b)))");
+        @SuppressWarnings("unchecked")
+        Comparator<String> comparator = engine.getInterface(Comparator.class);
+        assertSame(comparator, engine.getInterface(Comparator.class));
+        List<String> words = new ArrayList<>(Arrays.asList("ccc", "a", "bb"));
+        words.sort(comparator);
+        assertEquals(Arrays.asList("a", "bb", "ccc"), words);
+
+        engine.eval("(define (compare a b) (- (string-length b) (string-length a)))");
+        words.sort(comparator);
+        assertEquals(Arrays.asList("ccc", "bb", "a"), words);
+
+        assertNull(engine.getInterface(Runnable.class));
+        assertThrows(IllegalArgumentException.class, () -> engine.getInterface(String.class));
+    }
+
+    @Test
+    void get_interface_of_procedure() throws ScriptException
+    {
+        Object even = engine.eval("(lambda (n) (= (remainder n 2) 0))");
+        @SuppressWarnings("unchecked")
+        Predicate<Object> predicate = engine.getInterface(even, Predicate.class);
+        assertTrue(predicate.test(4));
+        assertFalse(predicate.test(3));
+
+        Object half = engine.eval("(lambda (x) (/ x 2))");
+        DoubleUnaryOperator operator = engine.getInterface(half, DoubleUnaryOperator.class);
+        assertEquals(1.5, operator.applyAsDouble(3.0));
+        assertThrows(UnsupportedOperationException.class, () -> operator.andThen(operator));
+    }
+
+    @Test
+    void get_interface_errors() throws ScriptException
+    {
+        @SuppressWarnings("unchecked")
+        Comparator<Object> inexact = engine.getInterface(engine.eval("(lambda (a b) 0.5)"),
+                                                         Comparator.class);
+        assertThrows(FunctionException.class, () -> inexact.compare(1, 2));
+
+        Object large = engine.eval("(lambda (x) 1099511627776)");
+        @SuppressWarnings("unchecked")
+        ToIntFunction<Object> toInt = engine.getInterface(large, ToIntFunction.class);
+        assertThrows(FunctionException.class, () -> toInt.applyAsInt(1));
+        @SuppressWarnings("unchecked")
+        ToLongFunction<Object> toLong = engine.getInterface(large, ToLongFunction.class);
+        assertEquals(1099511627776L, toLong.applyAsLong(1));
+
+        Object huge = engine.eval("(lambda (x) 1180591620717411303424)");
+        @SuppressWarnings("unchecked")
+        ToLongFunction<Object> hugeToLong = engine.getInterface(huge, ToLongFunction.class);
+        assertThrows(FunctionException.class, () -> hugeToLong.applyAsLong(1));
+
+        @SuppressWarnings("unchecked")
+        Predicate<Object> failing = engine.getInterface(engine.eval("(lambda (x) (car x))"),
+                                                        Predicate.class);
+        FunctionException e = assertThrows(FunctionException.class, () -> failing.test(1));
+        assertEquals(e.getMessage(), e.getCause().getMessage());
+    }
+
+    @Test
+    void get_interface_with_object() throws ScriptException
+    {
+        engine.eval("(define (run self) (vector-set! self 0 (+ (vector-ref self 0) 1)))");
+        Object counter = engine.eval("(vector 0)");
+        Runnable runnable = engine.getInterface(counter, Runnable.class);
+        runnable.run();
+        runnable.run();
+        engine.put("counter", counter);
+        assertEquals(2, engine.eval("(vector-ref counter 0)"));
+    }
+}
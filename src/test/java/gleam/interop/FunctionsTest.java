@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2023 Guglielmo Nigri.  All Rights Reserved.
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of version 2 of the GNU General Public License as
+ * published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it would be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Further, this software is distributed without any warranty that it is
+ * free of the rightful claim of any third person regarding infringement
+ * or the like.  Any license provided herein, whether implied or
+ * otherwise, applies only to this software file.  Patent licenses, if
+ * any, provided herein do not apply to combinations of this program with
+ * other software, or any other product whatsoever.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write the Free Software Foundation, Inc., 59
+ * Temple Place - Suite 330, Boston MA 02111-1307, USA.
+ *
+ * Contact information: Guglielmo Nigri <guglielmonigri@yahoo.it>
+ *
+ */
+
+
+package gleam.interop;
+
+import gleam.GleamScriptEngine;
+import gleam.lang.Procedure;
+import gleam.util.Logger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.script.ScriptException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.LongBinaryOperator;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FunctionsTest
+{
+    private GleamScriptEngine engine;
+
+    @BeforeEach
+    void init()
+    {
+        Logger.getLogger().setLevel(Logger.Level.CONFIG);
+        engine = new GleamScriptEngine();
+    }
+
+    private Procedure procedure(String lambda) throws ScriptException
+    {
+        return (Procedure) engine.eval(lambda);
+    }
+
+    @Test
+    void double_unary_operator() throws ScriptException
+    {
+        DoubleUnaryOperator square = Functions.doubleUnaryOperator(procedure("(lambda (x) (* x x))"));
+        assertEquals(6.25, square.applyAsDouble(2.5));
+        assertEquals(9.0, square.applyAsDouble(-3.0));
+    }
+
+    @Test
+    void long_binary_operator() throws ScriptException
+    {
+        LongBinaryOperator plus = Functions.longBinaryOperator(procedure("+"));
+        assertEquals(5050L, LongStream.rangeClosed(1, 100).reduce(0, plus));
+        assertThrows(FunctionException.class, () -> plus.applyAsLong(Long.MAX_VALUE, 1));
+        LongBinaryOperator divide = Functions.longBinaryOperator(procedure("/"));
+        assertThrows(FunctionException.class, () -> divide.applyAsLong(1, 2));
+    }
+
+    @Test
+    void to_double_function() throws ScriptException
+    {
+        ToDoubleFunction<String> length = Functions.toDoubleFunction(procedure("string-length"));
+        assertEquals(5.0, length.applyAsDouble("hello"));
+    }
+
+    @Test
+    void predicate() throws ScriptException
+    {
+        Predicate<Object> even = Functions.predicate(procedure("(lambda (n) (= (remainder n 2) 0))"));
+        List<Integer> evens = IntStream.range(0, 10)
+                                       .boxed()
+                                       .filter(even)
+                                       .collect(Collectors.toList());
+        assertEquals(Arrays.asList(0, 2, 4, 6, 8), evens);
+        assertTrue(Functions.predicate(procedure("(lambda (x) 0)")).test("anything"));
+        assertFalse(Functions.predicate(procedure("(lambda (x) #f)")).test("anything"));
+    }
+
+    @Test
+    void parallel_stream() throws ScriptException
+    {
+        engine.eval("(define (fib n) (if (< n 2) n (+ (fib (- n 1)) (fib (- n 2)))))");
+        DoubleUnaryOperator fib = Functions.doubleUnaryOperator(procedure("(lambda (x) (fib x))"));
+        double expected = IntStream.range(0, 2000).mapToDouble(i -> i % 15).map(fib).sum();
+        double actual = IntStream.range(0, 2000).parallel().mapToDouble(i -> i % 15).map(fib).sum();
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void errors() throws ScriptException
+    {
+        DoubleUnaryOperator car = Functions.doubleUnaryOperator(procedure("car"));
+        FunctionException e = assertThrows(FunctionException.class, () -> car.applyAsDouble(1.0));
+        assertEquals(e.getMessage(), e.getCause().getMessage());
+        ToDoubleFunction<Object> identity = Functions.toDoubleFunction(procedure("(lambda (x) x)"));
+        assertThrows(FunctionException.class, () -> identity.applyAsDouble("not a number"));
+        // the frame of this thread is still usable
+        assertEquals(2.0, identity.applyAsDouble(2));
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2023 Guglielmo Nigri.  All Rights Reserved.
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of version 2 of the GNU General Public License as
+ * published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it would be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Further, this software is distributed without any warranty that it is
+ * free of the rightful claim of any third person regarding infringement
+ * or the like.  Any license provided herein, whether implied or
+ * otherwise, applies only to this software file.  Patent licenses, if
+ * any, provided herein do not apply to combinations of this program with
+ * other software, or any other product whatsoever.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write the Free Software Foundation, Inc., 59
+ * Temple Place - Suite 330, Boston MA 02111-1307, USA.
+ *
+ * Contact information: Guglielmo Nigri <guglielmonigri@yahoo.it>
+ *
+ */
+
+package gleam.lang;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BinaryPortTest
+{
+    @TempDir
+    Path tempDir;
+
+    private Interpreter intp;
+
+    private Path file;
+
+    @BeforeEach
+    void init() throws GleamException
+    {
+        intp = Interpreter.newInterpreter();
+        file = tempDir.resolve("data.bin");
+        intp.eval("(define file \"" + file.toString().replace("\\", "\\\\") + "\")");
+    }
+
+    @Test
+    void write_bytes() throws GleamException, IOException
+    {
+        intp.eval("(define out (open-binary-output-file file))");
+        intp.eval("(write-u8 1 out)");
+        intp.eval("(write-bytevector #vu8(2 3 4 5) out 1 3)");
+        intp.eval("(close-port out)");
+
+        assertArrayEquals(new byte[]{1, 3, 4}, Files.readAllBytes(file));
+    }
+
+    @Test
+    void read_bytes() throws GleamException, IOException
+    {
+        Files.write(file, new byte[]{10, 20, 30, (byte) 255});
+        intp.eval("(define in (open-binary-input-file file))");
+
+        assertEquals(Int.valueOf(10), intp.eval("(peek-u8 in)"));
+        assertEquals(Int.valueOf(10), intp.eval("(read-u8 in)"));
+        assertEquals(Int.valueOf(2), intp.eval("(define bv (make-bytevector 4 0))" +
+                                                "(read-bytevector! bv in 1 3)"));
+        assertEquals("#vu8(0 20 30 0)", intp.eval("bv").toWriteFormat());
+        assertEquals("#vu8(255)", intp.eval("(read-bytevector 10 in)").toWriteFormat());
+        assertEquals(Eof.VALUE, intp.eval("(read-u8 in)"));
+        assertEquals(Eof.VALUE, intp.eval("(read-bytevector 10 in)"));
+        intp.eval("(close-port in)");
+    }
+
+    @Test
+    void round_trip_larger_than_buffer() throws GleamException
+    {
+        int size = 100_000;
+        intp.eval("(define out (open-binary-output-file file))");
+        intp.eval("(define bv (make-bytevector " + size + " 7))");
+        intp.eval("(bytevector-u32-set! bv 0 3735928559 'big)");
+        intp.eval("(write-u8 42 out)");
+        intp.eval("(write-bytevector bv out)");
+        intp.eval("(close-port out)");
+
+        intp.eval("(define in (open-binary-input-file file))");
+        assertEquals(Int.valueOf(42), intp.eval("(read-u8 in)"));
+        Entity result = intp.eval("(read-bytevector " + (size + 1) + " in)");
+        assertTrue(((Bytevector) intp.eval("bv")).contentEquals((Bytevector) result));
+        assertEquals(Int.valueOf(0xDEADBEEFL), intp.eval("(bytevector-u32-ref bv 0 'big)"));
+        assertEquals(Eof.VALUE, intp.eval("(read-u8 in)"));
+    }
+
+    @Test
+    void closed_port() throws GleamException
+    {
+        intp.eval("(define out (open-binary-output-file file))");
+        intp.eval("(close-port out)");
+        assertThrows(GleamException.class, () -> intp.eval("(write-u8 1 out)"));
+    }
+
+    @Test
+    void textual_port_is_not_binary()
+    {
+        assertThrows(GleamException.class, () -> intp.eval("(read-u8 (current-input-port))"));
+    }
+}
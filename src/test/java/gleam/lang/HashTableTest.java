@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2023 Guglielmo Nigri.  All Rights Reserved.
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of version 2 of the GNU General Public License as
+ * published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it would be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Further, this software is distributed without any warranty that it is
+ * free of the rightful claim of any third person regarding infringement
+ * or the like.  Any license provided herein, whether implied or
+ * otherwise, applies only to this software file.  Patent licenses, if
+ * any, provided herein do not apply to combinations of this program with
+ * other software, or any other product whatsoever.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write the Free Software Foundation, Inc., 59
+ * Temple Place - Suite 330, Boston MA 02111-1307, USA.
+ *
+ * Contact information: Guglielmo Nigri <guglielmonigri@yahoo.it>
+ *
+ */
+
+package gleam.lang;
+
+import org.junit.jupiter.api.Test;
+
+import static gleam.lang.Entities.cons;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class HashTableTest
+{
+    @Test
+    void equal_keys_are_structural()
+    {
+        HashTable table = new HashTable(HashTable.Kind.EQUAL, false);
+        table.put(cons(new MutableString("a"), cons(Int.valueOf(1))), Int.valueOf(42));
+
+        assertEquals(Int.valueOf(42),
+                     table.get(cons(new MutableString("a"), cons(Int.valueOf(1)))));
+        assertNull(table.get(cons(new MutableString("a"))));
+    }
+
+    @Test
+    void string_hash_follows_contents()
+    {
+        MutableString s = new MutableString("key");
+        assertEquals("key".hashCode(), s.hashCode());
+        assertEquals(new MutableString("key").hashCode(), s.hashCode());
+    }
+
+    @Test
+    void eq_keys_are_compared_by_identity()
+    {
+        HashTable table = new HashTable(HashTable.Kind.EQ, false);
+        Pair key = cons(Int.valueOf(1));
+        table.put(key, Boolean.trueValue);
+
+        assertEquals(Boolean.trueValue, table.get(key));
+        assertNull(table.get(cons(Int.valueOf(1))));
+    }
+
+    @Test
+    void weak_keys_go_away() throws InterruptedException
+    {
+        HashTable table = new HashTable(HashTable.Kind.EQUAL, true);
+        MutableString kept = new MutableString("kept");
+        table.put(kept, Int.valueOf(1));
+        table.put(new MutableString("dropped"), Int.valueOf(2));
+
+        for (int i = 0; i < 100 && table.size() > 1; ++i) {
+            java.lang.System.gc();
+            Thread.sleep(10);
+        }
+        assertEquals(1, table.size());
+        assertEquals(Int.valueOf(1), table.get(new MutableString("kept")));
+        assertEquals("kept", kept.toString());
+    }
+}
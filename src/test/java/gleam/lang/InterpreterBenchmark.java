@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2023 Guglielmo Nigri.  All Rights Reserved.
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of version 2 of the GNU General Public License as
+ * published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it would be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Further, this software is distributed without any warranty that it is
+ * free of the rightful claim of any third person regarding infringement
+ * or the like.  Any license provided herein, whether implied or
+ * otherwise, applies only to this software file.  Patent licenses, if
+ * any, provided herein do not apply to combinations of this program with
+ * other software, or any other product whatsoever.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write the Free Software Foundation, Inc., 59
+ * Temple Place - Suite 330, Boston MA 02111-1307, USA.
+ *
+ * Contact information: Guglielmo Nigri <guglielmonigri@yahoo.it>
+ *
+ */
+
+
+package gleam.lang;
+
+import gleam.util.Logger;
+
+/**
+ * Times the interpreter loop on a few small programs. Not run as a test; run it with:
+ * <pre>
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=gleam.lang.InterpreterBenchmark [-Dexec.args="runs"]
+ * </pre>
+ * Each program is run a number of times in the same interpreter, 30 by default, after as many
+ * warm-up runs, and the best and worst times are printed, in milliseconds.
+ */
+public final class InterpreterBenchmark
+{
+    private static final String[] DEFINITIONS = {
+            "(define (fib n) (if (< n 2) n (+ (fib (- n 1)) (fib (- n 2)))))",
+            "(define (loop n acc) (if (= n 0) acc (loop (- n 1) (+ acc 1))))",
+    };
+
+    private static final String[] PROGRAMS = {
+            "(fib 25)",
+            "(loop 200000 0)",
+    };
+
+    private InterpreterBenchmark() {}
+
+    public static void main(String[] args) throws GleamException
+    {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 30;
+        Logger.getLogger().setLevel(Logger.Level.WARNING);
+        Interpreter intp = Interpreter.newInterpreter();
+        for (String definition : DEFINITIONS) {
+            intp.eval(definition);
+        }
+        for (String program : PROGRAMS) {
+            for (int i = 0; i < runs; ++i) {
+                intp.eval(program);
+            }
+            long best = Long.MAX_VALUE;
+            long worst = 0;
+            for (int i = 0; i < runs; ++i) {
+                long start = java.lang.System.nanoTime();
+                intp.eval(program);
+                long elapsed = java.lang.System.nanoTime() - start;
+                best = Math.min(best, elapsed);
+                worst = Math.max(worst, elapsed);
+            }
+            java.lang.System.out.printf("%-16s best %6.1f ms, worst %6.1f ms (%d runs)%n",
+                                        program, best / 1e6, worst / 1e6, runs);
+        }
+    }
+}
@@ -30,6 +30,7 @@ import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class InterpreterTest
 {
@@ -58,4 +59,26 @@ class InterpreterTest
         result = intp.eval("x");
         assertEquals(1.2345, ((java.lang.Number) result).doubleValue());
     }
+
+    @Test
+    void apply() throws GleamException
+    {
+        Interpreter intp = Interpreter.newInterpreter();
+        Procedure add = (Procedure) intp.eval("(lambda (x y) (if (< x y) (+ x y) 0))");
+
+        Entity result = Interpreter.apply(add, new Entity[]{Int.valueOf(1), Int.valueOf(2)},
+                                          intp.getSessionEnv());
+        assertEquals(Int.valueOf(3), result);
+    }
+
+    @Test
+    void errorInSortPredicate() throws GleamException
+    {
+        Interpreter intp = Interpreter.newInterpreter();
+
+        assertThrows(GleamException.class, () -> intp.eval(
+                "(begin (vector-sort (lambda (a b) (car a)) #(2 1)) 'after)"));
+        assertThrows(GleamException.class, () -> intp.eval(
+                "(begin (vector-sort! (vector 2 1) (lambda (a b) (car a))) 'after)"));
+    }
 }
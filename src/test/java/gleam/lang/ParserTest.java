@@ -32,8 +32,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.StringReader;
+import java.math.BigInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class ParserTest
@@ -184,6 +187,104 @@ class ParserTest
         assertEquals(expected, r.read());
     }
 
+    @Test
+    void read_small_int_number_is_preallocated() throws GleamException
+    {
+        Parser r = getParser("42 42");
+        assertSame(r.read(), r.read());
+    }
+
+    @Test
+    void read_character_is_preallocated() throws GleamException
+    {
+        Parser r = getParser("#\\a #\\a");
+        Entity actual = r.read();
+        assertEquals(Character.valueOf('a'), actual);
+        assertSame(actual, r.read());
+    }
+
+    @Test
+    void read_long_number() throws GleamException
+    {
+        Entity expected = new Int(Long.MIN_VALUE);
+        String expr = String.valueOf(Long.MIN_VALUE);
+
+        Parser r = getParser(expr);
+        assertEquals(expected, r.read());
+    }
+
+    @Test
+    void read_big_number() throws GleamException
+    {
+        Entity expected = Arithmetic.integer(new BigInteger("123456789012345678901234567890"));
+        String expr = "123456789012345678901234567890";
+
+        Parser r = getParser(expr);
+        Entity actual = r.read();
+        assertEquals(expected, actual);
+        assertTrue(actual instanceof BigInt);
+    }
+
+    @Test
+    void read_rational_number() throws GleamException
+    {
+        Entity expected = Arithmetic.rational(BigInteger.valueOf(3), BigInteger.valueOf(2));
+        String expr = "-6/-4";
+
+        Parser r = getParser(expr);
+        assertEquals(expected, r.read());
+    }
+
+    @Test
+    void read_rational_number_zero_denominator()
+    {
+        Parser r = getParser("1/0");
+        assertThrows(GleamException.class, r::read);
+    }
+
+    // vectors
+
+    @Test
+    void read_vector() throws GleamException
+    {
+        Parser r = getParser("#(1 (a) #(b))");
+        Entity actual = r.read();
+        assertTrue(actual instanceof Vector);
+        assertEquals("#(1 (a) #(b))", actual.toWriteFormat());
+    }
+
+    @Test
+    void read_empty_vector() throws GleamException
+    {
+        Parser r = getParser("#()");
+        Entity actual = r.read();
+        assertTrue(actual instanceof Vector);
+        assertEquals(0, ((Vector) actual).length());
+    }
+
+    @Test
+    void read_unterminated_vector()
+    {
+        Parser r = getParser("#(1 2");
+        assertThrows(GleamException.class, r::read);
+    }
+
+    @Test
+    void read_bytevector() throws GleamException
+    {
+        Parser r = getParser("#vu8(0 1 255)");
+        Entity actual = r.read();
+        assertTrue(actual instanceof Bytevector);
+        assertEquals("#vu8(0 1 255)", actual.toWriteFormat());
+    }
+
+    @Test
+    void read_bytevector_out_of_range()
+    {
+        Parser r = getParser("#vu8(256)");
+        assertThrows(GleamException.class, r::read);
+    }
+
     // strings
 
     @Test
@@ -266,6 +367,15 @@ class ParserTest
         assertEquals(expected, r.read());
     }
 
+    @Test
+    void read_string_is_immutable() throws GleamException
+    {
+        Parser r = getParser("\"hello");
+        Entity actual = r.read();
+        assertTrue(actual instanceof MutableString);
+        assertTrue(((MutableString) actual).isImmutable());
+    }
+
     // utils
 
     private boolean equalPairs(Pair a, Pair b)
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2023 Guglielmo Nigri.  All Rights Reserved.
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of version 2 of the GNU General Public License as
+ * published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it would be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Further, this software is distributed without any warranty that it is
+ * free of the rightful claim of any third person regarding infringement
+ * or the like.  Any license provided herein, whether implied or
+ * otherwise, applies only to this software file.  Patent licenses, if
+ * any, provided herein do not apply to combinations of this program with
+ * other software, or any other product whatsoever.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write the Free Software Foundation, Inc., 59
+ * Temple Place - Suite 330, Boston MA 02111-1307, USA.
+ *
+ * Contact information: Guglielmo Nigri <guglielmonigri@yahoo.it>
+ *
+ */
+
+package gleam.lang.compiler;
+
+import gleam.lang.Entity;
+import gleam.lang.Environment;
+import gleam.lang.GleamException;
+import gleam.lang.Interpreter;
+import gleam.lang.InputPort;
+import gleam.lang.Location;
+import gleam.lang.Symbol;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompilerTest
+{
+
+    private Interpreter intp;
+
+    @BeforeEach
+    void init() throws GleamException
+    {
+        intp = Interpreter.newInterpreter();
+    }
+
+    private Entity compile(String expr) throws GleamException
+    {
+        Environment env = intp.getSessionEnv();
+        return Compiler.compile(new InputPort(new StringReader(expr)).read(), env);
+    }
+
+    @Test
+    void compile_Call() throws GleamException
+    {
+        assertInstanceOf(Call.class, compile("(+ 1 2)"));
+    }
+
+    @Test
+    void compile_Quote() throws GleamException
+    {
+        assertInstanceOf(Constant.class, compile("'(a b c)"));
+    }
+
+    @Test
+    void compile_If() throws GleamException
+    {
+        assertInstanceOf(If.class, compile("(if (null? '()) 1 2)"));
+    }
+
+    @Test
+    void compile_Begin() throws GleamException
+    {
+        assertInstanceOf(Sequence.class, compile("(begin 1 2)"));
+    }
+
+    @Test
+    void compile_BindingForms() throws GleamException
+    {
+        assertInstanceOf(Let.class, compile("(let ((x 1)) x)"));
+        assertInstanceOf(Let.class, compile("(let* ((x 1) (y x)) y)"));
+        assertInstanceOf(Let.class, compile("(letrec ((f (lambda () 1))) (f))"));
+        assertInstanceOf(NamedLet.class, compile("(let loop ((i 0)) (if (< i 3) (loop (+ i 1))))"));
+    }
+
+    @Test
+    void compile_ConditionalForms() throws GleamException
+    {
+        assertInstanceOf(And.class, compile("(and 1 2)"));
+        assertInstanceOf(Or.class, compile("(or 1 2)"));
+        assertInstanceOf(Cond.class, compile("(cond ((null? '()) 1) (else 2))"));
+        assertInstanceOf(Case.class, compile("(case 1 ((1) 'one) (else 'other))"));
+    }
+
+    @Test
+    void compile_Do() throws GleamException
+    {
+        assertInstanceOf(Do.class, compile("(do ((i 0 (+ i 1))) ((= i 3) i))"));
+    }
+
+    @Test
+    void compile_GlobalVariable() throws GleamException
+    {
+        assertInstanceOf(GlobalRef.class, compile("car"));
+    }
+
+    @Test
+    void compile_UnboundVariable() throws GleamException
+    {
+        assertInstanceOf(GlobalRef.class, compile("not-defined-yet"));
+    }
+
+    @Test
+    void compile_Assignment() throws GleamException
+    {
+        intp.eval("(define x 1)");
+        assertInstanceOf(Assignment.class, compile("(set! x 2)"));
+    }
+
+    @Test
+    void compile_DirectForms() throws GleamException
+    {
+        assertTrue(((Node) compile("(car (cdr x))")).isDirect());
+        assertTrue(((Node) compile("(if (null? x) '() (+ (car x) 1))")).isDirect());
+        assertFalse(((Node) compile("(car (let ((y x)) y))")).isDirect());
+    }
+
+    @Test
+    void compile_SourceIsWritten() throws GleamException
+    {
+        assertEquals("(if (null? x) '() (cdr x))",
+                     compile("(if (null? x) '() (cdr x))").toWriteFormat());
+    }
+
+    @Test
+    void eval_CompiledProcedure() throws GleamException
+    {
+        intp.eval("(define (count-up n) (define (loop i acc) " +
+                  "(if (> i n) acc (loop (+ i 1) (+ acc i)))) (loop 1 0))");
+        Entity result = intp.eval("(count-up 100)");
+        assertEquals(5050, ((java.lang.Number) result).intValue());
+    }
+
+    @Test
+    void eval_DirectCallOfRedefinedPrimitive() throws GleamException
+    {
+        intp.eval("(define (second x) (car (cdr x)))");
+        assertEquals(2, ((java.lang.Number) intp.eval("(second '(1 2 3))")).intValue());
+        intp.eval("(define (cdr x) (list 3))");
+        assertEquals(3, ((java.lang.Number) intp.eval("(second '(1 2 3))")).intValue());
+    }
+
+    @Test
+    void eval_ContinuationInCompiledProcedure() throws GleamException
+    {
+        intp.eval("(define (find-first pred lst) (call/cc (lambda (return) " +
+                  "(map (lambda (x) (if (pred x) (return x))) lst) #f)))");
+        Entity result = intp.eval("(find-first (lambda (x) (> x 2)) '(1 2 3 4))");
+        assertEquals(3, ((java.lang.Number) result).intValue());
+    }
+
+    @Test
+    void globalRef_CacheIsPerScope() throws GleamException
+    {
+        Environment env = intp.getSessionEnv();
+        GlobalRef ref = new GlobalRef(Symbol.makeSymbol("car"));
+        Location location = ref.locate(env);
+        Environment owner = env.getBindingEnvironmentOrNull(ref.getSymbol());
+        int generation = env.getGeneration(owner);
+
+        Interpreter other = Interpreter.newInterpreter();
+        other.eval("(define (car x) 'other)");
+        intp.eval("(let () (define local 2) local)");
+        assertEquals(generation, env.getGeneration(owner));
+        assertSame(location, ref.locate(env));
+
+        intp.eval("(define (car x) 'mine)");
+        assertNotEquals(generation, env.getGeneration(owner));
+        assertNotSame(location, ref.locate(env));
+        assertEquals("mine", intp.eval("(car '(1 2))").toString());
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2023 Guglielmo Nigri.  All Rights Reserved.
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of version 2 of the GNU General Public License as
+ * published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it would be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ * Further, this software is distributed without any warranty that it is
+ * free of the rightful claim of any third person regarding infringement
+ * or the like.  Any license provided herein, whether implied or
+ * otherwise, applies only to this software file.  Patent licenses, if
+ * any, provided herein do not apply to combinations of this program with
+ * other software, or any other product whatsoever.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write the Free Software Foundation, Inc., 59
+ * Temple Place - Suite 330, Boston MA 02111-1307, USA.
+ *
+ * Contact information: Guglielmo Nigri <guglielmonigri@yahoo.it>
+ *
+ */
+
+package gleam.util;
+
+import gleam.lang.Entity;
+import gleam.lang.F64Vector;
+import gleam.lang.Int;
+import gleam.lang.U8Vector;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EntityObjectConverterTest
+{
+
+    private final EntityObjectConverter converter = new EntityObjectConverter();
+
+    @Test
+    void convert_int_to_integer_or_long()
+    {
+        assertEquals(42, converter.convert(Int.valueOf(42)));
+        assertEquals(Long.MAX_VALUE, converter.convert(Int.valueOf(Long.MAX_VALUE)));
+    }
+
+    @Test
+    void invert_big_integer()
+    {
+        BigInteger big = BigInteger.ONE.shiftLeft(100);
+        assertEquals(big, converter.convert(converter.invert(big)));
+    }
+
+    @Test
+    void invert_double_array_without_copying()
+    {
+        double[] array = {1.0, 2.0};
+        Entity entity = converter.invert(array);
+        assertTrue(entity instanceof F64Vector);
+        assertSame(array, converter.convert(entity));
+    }
+
+    @Test
+    void convert_u8vector_to_byte_array_without_copying()
+    {
+        U8Vector vector = new U8Vector(new byte[]{1, 2, 3});
+        Object array = converter.convert(vector);
+        assertSame(vector.getArray(), array);
+    }
+}
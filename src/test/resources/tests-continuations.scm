@@ -142,3 +142,55 @@
     " one  two  three  op"
     ((op) (one) (two) (three))
 )
+
+(define k-deep #f)
+
+(define (deep-count n)
+  (if (= n 0)
+      (call-with-current-continuation (lambda (k) (set! k-deep k) 0))
+      (+ 1 (deep-count (- n 1)))))
+
+(assert "re-entering a continuation captured deep in the stack"
+    '(103 102 101 100)
+    (let ((results '()) (count 0))
+      (let ((v (deep-count 100)))
+        (set! results (cons v results))
+        (set! count (+ count 1))
+        (if (< count 4) (k-deep count) results)))
+)
+
+(define k-map #f)
+
+(assert "re-entering vector-map does not change earlier results"
+    '(#(1 10 3) #(1 2 3))
+    (let ((results '()))
+      (let ((v (vector-map (lambda (x)
+                             (if (= x 2) (call/cc (lambda (k) (set! k-map k) x)) x))
+                           #(1 2 3))))
+        (set! results (cons v results))
+        (if (null? (cdr results)) (k-map 10) results)))
+)
+
+(define k-list-map #f)
+
+(assert "re-entering map does not change earlier results"
+    '((1 10 3) (1 2 3))
+    (let ((results '()))
+      (let ((l (map (lambda (x)
+                      (if (= x 2) (call/cc (lambda (k) (set! k-list-map k) x)) x))
+                    '(1 2 3))))
+        (set! results (cons l results))
+        (if (null? (cdr results)) (k-list-map 10) results)))
+)
+
+(define k-sort #f)
+
+(assert "re-entering a sort does not change earlier results"
+    '((2 1) (1 2))
+    (let ((results '()))
+      (let ((l (list-sort (lambda (a b)
+                            (call/cc (lambda (k) (if (not k-sort) (set! k-sort k)) (< a b))))
+                          '(2 1))))
+        (set! results (cons l results))
+        (if (null? (cdr results)) (k-sort #f) results)))
+)
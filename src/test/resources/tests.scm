@@ -158,3 +158,824 @@
     "do-something... in my-abortable-proc ABORTED ...all done"
     (my-resumable-proc)
 )
+
+;;;
+;;; procedure frame tests:
+;;;
+
+(define (make-counter n)
+  (lambda () (set! n (+ n 1)) n))
+
+(define counter (make-counter 10))
+(counter)
+
+(assert "closure assigning a captured parameter"
+    12
+    (counter)
+)
+
+(define (add-all x . rest)
+  (if (null? rest)
+      x
+      (apply add-all (cons (+ x (car rest)) (cdr rest)))))
+
+(assert "rest parameter"
+    10
+    (add-all 1 2 3 4)
+)
+
+(assert "rest parameter, no arguments"
+    '()
+    ((lambda args args))
+)
+
+(define (parity n)
+  (define (ev? n) (if (= n 0) #t (od? (- n 1))))
+  (define (od? n) (if (= n 0) #f (ev? (- n 1))))
+  (if (ev? n) 'even 'odd))
+
+(assert "mutually recursive internal definitions"
+    'odd
+    (parity 7)
+)
+
+(define (nested a)
+  (lambda (b)
+    (lambda (c)
+      (define d (* a b c))
+      (list a b c d))))
+
+(assert "nested closures"
+    '(2 3 4 24)
+    (((nested 2) 3) 4)
+)
+
+(define (shadow x)
+  (define inner ((lambda (x) (* x 10)) (+ x 1)))
+  (list x inner))
+
+(assert "shadowed parameter"
+    '(1 20)
+    (shadow 1)
+)
+
+(define (frame-eval x)
+  (define y 2)
+  (eval '(define z (+ x y)) (current-environment))
+  z)
+
+(assert "definition by eval in a procedure frame"
+    5
+    (frame-eval 3)
+)
+
+;;;
+;;; syntax rewriter tests:
+;;;
+
+(define expansions 0)
+
+(define twice
+  (make-rewriter (lambda (form)
+    (set! expansions (+ expansions 1))
+    `(* 2 ,(cadr form)))))
+
+(define (use-twice x) (twice x))
+
+(use-twice 1)
+(use-twice 2)
+
+(assert "rewriter call expanded once per call site"
+    '(6 1)
+    (list (use-twice 3) expansions)
+)
+
+(define twice
+  (make-rewriter (lambda (form)
+    `(+ 2 ,(cadr form)))))
+
+(assert "rewriter rebinding invalidates the expansion"
+    12
+    (use-twice 10)
+)
+
+;;;
+;;; argument passing tests:
+;;;
+
+(define (rest-args . xs) xs)
+
+(assert "rest parameter only"
+    '(() (a) (1 2 3))
+    (list (rest-args) (rest-args 'a) (rest-args 1 2 3))
+)
+
+(define (required-and-rest a b . c) (list a b c))
+
+(assert "required and rest parameters"
+    '(1 2 (3 4))
+    (required-and-rest 1 2 3 4)
+)
+
+(assert "continuation called with one argument"
+    5
+    (+ 1 (call/cc (lambda (k) (k 4))))
+)
+
+;;;
+;;; binding and iteration forms:
+;;;
+
+(assert "let* sees previous bindings"
+    '(1 2 3)
+    (let* ((x 1) (y (+ x 1)) (x (+ x y))) (list 1 y x))
+)
+
+(assert "letrec with mutually recursive procedures"
+    '(#t #f)
+    (letrec ((ev? (lambda (n) (if (= n 0) #t (od? (- n 1)))))
+             (od? (lambda (n) (if (= n 0) #f (ev? (- n 1))))))
+      (list (ev? 100) (ev? 7)))
+)
+
+(assert "named let"
+    55
+    (let loop ((i 1) (sum 0))
+      (if (> i 10) sum (loop (+ i 1) (+ sum i))))
+)
+
+(assert "do binds fresh variables at each iteration"
+    '(2 1 0)
+    (do ((i 0 (+ i 1))
+         (thunks '() (cons (lambda () i) thunks)))
+        ((= i 3) (map (lambda (f) (f)) thunks)))
+)
+
+(assert "do variable without step"
+    '(5 10)
+    (do ((i 0 (+ i 1))
+         (total 0))
+        ((= i 5) (list i total))
+      (set! total (+ total i)))
+)
+
+(assert "cond clauses"
+    '(2 3 other ())
+    (list (cond ((assv 'b '((a 1) (b 2))) => cadr) (else #f))
+          (cond (#f 1) (3))
+          (cond ((> 1 2) 'greater) (else 'other))
+          (cond (#f 1)))
+)
+
+(assert "case clauses"
+    '(composite prime 8 none)
+    (list (case (* 2 3) ((2 3 5 7) 'prime) ((1 4 6 8 9) 'composite))
+          (case 'x ((a) 1) ((x y) 'prime))
+          (case 4 ((1 2) 'small) (else => (lambda (x) (* x 2))))
+          (case #\a ((#\b) 'b) (else 'none)))
+)
+
+(assert "and, or"
+    '(#t #f 2 3 #f #f)
+    (list (and) (or) (and 1 2) (or #f 3) (and 1 #f 2) (or #f #f))
+)
+
+(define (count-down n)
+  (or (= n 0) (and #t (count-down (- n 1)))))
+
+(assert "and, or evaluate the last expression in tail position"
+    #t
+    (count-down 100000)
+)
+
+(define (reflective-let x)
+  (let ((y (* x 2)))
+    (eval 'y (current-environment))))
+
+(assert "binding forms in a reflective procedure"
+    6
+    (reflective-let 3)
+)
+
+;;;
+;;; global variable reference tests:
+;;;
+
+(define (ic-target) 'original)
+(define (ic-call) (ic-target))
+(ic-call)
+(define (ic-target) 'redefined)
+
+(assert "redefinition seen by a compiled call site"
+    'redefined
+    (ic-call)
+)
+
+(define saved-not not)
+(define (use-not x) (not x))
+(use-not #f)
+(define (not x) 'shadowed)
+(define shadowed-result (use-not #f))
+(define not saved-not)
+
+(assert "shadowing seen by a compiled call site"
+    'shadowed
+    shadowed-result
+)
+
+(assert "shadowing by a define earlier in the same top-level form"
+    '(10 11)
+    (list (eval '(begin (define (car x) 10) (car '(1 2))) (make-environment))
+          (eval '(begin (define (+ a b) 11) (+ 1 1)) (make-environment)))
+)
+
+(define counter 0)
+(define (bump!) (set! counter (+ counter 1)))
+(bump!)
+(bump!)
+
+(assert "assignment of a global variable in a procedure"
+    2
+    counter
+)
+
+(assert "trivial operands evaluated in order with the others"
+    '(1 2 2)
+    (let ((x 1)) (list x (begin (set! x 2) x) x))
+)
+
+;;;
+;;; direct evaluation tests:
+;;;
+
+(define (sum-of-squares a b) (+ (* a a) (* b b)))
+
+(assert "direct evaluation of nested primitive calls"
+    25
+    (sum-of-squares 3 4)
+)
+
+(define (deep x)
+  (+ 1 (+ 1 (+ 1 (+ 1 (+ 1 (+ 1 (+ 1 (+ 1 (+ 1 (+ 1 (+ 1 (+ 1 (+ 1 (+ 1 (+ 1 (+ 1 
+  (+ 1 (+ 1 (+ 1 (+ 1 (+ 1 (+ 1 (+ 1 (+ 1 (+ 1 (+ 1 (+ 1 (+ 1 (+ 1 (+ 1 (+ 1 (+ 1 
+  (+ 1 (+ 1 (+ 1 (+ 1 (+ 1 (+ 1 (+ 1 (+ 1 x)))))))))))))))))))))))))))))))))))))))))
+
+(assert "direct evaluation beyond the maximum depth"
+    40
+    (deep 0)
+)
+
+(define (pick k) (if (< k 0) (- k) (call/cc (lambda (c) (c k)))))
+
+(assert "call/cc among direct operands"
+    '(1 2 3)
+    (list (car '(1)) (pick 2) (pick -3))
+)
+
+;;;
+;;; numeric tower tests:
+;;;
+
+(assert "fixnum overflow into bignum"
+    9223372036854775808
+    (+ 9223372036854775807 1)
+)
+
+(assert "bignum arithmetic"
+    '(18446744073709551616 -9223372036854775808 #t)
+    (list (* 4611686018427387904 4)
+          (- 0 9223372036854775807 1)
+          (= (- (* 4611686018427387904 4) 18446744073709551615) 1))
+)
+
+(assert "bignum results are normalized back to fixnums"
+    #t
+    (eqv? 1 (- 9223372036854775808 9223372036854775807))
+)
+
+(assert "exact rationals"
+    '(3/2 1/3 -1/2 3 #t)
+    (list (/ 6 4) (/ 1 3) (/ 1 -2) (* 3/2 2) (= 1/2 0.5))
+)
+
+(assert "numerator, denominator"
+    '(3 2 1)
+    (list (numerator 6/4) (denominator 6/4) (denominator 5))
+)
+
+(assert "exactness"
+    '(#t #f #t #f #t #t)
+    (list (exact? 1/3) (exact? 0.5) (inexact? (+ 1 0.5))
+          (integer? 1/2) (integer? 2.0) (rational? 1/2))
+)
+
+(assert "exact->inexact, inexact->exact"
+    '(0.25 1/4 3)
+    (list (exact->inexact 1/4) (inexact->exact 0.25) (inexact->exact 3.0))
+)
+
+(assert "quotient, remainder, modulo"
+    '(-3 -1 1 3 -1)
+    (list (quotient -7 2) (remainder -7 2) (modulo -7 2)
+          (quotient 9223372036854775808 3074457345618258602) (modulo 9 -2))
+)
+
+(assert "comparisons across the tower"
+    '(#t #t #t #f)
+    (list (< 1 3/2 2.0 9223372036854775808) (> 1/2 1/3) (= 2 4/2 2.0) (< 1/3 0.3))
+)
+
+(assert "mixed exact and inexact comparisons are exact"
+    '(#f #t #f #t #f #f)
+    (list (= 9007199254740993 9007199254740992.)
+          (< 9007199254740992. 9007199254740993)
+          (= 1/3 (exact->inexact 1/3))
+          (= 36893488147419103232 36893488147419103232.)
+          (< 36893488147419103233 36893488147419103232.)
+          (= 9223372036854775807 9223372036854775808.))
+)
+
+(assert "comparisons with infinities and NaN"
+    '(#t #t #f #f)
+    (let* ((inf (* 1e300 1e300)) (nan (- inf inf)))
+      (list (< 9223372036854775808 inf) (> 1/3 (- inf)) (= nan 1) (= 1/2 nan)))
+)
+
+(assert "two- and three-argument arithmetic"
+    '(3 2.5 9223372036854775808 -1 6 1.5 1/2 0.5 6 -2.0)
+    (list (+ 1 2) (+ 1 1.5) (+ 4611686018427387904 4611686018427387904)
+          (- 1 2) (* 1 2 3) (* 0.5 3) (/ 1 2) (/ 1.0 2.0) (+ 1 2 3) (- 0.5 2.5))
+)
+
+(assert "two- and three-argument comparisons"
+    '(#t #f #t #f #t #t #f #t)
+    (list (< 1 2) (< 2 1) (< 1 2 3) (< 1 3 2) (<= 1.0 1.0 2.0) (= -0.0 0.0)
+          (< -0.0 0.0) (>= 3 2 1/2))
+)
+
+;;;
+;;; vector tests:
+;;;
+
+(assert "vector literal"
+    '(#t 3 b)
+    (list (vector? #(a b c)) (vector-length #(a b c)) (vector-ref #(a b c) 1))
+)
+
+(assert "make-vector, vector-set!"
+    #(0 x 0)
+    (let ((v (make-vector 3 0)))
+      (vector-set! v 1 'x)
+      v)
+)
+
+(assert "vector-fill!"
+    #(1 9 9 1)
+    (let ((v (make-vector 4 1)))
+      (vector-fill! v 9 1 3)
+      v)
+)
+
+(assert "vector-copy"
+    '(#(2 3) #f)
+    (let* ((v (vector 1 2 3))
+           (c (vector-copy v 1)))
+      (list c (eq? v (vector-copy v))))
+)
+
+(assert "vector->list, list->vector"
+    '((1 2 3) (2) #(a b))
+    (list (vector->list #(1 2 3)) (vector->list #(1 2 3) 1 2) (list->vector '(a b)))
+)
+
+(assert "vector-map"
+    '(#(11 22) #(1 4 9) #())
+    (list (vector-map + #(1 2) #(10 20 30))
+          (vector-map (lambda (x) (* x x)) #(1 2 3))
+          (vector-map car #()))
+)
+
+(assert "vector-for-each"
+    '(3 2 1)
+    (let ((acc '()))
+      (vector-for-each (lambda (x) (set! acc (cons x acc))) #(1 2 3))
+      acc)
+)
+
+;;;
+;;; numeric vector tests:
+;;;
+
+(assert "numeric vector literals"
+    '(#t #f 3 2.5 255)
+    (list (f64vector? #f64(1.0 2.5)) (f64vector? #(1.0)) (s32vector-length #s32(1 2 3))
+          (f64vector-ref #f64(1 2.5) 1) (u8vector-ref #u8(0 255) 1))
+)
+
+(assert "numeric vector construction"
+    '((7 7) (1 2 3) (0 0) #t)
+    (list (s64vector->list (make-s64vector 2 7)) (u8vector->list (list->u8vector '(1 2 3)))
+          (s32vector->list (make-s32vector 2)) (equal? #u8(1 2) (u8vector 1 2)))
+)
+
+(assert "numeric vectors are eqv? only to themselves, equal? by content"
+    '(#f #f #t #t #f yes yes)
+    (let ((v (f64vector 1.))
+          (t (make-hash-table equal?))
+          (u (make-hash-table eqv?)))
+      (hash-table-set! t (u8vector 1 2) 'yes)
+      (hash-table-set! u v 'yes)
+      (f64vector-set! v 0 2.)
+      (list (eqv? (f64vector 1.) (f64vector 1.)) (eqv? (u8vector 1) (u8vector 1))
+            (equal? (f64vector 1.) #f64(1.)) (equal? (u8vector 1) #u8(1))
+            (equal? #u8(1) #s32(1))
+            (hash-table-ref/default u v #f) (hash-table-ref/default t #u8(1 2) #f)))
+)
+
+(assert "numeric vector set!, fill!"
+    '(#s32(0 -5 0) #f64(0.5 0.5))
+    (let ((v (make-s32vector 3 0))
+          (w (make-f64vector 2)))
+      (s32vector-set! v 1 -5)
+      (f64vector-fill! w 1/2)
+      (list v w))
+)
+
+(assert "numeric vector bulk operations"
+    '(#f64(5.0 7.0) #s32(2 4 6) 32 6 -1 3 10.5)
+    (list (f64vector-add #f64(1 2) #f64(4 5))
+          (s32vector-scale #s32(1 2 3) 2)
+          (s64vector-dot #s64(1 2 3) #s64(4 5 6))
+          (u8vector-sum #u8(1 2 3))
+          (s32vector-min #s32(3 -1 2))
+          (s32vector-max #s32(3 -1 2))
+          (f64vector-sum #f64(10 0.5)))
+)
+
+(assert "s64vector results overflow into bignums"
+    18446744073709551614
+    (s64vector-sum #s64(9223372036854775807 9223372036854775807))
+)
+
+;;;
+;;; bytevector tests:
+;;;
+
+(assert "bytevector literals and construction"
+    '(#t #f 3 255 #vu8(7 7) #vu8(1 2) #t)
+    (list (bytevector? #vu8(1 2)) (bytevector? #u8(1 2)) (bytevector-length #vu8(1 2 3))
+          (bytevector-u8-ref #vu8(0 255) 1) (make-bytevector 2 7) (bytevector 1 2)
+          (equal? (bytevector 1 2) #vu8(1 2)))
+)
+
+(assert "bytevectors are eqv? only to themselves, equal? by content"
+    '(#f #t #t yes yes)
+    (let ((v (bytevector 1))
+          (t (make-hash-table equal?))
+          (u (make-hash-table eqv?)))
+      (hash-table-set! t (bytevector 1 2) 'yes)
+      (hash-table-set! u v 'yes)
+      (bytevector-u8-set! v 0 2)
+      (list (eqv? (bytevector 1) (bytevector 1)) (eqv? v v) (equal? (bytevector 1) #vu8(1))
+            (hash-table-ref/default u v #f) (hash-table-ref/default t #vu8(1 2) #f)))
+)
+
+(assert "bytevector set!, copy, copy!"
+    '(#vu8(0 9 0) #vu8(2 3) #vu8(1 1 2 3))
+    (let ((v (make-bytevector 3 0))
+          (w (bytevector 1 2 3 4)))
+      (bytevector-u8-set! v 1 9)
+      (let ((c (bytevector-copy w 1 3)))
+        (bytevector-copy! w 1 w 0 3)
+        (list v c w)))
+)
+
+(assert "bytevector multi-byte accessors"
+    '(#vu8(0 0 1 2) 258 513 -1 65535 18446744073709551615 1.5)
+    (let ((v (make-bytevector 4 0))
+          (w (make-bytevector 8 255))
+          (d (make-bytevector 8 0)))
+      (bytevector-u16-set! v 2 258 'big)
+      (bytevector-ieee-double-native-set! d 0 1.5)
+      (list v
+            (bytevector-u16-ref v 2 'big)
+            (bytevector-u16-ref v 2 'little)
+            (bytevector-s32-native-ref w 0)
+            (bytevector-u16-native-ref w 6)
+            (bytevector-u64-native-ref w 0)
+            (bytevector-ieee-double-native-ref d 0)))
+)
+
+(assert "bytevector native byte order"
+    #t
+    (let ((v (make-bytevector 4 0)))
+      (bytevector-u32-native-set! v 0 16909060)
+      (or (equal? v #vu8(1 2 3 4)) (equal? v #vu8(4 3 2 1))))
+)
+
+(assert "bytevector UTF-8 conversions"
+    '(#vu8(104 105) "hi" "i" #vu8(104 195 169))
+    (list (string->utf8 "hi") (utf8->string #vu8(104 105)) (utf8->string #vu8(104 105) 1)
+          (string->utf8 (utf8->string #vu8(104 195 169))))
+)
+
+;;;
+;;; hash table tests:
+;;;
+
+(assert "hash table set!, ref, delete!"
+    '(1 2 0 #t #f 1 hello)
+    (let ((t (make-hash-table)))
+      (hash-table-set! t 'a 1)
+      (hash-table-set! t "b" 2)
+      (hash-table-set! t 'c 3)
+      (hash-table-delete! t 'c)
+      (list (hash-table-ref t 'a)
+            (hash-table-ref t (utf8->string (bytevector 98)))
+            (hash-table-ref/default t 'c 0)
+            (hash-table-contains? t 'a)
+            (hash-table-contains? t 'c)
+            (hash-table-ref t 'c (lambda () 1))
+            (hash-table-ref t 'a (lambda () 'none) (lambda (v) 'hello))))
+)
+
+(assert "equal hash table with structured keys"
+    '(pair vector 2)
+    (let ((t (make-hash-table equal?)))
+      (hash-table-set! t (list 1 "x" 2.5) 'pair)
+      (hash-table-set! t (vector 'a (list 1 2)) 'vector)
+      (hash-table-set! t (list 1 "x" 2.5) 'pair)
+      (list (hash-table-ref t (list 1 "x" 2.5))
+            (hash-table-ref t (vector 'a (list 1 2)))
+            (hash-table-size t)))
+)
+
+(assert "eq and eqv hash tables"
+    '(#f found found 1/2)
+    (let ((eq-table (make-hash-table eq?))
+          (eqv-table (make-hash-table eqv?))
+          (key (list 1)))
+      (hash-table-set! eq-table (list 1) 'lost)
+      (hash-table-set! eq-table key 'found)
+      (hash-table-set! eqv-table 100000000000 'found)
+      (hash-table-set! eqv-table 2/4 1/2)
+      (list (hash-table-ref/default eq-table (list 1) #f)
+            (hash-table-ref eq-table key)
+            (hash-table-ref eqv-table 100000000000)
+            (hash-table-ref eqv-table 1/2)))
+)
+
+(assert "hash table update!"
+    '(3 10 1)
+    (let ((t (make-hash-table)))
+      (hash-table-update!/default t 'a (lambda (n) (+ n 1)) 0)
+      (hash-table-update!/default t 'a (lambda (n) (+ n 1)) 0)
+      (hash-table-update! t 'a (lambda (n) (+ n 1)))
+      (hash-table-update! t 'b (lambda (n) (* n 10)) (lambda () 1))
+      (hash-table-update! t 'c (lambda (n) n) (lambda () 1))
+      (list (hash-table-ref t 'a) (hash-table-ref t 'b) (hash-table-ref t 'c)))
+)
+
+(assert "hash table walk and conversions"
+    '(6 6 (1 2 3) ((a . 1)))
+    (let ((t (make-hash-table))
+          (sum 0))
+      (hash-table-set! t 'a 1)
+      (hash-table-set! t 'b 2)
+      (hash-table-set! t 'c 3)
+      (hash-table-walk t (lambda (k v) (set! sum (+ sum v))))
+      (let ((values (hash-table-values t))
+            (u (make-hash-table)))
+        (hash-table-set! u 'a 1)
+        (list sum
+              (+ (car values) (cadr values) (caddr values))
+              (list (hash-table-ref t 'a) (hash-table-ref t 'b) (hash-table-ref t 'c))
+              (hash-table->alist u))))
+)
+
+(assert "weak hash tables and hashing"
+    '(#t 1 #t #t)
+    (let ((t (make-hash-table eq? 'weak-keys))
+          (key (list 'k)))
+      (hash-table-set! t key 1)
+      (list (hash-table? t)
+            (hash-table-ref t key)
+            (= (hash (list 1 "a")) (hash (list 1 "a")))
+            (< (hash 'x 10) 10)))
+)
+
+;;;
+;;; list library tests:
+;;;
+
+(assert "map and for-each over several lists"
+    '((11 22) (1 4 9) () (c b a))
+    (let ((acc '()))
+      (for-each (lambda (x y) (set! acc (cons y acc))) '(1 2 3) '(a b c d))
+      (list (map + '(1 2) '(10 20 30))
+            (map (lambda (x) (* x x)) '(1 2 3))
+            (map car '())
+            acc))
+)
+
+(assert "map over a long list"
+    '(100000 100001)
+    (letrec ((iota (lambda (n acc) (if (= n 0) acc (iota (- n 1) (cons n acc))))))
+      (let ((l (map (lambda (x) (+ x 1)) (iota 100000 '()))))
+        (list (length l) (list-ref l 99999))))
+)
+
+(assert "filter, folds and reduce"
+    '((1 3) ((() . 1) . 2) (1 2) 10 0 (3 2 1))
+    (list (filter (lambda (x) (= (remainder x 2) 1)) '(1 2 3))
+          (fold-left cons '() '(1 2))
+          (fold-right cons '() '(1 2))
+          (reduce + 0 '(1 2 3 4))
+          (reduce + 0 '())
+          (fold-left (lambda (acc x y) (cons (+ x y) acc)) '() '(0 1 2) '(1 1 1)))
+)
+
+(assert "length, reverse, list-tail, list-ref, list-copy, last, append"
+    '(3 (c b a) (c) b (a b . c) (c) (a b c d) x)
+    (list (length '(a b c))
+          (reverse '(a b c))
+          (list-tail '(a b c) 2)
+          (list-ref '(a b c) 1)
+          (list-copy '(a b . c))
+          (last '(a b c))
+          (append '(a) '(b c) '(d))
+          (append '() 'x))
+)
+
+(assert "member and assoc"
+    '((b c) #f ((a) c) (101 102) (b 2) (5 7) ((a)) #f)
+    (list (memq 'b '(a b c))
+          (memq 'd '(a b c))
+          (member (list 'a) '(b (a) c))
+          (memv 101 '(100 101 102))
+          (assq 'b '((a 1) (b 2)))
+          (assv 5 '((2 3) (5 7)))
+          (assoc (list 'a) '(((a)) ((b))))
+          (assoc 'c '((a 1) (b 2))))
+)
+
+(assert "equal?"
+    '(#t #t #t #f #t)
+    (let ((a (list 1 2))
+          (b (list 1 2)))
+      (set-cdr! (cdr a) a)
+      (set-cdr! (cdr b) b)
+      (list (equal? (list 1 #(2 (3))) (list 1 #(2 (3))))
+            (equal? #f64(1.0 2.0) #f64(1.0 2.0))
+            (equal? a b)
+            (equal? (list 1 2) (list 1 3))
+            (equal? (utf8->string (bytevector 98)) (utf8->string (bytevector 98)))))
+)
+
+;;;
+;;; sorting tests:
+;;;
+
+(assert "sort lists and vectors"
+    '((1 2 3) #(1 2 3) (1 2 3) #(1 2 3) (1/2 1 2.5) ())
+    (list (sort '(3 1 2) <)
+          (sort #(3 1 2) <)
+          (list-sort < '(3 1 2))
+          (vector-sort < #(3 1 2))
+          (list-sort < '(2.5 1 1/2))
+          (list-sort < '()))
+)
+
+(assert "sort with a closure is stable"
+    '((1 a) (1 c) (2 b) (2 d))
+    (list-sort (lambda (x y) (< (car x) (car y)))
+               '((2 b) (1 a) (2 d) (1 c)))
+)
+
+(assert "vector-sort! in place"
+    '(#(1 2 3 4) #(4 2 3 1) #(z x y))
+    (let ((v (vector 4 3 2 1))
+          (w (vector 4 3 2 1))
+          (s (vector 'x 'y 'z)))
+      (vector-sort! v <)
+      (vector-sort! w < 1 3)
+      (vector-sort! s (lambda (a b) (eq? a 'z)))
+      (list v w s))
+)
+
+(assert "sort a large vector"
+    '(0 1 19999)
+    (let ((v (make-vector 20000 0)))
+      (do ((i 0 (+ i 1))) ((= i 20000)) (vector-set! v i (- 19999 i)))
+      (vector-sort! v <)
+      (list (vector-ref v 0) (vector-ref v 1) (vector-ref v 19999)))
+)
+
+(assert "sort with a shadowed <"
+    '((3 2 1) ("c" "b" "a"))
+    (let ((< >) (string<? string>?))
+      (list (sort '(1 3 2) <) (sort '("a" "c" "b") string<?)))
+)
+
+(assert "sort calls the predicate once per comparison"
+    '((1 2 3) 3)
+    (let* ((count 0)
+           (sorted (list-sort (lambda (a b) (set! count (+ count 1)) (< a b)) '(3 1 2))))
+      (list sorted count))
+)
+
+(assert "escape from a sort predicate"
+    '(escaped escaped)
+    (list (call/cc (lambda (k) (vector-sort (lambda (a b) (k 'escaped)) #(2 1 3))))
+          (call/cc (lambda (k) (sort '(2 1 3) (lambda (a b) (k 'escaped))))))
+)
+
+(assert "error in a sort predicate"
+    #f
+    (let* ((abort error-abort)
+           (result (call/cc (lambda (k)
+                              (set! error-abort k)
+                              (vector-sort (lambda (a b) (error "sort predicate")) #(2 1))
+                              'after))))
+      (set! error-abort abort)
+      result)
+)
+
+;;;
+;;; string tests:
+;;;
+
+(assert "string basics"
+    '(3 #\b "el" "llo" "abc" "aaa" "ab" (#\a #\b) "" "abcdef")
+    (list (string-length "abc")
+          (string-ref "abc" 1)
+          (substring "hello" 1 3)
+          (substring "hello" 2)
+          (string-append "a" "b" "c")
+          (make-string 3 #\a)
+          (string #\a #\b)
+          (string->list "ab")
+          (string-append)
+          (list->string (string->list "abcdef")))
+)
+
+(assert "string comparisons"
+    '(#t #f #t #f #t #t #t)
+    (list (string=? "abc" "abc" "abc")
+          (string=? "abc" "abd")
+          (string<? "abc" "abd" "b")
+          (string<? "abc" "ab")
+          (string>? "b" "abc")
+          (string<=? "ab" "ab" "abc")
+          (string>=? "b" "b" "a"))
+)
+
+(assert "string-set! and string-fill! on copies"
+    '("xbc" "azzd" "abc")
+    (let* ((literal "abc")
+           (s (string-copy literal))
+           (t (string-copy "abcd")))
+      (string-set! s 0 #\x)
+      (string-fill! t #\z 1 3)
+      (list s t literal))
+)
+
+(assert "string-index, string-join, string-split"
+    '(2 #f 1 "a, b, c" "a b" ("a" "b" "" "c") ("x" "y"))
+    (list (string-index "hello" #\l)
+          (string-index "hello" #\z)
+          (string-index "a1b" (lambda (c) (eqv? c #\1)))
+          (string-join '("a" "b" "c") ", ")
+          (string-join '("a" "b"))
+          (string-split "a,b,,c" #\,)
+          (string-split "x::y" "::"))
+)
+
+(assert "string-index with a predicate, escapes and errors"
+    '(1 #f #\b #f)
+    (let* ((abort error-abort)
+           (result (list (string-index "abc" char? 1)
+                         (string-index "abc" not)
+                         (call/cc (lambda (k)
+                                    (string-index "abc" (lambda (c) (if (eqv? c #\b) (k c) #f)))
+                                    'after))
+                         (call/cc (lambda (k)
+                                    (set! error-abort k)
+                                    (string-index "abc" (lambda (c) (error "string predicate")))
+                                    'after)))))
+      (set! error-abort abort)
+      result)
+)
+
+(assert "string-append builds long strings"
+    '(20000 #\x #t)
+    (let loop ((s "") (i 0))
+      (if (= i 10000)
+          (list (string-length s) (string-ref s 19998) (string=? (substring s 0 4) "xyxy"))
+          (loop (string-append s "xy") (+ i 1))))
+)
+
+(assert "sort strings"
+    '("a" "b" "c")
+    (list-sort string<? (list "c" "a" "b"))
+)